@@ -0,0 +1,150 @@
+package com.calculator;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation choice of arithmetic for calculation.adaptive.precision.enabled.
+ *
+ * Every operation is first done in double. The operands are the doubles
+ * nearest to what was typed, so each is off by at most half an ulp, and the
+ * operation adds one more rounding. From those a first-order bound on the
+ * relative error of the result is cheap to compute: a few units of
+ * {@code 2^-53} for products and quotients, scaled by
+ * {@code (|a| + |b|) / |a + b|} for sums, which grows with cancellation.
+ * If the bound is within half a unit in the last of calculation.max.digits
+ * significant digits, the double result is kept. Otherwise the operation is
+ * repeated in decimal by the {@link DecimalEngine}: on scaled longs when the
+ * operands and result fit, and in BigDecimal only when they do not.
+ *
+ * Results that underflow to subnormal numbers are escalated too, because
+ * the relative bound does not hold for them. With the default 15 digits,
+ * products and quotients never escalate; sums escalate only under
+ * cancellation.
+ *
+ * Counts how often each tier answered. Thread-safe.
+ */
+final class AdaptivePrecision {
+
+    /** Relative rounding error of one double operation */
+    private static final double UNIT_ROUNDOFF = 0x1p-53;
+
+    private final DecimalEngine engine;
+    private final double tolerance;
+    private final LongAdder doubleResults = new LongAdder();
+    private final LongAdder longResults = new LongAdder();
+    private final LongAdder decimalResults = new LongAdder();
+
+    /**
+     * Creates adaptive arithmetic escalating to the given engine.
+     *
+     * @param engine the decimal arithmetic, whose precision is the target
+     */
+    AdaptivePrecision(DecimalEngine engine) {
+        this.engine = engine;
+        this.tolerance = 0.5 * Math.pow(10, -engine.context().getPrecision());
+    }
+
+    /**
+     * Gets the engine results are escalated to.
+     *
+     * @return the decimal engine
+     */
+    DecimalEngine engine() {
+        return engine;
+    }
+
+    double add(double a, double b) {
+        double result = a + b;
+        // Two operand errors relative to |a| and |b|, one rounding relative to the result
+        if (result == 0 || reliable(result, (Math.abs(a) + Math.abs(b)) * UNIT_ROUNDOFF
+                                            + Math.abs(result) * UNIT_ROUNDOFF)) {
+            // A sum is zero only when the operands are exact negatives of each other
+            doubleResults.increment();
+            return result;
+        }
+        double exact = engine.addOnLongs(a, b);
+        if (!Double.isNaN(exact)) {
+            longResults.increment();
+            return exact;
+        }
+        decimalResults.increment();
+        return engine.addDecimal(a, b);
+    }
+
+    double subtract(double a, double b) {
+        return add(a, -b);
+    }
+
+    double multiply(double a, double b) {
+        return product(a, b, 0, a * b, 3);
+    }
+
+    double percentage(double number, double percent) {
+        return product(number, percent, 2, number * percent / 100, 4);
+    }
+
+    double divide(double dividend, double divisor) {
+        double result = dividend / divisor;
+        if (trivial(dividend, divisor) || reliable(result, 3 * UNIT_ROUNDOFF * Math.abs(result))) {
+            doubleResults.increment();
+            return result;
+        }
+        double exact = engine.divideOnLongs(dividend, divisor);
+        if (!Double.isNaN(exact)) {
+            longResults.increment();
+            return exact;
+        }
+        decimalResults.increment();
+        return engine.divideDecimal(dividend, divisor);
+    }
+
+    long doubleResults() {
+        return doubleResults.sum();
+    }
+
+    long longResults() {
+        return longResults.sum();
+    }
+
+    long decimalResults() {
+        return decimalResults.sum();
+    }
+
+    /**
+     * Keeps a double product of {@code roundings} rounded operations or escalates it.
+     */
+    private double product(double a, double b, int extraScale, double result, int roundings) {
+        if (trivial(a, b) || reliable(result, roundings * UNIT_ROUNDOFF * Math.abs(result))) {
+            doubleResults.increment();
+            return result;
+        }
+        double exact = engine.productOnLongs(a, b, extraScale);
+        if (!Double.isNaN(exact)) {
+            longResults.increment();
+            return exact;
+        }
+        decimalResults.increment();
+        return engine.productDecimal(a, b, extraScale);
+    }
+
+    /**
+     * Checks for operands whose product or quotient double arithmetic gets
+     * exactly right, or that decimal arithmetic cannot take.
+     */
+    private static boolean trivial(double a, double b) {
+        return a == 0 || b == 0 || !Double.isFinite(a) || !Double.isFinite(b);
+    }
+
+    /**
+     * Checks whether a double result with the given absolute error bound is
+     * good to the target digits. Non-finite results are what decimal
+     * arithmetic would give too, so they are kept.
+     */
+    private boolean reliable(double result, double errorBound) {
+        if (!Double.isFinite(result)) {
+            return true;
+        }
+        double magnitude = Math.abs(result);
+        return magnitude >= Double.MIN_NORMAL && errorBound <= tolerance * magnitude;
+    }
+}
@@ -0,0 +1,10 @@
+package com.calculator;
+
+/**
+ * Unit of the angles taken and returned by the trigonometric operations,
+ * configured with calculation.angle.unit.
+ */
+public enum AngleUnit {
+    RADIANS,
+    DEGREES
+}
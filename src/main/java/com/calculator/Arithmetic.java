@@ -0,0 +1,255 @@
+package com.calculator;
+
+import com.calculator.validation.InputValidator;
+import com.calculator.validation.ValidationException;
+import com.calculator.validation.ValidationRule;
+
+/**
+ * The double operations of a {@link Calculator} for one configuration,
+ * without input validation or history.
+ *
+ * Results are the calculator's own: the operations honour high and
+ * adaptive precision, fast math, the result cache and the angle unit in
+ * effect when the instance was obtained, and still reject operands outside
+ * their domain, such as a zero divisor or a negative square root. Callers
+ * that apply many operations to values they have checked once, such as the
+ * expression engine, validate with {@link #validate(double, String)}.
+ *
+ * Obtained from {@link Calculator#arithmetic()}. Immutable and thread-safe.
+ */
+public final class Arithmetic {
+
+    private final CalculatorConfig.Snapshot settings;
+    private final DecimalEngine decimal;
+    private final AdaptivePrecision adaptive;
+    private final FastMath fastMath;
+    private final OperationCache cache;
+
+    /**
+     * @param settings the configuration the operations follow
+     * @param decimal the engine for high or adaptive precision, null unless enabled
+     * @param adaptive the adaptive arithmetic, null unless enabled
+     * @param fastMath the approximations, null unless used
+     * @param cache the result cache, null unless enabled
+     */
+    Arithmetic(CalculatorConfig.Snapshot settings, DecimalEngine decimal, AdaptivePrecision adaptive,
+               FastMath fastMath, OperationCache cache) {
+        this.settings = settings;
+        this.decimal = decimal;
+        this.adaptive = adaptive;
+        this.fastMath = fastMath;
+        this.cache = cache;
+    }
+
+    boolean matches(CalculatorConfig.Snapshot current) {
+        return settings == current;
+    }
+
+    /**
+     * Validates a value as the calculator validates every operand, unless
+     * validation.enabled is off.
+     *
+     * @param value the value to check
+     * @param parameterName the name the error message starts with
+     * @throws InvalidInputException if the value is not a safe number within
+     *         validation.min.number.value and validation.max.number.value
+     */
+    public void validate(double value, String parameterName) throws InvalidInputException {
+        validate(settings, value, parameterName);
+    }
+
+    static void validate(CalculatorConfig.Snapshot settings, double value, String parameterName)
+            throws InvalidInputException {
+        if (!settings.validationEnabled()) {
+            return;
+        }
+        // Rejections are common in bulk input, so check without exceptions
+        ValidationRule rule = InputValidator.checkNumber(value, settings.minNumberValue(), settings.maxNumberValue());
+        if (!rule.isValid()) {
+            throw new InvalidInputException(parameterName + ": "
+                + InputValidator.describe(rule, value, settings.minNumberValue(), settings.maxNumberValue()));
+        }
+    }
+
+    public double add(double a, double b) {
+        return settings.highPrecisionEnabled() ? decimal.add(a, b)
+            : settings.adaptivePrecisionEnabled() ? adaptive.add(a, b)
+            : a + b;
+    }
+
+    public double subtract(double a, double b) {
+        return settings.highPrecisionEnabled() ? decimal.subtract(a, b)
+            : settings.adaptivePrecisionEnabled() ? adaptive.subtract(a, b)
+            : a - b;
+    }
+
+    public double multiply(double a, double b) {
+        return settings.highPrecisionEnabled() ? decimal.multiply(a, b)
+            : settings.adaptivePrecisionEnabled() ? adaptive.multiply(a, b)
+            : a * b;
+    }
+
+    public double divide(double a, double b) throws DivisionByZeroException {
+        ValidationRule rule = InputValidator.checkDivision(a, b);
+        if (!rule.isValid()) {
+            throw new DivisionByZeroException(InputValidator.describeDivision(rule, a, b));
+        }
+        return settings.highPrecisionEnabled() ? decimal.divide(a, b)
+            : settings.adaptivePrecisionEnabled() ? adaptive.divide(a, b)
+            : a / b;
+    }
+
+    public double percentage(double number, double percent) {
+        return settings.highPrecisionEnabled() ? decimal.percentage(number, percent)
+            : settings.adaptivePrecisionEnabled() ? adaptive.percentage(number, percent)
+            : (number * percent) / 100.0;
+    }
+
+    public double power(double base, double exponent) {
+        long cached = cached(Operation.POWER, base, exponent);
+        if (cached != OperationCache.MISS) {
+            return Double.longBitsToDouble(cached);
+        }
+        double result = settings.highPrecisionEnabled() ? decimal.power(base, exponent)
+            : fastMath != null ? fastMath.pow(base, exponent)
+            : Math.pow(base, exponent);
+        cache(Operation.POWER, base, exponent, result);
+        return result;
+    }
+
+    public double squareRoot(double number) throws InvalidInputException {
+        ValidationRule rule = InputValidator.checkSquareRoot(number);
+        if (!rule.isValid()) {
+            throw new InvalidInputException(InputValidator.describe(rule, number, 0, 0));
+        }
+        return settings.highPrecisionEnabled() ? decimal.squareRoot(number) : Math.sqrt(number);
+    }
+
+    public double cubeRoot(double number) {
+        return settings.highPrecisionEnabled() ? decimal.cubeRoot(number)
+            : fastMath != null ? fastMath.cbrt(number)
+            : Math.cbrt(number);
+    }
+
+    public double nthRoot(double number, double n) throws InvalidInputException {
+        if (n == 0) {
+            throw new InvalidInputException("Root cannot be zero");
+        }
+        long cached = cached(Operation.NTH_ROOT, number, n);
+        if (cached != OperationCache.MISS) {
+            return Double.longBitsToDouble(cached);
+        }
+        double result = settings.highPrecisionEnabled() ? decimal.nthRoot(number, n)
+            : fastMath != null ? fastMath.nthRoot(number, n)
+            : Math.pow(number, 1.0 / n);
+        cache(Operation.NTH_ROOT, number, n, result);
+        return result;
+    }
+
+    /**
+     * Computes the factorial of an integral double, exactly up to 170.
+     *
+     * @param number the argument
+     * @return the factorial, rounded to a double above 20
+     * @throws InvalidInputException if the number is not an integer, is
+     *         negative or is above 170
+     */
+    public double factorial(double number) throws InvalidInputException {
+        if (number != Math.floor(number) || Double.isInfinite(number)
+                || number > Integer.MAX_VALUE || number < Integer.MIN_VALUE) {
+            throw new InvalidInputException("Factorial requires an integer operand: " + number);
+        }
+        int n = (int) number;
+        try {
+            InputValidator.validateFactorial(n);
+        } catch (ValidationException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+        return n <= Factorials.MAX_LONG_ARGUMENT ? Factorials.factorial(n) : Factorials.exact(n).doubleValue();
+    }
+
+    public double logarithm(double number) throws InvalidInputException {
+        checkLogarithm(number);
+        long cached = cached(Operation.LOGARITHM, number, 0.0);
+        if (cached != OperationCache.MISS) {
+            return Double.longBitsToDouble(cached);
+        }
+        double result = settings.highPrecisionEnabled() ? decimal.log10(number)
+            : fastMath != null ? fastMath.log10(number)
+            : Math.log10(number);
+        cache(Operation.LOGARITHM, number, 0.0, result);
+        return result;
+    }
+
+    public double naturalLogarithm(double number) throws InvalidInputException {
+        checkLogarithm(number);
+        long cached = cached(Operation.NATURAL_LOGARITHM, number, 0.0);
+        if (cached != OperationCache.MISS) {
+            return Double.longBitsToDouble(cached);
+        }
+        double result = settings.highPrecisionEnabled() ? decimal.ln(number)
+            : fastMath != null ? fastMath.log(number)
+            : Math.log(number);
+        cache(Operation.NATURAL_LOGARITHM, number, 0.0, result);
+        return result;
+    }
+
+    public double sin(double angle) {
+        return settings.fastTrigonometryEnabled()
+            ? Trigonometry.fastSin(angle, settings.angleUnit())
+            : Trigonometry.sin(angle, settings.angleUnit());
+    }
+
+    public double cos(double angle) {
+        return settings.fastTrigonometryEnabled()
+            ? Trigonometry.fastCos(angle, settings.angleUnit())
+            : Trigonometry.cos(angle, settings.angleUnit());
+    }
+
+    public double tan(double angle) throws InvalidInputException {
+        if (Trigonometry.isTangentPole(angle, settings.angleUnit())) {
+            throw new InvalidInputException("Tangent is not defined for " + angle + " degrees");
+        }
+        return settings.fastTrigonometryEnabled()
+            ? Trigonometry.fastTan(angle, settings.angleUnit())
+            : Trigonometry.tan(angle, settings.angleUnit());
+    }
+
+    public double asin(double number) throws InvalidInputException {
+        checkInverseTrigonometric(number);
+        return Trigonometry.asin(number, settings.angleUnit());
+    }
+
+    public double acos(double number) throws InvalidInputException {
+        checkInverseTrigonometric(number);
+        return Trigonometry.acos(number, settings.angleUnit());
+    }
+
+    public double atan(double number) {
+        return Trigonometry.atan(number, settings.angleUnit());
+    }
+
+    private static void checkLogarithm(double number) throws InvalidInputException {
+        ValidationRule rule = InputValidator.checkLogarithm(number);
+        if (!rule.isValid()) {
+            throw new InvalidInputException(InputValidator.describe(rule, number, 0, 0));
+        }
+    }
+
+    private static void checkInverseTrigonometric(double number) throws InvalidInputException {
+        ValidationRule rule = InputValidator.checkInverseTrigonometric(number);
+        if (!rule.isValid()) {
+            throw new InvalidInputException(InputValidator.describe(rule, number, 0, 0));
+        }
+    }
+
+    private long cached(Operation operation, double a, double b) {
+        return cache == null ? OperationCache.MISS : cache.get(operation, a, b);
+    }
+
+    private void cache(Operation operation, double a, double b, double result) {
+        if (cache != null) {
+            cache.put(operation, a, b, Double.doubleToRawLongBits(result));
+        }
+    }
+}
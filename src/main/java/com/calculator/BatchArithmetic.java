@@ -0,0 +1,139 @@
+package com.calculator;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Element-wise arithmetic over arrays for the batch methods of {@link Calculator}.
+ *
+ * Uses {@link VectorArithmetic} when the {@code jdk.incubator.vector}
+ * module is present (run with {@code --add-modules jdk.incubator.vector})
+ * and the hardware has vectors, and plain loops otherwise; both give the
+ * same results. Each method fills the results array and returns the total
+ * of the results, for the batch's history entry.
+ */
+final class BatchArithmetic {
+
+    private static final boolean VECTORIZED =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && VectorArithmetic.isAccelerated();
+
+    private BatchArithmetic() {
+        // Utility class
+    }
+
+    /**
+     * Checks whether the batch operations use the Vector API.
+     *
+     * @return true if vectorized
+     */
+    static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    static double add(double[] a, double[] b, double[] results) {
+        if (VECTORIZED) {
+            return VectorArithmetic.add(a, b, results);
+        }
+        double total = 0;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = a[i] + b[i];
+            total += results[i];
+        }
+        return total;
+    }
+
+    static double subtract(double[] a, double[] b, double[] results) {
+        if (VECTORIZED) {
+            return VectorArithmetic.subtract(a, b, results);
+        }
+        double total = 0;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = a[i] - b[i];
+            total += results[i];
+        }
+        return total;
+    }
+
+    static double multiply(double[] a, double[] b, double[] results) {
+        if (VECTORIZED) {
+            return VectorArithmetic.multiply(a, b, results);
+        }
+        double total = 0;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = a[i] * b[i];
+            total += results[i];
+        }
+        return total;
+    }
+
+    static double divide(double[] a, double[] b, double[] results) {
+        if (VECTORIZED) {
+            return VectorArithmetic.divide(a, b, results);
+        }
+        double total = 0;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = a[i] / b[i];
+            total += results[i];
+        }
+        return total;
+    }
+
+    static double percentage(double[] numbers, double[] percents, double[] results) {
+        if (VECTORIZED) {
+            return VectorArithmetic.percentage(numbers, percents, results);
+        }
+        double total = 0;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = (numbers[i] * percents[i]) / 100.0;
+            total += results[i];
+        }
+        return total;
+    }
+
+    static double absolute(double[] numbers, double[] results) {
+        if (VECTORIZED) {
+            return VectorArithmetic.absolute(numbers, results);
+        }
+        double total = 0;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = Math.abs(numbers[i]);
+            total += results[i];
+        }
+        return total;
+    }
+
+    /**
+     * Applies an operation element by element, for arithmetic that has no
+     * vector form such as the {@link DecimalEngine}.
+     */
+    static double apply(double[] a, double[] b, double[] results, DoubleBinaryOperator operation) {
+        double total = 0;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = operation.applyAsDouble(a[i], b[i]);
+            total += results[i];
+        }
+        return total;
+    }
+
+    /**
+     * Finds the first division that
+     * {@link com.calculator.validation.InputValidator#validateDivision(double, double)}
+     * rejects for its divisor or overflow.
+     *
+     * @return the index of the division, or -1 if all are valid
+     */
+    static int findInvalidDivision(double[] dividends, double[] divisors) {
+        if (VECTORIZED) {
+            return VectorArithmetic.findInvalidDivision(dividends, divisors);
+        }
+        for (int i = 0; i < divisors.length; i++) {
+            if (isInvalidDivision(dividends[i], divisors[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static boolean isInvalidDivision(double dividend, double divisor) {
+        return divisor == 0.0 || Math.abs(dividend) > Double.MAX_VALUE * Math.abs(divisor);
+    }
+}
@@ -0,0 +1,413 @@
+package com.calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Roots, powers, exponentials and logarithms of {@link BigDecimal}s to any
+ * precision.
+ *
+ * Every function works with a few guard digits beyond the requested
+ * precision and rounds once at the end, so results are accurate to the
+ * last requested digit except in rare double-rounding cases. Contexts must
+ * have a limited precision.
+ *
+ * - Roots use Newton's iteration from a double estimate, doubling the
+ *   working precision with every step, so only the last steps run at full
+ *   precision.
+ * - Logarithms split off powers of ten and two, which leaves a value near 1,
+ *   take a few square roots to bring it closer and sum the series of
+ *   {@code 2 atanh((x - 1) / (x + 1))}.
+ * - {@code ln 2} and {@code ln 10} come from fast Machin-like atanh
+ *   formulas and are cached at the highest precision requested so far.
+ * - The exponential splits off a power of two, halves the rest a few times
+ *   and squares the Taylor series result back.
+ * - Integer powers use exponentiation by squaring.
+ */
+final class BigMath {
+
+    /** Extra digits carried through intermediate results */
+    private static final int GUARD_DIGITS = 10;
+
+    /** Largest |x| accepted by {@link #exp}; e^x would not fit a BigDecimal's scale */
+    private static final long MAX_EXP_ARGUMENT = 1_000_000_000L;
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /** A constant together with the number of correct digits it was computed to */
+    private record Constant(BigDecimal value, int digits) {
+    }
+
+    private static volatile Constant ln2 = new Constant(BigDecimal.ZERO, 0);
+    private static volatile Constant ln10 = new Constant(BigDecimal.ZERO, 0);
+
+    private BigMath() {
+        // Utility class
+    }
+
+    /**
+     * Computes a square root.
+     *
+     * @param x the radicand, not negative
+     * @param mc the precision and rounding of the result
+     * @return the square root of {@code x}
+     * @throws ArithmeticException if {@code x} is negative
+     */
+    static BigDecimal sqrt(BigDecimal x, MathContext mc) {
+        return x.sqrt(mc);
+    }
+
+    /**
+     * Computes the real {@code n}th root.
+     *
+     * @param x the radicand, not negative if {@code n} is even
+     * @param n the degree of the root, not zero
+     * @param mc the precision and rounding of the result
+     * @return the {@code n}th root of {@code x}
+     * @throws ArithmeticException if {@code n} is zero, or {@code n} is even and {@code x} negative
+     */
+    static BigDecimal root(BigDecimal x, int n, MathContext mc) {
+        if (n == 0) {
+            throw new ArithmeticException("Zeroth root");
+        }
+        if (x.signum() < 0) {
+            if ((n & 1) == 0) {
+                throw new ArithmeticException("Even root of a negative number");
+            }
+            return root(x.negate(), n, mc).negate();
+        }
+        if (x.signum() == 0) {
+            if (n < 0) {
+                throw new ArithmeticException("Division by zero");
+            }
+            return BigDecimal.ZERO;
+        }
+
+        MathContext work = new MathContext(mc.getPrecision() + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+        if (n < 0) {
+            return BigDecimal.ONE.divide(root(x, -n, work), mc);
+        }
+        if (n == 1) {
+            return x.round(mc);
+        }
+        if (n == 2) {
+            return x.sqrt(mc);
+        }
+
+        // Estimate x = m * 10^e with m in [1, 10), then root = 10^(log10(m) + e) / n
+        int exponent = x.precision() - x.scale() - 1;
+        double mantissa = x.movePointLeft(exponent).doubleValue();
+        long shift = Math.floorDiv(exponent, n);
+        double rest = (Math.log10(mantissa) + (exponent - shift * n)) / n;
+        BigDecimal y = new BigDecimal(Math.pow(10, rest)).scaleByPowerOfTen((int) shift);
+
+        BigDecimal degree = BigDecimal.valueOf(n);
+        BigDecimal degreeLess = BigDecimal.valueOf(n - 1);
+        int precision = 8;
+        while (true) {
+            precision = Math.min(precision * 2, work.getPrecision());
+            MathContext step = new MathContext(precision, RoundingMode.HALF_EVEN);
+            // y' = ((n - 1) y + x / y^(n - 1)) / n
+            BigDecimal next = degreeLess.multiply(y)
+                                        .add(x.divide(pow(y, n - 1, step), step))
+                                        .divide(degree, step);
+            boolean converged = precision == work.getPrecision() && closeEnough(next, y, precision);
+            y = next;
+            if (converged) {
+                break;
+            }
+        }
+        // One more step at full precision absorbs the error of the doubling phase
+        y = degreeLess.multiply(y).add(x.divide(pow(y, n - 1, work), work)).divide(degree, work);
+        return y.round(mc);
+    }
+
+    /**
+     * Computes {@code x} raised to {@code y}.
+     *
+     * @param x the base, not negative unless {@code y} is an integer
+     * @param y the exponent
+     * @param mc the precision and rounding of the result
+     * @return {@code x^y}
+     * @throws ArithmeticException if the result is not a real number or cannot be represented
+     */
+    static BigDecimal pow(BigDecimal x, BigDecimal y, MathContext mc) {
+        if (isInteger(y) && y.abs().compareTo(BigDecimal.valueOf(999_999_999)) <= 0) {
+            return pow(x, y.intValueExact(), mc);
+        }
+        if (x.signum() < 0) {
+            throw new ArithmeticException("Non-integer power of a negative number");
+        }
+        if (x.signum() == 0) {
+            if (y.signum() < 0) {
+                throw new ArithmeticException("Division by zero");
+            }
+            return BigDecimal.ZERO;
+        }
+
+        // e^(y ln x) loses as many digits as the integer part of y ln x has
+        double magnitude = Math.abs(y.doubleValue() * approximateLn(x));
+        int extra = magnitude < 1 ? 0 : (int) Math.log10(magnitude) + 1;
+        MathContext work = new MathContext(mc.getPrecision() + extra + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+        return exp(y.multiply(ln(x, work), work), work).round(mc);
+    }
+
+    /**
+     * Computes an integer power by repeated squaring.
+     *
+     * @param x the base
+     * @param n the exponent
+     * @param mc the precision and rounding of the result
+     * @return {@code x^n}
+     * @throws ArithmeticException if {@code x} is zero and {@code n} negative
+     */
+    static BigDecimal pow(BigDecimal x, int n, MathContext mc) {
+        if (n < 0) {
+            if (x.signum() == 0) {
+                throw new ArithmeticException("Division by zero");
+            }
+            int digits = mc.getPrecision() + GUARD_DIGITS + digits(-(long) n);
+            MathContext work = new MathContext(digits, RoundingMode.HALF_EVEN);
+            return BigDecimal.ONE.divide(pow(x, -n, work), mc);
+        }
+
+        // Each multiplication may lose half an ulp; there are at most 2 log2(n) of them
+        MathContext work = new MathContext(mc.getPrecision() + GUARD_DIGITS + digits(n), RoundingMode.HALF_EVEN);
+        BigDecimal result = BigDecimal.ONE;
+        BigDecimal square = x;
+        for (int remaining = n; remaining != 0; remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                result = result.multiply(square, work);
+            }
+            if (remaining > 1) {
+                square = square.multiply(square, work);
+            }
+        }
+        return result.round(mc);
+    }
+
+    /**
+     * Computes the exponential function.
+     *
+     * @param x the exponent
+     * @param mc the precision and rounding of the result
+     * @return {@code e^x}
+     * @throws ArithmeticException if the result cannot be represented
+     */
+    static BigDecimal exp(BigDecimal x, MathContext mc) {
+        if (x.signum() == 0) {
+            return BigDecimal.ONE;
+        }
+        if (x.abs().compareTo(BigDecimal.valueOf(MAX_EXP_ARGUMENT)) > 0) {
+            throw new ArithmeticException(x.signum() > 0 ? "Overflow" : "Underflow");
+        }
+
+        // x = k ln 2 + r with |r| <= ln 2 / 2, and e^x = 2^k e^r
+        long k = Math.round(x.doubleValue() / Math.log(2));
+        int halvings = (int) Math.sqrt(mc.getPrecision()) + 1;
+        int digits = mc.getPrecision() + GUARD_DIGITS + digits(Math.abs(k)) + halvings / 3;
+        MathContext work = new MathContext(digits, RoundingMode.HALF_EVEN);
+        BigDecimal r = x.subtract(ln2(digits).multiply(BigDecimal.valueOf(k)), work);
+
+        // e^r = (e^(r / 2^h))^(2^h); the smaller argument makes the series short
+        r = r.divide(TWO.pow(halvings), work);
+        BigDecimal sum = BigDecimal.ONE;
+        BigDecimal term = BigDecimal.ONE;
+        BigDecimal epsilon = BigDecimal.ONE.movePointLeft(digits + 1);
+        for (int i = 1; term.abs().compareTo(epsilon) > 0; i++) {
+            term = term.multiply(r).divide(BigDecimal.valueOf(i), work);
+            sum = sum.add(term, work);
+        }
+        for (int i = 0; i < halvings; i++) {
+            sum = sum.multiply(sum, work);
+        }
+        return sum.multiply(pow(TWO, (int) k, work), work).round(mc);
+    }
+
+    /**
+     * Computes the natural logarithm.
+     *
+     * @param x the argument, positive
+     * @param mc the precision and rounding of the result
+     * @return {@code ln x}
+     * @throws ArithmeticException if {@code x} is not positive
+     */
+    static BigDecimal ln(BigDecimal x, MathContext mc) {
+        if (x.signum() <= 0) {
+            throw new ArithmeticException("Logarithm of a non-positive number");
+        }
+        if (x.compareTo(BigDecimal.ONE) == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        // Near 1 the series converges directly; splitting would cancel digits
+        double estimate = x.doubleValue();
+        if (estimate > 0.5 && estimate < 2) {
+            MathContext work = new MathContext(mc.getPrecision() + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+            return lnNearOne(x, work).round(mc);
+        }
+
+        // x = m * 10^e * 2^j with m near 1
+        int exponent = x.precision() - x.scale() - 1;
+        BigDecimal m = x.movePointLeft(exponent);
+        if (m.compareTo(BigDecimal.ONE) == 0) {
+            return ln10(mc.getPrecision() + digits(Math.abs((long) exponent)))
+                .multiply(BigDecimal.valueOf(exponent), mc);
+        }
+        int j = (int) Math.round(Math.log(m.doubleValue()) / Math.log(2));
+        // Division by 2^j is exact: multiply by 5^j and shift
+        m = m.multiply(new BigDecimal(BigInteger.valueOf(5).pow(j))).movePointLeft(j);
+
+        int digits = mc.getPrecision() + GUARD_DIGITS + digits(Math.abs((long) exponent));
+        MathContext work = new MathContext(digits, RoundingMode.HALF_EVEN);
+        BigDecimal result = lnNearOne(m, work);
+        if (j != 0) {
+            result = result.add(ln2(digits).multiply(BigDecimal.valueOf(j)), work);
+        }
+        if (exponent != 0) {
+            result = result.add(ln10(digits).multiply(BigDecimal.valueOf(exponent)), work);
+        }
+        return result.round(mc);
+    }
+
+    /**
+     * Computes the common logarithm.
+     *
+     * @param x the argument, positive
+     * @param mc the precision and rounding of the result
+     * @return {@code log10 x}
+     * @throws ArithmeticException if {@code x} is not positive
+     */
+    static BigDecimal log10(BigDecimal x, MathContext mc) {
+        if (x.signum() > 0) {
+            BigDecimal stripped = x.stripTrailingZeros();
+            if (stripped.unscaledValue().equals(BigInteger.ONE)) {
+                // Exact powers of ten have exact logarithms
+                return BigDecimal.valueOf(-(long) stripped.scale()).round(mc);
+            }
+        }
+        int digits = mc.getPrecision() + GUARD_DIGITS;
+        MathContext work = new MathContext(digits, RoundingMode.HALF_EVEN);
+        return ln(x, work).divide(ln10(digits), mc);
+    }
+
+    /**
+     * Gets {@code ln 2}, computing it only if no precise enough value is cached.
+     *
+     * @param digits the number of significant digits
+     * @return ln 2 rounded to {@code digits} digits
+     */
+    static BigDecimal ln2(int digits) {
+        Constant cached = ln2;
+        if (cached.digits() < digits) {
+            // ln 2 = 18 atanh(1/26) - 2 atanh(1/4801) + 8 atanh(1/8749)
+            MathContext work = new MathContext(digits + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+            BigDecimal value = atanhInverse(26, work).multiply(BigDecimal.valueOf(18))
+                .subtract(atanhInverse(4801, work).multiply(TWO))
+                .add(atanhInverse(8749, work).multiply(BigDecimal.valueOf(8)), work);
+            cached = new Constant(value, digits + GUARD_DIGITS - 1);
+            ln2 = cached;
+        }
+        return cached.value().round(new MathContext(digits, RoundingMode.HALF_EVEN));
+    }
+
+    /**
+     * Gets {@code ln 10}, computing it only if no precise enough value is cached.
+     *
+     * @param digits the number of significant digits
+     * @return ln 10 rounded to {@code digits} digits
+     */
+    static BigDecimal ln10(int digits) {
+        Constant cached = ln10;
+        if (cached.digits() < digits) {
+            // ln 10 = 3 ln 2 + ln 1.25 = 3 ln 2 + 2 atanh(1/9)
+            MathContext work = new MathContext(digits + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+            BigDecimal value = ln2(digits + GUARD_DIGITS).multiply(BigDecimal.valueOf(3))
+                .add(atanhInverse(9, work).multiply(TWO), work);
+            cached = new Constant(value, digits + GUARD_DIGITS - 1);
+            ln10 = cached;
+        }
+        return cached.value().round(new MathContext(digits, RoundingMode.HALF_EVEN));
+    }
+
+    /**
+     * Natural logarithm of a value within a factor of two of 1.
+     */
+    private static BigDecimal lnNearOne(BigDecimal x, MathContext mc) {
+        // ln x = 2^s ln(x^(1/2^s)). Every square root halves z, which speeds up
+        // the series, but x^(1/2^s) - 1 then cancels digits; only worth it at
+        // high precision when x is not already close to 1.
+        BigDecimal deviation = x.subtract(BigDecimal.ONE);
+        int deviationExponent = deviation.precision() - deviation.scale() - 1;
+        int roots = deviationExponent >= -3 ? mc.getPrecision() / 64 : 0;
+        MathContext work = mc;
+        if (roots > 0) {
+            int lost = roots / 3 + 1 - deviationExponent;
+            work = new MathContext(mc.getPrecision() + lost, RoundingMode.HALF_EVEN);
+            for (int i = 0; i < roots; i++) {
+                x = x.sqrt(work);
+            }
+        }
+
+        // ln x = 2 atanh(z) = 2 (z + z^3/3 + z^5/5 + ...) with z = (x - 1) / (x + 1)
+        BigDecimal z = x.subtract(BigDecimal.ONE).divide(x.add(BigDecimal.ONE), work);
+        if (z.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal zSquared = z.multiply(z, work);
+        BigDecimal power = z;
+        BigDecimal sum = z;
+        BigDecimal epsilon = z.abs().movePointLeft(work.getPrecision() + 1);
+        for (long i = 3; ; i += 2) {
+            power = power.multiply(zSquared, work);
+            BigDecimal term = power.divide(BigDecimal.valueOf(i), work);
+            if (term.abs().compareTo(epsilon) <= 0) {
+                break;
+            }
+            sum = sum.add(term, work);
+        }
+        return sum.multiply(TWO.pow(roots + 1), mc);
+    }
+
+    /**
+     * Computes {@code atanh(1/k) = 1/k + 1/(3 k^3) + 1/(5 k^5) + ...}.
+     */
+    private static BigDecimal atanhInverse(long k, MathContext mc) {
+        BigDecimal kSquared = BigDecimal.valueOf(k * k);
+        BigDecimal power = BigDecimal.ONE.divide(BigDecimal.valueOf(k), mc);
+        BigDecimal sum = power;
+        BigDecimal epsilon = power.movePointLeft(mc.getPrecision() + 1);
+        for (long i = 3; ; i += 2) {
+            power = power.divide(kSquared, mc);
+            BigDecimal term = power.divide(BigDecimal.valueOf(i), mc);
+            if (term.compareTo(epsilon) <= 0) {
+                return sum;
+            }
+            sum = sum.add(term, mc);
+        }
+    }
+
+    private static boolean closeEnough(BigDecimal a, BigDecimal b, int precision) {
+        BigDecimal difference = a.subtract(b).abs();
+        return difference.signum() == 0
+            || difference.compareTo(a.abs().movePointLeft(precision - 2)) <= 0;
+    }
+
+    private static boolean isInteger(BigDecimal value) {
+        return value.signum() == 0 || value.scale() <= 0 || value.stripTrailingZeros().scale() <= 0;
+    }
+
+    /**
+     * Approximates ln x for values beyond the double range.
+     */
+    private static double approximateLn(BigDecimal x) {
+        int exponent = x.precision() - x.scale() - 1;
+        return Math.log(x.movePointLeft(exponent).doubleValue()) + exponent * Math.log(10);
+    }
+
+    private static int digits(long value) {
+        return Long.toString(value).length();
+    }
+}
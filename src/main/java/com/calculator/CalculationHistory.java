@@ -0,0 +1,178 @@
+package com.calculator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity ring buffer of structured calculation records.
+ *
+ * Records are stored as primitives (operation ordinal, operands and result)
+ * in parallel arrays. Appending is O(1) and, once the buffer is full, simply
+ * overwrites the oldest record. Human-readable text is only produced when
+ * the history is read through {@link #render(CalculatorConfig.Snapshot)} or
+ * {@link #renderLast(CalculatorConfig.Snapshot)}.
+ *
+ * This class is not thread-safe; {@link ConcurrentCalculationHistory} is
+ * used when calculators are shared between threads.
+ */
+class CalculationHistory {
+
+    private byte[] operations;
+    private double[] firstOperands;
+    private double[] secondOperands;
+    private double[] results;
+
+    /** Index of the oldest record */
+    private int head;
+
+    /** Number of records currently stored */
+    private int size;
+
+    /**
+     * Creates an empty history holding at most {@code capacity} records.
+     *
+     * @param capacity the maximum number of records to keep
+     */
+    CalculationHistory(int capacity) {
+        allocate(capacity);
+    }
+
+    /**
+     * Creates a history without storage, for subclasses that manage their own.
+     */
+    CalculationHistory() {
+    }
+
+    /**
+     * Appends a record, evicting the oldest one if the buffer is full.
+     *
+     * @param operation the operation performed
+     * @param a the first operand
+     * @param b the second operand
+     * @param result the result of the operation
+     */
+    void record(Operation operation, double a, double b, double result) {
+        int capacity = operations.length;
+        int index = head + size;
+        if (index >= capacity) {
+            index -= capacity;
+        }
+
+        operations[index] = (byte) operation.ordinal();
+        firstOperands[index] = a;
+        secondOperands[index] = b;
+        results[index] = result;
+
+        if (size < capacity) {
+            size++;
+        } else if (++head == capacity) {
+            head = 0;
+        }
+    }
+
+    /**
+     * Gets the maximum number of records this history keeps.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return operations.length;
+    }
+
+    /**
+     * Changes the capacity, keeping the most recent records that still fit.
+     *
+     * @param capacity the new maximum number of records
+     */
+    void resize(int capacity) {
+        if (capacity == operations.length) {
+            return;
+        }
+
+        byte[] oldOperations = operations;
+        double[] oldFirst = firstOperands;
+        double[] oldSecond = secondOperands;
+        double[] oldResults = results;
+        int oldHead = head;
+        int oldSize = size;
+        int oldCapacity = oldOperations.length;
+
+        allocate(capacity);
+
+        int keep = Math.min(oldSize, capacity);
+        for (int i = oldSize - keep; i < oldSize; i++) {
+            int from = (oldHead + i) % oldCapacity;
+            operations[size] = oldOperations[from];
+            firstOperands[size] = oldFirst[from];
+            secondOperands[size] = oldSecond[from];
+            results[size] = oldResults[from];
+            size++;
+        }
+    }
+
+    /**
+     * Gets the number of records currently stored.
+     *
+     * @return the number of records
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all records.
+     */
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Renders all records, oldest first.
+     *
+     * @param settings the configuration used to format results
+     * @return a new list containing the rendered records
+     */
+    List<String> render(CalculatorConfig.Snapshot settings) {
+        List<String> rendered = new ArrayList<>(size);
+        StringBuilder sb = new StringBuilder(48);
+        for (int i = 0; i < size; i++) {
+            sb.setLength(0);
+            renderAt((head + i) % operations.length, sb, settings);
+            rendered.add(sb.toString());
+        }
+        return rendered;
+    }
+
+    /**
+     * Renders the most recent record.
+     *
+     * @param settings the configuration used to format results
+     * @return the rendered record, or null if the history is empty
+     */
+    String renderLast(CalculatorConfig.Snapshot settings) {
+        if (size == 0) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(48);
+        renderAt((head + size - 1) % operations.length, sb, settings);
+        return sb.toString();
+    }
+
+    private void renderAt(int index, StringBuilder sb, CalculatorConfig.Snapshot settings) {
+        Operation.of(operations[index]).render(sb, firstOperands[index], secondOperands[index],
+                                                results[index], settings);
+    }
+
+    private void allocate(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("History capacity must be positive: " + capacity);
+        }
+        operations = new byte[capacity];
+        firstOperands = new double[capacity];
+        secondOperands = new double[capacity];
+        results = new double[capacity];
+        head = 0;
+        size = 0;
+    }
+}
@@ -1,20 +1,53 @@
 package com.calculator;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.math.BigInteger;
 import java.math.RoundingMode;
-import java.util.ArrayList;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import com.calculator.expression.Expression;
 import com.calculator.validation.InputValidator;
 import com.calculator.validation.ValidationException;
+import com.calculator.validation.ValidationRule;
 
 /**
  * A comprehensive calculator class providing mathematical operations,
  * memory functionality, and calculation history tracking.
+ * 
+ * Memory has memory.max.slots slots; the methods without a slot argument
+ * use slot 0. With memory.persistent set, the slots live in a memory-mapped
+ * file and survive restarts. Memory updates are lock-free. When
+ * performance.multithreading.enabled is set, the history is a
+ * {@link ConcurrentCalculationHistory} so that one instance can be shared
+ * between threads. With calculation.high.precision.enabled set, the
+ * arithmetic, roots, powers, logarithms and rounding compute in decimal via
+ * {@link DecimalEngine}; with calculation.adaptive.precision.enabled set
+ * instead, the basic arithmetic decides per operation via
+ * {@link AdaptivePrecision}. After {@link #openHistoryJournal()}, every
+ * calculation is also appended to the history file in the background.
+ * The exact methods such as {@link #multiplyExact(Number, Number)} work on
+ * integers in long arithmetic and switch to BigInteger only on overflow.
+ * {@link #fixedPoint()} gives allocation-free decimal arithmetic on scaled
+ * longs for amounts such as currency, and the methods taking
+ * {@link Rational} operands compute with exact fractions. The trigonometric
+ * methods take and return angles in calculation.angle.unit. With
+ * calculation.fast.math.enabled set, powers, roots and logarithms are
+ * approximated within an error budget by {@link FastMath}. The arithmetic
+ * methods taking arrays process a whole batch with vector instructions and
+ * record it as one history entry.
  */
 public class Calculator {
-    private double memory = 0.0;
-    private List<String> history = new ArrayList<>();
+    private final MemoryStore memory;
+    private final CalculationHistory history;
+    private volatile OperationCache cache;
+    private volatile DecimalEngine decimal;
+    private volatile AdaptivePrecision adaptive;
+    private volatile FixedPoint fixedPoint;
+    private volatile FastMath fastMath;
+    private volatile Arithmetic arithmetic;
+    private volatile HistoryJournal journal;
     private static final Logger LOGGER = Logger.getLogger(Calculator.class.getName());
     private CalculatorConfig config;
     
@@ -24,12 +57,14 @@ public class Calculator {
     
     public Calculator() {
         this.config = CalculatorConfig.getInstance();
-        this.memory = 0.0;
-        this.history = new ArrayList<>();
+        this.memory = createMemoryStore();
+        this.history = config.isMultithreadingEnabled()
+            ? new ConcurrentCalculationHistory(config.getMaxHistoryEntries())
+            : new CalculationHistory(config.getMaxHistoryEntries());
         
         // Apply configuration settings
-        if (config.isMemoryAutoClearOnStartup()) {
-            memoryClear();
+        if (config.isMemoryAutoClearOnStartup() && !config.isMemoryPersistent()) {
+            memory.clearAll(); // Fresh instance, nothing worth recording in history
         }
         
         if (config.isHistoryClearOnStartup()) {
@@ -39,13 +74,25 @@ public class Calculator {
         LOGGER.info("Calculator initialized with configuration: " + config.toString());
     }
     
+    private MemoryStore createMemoryStore() {
+        if (config.isMemoryPersistent()) {
+            Path path = CalculatorConfig.resolveUserPath(config.getMemoryFilePath());
+            try {
+                return MappedMemoryStore.open(path, config.getMaxMemorySlots());
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Cannot map memory file " + path + ", memory will not persist", e);
+            }
+        }
+        return new MemoryStore(config.getMaxMemorySlots());
+    }
+    
     // Basic arithmetic operations
     public double add(double a, double b) throws InvalidInputException {
         validateInput(a, "First parameter");
         validateInput(b, "Second parameter");
         
-        double result = a + b;
-        logCalculation(a + " + " + b + " = " + formatResult(result));
+        double result = arithmetic(config.getSnapshot()).add(a, b);
+        logCalculation(Operation.ADD, a, b, result);
         return result;
     }
     
@@ -53,8 +100,8 @@ public class Calculator {
         validateInput(a, "Minuend");
         validateInput(b, "Subtrahend");
         
-        double result = a - b;
-        logCalculation(a + " - " + b + " = " + formatResult(result));
+        double result = arithmetic(config.getSnapshot()).subtract(a, b);
+        logCalculation(Operation.SUBTRACT, a, b, result);
         return result;
     }
     
@@ -62,8 +109,8 @@ public class Calculator {
         validateInput(a, "Multiplicand");
         validateInput(b, "Multiplier");
         
-        double result = a * b;
-        logCalculation(a + " * " + b + " = " + formatResult(result));
+        double result = arithmetic(config.getSnapshot()).multiply(a, b);
+        logCalculation(Operation.MULTIPLY, a, b, result);
         return result;
     }
     
@@ -71,14 +118,8 @@ public class Calculator {
         validateInput(a, "Dividend");
         validateInput(b, "Divisor");
         
-        try {
-            InputValidator.validateDivision(a, b);
-        } catch (ValidationException e) {
-            throw new DivisionByZeroException(e.getMessage());
-        }
-        
-        double result = a / b;
-        logCalculation(a + " / " + b + " = " + formatResult(result));
+        double result = arithmetic(config.getSnapshot()).divide(a, b);
+        logCalculation(Operation.DIVIDE, a, b, result);
         return result;
     }
     
@@ -87,30 +128,24 @@ public class Calculator {
         validateInput(base, "Base");
         validateInput(exponent, "Exponent");
         
-        double result = Math.pow(base, exponent);
-        logCalculation(base + "^" + exponent + " = " + formatResult(result));
+        double result = arithmetic(config.getSnapshot()).power(base, exponent);
+        logCalculation(Operation.POWER, base, exponent, result);
         return result;
     }
     
     public double squareRoot(double number) throws InvalidInputException {
         validateInput(number, "Number");
         
-        try {
-            InputValidator.validateSquareRoot(number);
-        } catch (ValidationException e) {
-            throw new InvalidInputException(e.getMessage());
-        }
-        
-        double result = Math.sqrt(number);
-        logCalculation("√" + number + " = " + formatResult(result));
+        double result = arithmetic(config.getSnapshot()).squareRoot(number);
+        logCalculation(Operation.SQUARE_ROOT, number, 0.0, result);
         return result;
     }
     
     public double cubeRoot(double number) throws InvalidInputException {
         validateInput(number, "Number");
         
-        double result = Math.cbrt(number);
-        logCalculation("∛" + number + " = " + formatResult(result));
+        double result = arithmetic(config.getSnapshot()).cubeRoot(number);
+        logCalculation(Operation.CUBE_ROOT, number, 0.0, result);
         return result;
     }
     
@@ -118,12 +153,8 @@ public class Calculator {
         validateInput(number, "Number");
         validateInput(n, "Root");
         
-        if (n == 0) {
-            throw new InvalidInputException("Root cannot be zero");
-        }
-        
-        double result = Math.pow(number, 1.0 / n);
-        logCalculation("" + n + "√" + number + " = " + formatResult(result));
+        double result = arithmetic(config.getSnapshot()).nthRoot(number, n);
+        logCalculation(Operation.NTH_ROOT, number, n, result);
         return result;
     }
     
@@ -131,8 +162,8 @@ public class Calculator {
         validateInput(number, "Number");
         validateInput(percent, "Percentage");
         
-        double result = (number * percent) / 100.0;
-        logCalculation(percent + "% of " + number + " = " + formatResult(result));
+        double result = arithmetic(config.getSnapshot()).percentage(number, percent);
+        logCalculation(Operation.PERCENTAGE, number, percent, result);
         return result;
     }
     
@@ -140,7 +171,7 @@ public class Calculator {
         validateInput(number, "Number");
         
         double result = Math.abs(number);
-        logCalculation("|" + number + "| = " + formatResult(result));
+        logCalculation(Operation.ABSOLUTE, number, 0.0, result);
         return result;
     }
     
@@ -151,15 +182,191 @@ public class Calculator {
             throw new InvalidInputException(e.getMessage());
         }
         
-        long result = 1;
-        for (int i = 2; i <= number; i++) {
-            result *= i;
+        if (number > Factorials.MAX_LONG_ARGUMENT) {
+            throw new InvalidInputException("Factorial does not fit in a long for number: " + number
+                + " (maximum: " + Factorials.MAX_LONG_ARGUMENT + "), use factorialExact");
         }
         
-        logCalculation(number + "! = " + result);
+        long result = Factorials.factorial(number);
+        logCalculation(Operation.FACTORIAL, number, 0.0, result);
         return result;
     }
     
+    /**
+     * Computes a factorial exactly, for arguments up to a million.
+     * 
+     * @param number the argument
+     * @return the factorial of {@code number}
+     * @throws InvalidInputException if the number is negative or too large
+     */
+    public BigInteger factorialExact(int number) throws InvalidInputException {
+        try {
+            InputValidator.validateExactFactorial(number);
+        } catch (ValidationException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+        
+        BigInteger result = Factorials.exact(number);
+        logCalculation(Operation.FACTORIAL, number, 0.0, result.doubleValue());
+        return result;
+    }
+    
+    // Exact integer arithmetic
+
+    /**
+     * Adds two integers exactly. The operands may be any integral Number,
+     * including integral doubles and BigIntegers; the result is a Long, or a
+     * BigInteger if it does not fit in one, and can be passed back in.
+     *
+     * @param a the first integer
+     * @param b the second integer
+     * @return the exact sum
+     * @throws InvalidInputException if an operand is not an integer
+     */
+    public Number addExact(Number a, Number b) throws InvalidInputException {
+        Number result = ExactArithmetic.add(integral(a, "First parameter"), integral(b, "Second parameter"));
+        logCalculation(Operation.ADD, a.doubleValue(), b.doubleValue(), result.doubleValue());
+        return result;
+    }
+
+    /**
+     * Subtracts two integers exactly, with operands and result as for
+     * {@link #addExact(Number, Number)}.
+     */
+    public Number subtractExact(Number a, Number b) throws InvalidInputException {
+        Number result = ExactArithmetic.subtract(integral(a, "Minuend"), integral(b, "Subtrahend"));
+        logCalculation(Operation.SUBTRACT, a.doubleValue(), b.doubleValue(), result.doubleValue());
+        return result;
+    }
+
+    /**
+     * Multiplies two integers exactly, with operands and result as for
+     * {@link #addExact(Number, Number)}.
+     */
+    public Number multiplyExact(Number a, Number b) throws InvalidInputException {
+        Number result = ExactArithmetic.multiply(integral(a, "Multiplicand"), integral(b, "Multiplier"));
+        logCalculation(Operation.MULTIPLY, a.doubleValue(), b.doubleValue(), result.doubleValue());
+        return result;
+    }
+
+    /**
+     * Raises an integer to a non-negative integer power exactly, by
+     * repeated squaring, with base and result as for
+     * {@link #addExact(Number, Number)}.
+     *
+     * @throws InvalidInputException if the base is not an integer, the
+     *         exponent is negative or the result would exceed about five
+     *         million digits
+     */
+    public Number powerExact(Number base, int exponent) throws InvalidInputException {
+        Number exactBase = integral(base, "Base");
+        if (exponent < 0) {
+            throw new InvalidInputException("Exponent must not be negative for exact powers: " + exponent);
+        }
+
+        Number result;
+        try {
+            result = ExactArithmetic.power(exactBase, exponent);
+        } catch (ArithmeticException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+        logCalculation(Operation.POWER, base.doubleValue(), exponent, result.doubleValue());
+        return result;
+    }
+
+    private static Number integral(Number value, String paramName) throws InvalidInputException {
+        if (value == null) {
+            throw new InvalidInputException(paramName + " cannot be null");
+        }
+        try {
+            return ExactArithmetic.integral(value);
+        } catch (ArithmeticException e) {
+            throw new InvalidInputException(paramName + " must be an integer: " + value);
+        }
+    }
+
+    // Exact rational arithmetic
+
+    /**
+     * Adds two fractions exactly. The rational methods mirror the double
+     * ones; doubles convert with {@link Rational#valueOf(double)}, so
+     * {@code 0.1} is exactly one tenth.
+     *
+     * @param a the first fraction
+     * @param b the second fraction
+     * @return the exact sum, in lowest terms
+     * @throws InvalidInputException if an operand is null
+     */
+    public Rational add(Rational a, Rational b) throws InvalidInputException {
+        Rational result = requireRational(a, "First parameter").add(requireRational(b, "Second parameter"));
+        logCalculation(Operation.ADD, a.doubleValue(), b.doubleValue(), result.doubleValue());
+        return result;
+    }
+
+    public Rational subtract(Rational a, Rational b) throws InvalidInputException {
+        Rational result = requireRational(a, "Minuend").subtract(requireRational(b, "Subtrahend"));
+        logCalculation(Operation.SUBTRACT, a.doubleValue(), b.doubleValue(), result.doubleValue());
+        return result;
+    }
+
+    public Rational multiply(Rational a, Rational b) throws InvalidInputException {
+        Rational result = requireRational(a, "Multiplicand").multiply(requireRational(b, "Multiplier"));
+        logCalculation(Operation.MULTIPLY, a.doubleValue(), b.doubleValue(), result.doubleValue());
+        return result;
+    }
+
+    public Rational divide(Rational a, Rational b) throws DivisionByZeroException, InvalidInputException {
+        requireRational(a, "Dividend");
+        if (requireRational(b, "Divisor").signum() == 0) {
+            throw new DivisionByZeroException("Division by zero is not allowed");
+        }
+        
+        Rational result = a.divide(b);
+        logCalculation(Operation.DIVIDE, a.doubleValue(), b.doubleValue(), result.doubleValue());
+        return result;
+    }
+
+    public Rational reciprocal(Rational number) throws DivisionByZeroException, InvalidInputException {
+        return divide(Rational.ONE, number);
+    }
+
+    public Rational percentage(Rational number, Rational percent) throws InvalidInputException {
+        Rational result = requireRational(number, "Number").percentage(requireRational(percent, "Percent"));
+        logCalculation(Operation.PERCENTAGE, number.doubleValue(), percent.doubleValue(), result.doubleValue());
+        return result;
+    }
+
+    /**
+     * Raises a fraction to an integer power exactly.
+     *
+     * @param base the base
+     * @param exponent the exponent, negative for powers of the reciprocal
+     * @return the exact power, in lowest terms
+     * @throws DivisionByZeroException if the base is zero and the exponent negative
+     * @throws InvalidInputException if the result would exceed about five million digits
+     */
+    public Rational power(Rational base, int exponent) throws DivisionByZeroException, InvalidInputException {
+        if (requireRational(base, "Base").signum() == 0 && exponent < 0) {
+            throw new DivisionByZeroException("Zero cannot be raised to a negative power");
+        }
+        
+        Rational result;
+        try {
+            result = base.pow(exponent);
+        } catch (ArithmeticException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+        logCalculation(Operation.POWER, base.doubleValue(), exponent, result.doubleValue());
+        return result;
+    }
+
+    private static Rational requireRational(Rational value, String paramName) throws InvalidInputException {
+        if (value == null) {
+            throw new InvalidInputException(paramName + " cannot be null");
+        }
+        return value;
+    }
+
     public double reciprocal(double number) throws InvalidInputException, DivisionByZeroException {
         validateInput(number, "Number");
         return divide(1.0, number);
@@ -167,38 +374,77 @@ public class Calculator {
     
     // Memory operations
     public void memoryStore(double value) throws InvalidInputException {
+        memoryStore(0, value);
+    }
+    
+    public void memoryStore(int slot, double value) throws InvalidInputException {
+        validateSlot(slot);
         validateInput(value, "Memory value");
-        this.memory = value;
-        logCalculation("Memory store: " + formatResult(value));
+        memory.set(slot, value);
+        logCalculation(Operation.MEMORY_STORE, value, slot, value);
     }
     
     public double memoryRecall() {
-        return memory;
+        return memory.get(0);
+    }
+    
+    public double memoryRecall(int slot) throws InvalidInputException {
+        validateSlot(slot);
+        return memory.get(slot);
     }
     
     public void memoryAdd(double value) throws InvalidInputException {
+        memoryAdd(0, value);
+    }
+    
+    public void memoryAdd(int slot, double value) throws InvalidInputException {
+        validateSlot(slot);
         validateInput(value, "Memory value");
-        this.memory += value;
-        logCalculation("Memory add: " + formatResult(value) + ", Total: " + formatResult(memory));
+        double total = memory.add(slot, value);
+        logCalculation(Operation.MEMORY_ADD, value, slot, total);
     }
     
     public void memorySubtract(double value) throws InvalidInputException {
+        memorySubtract(0, value);
+    }
+    
+    public void memorySubtract(int slot, double value) throws InvalidInputException {
+        validateSlot(slot);
         validateInput(value, "Memory value");
-        this.memory -= value;
-        logCalculation("Memory subtract: " + formatResult(value) + ", Total: " + formatResult(memory));
+        double total = memory.add(slot, -value);
+        logCalculation(Operation.MEMORY_SUBTRACT, value, slot, total);
     }
     
     public double getMemoryValue() {
-        return memory;
+        return memoryRecall();
     }
     
     public void memoryClear() {
-        this.memory = 0.0;
-        logCalculation("Memory cleared");
+        memory.set(0, 0.0);
+        logCalculation(Operation.MEMORY_CLEAR, 0.0, 0, 0.0);
+    }
+    
+    public void memoryClear(int slot) throws InvalidInputException {
+        validateSlot(slot);
+        memory.set(slot, 0.0);
+        logCalculation(Operation.MEMORY_CLEAR, 0.0, slot, 0.0);
+    }
+    
+    public void memoryClearAll() {
+        memory.clearAll();
+        logCalculation(Operation.MEMORY_CLEAR, 0.0, -1, 0.0);
     }
     
     public boolean hasMemoryValue() {
-        return memory != 0.0;
+        return memoryRecall() != 0.0;
+    }
+    
+    public boolean hasMemoryValue(int slot) throws InvalidInputException {
+        return memoryRecall(slot) != 0.0;
+    }
+    
+    public int getMemorySlots() {
+        return memory.slots();
     }
     
     // Constants
@@ -226,17 +472,227 @@ public class Calculator {
         return multiply(2, multiply(Math.PI, radius));
     }
     
+    // Logarithmic operations
+    public double logarithm(double number) throws InvalidInputException {
+        validateInput(number, "Number");
+    
+        double result = arithmetic(config.getSnapshot()).logarithm(number);
+        logCalculation(Operation.LOGARITHM, number, 0.0, result);
+        return result;
+    }
+
+    public double naturalLogarithm(double number) throws InvalidInputException {
+        validateInput(number, "Number");
+    
+        double result = arithmetic(config.getSnapshot()).naturalLogarithm(number);
+        logCalculation(Operation.NATURAL_LOGARITHM, number, 0.0, result);
+        return result;
+    }
+    
+    // Trigonometric operations
+    
+    /**
+     * Computes the sine of an angle in calculation.angle.unit. With
+     * calculation.trigonometry.fast.enabled set, the trigonometric
+     * operations use table approximations with an absolute error below
+     * 2.5e-16; see {@link Trigonometry}.
+     * 
+     * @param angle the angle
+     * @return the sine
+     * @throws InvalidInputException if the angle is invalid
+     */
+    public double sin(double angle) throws InvalidInputException {
+        validateInput(angle, "Angle");
+        
+        double result = arithmetic(config.getSnapshot()).sin(angle);
+        logCalculation(Operation.SINE, angle, 0.0, result);
+        return result;
+    }
+    
+    public double cos(double angle) throws InvalidInputException {
+        validateInput(angle, "Angle");
+        
+        double result = arithmetic(config.getSnapshot()).cos(angle);
+        logCalculation(Operation.COSINE, angle, 0.0, result);
+        return result;
+    }
+    
+    public double tan(double angle) throws InvalidInputException {
+        validateInput(angle, "Angle");
+        
+        double result = arithmetic(config.getSnapshot()).tan(angle);
+        logCalculation(Operation.TANGENT, angle, 0.0, result);
+        return result;
+    }
+    
+    /**
+     * Computes the inverse sine, as an angle in calculation.angle.unit.
+     * 
+     * @param number the sine, between -1 and 1
+     * @return the angle, between -90 and 90 degrees
+     * @throws InvalidInputException if the number is outside [-1, 1]
+     */
+    public double asin(double number) throws InvalidInputException {
+        validateInput(number, "Number");
+        
+        double result = arithmetic(config.getSnapshot()).asin(number);
+        logCalculation(Operation.ARCSINE, number, 0.0, result);
+        return result;
+    }
+    
+    public double acos(double number) throws InvalidInputException {
+        validateInput(number, "Number");
+        
+        double result = arithmetic(config.getSnapshot()).acos(number);
+        logCalculation(Operation.ARCCOSINE, number, 0.0, result);
+        return result;
+    }
+    
+    public double atan(double number) throws InvalidInputException {
+        validateInput(number, "Number");
+        
+        double result = arithmetic(config.getSnapshot()).atan(number);
+        logCalculation(Operation.ARCTANGENT, number, 0.0, result);
+        return result;
+    }
+    
+    // Batch operations
+    
+    /**
+     * Adds arrays element by element into a results array. The inputs are
+     * validated and the operation applied for the whole batch at once,
+     * vectorized when the jdk.incubator.vector module is present, and the
+     * batch is recorded as one history entry with the total of the results.
+     * 
+     * @param a the first operands
+     * @param b the second operands, as many as a
+     * @param results receives the sums, as many as a
+     * @throws InvalidInputException if an operand is invalid, naming its index
+     */
+    public void add(double[] a, double[] b, double[] results) throws InvalidInputException {
+        validateBatch(a, b, results, "First parameter", "Second parameter");
+        
+        CalculatorConfig.Snapshot settings = config.getSnapshot();
+        double total = settings.highPrecisionEnabled() ? BatchArithmetic.apply(a, b, results, decimalEngine(settings)::add)
+            : settings.adaptivePrecisionEnabled() ? BatchArithmetic.apply(a, b, results, adaptivePrecision(settings)::add)
+            : BatchArithmetic.add(a, b, results);
+        logBatch(Operation.BATCH_ADD, results.length, total);
+    }
+    
+    public void subtract(double[] a, double[] b, double[] results) throws InvalidInputException {
+        validateBatch(a, b, results, "Minuend", "Subtrahend");
+        
+        CalculatorConfig.Snapshot settings = config.getSnapshot();
+        double total = settings.highPrecisionEnabled() ? BatchArithmetic.apply(a, b, results, decimalEngine(settings)::subtract)
+            : settings.adaptivePrecisionEnabled() ? BatchArithmetic.apply(a, b, results, adaptivePrecision(settings)::subtract)
+            : BatchArithmetic.subtract(a, b, results);
+        logBatch(Operation.BATCH_SUBTRACT, results.length, total);
+    }
+    
+    public void multiply(double[] a, double[] b, double[] results) throws InvalidInputException {
+        validateBatch(a, b, results, "Multiplicand", "Multiplier");
+        
+        CalculatorConfig.Snapshot settings = config.getSnapshot();
+        double total = settings.highPrecisionEnabled() ? BatchArithmetic.apply(a, b, results, decimalEngine(settings)::multiply)
+            : settings.adaptivePrecisionEnabled() ? BatchArithmetic.apply(a, b, results, adaptivePrecision(settings)::multiply)
+            : BatchArithmetic.multiply(a, b, results);
+        logBatch(Operation.BATCH_MULTIPLY, results.length, total);
+    }
+    
+    public void divide(double[] a, double[] b, double[] results) throws DivisionByZeroException, InvalidInputException {
+        validateBatch(a, b, results, "Dividend", "Divisor");
+        
+        int invalid = BatchArithmetic.findInvalidDivision(a, b);
+        if (invalid >= 0) {
+            ValidationRule rule = InputValidator.checkDivision(a[invalid], b[invalid]);
+            throw new DivisionByZeroException("Element " + invalid + ": "
+                + InputValidator.describeDivision(rule, a[invalid], b[invalid]));
+        }
+        
+        CalculatorConfig.Snapshot settings = config.getSnapshot();
+        double total = settings.highPrecisionEnabled() ? BatchArithmetic.apply(a, b, results, decimalEngine(settings)::divide)
+            : settings.adaptivePrecisionEnabled() ? BatchArithmetic.apply(a, b, results, adaptivePrecision(settings)::divide)
+            : BatchArithmetic.divide(a, b, results);
+        logBatch(Operation.BATCH_DIVIDE, results.length, total);
+    }
+    
+    public void percentage(double[] numbers, double[] percents, double[] results) throws InvalidInputException {
+        validateBatch(numbers, percents, results, "Number", "Percentage");
+        
+        CalculatorConfig.Snapshot settings = config.getSnapshot();
+        double total = settings.highPrecisionEnabled()
+            ? BatchArithmetic.apply(numbers, percents, results, decimalEngine(settings)::percentage)
+            : settings.adaptivePrecisionEnabled()
+            ? BatchArithmetic.apply(numbers, percents, results, adaptivePrecision(settings)::percentage)
+            : BatchArithmetic.percentage(numbers, percents, results);
+        logBatch(Operation.BATCH_PERCENTAGE, results.length, total);
+    }
+    
+    public void absolute(double[] numbers, double[] results) throws InvalidInputException {
+        validateBatch(numbers, numbers, results, "Number", "Number");
+        
+        double total = BatchArithmetic.absolute(numbers, results);
+        logBatch(Operation.BATCH_ABSOLUTE, results.length, total);
+    }
+    
+    // Expression evaluation
+    public double evaluate(String expression) throws CalculatorException {
+        double result = Expression.compile(expression).evaluate(this);
+        logCalculation(Operation.EXPRESSION, 0.0, 0.0, result);
+        return result;
+    }
+    
     // History operations
     public List<String> getHistory() {
-        return new ArrayList<>(history);
+        return history.render(config.getSnapshot());
     }
     
+    /**
+     * Clears the history of this calculator and the saved history. The
+     * history file is shared by every calculator in the process that saves
+     * to the same path, so their saved calculations are discarded as well.
+     */
     public void clearHistory() {
         history.clear();
+        HistoryJournal current = journal;
+        if (current != null) {
+            current.clear();
+        }
+    }
+    
+    /**
+     * Restores the calculations saved by earlier runs and saves every further
+     * calculation to the history file, if history.auto.save.enabled is set.
+     * Meant to be called once by the application at startup; with
+     * history.clear.on.startup set, the saved calculations are discarded
+     * instead. Saving happens on a background thread and never delays a
+     * calculation.
+     * 
+     * @return the number of calculations restored
+     */
+    public synchronized int openHistoryJournal() {
+        if (!config.isAutoSaveEnabled() || journal != null) {
+            return 0;
+        }
+        Path path = CalculatorConfig.resolveUserPath(config.getHistoryFilePath());
+        try {
+            HistoryJournal opened = HistoryJournal.open(path, config.getHistoryFileMaxSize(), config.getMaxHistoryEntries());
+            int restored = 0;
+            if (config.isHistoryClearOnStartup()) {
+                opened.clear();
+            } else {
+                restored = opened.restore(history, history.capacity());
+            }
+            journal = opened;
+            return restored;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot open history file " + path + ", history will not be saved", e);
+            return 0;
+        }
     }
     
     public String getLastCalculation() {
-        return history.isEmpty() ? null : history.get(history.size() - 1);
+        return history.renderLast(config.getSnapshot());
     }
     
     // Utility methods
@@ -246,11 +702,12 @@ public class Calculator {
             throw new InvalidInputException("Decimal places cannot be negative: " + places);
         }
         
-        BigDecimal bd = new BigDecimal(Double.toString(value));
-        bd = bd.setScale(places, RoundingMode.HALF_UP);
-        double result = bd.doubleValue();
+        CalculatorConfig.Snapshot settings = config.getSnapshot();
+        double result = settings.highPrecisionEnabled()
+            ? decimalEngine(settings).round(value, places)
+            : DecimalEngine.round(value, places, RoundingMode.HALF_UP);
         
-        logCalculation("Round " + value + " to " + places + " places = " + formatResult(result));
+        logCalculation(Operation.ROUND, value, places, result);
         return result;
     }
     
@@ -259,55 +716,253 @@ public class Calculator {
     }
     
     public String formatResult(double result) {
-        if (Double.isNaN(result)) {
-            return "NaN";
-        } else if (Double.isInfinite(result)) {
-            return result > 0 ? "∞" : "-∞";
-        } else if (isInteger(result)) {
-            return String.valueOf((long) result);
-        } else {
-            // Use configured precision
-            int precision = config.getPrecision();
-            String format = String.format("%%.%df", precision);
-            String formatted = String.format(format, result);
-            
-            // Remove trailing zeros if not in strict mode
-            if (!config.isStrictModeEnabled()) {
-                formatted = formatted.replaceAll("0*$", "").replaceAll("\\.$", "");
-            }
-            
-            return formatted;
+        return ResultFormatter.format(result, config.getSnapshot());
+    }
+    
+    /**
+     * Gets fixed-point arithmetic whose values have calculation.precision
+     * decimal places and are rounded with calculation.rounding.mode. The
+     * returned instance keeps those settings; call again after the
+     * configuration changes.
+     * 
+     * @return the fixed-point arithmetic for the current settings
+     */
+    public FixedPoint fixedPoint() {
+        CalculatorConfig.Snapshot settings = config.getSnapshot();
+        FixedPoint current = fixedPoint;
+        if (current == null || !current.matches(settings)) {
+            current = new FixedPoint(settings.precision(), settings.roundingMode(),
+                                     settings.maxDigits(), settings.strictModeEnabled());
+            fixedPoint = current;
+        }
+        return current;
+    }
+    
+    /**
+     * Gets the approximations used for powers, roots and logarithms when
+     * calculation.fast.math.enabled is set, within
+     * calculation.fast.math.max.error. They also take arrays, for bulk
+     * calculations without validation or history.
+     * 
+     * @return the fast math for the current error budget
+     */
+    public FastMath fastMath() {
+        return fastMath(config.getSnapshot());
+    }
+    
+    /**
+     * Gets the double operations of this calculator without input
+     * validation or history, for callers that check their values once and
+     * apply many operations to them. The returned instance keeps the
+     * current settings; call again after the configuration changes.
+     * 
+     * @return the arithmetic for the current settings
+     */
+    public Arithmetic arithmetic() {
+        return arithmetic(config.getSnapshot());
+    }
+    
+    private void validateSlot(int slot) throws InvalidInputException {
+        if (slot < 0 || slot >= memory.slots()) {
+            throw new InvalidInputException(
+                "Memory slot must be between 0 and " + (memory.slots() - 1) + ": " + slot);
         }
     }
     
     private void validateInput(double value, String parameterName) throws InvalidInputException {
-        if (!config.isValidationEnabled()) {
-            return; // Skip validation if disabled
+        Arithmetic.validate(config.getSnapshot(), value, parameterName);
+    }
+    
+    /**
+     * Validates the operands of a batch in one pass per array. The message
+     * of the first invalid operand is the one validateInput gives, prefixed
+     * with its index.
+     */
+    private void validateBatch(double[] a, double[] b, double[] results, String firstName, String secondName)
+            throws InvalidInputException {
+        if (a == null || b == null || results == null) {
+            throw new InvalidInputException("Batch arrays cannot be null");
+        }
+        if (a.length != b.length || a.length != results.length) {
+            throw new InvalidInputException("Batch arrays differ in length: " + a.length + ", "
+                + b.length + " and " + results.length + " results");
         }
         
-        try {
-            InputValidator.validateSafeNumber(value);
-            
-            // Check configured value ranges
-            double maxValue = config.getMaxNumberValue();
-            double minValue = config.getMinNumberValue();
-            InputValidator.isValidRange(value, minValue, maxValue);
-            
-        } catch (ValidationException e) {
-            throw new InvalidInputException(parameterName + ": " + e.getMessage());
+        CalculatorConfig.Snapshot settings = config.getSnapshot();
+        if (!settings.validationEnabled()) {
+            return;
+        }
+        int invalid = InputValidator.findInvalidNumber(a, settings.minNumberValue(), settings.maxNumberValue());
+        if (invalid >= 0) {
+            validateInput(a[invalid], firstName + "[" + invalid + "]");
+        }
+        if (b != a) {
+            invalid = InputValidator.findInvalidNumber(b, settings.minNumberValue(), settings.maxNumberValue());
+            if (invalid >= 0) {
+                validateInput(b[invalid], secondName + "[" + invalid + "]");
+            }
         }
     }
     
-    private void logCalculation(String calculation) {
-        history.add(calculation);
+    /**
+     * Gets the arithmetic behind the double operations for the given
+     * settings, replacing it together with the engines it uses.
+     */
+    private Arithmetic arithmetic(CalculatorConfig.Snapshot settings) {
+        Arithmetic current = arithmetic;
+        if (current == null || !current.matches(settings)) {
+            boolean decimalNeeded = settings.highPrecisionEnabled() || settings.adaptivePrecisionEnabled();
+            current = new Arithmetic(settings,
+                decimalNeeded ? decimalEngine(settings) : null,
+                settings.adaptivePrecisionEnabled() ? adaptivePrecision(settings) : null,
+                usesFastMath(settings) ? fastMath(settings) : null,
+                resultCache(settings));
+            arithmetic = current;
+        }
+        return current;
+    }
+    
+    /**
+     * Gets the cache for the results of pure operations.
+     * 
+     * @return the cache, or null if caching is disabled
+     */
+    private OperationCache resultCache(CalculatorConfig.Snapshot settings) {
+        if (!settings.cachingEnabled() || usesFastMath(settings)) {
+            return null;
+        }
         
+        // Results depend on the arithmetic, so a new engine means a new cache
+        DecimalEngine engine = settings.highPrecisionEnabled() ? decimalEngine(settings) : null;
+        OperationCache current = cache;
+        if (current == null || current.maxSize() != settings.cacheMaxSize() || current.arithmetic() != engine) {
+            current = new OperationCache(settings.cacheMaxSize(), engine);
+            cache = current;
+        }
+        return current;
+    }
+    
+    /**
+     * Gets the decimal engine for the current precision settings, replacing
+     * it when calculation.max.digits or calculation.rounding.mode changed.
+     */
+    private DecimalEngine decimalEngine(CalculatorConfig.Snapshot settings) {
+        DecimalEngine current = decimal;
+        if (current == null || !current.matches(settings.maxDigits(), settings.roundingMode())) {
+            current = new DecimalEngine(settings.maxDigits(), settings.roundingMode());
+            decimal = current;
+        }
+        return current;
+    }
+    
+    /**
+     * Gets the adaptive arithmetic for the current precision settings,
+     * replacing it together with the decimal engine.
+     */
+    private AdaptivePrecision adaptivePrecision(CalculatorConfig.Snapshot settings) {
+        DecimalEngine engine = decimalEngine(settings);
+        AdaptivePrecision current = adaptive;
+        if (current == null || current.engine() != engine) {
+            current = new AdaptivePrecision(engine);
+            adaptive = current;
+        }
+        return current;
+    }
+    
+    /**
+     * Checks whether powers, roots and logarithms are approximated. The
+     * approximations are about as cheap as a cache lookup, so their results
+     * bypass the cache and never mix with exact ones.
+     */
+    private static boolean usesFastMath(CalculatorConfig.Snapshot settings) {
+        return settings.fastMathEnabled() && !settings.highPrecisionEnabled();
+    }
+    
+    private FastMath fastMath(CalculatorConfig.Snapshot settings) {
+        FastMath current = fastMath;
+        if (current == null || !current.matches(settings)) {
+            current = new FastMath(settings.fastMathMaxError());
+            fastMath = current;
+        }
+        return current;
+    }
+    
+    private void logCalculation(Operation operation, double a, double b, double result) {
         // Respect maximum history entries from configuration
-        int maxEntries = config.getMaxHistoryEntries();
-        while (history.size() > maxEntries) {
-            history.remove(0); // Remove oldest entry
+        int maxEntries = config.getSnapshot().maxHistoryEntries();
+        if (maxEntries != history.capacity()) {
+            history.resize(maxEntries);
+        }
+        
+        history.record(operation, a, b, result);
+        HistoryJournal current = journal;
+        if (current != null) {
+            current.append(operation, a, b, result);
         }
         
-        LOGGER.fine("Calculation logged: " + calculation);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Calculation logged: " + history.renderLast(config.getSnapshot()));
+        }
+    }
+    
+    /**
+     * Records a batch as a single history entry. Empty batches are not recorded.
+     */
+    private void logBatch(Operation operation, int count, double total) {
+        if (count > 0) {
+            logCalculation(operation, count, 0.0, total);
+        }
+    }
+    
+    /**
+     * Gets the number of operations answered from the result cache.
+     * 
+     * @return cache hit count, 0 if caching has not been used
+     */
+    public long getCacheHits() {
+        OperationCache current = cache;
+        return current == null ? 0 : current.hits();
+    }
+    
+    /**
+     * Gets the number of cacheable operations that had to be computed.
+     * 
+     * @return cache miss count, 0 if caching has not been used
+     */
+    public long getCacheMisses() {
+        OperationCache current = cache;
+        return current == null ? 0 : current.misses();
+    }
+    
+    /**
+     * Gets the number of adaptive precision operations answered in double.
+     * 
+     * @return double count, 0 if adaptive precision has not been used
+     */
+    public long getDoublePrecisionCount() {
+        AdaptivePrecision current = adaptive;
+        return current == null ? 0 : current.doubleResults();
+    }
+    
+    /**
+     * Gets the number of adaptive precision operations escalated to exact
+     * arithmetic on scaled longs.
+     * 
+     * @return exact long count, 0 if adaptive precision has not been used
+     */
+    public long getExactLongPrecisionCount() {
+        AdaptivePrecision current = adaptive;
+        return current == null ? 0 : current.longResults();
+    }
+    
+    /**
+     * Gets the number of adaptive precision operations escalated to BigDecimal.
+     * 
+     * @return BigDecimal count, 0 if adaptive precision has not been used
+     */
+    public long getBigDecimalPrecisionCount() {
+        AdaptivePrecision current = adaptive;
+        return current == null ? 0 : current.decimalResults();
     }
     
     /**
@@ -322,37 +977,6 @@ public class Calculator {
     @Override
     public String toString() {
         return String.format("Calculator{memory=%.2f, history entries=%d}", 
-                           memory, history.size());
-    }
-}
-
-// Add logarithm method with validation
-public double logarithm(double number) throws InvalidInputException {
-    validateInput(number, "Number");
-    
-    try {
-        InputValidator.validateLogarithm(number);
-    } catch (ValidationException e) {
-        throw new InvalidInputException(e.getMessage());
+                           memoryRecall(), history.size());
     }
-    
-    double result = Math.log10(number);
-    logCalculation("log(" + number + ") = " + formatResult(result));
-    return result;
 }
-
-// Add natural logarithm method with validation
-public double naturalLogarithm(double number) throws InvalidInputException {
-    validateInput(number, "Number");
-    
-    try {
-        InputValidator.validateLogarithm(number);
-    } catch (ValidationException e) {
-        throw new InvalidInputException(e.getMessage());
-    }
-    
-    double result = Math.log(number);
-    logCalculation("ln(" + number + ") = " + formatResult(result));
-    return result;
-}
-
@@ -8,6 +8,7 @@ public class CalculatorCLI {
     
     public CalculatorCLI() {
         calculator = new Calculator();
+        calculator.openHistoryJournal();
         scanner = new Scanner(System.in);
     }
     
@@ -17,7 +18,8 @@ public class CalculatorCLI {
         while (true) {
             System.out.println("\n=== CALCULATOR MENU ===");
             System.out.println("1. Basic Calculation");
-            System.out.println("2. Exit");
+            System.out.println("2. Evaluate Expression");
+            System.out.println("3. Exit");
             System.out.print("Choose option: ");
             
             String choice = scanner.nextLine().trim();
@@ -27,6 +29,9 @@ public class CalculatorCLI {
                     performBasicCalculation();
                     break;
                 case "2":
+                    evaluateExpression();
+                    break;
+                case "3":
                     System.out.println("Goodbye!");
                     return;
                 default:
@@ -64,6 +69,19 @@ public class CalculatorCLI {
         }
     }
     
+    private void evaluateExpression() {
+        try {
+            System.out.print("Enter expression: ");
+            String expression = scanner.nextLine();
+            
+            double result = calculator.evaluate(expression);
+            System.out.println("Result: " + calculator.formatResult(result));
+            
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+    
     public static void main(String[] args) {
         new CalculatorCLI().run();
     }
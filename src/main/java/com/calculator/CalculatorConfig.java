@@ -2,6 +2,8 @@ package com.calculator;
 
 import java.io.*;
 import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Properties;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -18,6 +20,7 @@ import java.util.logging.Level;
  * - Properties file loading with fallback defaults
  * - Type-safe getter methods for all configuration values
  * - Runtime configuration reloading
+ * - Immutable, pre-parsed {@link Snapshot} of the calculation settings
  * - Comprehensive error handling and logging
  * - Default value fallback system
  * 
@@ -36,15 +39,76 @@ public class CalculatorConfig {
     private static final Object lock = new Object();
     
     // Configuration properties
-    private Properties properties;
+    private volatile Properties properties;
+    private volatile Snapshot snapshot;
     private boolean configurationLoaded = false;
     
+    /**
+     * Immutable, fully parsed view of the settings used on the calculation path.
+     * 
+     * A new snapshot is built whenever the configuration is loaded or reloaded
+     * and published atomically, so readers never observe a half-applied reload
+     * and never pay for a {@link Properties} lookup or string parsing.
+     * 
+     * @param precision number of decimal places for results
+     * @param maxDigits maximum number of digits to display in results
+     * @param highPrecisionEnabled whether high precision mode is enabled
+     * @param adaptivePrecisionEnabled whether precision is chosen per operation
+     * @param roundingMode the rounding mode for calculations
+     * @param angleUnit the unit of trigonometric angles
+     * @param fastTrigonometryEnabled whether trigonometry uses the table approximations
+     * @param fastMathEnabled whether powers, roots and logarithms are approximated
+     * @param fastMathMaxError the relative error budget of the approximations
+     * @param memoryPersistent whether memory persists across sessions
+     * @param maxMemorySlots the number of memory slots
+     * @param memoryAutoClearOnStartup whether memory is cleared on startup
+     * @param memoryFilePath the file backing persistent memory
+     * @param maxHistoryEntries the maximum number of history entries
+     * @param autoSaveEnabled whether history is saved automatically
+     * @param historyFilePath the history file path
+     * @param historyClearOnStartup whether history is cleared on startup
+     * @param validationEnabled whether input validation is enabled
+     * @param strictModeEnabled whether strict validation mode is enabled
+     * @param maxNumberValue the maximum allowed number value
+     * @param minNumberValue the minimum allowed number value
+     * @param exceptionStackTracesEnabled whether calculator exceptions record stack traces
+     * @param cachingEnabled whether results of pure operations are cached
+     * @param cacheMaxSize the maximum number of cached results
+     * @param multithreadingEnabled whether calculators may be shared between threads
+     */
+    public record Snapshot(
+            int precision,
+            int maxDigits,
+            boolean highPrecisionEnabled,
+            boolean adaptivePrecisionEnabled,
+            RoundingMode roundingMode,
+            AngleUnit angleUnit,
+            boolean fastTrigonometryEnabled,
+            boolean fastMathEnabled,
+            double fastMathMaxError,
+            boolean memoryPersistent,
+            int maxMemorySlots,
+            boolean memoryAutoClearOnStartup,
+            String memoryFilePath,
+            int maxHistoryEntries,
+            boolean autoSaveEnabled,
+            String historyFilePath,
+            boolean historyClearOnStartup,
+            boolean validationEnabled,
+            boolean strictModeEnabled,
+            double maxNumberValue,
+            double minNumberValue,
+            boolean exceptionStackTracesEnabled,
+            boolean cachingEnabled,
+            int cacheMaxSize,
+            boolean multithreadingEnabled) {
+    }
+    
     /**
      * Private constructor to prevent direct instantiation.
      * Initializes the configuration by loading properties from file.
      */
     private CalculatorConfig() {
-        properties = new Properties();
         loadConfiguration();
     }
     
@@ -70,38 +134,87 @@ public class CalculatorConfig {
      * First attempts to load from external file, then from classpath resources.
      */
     private void loadConfiguration() {
-        loadDefaultProperties();
+        Properties loaded = new Properties();
+        loadDefaultProperties(loaded);
         
         // Try to load from external file first
-        if (!loadFromExternalFile()) {
+        if (!loadFromExternalFile(loaded)) {
             // Fallback to classpath resource
-            loadFromClasspath();
+            loadFromClasspath(loaded);
         }
         
+        // Publish the new properties and their parsed snapshot
+        properties = loaded;
+        snapshot = createSnapshot();
+        
         configurationLoaded = true;
         LOGGER.info("Configuration loaded successfully");
     }
     
+    /**
+     * Parses the current properties into an immutable snapshot.
+     * 
+     * @return the parsed snapshot
+     */
+    private Snapshot createSnapshot() {
+        return new Snapshot(
+            getIntProperty("calculation.precision", 4, 0, 10),
+            getIntProperty("calculation.max.digits", 15, 1, 20),
+            getBooleanProperty("calculation.high.precision.enabled", false),
+            getBooleanProperty("calculation.adaptive.precision.enabled", false),
+            parseRoundingMode(),
+            parseAngleUnit(),
+            getBooleanProperty("calculation.trigonometry.fast.enabled", false),
+            getBooleanProperty("calculation.fast.math.enabled", false),
+            getDoubleProperty("calculation.fast.math.max.error", 1E-12),
+            getBooleanProperty("memory.persistent", false),
+            getIntProperty("memory.max.slots", 1, 1, 65_536),
+            getBooleanProperty("memory.auto.clear.on.startup", true),
+            getStringProperty("memory.file.path", ".calculator/memory.dat"),
+            getIntProperty("history.max.entries", 100, 10, 1000),
+            getBooleanProperty("history.auto.save.enabled", true),
+            getStringProperty("history.file.path", ".calculator/history.journal"),
+            getBooleanProperty("history.clear.on.startup", false),
+            getBooleanProperty("validation.enabled", true),
+            getBooleanProperty("validation.strict.mode", false),
+            getDoubleProperty("validation.max.number.value", 1E15),
+            getDoubleProperty("validation.min.number.value", -1E15),
+            getBooleanProperty("validation.exception.stack.traces", true),
+            getBooleanProperty("performance.caching.enabled", false),
+            getIntProperty("performance.cache.max.size", 50, 4, 1_000_000),
+            getBooleanProperty("performance.multithreading.enabled", false)
+        );
+    }
+    
     /**
      * Loads default configuration values as fallback.
+     * 
+     * @param properties the properties to populate
      */
-    private void loadDefaultProperties() {
+    private void loadDefaultProperties(Properties properties) {
         // Calculation settings
         properties.setProperty("calculation.precision", "4");
         properties.setProperty("calculation.max.digits", "15");
         properties.setProperty("calculation.high.precision.enabled", "false");
+        properties.setProperty("calculation.adaptive.precision.enabled", "false");
         properties.setProperty("calculation.rounding.mode", "HALF_UP");
+        properties.setProperty("calculation.angle.unit", "RADIANS");
+        properties.setProperty("calculation.trigonometry.fast.enabled", "false");
+        properties.setProperty("calculation.fast.math.enabled", "false");
+        properties.setProperty("calculation.fast.math.max.error", "1E-12");
         
         // Memory settings
         properties.setProperty("memory.persistent", "false");
         properties.setProperty("memory.max.slots", "1");
         properties.setProperty("memory.auto.clear.on.startup", "true");
+        properties.setProperty("memory.file.path", ".calculator/memory.dat");
         
         // History settings
         properties.setProperty("history.max.entries", "100");
         properties.setProperty("history.auto.save.enabled", "true");
-        properties.setProperty("history.file.path", ".calculator/history.txt");
+        properties.setProperty("history.file.path", ".calculator/history.journal");
         properties.setProperty("history.clear.on.startup", "false");
+        properties.setProperty("history.file.max.size", "1048576");
         
         // UI settings
         properties.setProperty("ui.theme", "default");
@@ -124,19 +237,22 @@ public class CalculatorConfig {
         properties.setProperty("validation.strict.mode", "false");
         properties.setProperty("validation.max.number.value", "1E15");
         properties.setProperty("validation.min.number.value", "-1E15");
+        properties.setProperty("validation.exception.stack.traces", "true");
         
         // Performance settings
         properties.setProperty("performance.caching.enabled", "false");
         properties.setProperty("performance.cache.max.size", "50");
         properties.setProperty("performance.multithreading.enabled", "false");
+        properties.setProperty("performance.expression.compile.threshold", "1000");
     }
     
     /**
      * Attempts to load configuration from external properties file.
      * 
+     * @param properties the properties to populate
      * @return true if external file was loaded successfully, false otherwise
      */
-    private boolean loadFromExternalFile() {
+    private boolean loadFromExternalFile(Properties properties) {
         try (InputStream input = new FileInputStream(EXTERNAL_CONFIG_FILE)) {
             properties.load(input);
             LOGGER.info("Configuration loaded from external file: " + EXTERNAL_CONFIG_FILE);
@@ -149,8 +265,10 @@ public class CalculatorConfig {
     
     /**
      * Loads configuration from classpath resources.
+     * 
+     * @param properties the properties to populate
      */
-    private void loadFromClasspath() {
+    private void loadFromClasspath(Properties properties) {
         try (InputStream input = getClass().getResourceAsStream(CONFIG_FILE)) {
             if (input != null) {
                 properties.load(input);
@@ -172,6 +290,17 @@ public class CalculatorConfig {
         loadConfiguration();
     }
     
+    /**
+     * Gets the immutable snapshot of the current calculation settings.
+     * Callers on hot paths should read the snapshot once per operation
+     * instead of calling the individual getters.
+     * 
+     * @return the current configuration snapshot
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+    
     // ========================================
     // CALCULATION SETTINGS GETTERS
     // ========================================
@@ -182,7 +311,7 @@ public class CalculatorConfig {
      * @return precision value (0-10), defaults to 4
      */
     public int getPrecision() {
-        return getIntProperty("calculation.precision", 4, 0, 10);
+        return snapshot.precision();
     }
     
     /**
@@ -191,7 +320,7 @@ public class CalculatorConfig {
      * @return maximum digits, defaults to 15
      */
     public int getMaxDigits() {
-        return getIntProperty("calculation.max.digits", 15, 1, 20);
+        return snapshot.maxDigits();
     }
     
     /**
@@ -200,7 +329,18 @@ public class CalculatorConfig {
      * @return true if high precision mode is enabled, false otherwise
      */
     public boolean isHighPrecisionEnabled() {
-        return getBooleanProperty("calculation.high.precision.enabled", false);
+        return snapshot.highPrecisionEnabled();
+    }
+    
+    /**
+     * Checks if adaptive precision is enabled, where each operation uses
+     * double arithmetic unless its result may be inaccurate to
+     * calculation.max.digits. High precision mode takes precedence.
+     * 
+     * @return true if adaptive precision is enabled, false otherwise
+     */
+    public boolean isAdaptivePrecisionEnabled() {
+        return snapshot.adaptivePrecisionEnabled();
     }
     
     /**
@@ -209,13 +349,45 @@ public class CalculatorConfig {
      * @return RoundingMode enum value, defaults to HALF_UP
      */
     public RoundingMode getRoundingMode() {
-        String mode = getStringProperty("calculation.rounding.mode", "HALF_UP");
-        try {
-            return RoundingMode.valueOf(mode);
-        } catch (IllegalArgumentException e) {
-            LOGGER.warning("Invalid rounding mode: " + mode + ", using HALF_UP");
-            return RoundingMode.HALF_UP;
-        }
+        return snapshot.roundingMode();
+    }
+    
+    /**
+     * Gets the unit of the angles taken and returned by trigonometric operations.
+     * 
+     * @return AngleUnit enum value, defaults to RADIANS
+     */
+    public AngleUnit getAngleUnit() {
+        return snapshot.angleUnit();
+    }
+    
+    /**
+     * Checks if trigonometric operations use the fast table approximations,
+     * which are accurate to about 2.5e-16 absolute instead of 1 ulp.
+     * 
+     * @return true if fast trigonometry is enabled, false otherwise
+     */
+    public boolean isFastTrigonometryEnabled() {
+        return snapshot.fastTrigonometryEnabled();
+    }
+    
+    /**
+     * Checks if powers, roots and logarithms use the fast approximations
+     * of {@link FastMath}. High precision mode takes precedence.
+     * 
+     * @return true if fast math is enabled, false otherwise
+     */
+    public boolean isFastMathEnabled() {
+        return snapshot.fastMathEnabled();
+    }
+    
+    /**
+     * Gets the largest relative error allowed for fast math results.
+     * 
+     * @return the error budget, defaults to 1E-12
+     */
+    public double getFastMathMaxError() {
+        return snapshot.fastMathMaxError();
     }
     
     // ========================================
@@ -228,25 +400,35 @@ public class CalculatorConfig {
      * @return true if memory is persistent, false otherwise
      */
     public boolean isMemoryPersistent() {
-        return getBooleanProperty("memory.persistent", false);
+        return snapshot.memoryPersistent();
     }
     
     /**
      * Gets the maximum number of memory slots available.
      * 
-     * @return number of memory slots (1-10), defaults to 1
+     * @return number of memory slots (1-65536), defaults to 1
      */
     public int getMaxMemorySlots() {
-        return getIntProperty("memory.max.slots", 1, 1, 10);
+        return snapshot.maxMemorySlots();
     }
     
     /**
      * Checks if memory should be automatically cleared on startup.
+     * Persistent memory is never cleared on startup.
      * 
      * @return true if memory auto-clear is enabled, false otherwise
      */
     public boolean isMemoryAutoClearOnStartup() {
-        return getBooleanProperty("memory.auto.clear.on.startup", true);
+        return snapshot.memoryAutoClearOnStartup();
+    }
+    
+    /**
+     * Gets the file backing persistent memory.
+     * 
+     * @return memory file path, defaults to .calculator/memory.dat
+     */
+    public String getMemoryFilePath() {
+        return snapshot.memoryFilePath();
     }
     
     // ========================================
@@ -259,7 +441,7 @@ public class CalculatorConfig {
      * @return maximum history entries, defaults to 100
      */
     public int getMaxHistoryEntries() {
-        return getIntProperty("history.max.entries", 100, 10, 1000);
+        return snapshot.maxHistoryEntries();
     }
     
     /**
@@ -268,16 +450,16 @@ public class CalculatorConfig {
      * @return true if auto-save is enabled, false otherwise
      */
     public boolean isAutoSaveEnabled() {
-        return getBooleanProperty("history.auto.save.enabled", true);
+        return snapshot.autoSaveEnabled();
     }
     
     /**
      * Gets the file path for history storage.
      * 
-     * @return history file path, defaults to ".calculator/history.txt"
+     * @return history file path, defaults to ".calculator/history.journal"
      */
     public String getHistoryFilePath() {
-        return getStringProperty("history.file.path", ".calculator/history.txt");
+        return snapshot.historyFilePath();
     }
     
     /**
@@ -286,7 +468,17 @@ public class CalculatorConfig {
      * @return true if history clear on startup is enabled, false otherwise
      */
     public boolean isHistoryClearOnStartup() {
-        return getBooleanProperty("history.clear.on.startup", false);
+        return snapshot.historyClearOnStartup();
+    }
+    
+    /**
+     * Gets the size of the history file above which it is compacted to the
+     * most recent history.max.entries calculations.
+     * 
+     * @return maximum history file size in bytes, defaults to 1048576
+     */
+    public int getHistoryFileMaxSize() {
+        return getIntProperty("history.file.max.size", 1_048_576, 65_536, 1_073_741_824);
     }
     
     // ========================================
@@ -397,7 +589,7 @@ public class CalculatorConfig {
      * @return true if validation is enabled, false otherwise
      */
     public boolean isValidationEnabled() {
-        return getBooleanProperty("validation.enabled", true);
+        return snapshot.validationEnabled();
     }
     
     /**
@@ -406,7 +598,7 @@ public class CalculatorConfig {
      * @return true if strict mode is enabled, false otherwise
      */
     public boolean isStrictModeEnabled() {
-        return getBooleanProperty("validation.strict.mode", false);
+        return snapshot.strictModeEnabled();
     }
     
     /**
@@ -415,7 +607,7 @@ public class CalculatorConfig {
      * @return maximum number value, defaults to 1E15
      */
     public double getMaxNumberValue() {
-        return getDoubleProperty("validation.max.number.value", 1E15);
+        return snapshot.maxNumberValue();
     }
     
     /**
@@ -424,13 +616,87 @@ public class CalculatorConfig {
      * @return minimum number value, defaults to -1E15
      */
     public double getMinNumberValue() {
-        return getDoubleProperty("validation.min.number.value", -1E15);
+        return snapshot.minNumberValue();
+    }
+    
+    /**
+     * Checks if calculator exceptions record stack traces.
+     * 
+     * @return true if stack traces are recorded, false otherwise
+     */
+    public boolean isExceptionStackTracesEnabled() {
+        return snapshot.exceptionStackTracesEnabled();
+    }
+    
+    /**
+     * Checks whether new exceptions record stack traces, without creating
+     * the configuration; exceptions thrown while it loads keep theirs.
+     * 
+     * @return true unless a loaded configuration disables stack traces
+     */
+    static boolean recordsStackTraces() {
+        CalculatorConfig current = instance;
+        Snapshot settings = current == null ? null : current.snapshot;
+        return settings == null || settings.exceptionStackTracesEnabled();
+    }
+    
+    // ========================================
+    // PERFORMANCE SETTINGS GETTERS
+    // ========================================
+    
+    /**
+     * Checks if caching of operation results is enabled.
+     * 
+     * @return true if caching is enabled, false otherwise
+     */
+    public boolean isCachingEnabled() {
+        return snapshot.cachingEnabled();
+    }
+    
+    /**
+     * Gets the maximum number of cached operation results.
+     * 
+     * @return maximum cache size, defaults to 50
+     */
+    public int getCacheMaxSize() {
+        return snapshot.cacheMaxSize();
+    }
+    
+    /**
+     * Checks if calculators are created for concurrent use.
+     * Read when a Calculator is constructed.
+     * 
+     * @return true if multithreading is enabled, false otherwise
+     */
+    public boolean isMultithreadingEnabled() {
+        return snapshot.multithreadingEnabled();
+    }
+    
+    /**
+     * Gets the number of evaluations after which an expression is compiled to bytecode.
+     * 
+     * @return compile threshold, 0 disables compilation, defaults to 1000
+     */
+    public int getExpressionCompileThreshold() {
+        return getIntProperty("performance.expression.compile.threshold", 1000, 0, 1_000_000);
     }
     
     // ========================================
     // UTILITY METHODS
     // ========================================
     
+    /**
+     * Resolves a configured file path. Relative paths are resolved against
+     * the user's home directory.
+     * 
+     * @param path the configured path
+     * @return the absolute path
+     */
+    public static Path resolveUserPath(String path) {
+        Path resolved = Paths.get(path);
+        return resolved.isAbsolute() ? resolved : Paths.get(System.getProperty("user.home")).resolve(resolved);
+    }
+    
     /**
      * Gets a string property with default fallback.
      * 
@@ -496,6 +762,7 @@ public class CalculatorConfig {
     
     /**
      * Gets a boolean property with default fallback.
+     * Values other than "true" or "false" (case-insensitive) are rejected.
      * 
      * @param key the property key
      * @param defaultValue the default value
@@ -507,7 +774,47 @@ public class CalculatorConfig {
             return defaultValue;
         }
         
-        return Boolean.parseBoolean(value.trim());
+        String trimmed = value.trim();
+        if (trimmed.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (trimmed.equalsIgnoreCase("false")) {
+            return false;
+        }
+        
+        LOGGER.warning(String.format("Invalid boolean value for property %s: %s, using default %b", 
+                      key, value, defaultValue));
+        return defaultValue;
+    }
+    
+    /**
+     * Parses the configured rounding mode with HALF_UP fallback.
+     * 
+     * @return the configured RoundingMode
+     */
+    private RoundingMode parseRoundingMode() {
+        String mode = getStringProperty("calculation.rounding.mode", "HALF_UP").trim();
+        try {
+            return RoundingMode.valueOf(mode);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Invalid rounding mode: " + mode + ", using HALF_UP");
+            return RoundingMode.HALF_UP;
+        }
+    }
+    
+    /**
+     * Parses angle unit from configuration.
+     * 
+     * @return the configured AngleUnit
+     */
+    private AngleUnit parseAngleUnit() {
+        String unit = getStringProperty("calculation.angle.unit", "RADIANS").trim();
+        try {
+            return AngleUnit.valueOf(unit.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Invalid angle unit: " + unit + ", using RADIANS");
+            return AngleUnit.RADIANS;
+        }
     }
     
     /**
@@ -28,5 +28,16 @@ public class CalculatorException extends Exception {
     public CalculatorException(String message, Throwable cause) {
         super(message, cause);
     }
+    
+    /**
+     * Records the stack trace unless the configuration disables it, which
+     * makes rejecting many inputs much cheaper.
+     * 
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return CalculatorConfig.recordsStackTraces() ? super.fillInStackTrace() : this;
+    }
 }
 
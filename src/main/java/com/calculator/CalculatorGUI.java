@@ -43,9 +43,11 @@ public class CalculatorGUI extends JFrame implements ActionListener, KeyListener
     private double firstNumber = 0;
     private String operation = "";
     private boolean isNewCalculation = true;
+    private int memorySlot = 0;
     
     public CalculatorGUI() {
         calculator = new Calculator();
+        calculator.openHistoryJournal();
         initializeGUI();
         setupKeyboardShortcuts();
         createExportButton();
@@ -102,7 +104,7 @@ public class CalculatorGUI extends JFrame implements ActionListener, KeyListener
             public void actionPerformed(ActionEvent e) {
                 try {
                     double current = Double.parseDouble(display.getText());
-                    calculator.memoryStore(current);
+                    calculator.memoryStore(memorySlot, current);
                     updateStatusLabel("Memory stored: " + calculator.formatResult(current));
                     updateMemoryDisplay();
                 } catch (Exception ex) {
@@ -114,22 +116,47 @@ public class CalculatorGUI extends JFrame implements ActionListener, KeyListener
         inputMap.put(KeyStroke.getKeyStroke("ctrl R"), "memoryRecall");
         actionMap.put("memoryRecall", new AbstractAction() {
             public void actionPerformed(ActionEvent e) {
-                double memValue = calculator.memoryRecall();
-                display.setText(calculator.formatResult(memValue));
-                updateStatusLabel("Memory recalled: " + calculator.formatResult(memValue));
-                isNewCalculation = true;
+                try {
+                    double memValue = calculator.memoryRecall(memorySlot);
+                    display.setText(calculator.formatResult(memValue));
+                    updateStatusLabel("Memory recalled: " + calculator.formatResult(memValue));
+                    isNewCalculation = true;
+                } catch (Exception ex) {
+                    showError(ex.getMessage());
+                }
             }
         });
         
         inputMap.put(KeyStroke.getKeyStroke("ctrl shift C"), "memoryClear");
         actionMap.put("memoryClear", new AbstractAction() {
             public void actionPerformed(ActionEvent e) {
-                calculator.memoryClear();
-                updateStatusLabel("Memory cleared");
-                updateMemoryDisplay();
+                try {
+                    calculator.memoryClear(memorySlot);
+                    updateStatusLabel("Memory cleared");
+                    updateMemoryDisplay();
+                } catch (Exception ex) {
+                    showError(ex.getMessage());
+                }
             }
         });
         
+        // Memory slot selection: Ctrl+0 to Ctrl+9
+        for (int slot = 0; slot <= 9; slot++) {
+            int selected = slot;
+            inputMap.put(KeyStroke.getKeyStroke("ctrl " + slot), "memorySlot" + slot);
+            actionMap.put("memorySlot" + slot, new AbstractAction() {
+                public void actionPerformed(ActionEvent e) {
+                    if (selected < calculator.getMemorySlots()) {
+                        memorySlot = selected;
+                        updateStatusLabel("Memory slot " + selected + " selected");
+                        updateMemoryDisplay();
+                    } else {
+                        updateStatusLabel("Only " + calculator.getMemorySlots() + " memory slot(s) configured");
+                    }
+                }
+            });
+        }
+        
         // Constants shortcuts
         inputMap.put(KeyStroke.getKeyStroke("ctrl P"), "insertPi");
         actionMap.put("insertPi", new AbstractAction() {
@@ -490,24 +517,24 @@ public class CalculatorGUI extends JFrame implements ActionListener, KeyListener
         
         switch (command) {
             case "MS":
-                calculator.memoryStore(current);
+                calculator.memoryStore(memorySlot, current);
                 JOptionPane.showMessageDialog(this, "Value stored in memory", "Memory", JOptionPane.INFORMATION_MESSAGE);
                 break;
             case "MR":
-                double memValue = calculator.memoryRecall();
+                double memValue = calculator.memoryRecall(memorySlot);
                 display.setText(calculator.formatResult(memValue));
                 isNewCalculation = true;
                 break;
             case "MC":
-                calculator.memoryClear();
+                calculator.memoryClear(memorySlot);
                 JOptionPane.showMessageDialog(this, "Memory cleared", "Memory", JOptionPane.INFORMATION_MESSAGE);
                 break;
             case "M+":
-                calculator.memoryAdd(current);
+                calculator.memoryAdd(memorySlot, current);
                 JOptionPane.showMessageDialog(this, "Value added to memory", "Memory", JOptionPane.INFORMATION_MESSAGE);
                 break;
             case "M-":
-                calculator.memorySubtract(current);
+                calculator.memorySubtract(memorySlot, current);
                 JOptionPane.showMessageDialog(this, "Value subtracted from memory", "Memory", JOptionPane.INFORMATION_MESSAGE);
                 break;
         }
@@ -540,14 +567,19 @@ public class CalculatorGUI extends JFrame implements ActionListener, KeyListener
     }
     
     private void updateMemoryDisplay() {
-        double memValue = calculator.getMemoryValue();
-        if (calculator.hasMemoryValue()) {
-            memoryLabel.setText("Memory: " + calculator.formatResult(memValue));
-            memoryLabel.setForeground(Color.CYAN);
-        } else {
-            memoryLabel.setText("Memory: 0");
-            memoryLabel.setForeground(Color.LIGHT_GRAY);
+        String label = calculator.getMemorySlots() > 1 ? "Memory " + memorySlot + ": " : "Memory: ";
+        try {
+            double memValue = calculator.memoryRecall(memorySlot);
+            if (memValue != 0.0) {
+                memoryLabel.setText(label + calculator.formatResult(memValue));
+                memoryLabel.setForeground(Color.CYAN);
+                return;
+            }
+        } catch (InvalidInputException ex) {
+            memorySlot = 0;
         }
+        memoryLabel.setText(label + "0");
+        memoryLabel.setForeground(Color.LIGHT_GRAY);
     }
     
     private void handleCubeRoot() {
@@ -629,6 +661,7 @@ public class CalculatorGUI extends JFrame implements ActionListener, KeyListener
             • Ctrl+M - Memory Store (MS)
             • Ctrl+R - Memory Recall (MR)
             • Ctrl+Shift+C - Memory Clear (MC)
+            • Ctrl+0 to Ctrl+9 - Select memory slot
             • M+ and M- buttons for add/subtract
             
             🔢 CONSTANTS:
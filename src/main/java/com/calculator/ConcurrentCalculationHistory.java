@@ -0,0 +1,190 @@
+package com.calculator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calculation history that many threads can append to at once.
+ *
+ * Each append claims a sequence number with a single atomic add and writes
+ * its record into slot {@code sequence % capacity}, so writers never retry
+ * or wait for each other. A per-slot stamp holding {@code sequence + 1} is
+ * published with release semantics once the record is complete. Readers
+ * check the stamp before and after copying a record and skip records that
+ * are still being written or have been overwritten meanwhile.
+ *
+ * Records written while {@link #resize(int)} runs may be dropped; resizing
+ * only happens when the configuration changes. Readers see a consistent
+ * record as long as fewer threads write concurrently than the capacity.
+ */
+final class ConcurrentCalculationHistory extends CalculationHistory {
+
+    private static final VarHandle NEXT;
+    private static final VarHandle STAMPS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(Ring.class, "next", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Storage for one capacity; replaced as a whole on resize.
+     */
+    private static final class Ring {
+        final int capacity;
+        final byte[] operations;
+        final double[] firstOperands;
+        final double[] secondOperands;
+        final double[] results;
+
+        /** Sequence + 1 of the record in each slot, 0 while it is being written */
+        final long[] stamps;
+
+        /** Next sequence number to claim */
+        volatile long next;
+
+        /** First sequence number not removed by {@link #clear()} */
+        volatile long start;
+
+        Ring(int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("History capacity must be positive: " + capacity);
+            }
+            this.capacity = capacity;
+            this.operations = new byte[capacity];
+            this.firstOperands = new double[capacity];
+            this.secondOperands = new double[capacity];
+            this.results = new double[capacity];
+            this.stamps = new long[capacity];
+        }
+    }
+
+    private volatile Ring ring;
+
+    /**
+     * Creates an empty history holding at most {@code capacity} records.
+     *
+     * @param capacity the maximum number of records to keep
+     */
+    ConcurrentCalculationHistory(int capacity) {
+        this.ring = new Ring(capacity);
+    }
+
+    @Override
+    void record(Operation operation, double a, double b, double result) {
+        Ring r = ring;
+        long sequence = (long) NEXT.getAndAdd(r, 1L);
+        int index = (int) (sequence % r.capacity);
+
+        STAMPS.setOpaque(r.stamps, index, 0L);
+        VarHandle.storeStoreFence();
+        r.operations[index] = (byte) operation.ordinal();
+        r.firstOperands[index] = a;
+        r.secondOperands[index] = b;
+        r.results[index] = result;
+        STAMPS.setRelease(r.stamps, index, sequence + 1);
+    }
+
+    @Override
+    int capacity() {
+        return ring.capacity;
+    }
+
+    @Override
+    synchronized void resize(int capacity) {
+        Ring old = ring;
+        if (capacity == old.capacity) {
+            return;
+        }
+
+        Ring resized = new Ring(capacity);
+        long end = old.next;
+        long sequence = Math.max(old.start, end - Math.min(old.capacity, capacity));
+        int count = 0;
+        for (; sequence < end; sequence++) {
+            int index = (int) (sequence % old.capacity);
+            long stamp = (long) STAMPS.getAcquire(old.stamps, index);
+            if (stamp != sequence + 1) {
+                continue;
+            }
+            resized.operations[count] = old.operations[index];
+            resized.firstOperands[count] = old.firstOperands[index];
+            resized.secondOperands[count] = old.secondOperands[index];
+            resized.results[count] = old.results[index];
+            VarHandle.loadLoadFence();
+            if ((long) STAMPS.getOpaque(old.stamps, index) == stamp) {
+                resized.stamps[count] = count + 1;
+                count++;
+            }
+        }
+        resized.next = count;
+        ring = resized;
+    }
+
+    @Override
+    int size() {
+        Ring r = ring;
+        return (int) Math.min(r.next - r.start, r.capacity);
+    }
+
+    @Override
+    synchronized void clear() {
+        Ring r = ring;
+        r.start = r.next;
+    }
+
+    @Override
+    List<String> render(CalculatorConfig.Snapshot settings) {
+        Ring r = ring;
+        long end = r.next;
+        long begin = Math.max(r.start, end - r.capacity);
+        List<String> rendered = new ArrayList<>((int) (end - begin));
+        StringBuilder sb = new StringBuilder(48);
+        for (long sequence = begin; sequence < end; sequence++) {
+            sb.setLength(0);
+            if (renderAt(r, sequence, sb, settings)) {
+                rendered.add(sb.toString());
+            }
+        }
+        return rendered;
+    }
+
+    @Override
+    String renderLast(CalculatorConfig.Snapshot settings) {
+        Ring r = ring;
+        long end = r.next;
+        long begin = Math.max(r.start, end - r.capacity);
+        StringBuilder sb = new StringBuilder(48);
+        for (long sequence = end - 1; sequence >= begin; sequence--) {
+            if (renderAt(r, sequence, sb, settings)) {
+                return sb.toString();
+            }
+        }
+        return null;
+    }
+
+    private static boolean renderAt(Ring r, long sequence, StringBuilder sb, CalculatorConfig.Snapshot settings) {
+        int index = (int) (sequence % r.capacity);
+        long stamp = (long) STAMPS.getAcquire(r.stamps, index);
+        if (stamp != sequence + 1) {
+            return false;
+        }
+
+        byte operation = r.operations[index];
+        double a = r.firstOperands[index];
+        double b = r.secondOperands[index];
+        double result = r.results[index];
+        VarHandle.loadLoadFence();
+        if ((long) STAMPS.getOpaque(r.stamps, index) != stamp) {
+            return false;
+        }
+
+        Operation.of(operation).render(sb, a, b, result, settings);
+        return true;
+    }
+}
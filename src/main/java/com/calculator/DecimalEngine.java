@@ -0,0 +1,496 @@
+package com.calculator;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Decimal arithmetic for calculation.high.precision.enabled.
+ *
+ * Operands are taken as the shortest decimal that converts back to the same
+ * double, i.e. what the user typed, and results are rounded to
+ * calculation.max.digits significant digits with calculation.rounding.mode,
+ * so {@code 0.1 + 0.2} is exactly {@code 0.3}.
+ *
+ * Most inputs have few digits, so the decimal is kept as an unscaled
+ * {@code long} and a scale, and the arithmetic and rounding are done on
+ * longs. The result is converted back with a single, correctly rounded
+ * division by a power of ten. Only operands or results that do not fit, and
+ * quotients that do not terminate, go through {@link BigDecimal} with the
+ * {@link MathContext} built once per engine. Roots, powers and logarithms
+ * are computed by {@link BigMath} to the same precision.
+ *
+ * Like {@link BigDecimal}, every operation throws {@link ArithmeticException}
+ * if the rounding mode is {@link RoundingMode#UNNECESSARY} and the result
+ * has to be rounded.
+ *
+ * Immutable; one engine is shared for as long as the settings it was built
+ * from do not change.
+ */
+final class DecimalEngine {
+
+    /** Largest scale tried for the long representation of an operand */
+    private static final int MAX_FAST_SCALE = 15;
+
+    /** Largest magnitude a double holds exactly as an integer */
+    private static final long MAX_EXACT = 1L << 53;
+
+    private static final long[] LONG_POWERS = new long[19];
+    private static final double[] DOUBLE_POWERS = new double[23];
+
+    static {
+        LONG_POWERS[0] = 1;
+        for (int i = 1; i < LONG_POWERS.length; i++) {
+            LONG_POWERS[i] = LONG_POWERS[i - 1] * 10;
+        }
+        // Every power of ten up to 1e22 is exact in a double
+        DOUBLE_POWERS[0] = 1.0;
+        for (int i = 1; i < DOUBLE_POWERS.length; i++) {
+            DOUBLE_POWERS[i] = DOUBLE_POWERS[i - 1] * 10.0;
+        }
+    }
+
+    private final MathContext context;
+
+    /**
+     * Creates an engine rounding results to {@code maxDigits} significant digits.
+     *
+     * @param maxDigits the number of significant digits of results
+     * @param roundingMode how results are rounded
+     */
+    DecimalEngine(int maxDigits, RoundingMode roundingMode) {
+        this.context = new MathContext(maxDigits, roundingMode);
+    }
+
+    /**
+     * Checks whether this engine was built from the given settings.
+     *
+     * @param maxDigits the number of significant digits of results
+     * @param roundingMode how results are rounded
+     * @return true if the engine rounds the same way
+     */
+    boolean matches(int maxDigits, RoundingMode roundingMode) {
+        return context.getPrecision() == maxDigits && context.getRoundingMode() == roundingMode;
+    }
+
+    /**
+     * Gets the context results are rounded to.
+     *
+     * @return the math context
+     */
+    MathContext context() {
+        return context;
+    }
+
+    /**
+     * Adds two values.
+     *
+     * @param a the first operand
+     * @param b the second operand
+     * @return the result, rounded once
+     */
+    double add(double a, double b) {
+        if (!Double.isFinite(a) || !Double.isFinite(b)) {
+            return a + b;
+        }
+        double result = addOnLongs(a, b);
+        return Double.isNaN(result) ? addDecimal(a, b) : result;
+    }
+
+    /**
+     * Adds two finite values on scaled longs.
+     *
+     * @return the sum rounded once, or NaN if the operands or their sum do not fit
+     */
+    double addOnLongs(double a, double b) {
+        int scaleA = scaleOf(a);
+        int scaleB = scaleOf(b);
+        if ((scaleA | scaleB) >= 0) {
+            int scale = Math.max(scaleA, scaleB);
+            long x = scaleUp(unscaled(a, scaleA), scale - scaleA);
+            long y = scaleUp(unscaled(b, scaleB), scale - scaleB);
+            long sum = x + y;
+            if (x != Long.MIN_VALUE && y != Long.MIN_VALUE && ((x ^ sum) & (y ^ sum)) >= 0) {
+                return rounded(sum, scale);
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Adds two finite values in {@link BigDecimal}.
+     *
+     * @return the sum, rounded once
+     */
+    double addDecimal(double a, double b) {
+        return decimal(a).add(decimal(b), context).doubleValue();
+    }
+
+    /**
+     * Subtracts {@code b} from {@code a}.
+     *
+     * @param a the first operand
+     * @param b the second operand
+     * @return the result, rounded once
+     */
+    double subtract(double a, double b) {
+        return add(a, -b);
+    }
+
+    /**
+     * Multiplies two values.
+     *
+     * @param a the first operand
+     * @param b the second operand
+     * @return the result, rounded once
+     */
+    double multiply(double a, double b) {
+        return product(a, b, 0);
+    }
+
+    /**
+     * Divides two values. The quotient is rounded to the context's precision
+     * even if it does not terminate.
+     *
+     * @param dividend the dividend
+     * @param divisor the divisor
+     * @return the quotient, rounded once
+     */
+    double divide(double dividend, double divisor) {
+        if (!Double.isFinite(dividend) || !Double.isFinite(divisor) || divisor == 0.0) {
+            return dividend / divisor;
+        }
+        double result = divideOnLongs(dividend, divisor);
+        return Double.isNaN(result) ? divideDecimal(dividend, divisor) : result;
+    }
+
+    /**
+     * Divides two finite values on longs, which works when the quotient terminates.
+     *
+     * @param divisor a value other than zero
+     * @return the quotient rounded once, or NaN if it has to go through BigDecimal
+     */
+    double divideOnLongs(double dividend, double divisor) {
+        int scaleA = scaleOf(dividend);
+        int scaleB = scaleOf(divisor);
+        if ((scaleA | scaleB) >= 0) {
+            long x = unscaled(dividend, scaleA);
+            long y = unscaled(divisor, scaleB);
+            if (x % y == 0) {
+                return rounded(x / y, scaleA - scaleB);
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Divides two finite values in {@link BigDecimal}.
+     *
+     * @param divisor a value other than zero
+     * @return the quotient, rounded once
+     */
+    double divideDecimal(double dividend, double divisor) {
+        return decimal(dividend).divide(decimal(divisor), context).doubleValue();
+    }
+
+    /**
+     * Computes {@code percent} percent of {@code number}.
+     *
+     * @param number the base value
+     * @param percent the percentage
+     * @return {@code number * percent / 100}, rounded once
+     */
+    double percentage(double number, double percent) {
+        return product(number, percent, 2);
+    }
+
+    /**
+     * Rounds a value to a number of decimal places with this engine's
+     * rounding mode. The result is not limited to the significant digits.
+     *
+     * @param value the value to round
+     * @param places the number of decimal places, not negative
+     * @return the rounded value
+     */
+    double round(double value, int places) {
+        return round(value, places, context.getRoundingMode());
+    }
+
+    /**
+     * Rounds the shortest decimal form of a value to a number of decimal
+     * places. Values with up to {@link #MAX_FAST_SCALE} decimals are
+     * rounded on longs without allocating.
+     *
+     * @param value the value to round
+     * @param places the number of decimal places, not negative
+     * @param roundingMode how the value is rounded
+     * @return the rounded value
+     */
+    static double round(double value, int places, RoundingMode roundingMode) {
+        if (!Double.isFinite(value)) {
+            return value;
+        }
+        int scale = scaleOf(value);
+        if (scale >= 0) {
+            if (scale <= places) {
+                return value;
+            }
+            long rounded = divide(unscaled(value, scale), LONG_POWERS[scale - places], roundingMode);
+            return toDouble(rounded, places);
+        }
+        return decimal(value).setScale(places, roundingMode).doubleValue();
+    }
+
+    /**
+     * Computes a square root to the context's precision.
+     *
+     * @param x the radicand
+     * @return the square root, NaN if {@code x} is negative
+     */
+    double squareRoot(double x) {
+        if (!Double.isFinite(x) || x < 0) {
+            return Math.sqrt(x);
+        }
+        return BigMath.sqrt(decimal(x), context).doubleValue();
+    }
+
+    /**
+     * Computes a cube root to the context's precision.
+     *
+     * @param x the radicand
+     * @return the cube root
+     */
+    double cubeRoot(double x) {
+        if (!Double.isFinite(x)) {
+            return Math.cbrt(x);
+        }
+        return BigMath.root(decimal(x), 3, context).doubleValue();
+    }
+
+    /**
+     * Computes the {@code n}th root to the context's precision. Integer
+     * degrees use Newton's iteration, others {@code x^(1/n)}.
+     *
+     * @param x the radicand
+     * @param n the degree of the root, not zero
+     * @return the root, NaN where {@code Math.pow(x, 1 / n)} is NaN
+     */
+    double nthRoot(double x, double n) {
+        if (!Double.isFinite(x) || !Double.isFinite(n) || n == 0 || x <= 0 || outOfRange(x, 1 / n)) {
+            // Math.pow, as on the double path: NaN even for odd roots of negative numbers
+            return Math.pow(x, 1.0 / n);
+        }
+        if (n == Math.rint(n) && Math.abs(n) <= Integer.MAX_VALUE) {
+            return BigMath.root(decimal(x), (int) n, context).doubleValue();
+        }
+        MathContext work = new MathContext(context.getPrecision() + 2, RoundingMode.HALF_EVEN);
+        BigDecimal exponent = BigDecimal.ONE.divide(decimal(n), work);
+        return BigMath.pow(decimal(x), exponent, context).doubleValue();
+    }
+
+    /**
+     * Computes a power to the context's precision. Integer exponents use
+     * exponentiation by squaring.
+     *
+     * @param base the base
+     * @param exponent the exponent
+     * @return {@code base^exponent}, with the special cases of {@link Math#pow}
+     */
+    double power(double base, double exponent) {
+        if (!Double.isFinite(base) || !Double.isFinite(exponent) || outOfRange(base, exponent)
+                || (base < 0 && exponent != Math.rint(exponent)) || (base == 0 && exponent <= 0)) {
+            return Math.pow(base, exponent);
+        }
+        return BigMath.pow(decimal(base), decimal(exponent), context).doubleValue();
+    }
+
+    /**
+     * Computes the common logarithm to the context's precision.
+     *
+     * @param x the argument
+     * @return {@code log10 x}, with the special cases of {@link Math#log10}
+     */
+    double log10(double x) {
+        if (!Double.isFinite(x) || x <= 0) {
+            return Math.log10(x);
+        }
+        return BigMath.log10(decimal(x), context).doubleValue();
+    }
+
+    /**
+     * Computes the natural logarithm to the context's precision.
+     *
+     * @param x the argument
+     * @return {@code ln x}, with the special cases of {@link Math#log}
+     */
+    double ln(double x) {
+        if (!Double.isFinite(x) || x <= 0) {
+            return Math.log(x);
+        }
+        return BigMath.ln(decimal(x), context).doubleValue();
+    }
+
+    /**
+     * Converts a double to the shortest decimal that converts back to it.
+     *
+     * @param value a finite value
+     * @return the decimal
+     */
+    static BigDecimal decimal(double value) {
+        int scale = scaleOf(value);
+        return scale >= 0 ? BigDecimal.valueOf(unscaled(value, scale), scale) : BigDecimal.valueOf(value);
+    }
+
+    /**
+     * Multiplies and divides by {@code 10^extraScale}, which is exact in decimal.
+     */
+    private double product(double a, double b, int extraScale) {
+        if (!Double.isFinite(a) || !Double.isFinite(b)) {
+            return a * b / DOUBLE_POWERS[extraScale];
+        }
+        double result = productOnLongs(a, b, extraScale);
+        return Double.isNaN(result) ? productDecimal(a, b, extraScale) : result;
+    }
+
+    /**
+     * Computes {@code a * b / 10^extraScale} for finite values on longs.
+     *
+     * @return the result rounded once, or NaN if the operands or product do not fit
+     */
+    double productOnLongs(double a, double b, int extraScale) {
+        int scaleA = scaleOf(a);
+        int scaleB = scaleOf(b);
+        if ((scaleA | scaleB) >= 0) {
+            long x = unscaled(a, scaleA);
+            long y = unscaled(b, scaleB);
+            long high = Math.multiplyHigh(x, y);
+            long low = x * y;
+            if (high == (low >> 63) && low != Long.MIN_VALUE) {
+                return rounded(low, scaleA + scaleB + extraScale);
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Computes {@code a * b / 10^extraScale} for finite values in {@link BigDecimal}.
+     *
+     * @return the result, rounded once
+     */
+    double productDecimal(double a, double b, int extraScale) {
+        return decimal(a).multiply(decimal(b)).scaleByPowerOfTen(-extraScale).round(context).doubleValue();
+    }
+
+    /**
+     * Checks whether {@code |base^exponent|} is far outside the double range,
+     * where Math.pow already gives the exact answer of zero or infinity.
+     */
+    private static boolean outOfRange(double base, double exponent) {
+        return base != 0 && Math.abs(exponent * Math.log10(Math.abs(base))) > 400;
+    }
+
+    /**
+     * Finds the smallest scale at which a value's decimal digits fit in a
+     * long and convert back to the same double.
+     *
+     * @return the scale, or -1 if the value needs more than
+     *         {@link #MAX_FAST_SCALE} decimal places or 53 bits of digits
+     */
+    static int scaleOf(double value) {
+        for (int scale = 0; scale <= MAX_FAST_SCALE; scale++) {
+            double power = DOUBLE_POWERS[scale];
+            double digits = Math.rint(value * power);
+            if (Math.abs(digits) >= MAX_EXACT) {
+                return -1;
+            }
+            if (digits / power == value) {
+                return scale;
+            }
+        }
+        return -1;
+    }
+
+    static long unscaled(double value, int scale) {
+        return (long) Math.rint(value * DOUBLE_POWERS[scale]);
+    }
+
+    /**
+     * Multiplies by {@code 10^places}, or returns {@link Long#MIN_VALUE} on overflow.
+     */
+    private static long scaleUp(long unscaled, int places) {
+        if (places == 0) {
+            return unscaled;
+        }
+        long power = LONG_POWERS[places];
+        long high = Math.multiplyHigh(unscaled, power);
+        long low = unscaled * power;
+        return high == (low >> 63) ? low : Long.MIN_VALUE;
+    }
+
+    /**
+     * Rounds {@code unscaled * 10^-scale} to the context's precision and converts it.
+     */
+    private double rounded(long unscaled, int scale) {
+        int excess = digits(Math.abs(unscaled)) - context.getPrecision();
+        if (excess > 0) {
+            unscaled = divide(unscaled, LONG_POWERS[excess], context.getRoundingMode());
+            scale -= excess;
+        }
+        return toDouble(unscaled, scale);
+    }
+
+    /**
+     * Converts {@code unscaled * 10^-scale} to the nearest double.
+     */
+    static double toDouble(long unscaled, int scale) {
+        if (Math.abs(unscaled) < MAX_EXACT) {
+            // Both operands are exact, so one IEEE operation rounds correctly
+            if (scale >= 0 && scale < DOUBLE_POWERS.length) {
+                return unscaled / DOUBLE_POWERS[scale];
+            }
+            if (scale < 0 && -scale < DOUBLE_POWERS.length) {
+                return unscaled * DOUBLE_POWERS[-scale];
+            }
+        }
+        return BigDecimal.valueOf(unscaled, scale).doubleValue();
+    }
+
+    /**
+     * Divides by a power of ten, rounding the way {@link BigDecimal} does.
+     */
+    static long divide(long value, long divisor, RoundingMode mode) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int sign = value < 0 ? -1 : 1;
+        boolean awayFromZero = switch (mode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                int half = Long.compare(Math.abs(remainder) * 2, divisor);
+                if (half != 0) {
+                    yield half > 0;
+                }
+                yield mode == RoundingMode.HALF_UP || (mode == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+            }
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+
+    /**
+     * Counts the decimal digits of a non-negative value.
+     */
+    private static int digits(long value) {
+        int digits = 1;
+        while (digits < LONG_POWERS.length && value >= LONG_POWERS[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,160 @@
+package com.calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Exact integer arithmetic on longs that switches to {@link BigInteger}
+ * only when a result overflows.
+ *
+ * Results are {@link Long}s while they fit and {@link BigInteger}s
+ * otherwise, so they can be fed back in. Overflow is detected with the same
+ * bit tests {@link Math#addExact} and {@link Math#multiplyHigh} use, without
+ * throwing, so the long path costs a few instructions more than primitive
+ * arithmetic.
+ */
+final class ExactArithmetic {
+
+    /** Largest power result, in bits, that is computed; about five million digits */
+    static final long MAX_RESULT_BITS = 1L << 24;
+
+    private ExactArithmetic() {
+        // Utility class
+    }
+
+    static Number add(long a, long b) {
+        long sum = a + b;
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            return BigInteger.valueOf(a).add(BigInteger.valueOf(b));
+        }
+        return sum;
+    }
+
+    static Number subtract(long a, long b) {
+        long difference = a - b;
+        if (((a ^ b) & (a ^ difference)) < 0) {
+            return BigInteger.valueOf(a).subtract(BigInteger.valueOf(b));
+        }
+        return difference;
+    }
+
+    static Number multiply(long a, long b) {
+        long product = a * b;
+        if (Math.multiplyHigh(a, b) != (product >> 63)) {
+            return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b));
+        }
+        return product;
+    }
+
+    /**
+     * Raises to a power by repeated squaring.
+     *
+     * @param base the base
+     * @param exponent the exponent, not negative
+     * @return {@code base^exponent}
+     * @throws ArithmeticException if the result would exceed {@link #MAX_RESULT_BITS}
+     */
+    static Number power(long base, int exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Negative exponent: " + exponent);
+        }
+        if (base == 0 || base == 1) {
+            return exponent == 0 ? 1L : base;
+        }
+        if (base == -1) {
+            return (exponent & 1) == 0 ? 1L : -1L;
+        }
+
+        long result = 1;
+        long square = base;
+        for (int remaining = exponent; ; ) {
+            if ((remaining & 1) != 0) {
+                long product = result * square;
+                if (Math.multiplyHigh(result, square) != (product >> 63)) {
+                    return power(BigInteger.valueOf(base), exponent);
+                }
+                result = product;
+            }
+            remaining >>>= 1;
+            if (remaining == 0) {
+                return result;
+            }
+            long squared = square * square;
+            if (Math.multiplyHigh(square, square) != (squared >> 63)) {
+                return power(BigInteger.valueOf(base), exponent);
+            }
+            square = squared;
+        }
+    }
+
+    static Number add(Number a, Number b) {
+        if (a instanceof Long x && b instanceof Long y) {
+            return add((long) x, (long) y);
+        }
+        return normalize(big(a).add(big(b)));
+    }
+
+    static Number subtract(Number a, Number b) {
+        if (a instanceof Long x && b instanceof Long y) {
+            return subtract((long) x, (long) y);
+        }
+        return normalize(big(a).subtract(big(b)));
+    }
+
+    static Number multiply(Number a, Number b) {
+        if (a instanceof Long x && b instanceof Long y) {
+            return multiply((long) x, (long) y);
+        }
+        return normalize(big(a).multiply(big(b)));
+    }
+
+    static Number power(Number base, int exponent) {
+        if (base instanceof Long x) {
+            return power((long) x, exponent);
+        }
+        return normalize(power(big(base), exponent));
+    }
+
+    /**
+     * Converts an integral number to a Long or, if it does not fit, a BigInteger.
+     *
+     * @param value a Long, Integer, Short, Byte, BigInteger, BigDecimal, Double or Float
+     * @return the same value as a Long or BigInteger
+     * @throws ArithmeticException if the value is not an integer
+     */
+    static Number integral(Number value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return value.longValue();
+        }
+        if (value instanceof BigInteger big) {
+            return normalize(big);
+        }
+        if (value instanceof BigDecimal decimal) {
+            return normalize(decimal.toBigIntegerExact());
+        }
+        double d = value.doubleValue();
+        if (!Double.isFinite(d) || d != Math.rint(d)) {
+            throw new ArithmeticException("Not an integer: " + value);
+        }
+        // Doubles in (-2^63, 2^63) convert exactly
+        if (Math.abs(d) < 0x1p63) {
+            return (long) d;
+        }
+        return new BigDecimal(d).toBigIntegerExact();
+    }
+
+    private static BigInteger power(BigInteger base, int exponent) {
+        if ((long) base.abs().bitLength() * exponent > MAX_RESULT_BITS + exponent) {
+            throw new ArithmeticException("Result too large: " + base + "^" + exponent);
+        }
+        return base.pow(exponent);
+    }
+
+    private static BigInteger big(Number value) {
+        return value instanceof BigInteger big ? big : BigInteger.valueOf(value.longValue());
+    }
+
+    private static Number normalize(BigInteger value) {
+        return value.bitLength() < Long.SIZE ? (Number) value.longValue() : value;
+    }
+}
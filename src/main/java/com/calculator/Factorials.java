@@ -0,0 +1,148 @@
+package com.calculator;
+
+import java.math.BigInteger;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exact factorials.
+ *
+ * Factorials up to {@link #MAX_LONG_ARGUMENT} come from a table. Larger ones
+ * use the split-recursive algorithm:
+ * {@code n! = 2^(n - bitCount(n)) * oddFactorial(n) * oddFactorial(n / 2) * ...}
+ * where {@code oddFactorial(m)} is the product of the odd numbers up to
+ * {@code m}. Each odd factorial extends the previous one by a range of odd
+ * numbers, so every factor is multiplied in exactly once, and the power of
+ * two is a single shift.
+ *
+ * The odd ranges are multiplied as balanced binary product trees, so that
+ * BigInteger multiplications see operands of similar size and can use
+ * their sub-quadratic algorithms. Large ranges are split across the common
+ * {@link java.util.concurrent.ForkJoinPool}, and the final multiplications
+ * use {@link BigInteger#parallelMultiply}.
+ */
+final class Factorials {
+
+    /** Largest argument whose factorial fits in a long */
+    static final int MAX_LONG_ARGUMENT = 20;
+
+    private static final long[] TABLE = new long[MAX_LONG_ARGUMENT + 1];
+
+    /** Odd factors below which a range is multiplied on the calling thread */
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    /** Odd factors below which a range is multiplied in a simple loop */
+    private static final int LEAF_SIZE = 32;
+
+    static {
+        TABLE[0] = 1;
+        for (int i = 1; i < TABLE.length; i++) {
+            TABLE[i] = TABLE[i - 1] * i;
+        }
+    }
+
+    private Factorials() {
+        // Utility class
+    }
+
+    /**
+     * Looks up a factorial that fits in a long.
+     *
+     * @param n the argument, between 0 and {@link #MAX_LONG_ARGUMENT}
+     * @return {@code n!}
+     */
+    static long factorial(int n) {
+        return TABLE[n];
+    }
+
+    /**
+     * Computes a factorial exactly.
+     *
+     * @param n the argument, not negative
+     * @return {@code n!}
+     */
+    static BigInteger exact(int n) {
+        if (n <= MAX_LONG_ARGUMENT) {
+            return BigInteger.valueOf(TABLE[n]);
+        }
+
+        // Level i contributes the odd numbers in (largestOdd(n >> (i + 1)), largestOdd(n >> i)]
+        int levels = 31 - Integer.numberOfLeadingZeros(n);
+        OddProduct[] ranges = new OddProduct[levels + 1];
+        long low = 1;
+        for (int i = levels; i >= 0; i--) {
+            long high = ((n >> i) - 1) | 1;
+            ranges[i] = new OddProduct(low, high);
+            if (ranges[i].isLarge()) {
+                ranges[i].fork();
+            }
+            low = high + 2;
+        }
+
+        BigInteger oddFactorial = BigInteger.ONE;
+        BigInteger result = BigInteger.ONE;
+        for (int i = levels; i >= 0; i--) {
+            BigInteger product = ranges[i].isLarge() ? ranges[i].join() : ranges[i].compute();
+            oddFactorial = oddFactorial.parallelMultiply(product);
+            result = result.parallelMultiply(oddFactorial);
+        }
+        return result.shiftLeft(n - Integer.bitCount(n));
+    }
+
+    /**
+     * Product of the odd numbers in {@code [low, high]}.
+     */
+    private static final class OddProduct extends RecursiveTask<BigInteger> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long low;
+        private final long high;
+
+        OddProduct(long low, long high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        boolean isLarge() {
+            return oddCount(low, high) > PARALLEL_THRESHOLD;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            long count = oddCount(low, high);
+            if (count <= PARALLEL_THRESHOLD) {
+                return product(low, high);
+            }
+            long middle = low + (count / 2) * 2;
+            OddProduct upper = new OddProduct(middle, high);
+            upper.fork();
+            BigInteger lower = new OddProduct(low, middle - 2).compute();
+            return lower.multiply(upper.join());
+        }
+    }
+
+    /**
+     * Sequential balanced product of the odd numbers in {@code [low, high]}.
+     */
+    private static BigInteger product(long low, long high) {
+        long count = oddCount(low, high);
+        if (count <= LEAF_SIZE) {
+            BigInteger result = BigInteger.ONE;
+            long partial = 1;
+            for (long k = low; k <= high; k += 2) {
+                if (Math.multiplyHigh(partial, k) != 0 || partial * k < 0) {
+                    result = result.multiply(BigInteger.valueOf(partial));
+                    partial = 1;
+                }
+                partial *= k;
+            }
+            return result.multiply(BigInteger.valueOf(partial));
+        }
+        long middle = low + (count / 2) * 2;
+        return product(low, middle - 2).multiply(product(middle, high));
+    }
+
+    private static long oddCount(long low, long high) {
+        return high < low ? 0 : (high - low) / 2 + 1;
+    }
+}
@@ -0,0 +1,349 @@
+package com.calculator;
+
+/**
+ * Approximate powers, roots and logarithms within a relative error budget,
+ * for bulk calculations where throughput matters more than the last ulp.
+ *
+ * The functions take the exponent and significand of a double apart with
+ * bit operations and approximate on a narrow range only:
+ * - logarithms reduce the significand to [√½, √2) and sum the odd series
+ *   of {@code 2 atanh((m - 1) / (m + 1))}, whose argument is below 0.172;
+ * - exponentials, used by {@link #pow}, reduce to within ln 2 / 64 of a
+ *   multiple of ln 2 / 32, look up that multiple in a 32-entry table of
+ *   powers of two and correct with a short polynomial;
+ * - cube roots start from the exponent divided by three in the bit
+ *   pattern and refine with Newton steps.
+ * On ranges this narrow, truncated series are within a small factor of
+ * the minimax polynomials of the same degree and, unlike those, have
+ * closed-form error bounds. The constructor uses the bounds to pick the
+ * fewest terms and steps that stay within the budget, allowing
+ * {@link #ROUNDING_ERROR} for the arithmetic itself.
+ *
+ * A power {@code x^y} is {@code exp(y ln x)}, whose relative error grows
+ * with {@code |y ln x|}; where that would exceed the budget, and for
+ * special values such as zero, infinities, NaN and subnormal results, the
+ * functions return what {@link Math} returns. So does everything when the
+ * budget is too small to be met by approximation.
+ *
+ * Obtained from {@link Calculator#fastMath()}. The operations are not
+ * validated or recorded in the calculation history. Immutable and
+ * thread-safe.
+ */
+public final class FastMath {
+
+    /** Bound on the relative error added by rounding in the approximations */
+    static final double ROUNDING_ERROR = 2e-15;
+
+    private static final double UNIT_ROUNDOFF = 0x1p-53;
+    private static final long SIGNIFICAND_MASK = 0x000F_FFFF_FFFF_FFFFL;
+    private static final long ONE_BITS = 0x3FF0_0000_0000_0000L;
+    private static final long HALF_BITS = 0x3FE0_0000_0000_0000L;
+    private static final long SQRT_TWO_SIGNIFICAND = Double.doubleToRawLongBits(Math.sqrt(2)) & SIGNIFICAND_MASK;
+
+    /** ln 2 in two parts, the first with 32 significant bits */
+    private static final double LN2_HI = 6.93147180369123816490e-01;
+    private static final double LN2_LO = 1.90821492927058770002e-10;
+    private static final double LOG10_E = 0.4342944819032518;
+
+    /** Largest |(m - 1) / (m + 1)| for m in [√½, √2) */
+    private static final double MAX_ATANH_ARGUMENT = 0.17157287525380990;
+    private static final int MAX_LOG_TERMS = 12;
+
+    /** Arguments beyond which exp overflows or loses normal precision */
+    private static final double EXP_LIMIT = 708;
+    private static final double THIRTY_TWO_OVER_LN2 = 32 / Math.log(2);
+    private static final double MAX_EXP_REMAINDER = Math.log(2) / 64 + 1e-12;
+    private static final int MAX_EXP_DEGREE = 8;
+    private static final double[] POWERS_OF_TWO = new double[32];
+
+    /** Added to a third of the bit pattern to get the cube root within 3.3 percent */
+    private static final long CBRT_MAGIC = 0x2A9F_7893_782D_A1CEL;
+    private static final double CBRT_INITIAL_ERROR = 0.033;
+    private static final int MAX_CBRT_STEPS = 5;
+
+    static {
+        for (int j = 0; j < POWERS_OF_TWO.length; j++) {
+            POWERS_OF_TWO[j] = StrictMath.pow(2, j / 32.0);
+        }
+    }
+
+    private final double maxError;
+    private final boolean approximate;
+    /** Coefficients of the atanh series after its first term, in t² */
+    private final double[] logCoefficients;
+    /** Coefficients of exp(r) - 1 - r, in r, from r² up */
+    private final double[] expCoefficients;
+    private final int cbrtSteps;
+    /** Largest |y ln x| for which a power stays within the budget */
+    private final double powLimit;
+
+    /**
+     * Creates approximations within a relative error budget.
+     *
+     * @param maxError the largest relative error allowed
+     */
+    FastMath(double maxError) {
+        this.maxError = maxError;
+        double allowed = maxError - ROUNDING_ERROR;
+
+        // The atanh series truncated after t^(2n+1), relative to its first term
+        int logTerms = 0;
+        while (logTerms < MAX_LOG_TERMS && logTruncation(logTerms) > allowed) {
+            logTerms++;
+        }
+        int expDegree = 2;
+        while (expDegree < MAX_EXP_DEGREE && expTruncation(expDegree) > allowed) {
+            expDegree++;
+        }
+        int steps = 0;
+        double cbrtError = CBRT_INITIAL_ERROR;
+        while (steps < MAX_CBRT_STEPS && cbrtError > allowed) {
+            cbrtError *= cbrtError;
+            steps++;
+        }
+        this.approximate = allowed > 0 && logTruncation(logTerms) <= allowed
+            && expTruncation(expDegree) <= allowed && cbrtError <= allowed;
+
+        this.logCoefficients = new double[logTerms];
+        for (int i = 0; i < logTerms; i++) {
+            logCoefficients[i] = 2.0 / (2 * i + 3);
+        }
+        this.expCoefficients = new double[expDegree - 1];
+        double factorial = 1;
+        for (int i = 0; i < expCoefficients.length; i++) {
+            factorial *= i + 2;
+            expCoefficients[i] = 1 / factorial;
+        }
+        this.cbrtSteps = steps;
+
+        // exp(z) with z off by |z| times the logarithm's error and the product's rounding
+        double logError = logTruncation(logTerms) + ROUNDING_ERROR + 2 * UNIT_ROUNDOFF;
+        this.powLimit = approximate ? (maxError - expTruncation(expDegree) - ROUNDING_ERROR) / logError : 0;
+    }
+
+    /**
+     * Checks whether these approximations were built for the given settings.
+     *
+     * @param settings the configuration snapshot
+     * @return true if the error budget is the same
+     */
+    boolean matches(CalculatorConfig.Snapshot settings) {
+        return settings.fastMathMaxError() == maxError;
+    }
+
+    /**
+     * Gets the largest relative error of the results.
+     *
+     * @return the error budget
+     */
+    public double maxError() {
+        return maxError;
+    }
+
+    /**
+     * Checks whether the budget is large enough for the approximations. If
+     * not, every function returns what {@link Math} returns.
+     *
+     * @return true if the functions approximate
+     */
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    /**
+     * Computes {@code base^exponent}, with the special cases of
+     * {@link Math#pow(double, double)}.
+     *
+     * @param base the base
+     * @param exponent the exponent
+     * @return the power, within the error budget
+     */
+    public double pow(double base, double exponent) {
+        if (!approximate || !(base > 0 || base < 0 && isInteger(exponent))
+                || !Double.isFinite(base) || !Double.isFinite(exponent)) {
+            return Math.pow(base, exponent);
+        }
+        double z = exponent * ln(Math.abs(base));
+        if (!(Math.abs(z) <= powLimit) || !(Math.abs(z) <= EXP_LIMIT)) {
+            return Math.pow(base, exponent);
+        }
+        double power = exp(z);
+        return base < 0 && isOdd(exponent) ? -power : power;
+    }
+
+    /**
+     * Computes the n-th root as {@code number^(1/n)}, as the calculator does.
+     *
+     * @param number the radicand
+     * @param n the degree of the root
+     * @return the root, within the error budget
+     */
+    public double nthRoot(double number, double n) {
+        return pow(number, 1.0 / n);
+    }
+
+    /**
+     * Computes the cube root, with the special cases of {@link Math#cbrt(double)}.
+     *
+     * @param number the radicand
+     * @return the cube root, within the error budget
+     */
+    public double cbrt(double number) {
+        if (!approximate || number == 0 || !Double.isFinite(number)) {
+            return Math.cbrt(number);
+        }
+        double a = Math.abs(number);
+        double scale = 1;
+        if (a < Double.MIN_NORMAL) {
+            a *= 0x1p54;
+            scale = 0x1p-18;
+        }
+        double y = Double.longBitsToDouble(Double.doubleToRawLongBits(a) / 3 + CBRT_MAGIC);
+        for (int i = 0; i < cbrtSteps; i++) {
+            y += (a / (y * y) - y) / 3;
+        }
+        return Math.copySign(y * scale, number);
+    }
+
+    /**
+     * Computes the natural logarithm, with the special cases of {@link Math#log(double)}.
+     *
+     * @param number the argument
+     * @return the logarithm, within the error budget
+     */
+    public double log(double number) {
+        if (!approximate || !(number > 0) || number == Double.POSITIVE_INFINITY) {
+            return Math.log(number);
+        }
+        return ln(number);
+    }
+
+    /**
+     * Computes the base-10 logarithm, with the special cases of {@link Math#log10(double)}.
+     *
+     * @param number the argument
+     * @return the logarithm, within the error budget
+     */
+    public double log10(double number) {
+        if (!approximate || !(number > 0) || number == Double.POSITIVE_INFINITY) {
+            return Math.log10(number);
+        }
+        return ln(number) * LOG10_E;
+    }
+
+    public double[] pow(double[] bases, double exponent) {
+        double[] results = new double[bases.length];
+        for (int i = 0; i < bases.length; i++) {
+            results[i] = pow(bases[i], exponent);
+        }
+        return results;
+    }
+
+    public double[] nthRoot(double[] numbers, double n) {
+        return pow(numbers, 1.0 / n);
+    }
+
+    public double[] cbrt(double[] numbers) {
+        double[] results = new double[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            results[i] = cbrt(numbers[i]);
+        }
+        return results;
+    }
+
+    public double[] log(double[] numbers) {
+        double[] results = new double[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            results[i] = log(numbers[i]);
+        }
+        return results;
+    }
+
+    public double[] log10(double[] numbers) {
+        double[] results = new double[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            results[i] = log10(numbers[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Approximates the natural logarithm of a positive finite number.
+     */
+    private double ln(double x) {
+        int exponent = 0;
+        if (x < Double.MIN_NORMAL) {
+            x *= 0x1p54;
+            exponent = -54;
+        }
+        long bits = Double.doubleToRawLongBits(x);
+        exponent += (int) (bits >>> 52) - 1023;
+        long significand = bits & SIGNIFICAND_MASK;
+        double m;
+        if (significand > SQRT_TWO_SIGNIFICAND) {
+            // Halve to keep m below √2
+            m = Double.longBitsToDouble(significand | HALF_BITS);
+            exponent++;
+        } else {
+            m = Double.longBitsToDouble(significand | ONE_BITS);
+        }
+
+        // m - 1 is exact; ln m = 2t + 2t³/3 + 2t⁵/5 + ...
+        double t = (m - 1) / (m + 1);
+        double t2 = t * t;
+        double series = 0;
+        for (int i = logCoefficients.length - 1; i >= 0; i--) {
+            series = series * t2 + logCoefficients[i];
+        }
+        double lnM = 2 * t + t * t2 * series;
+        return exponent * LN2_HI + (exponent * LN2_LO + lnM);
+    }
+
+    /**
+     * Approximates e^z for |z| <= EXP_LIMIT, where the result is normal.
+     */
+    private double exp(double z) {
+        double k = Math.rint(z * THIRTY_TWO_OVER_LN2);
+        // k * LN2_HI / 32 is exact because |k| < 2^15
+        double r = (z - k * (LN2_HI / 32)) - k * (LN2_LO / 32);
+        int multiple = (int) k;
+        double polynomial = 0;
+        for (int i = expCoefficients.length - 1; i >= 0; i--) {
+            polynomial = polynomial * r + expCoefficients[i];
+        }
+        double expMinusOne = r + r * r * polynomial;
+        double power = POWERS_OF_TWO[multiple & 31];
+        double scale = Double.longBitsToDouble((long) ((multiple >> 5) + 1023) << 52);
+        return (power + power * expMinusOne) * scale;
+    }
+
+    /**
+     * Bounds the relative truncation error of the atanh series kept up to t^(2n+1).
+     */
+    private static double logTruncation(int n) {
+        double t2 = MAX_ATANH_ARGUMENT * MAX_ATANH_ARGUMENT;
+        return Math.pow(t2, n + 1) / ((2 * n + 3) * (1 - t2));
+    }
+
+    /**
+     * Bounds the relative truncation error of the exp series kept up to r^degree.
+     */
+    private static double expTruncation(int degree) {
+        double factorial = 1;
+        for (int i = 2; i <= degree + 1; i++) {
+            factorial *= i;
+        }
+        return Math.pow(MAX_EXP_REMAINDER, degree + 1) / factorial * Math.exp(MAX_EXP_REMAINDER);
+    }
+
+    private static boolean isInteger(double value) {
+        return value == Math.rint(value) && Double.isFinite(value);
+    }
+
+    /**
+     * Checks whether an integer-valued double is odd. Beyond 2^53 all doubles are even.
+     */
+    private static boolean isOdd(double integer) {
+        return Math.abs(integer) < 0x1p53 && ((long) integer & 1) != 0;
+    }
+}
@@ -0,0 +1,261 @@
+package com.calculator;
+
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point decimal arithmetic for amounts such as currency.
+ *
+ * A value is a {@code long} counting units of {@code 10^-scale}, where the
+ * scale is calculation.precision: with the default of 4, the value
+ * {@code 12345} stands for 1.2345. Sums and differences are exact.
+ * Products, quotients and percentages are computed as exact 128-bit
+ * intermediates and rounded once to the scale with calculation.rounding.mode.
+ * No operation allocates. A result that does not fit in a long throws
+ * {@link ArithmeticException}, as {@link Math#addExact} does, and so does
+ * any rounding when the mode is {@link RoundingMode#UNNECESSARY}.
+ *
+ * Obtained from {@link Calculator#fixedPoint()}. The operations are not
+ * recorded in the calculation history. Immutable and thread-safe.
+ */
+public final class FixedPoint {
+
+    private static final long MASK_32 = 0xFFFF_FFFFL;
+
+    private final int scale;
+    private final long one;
+    private final RoundingMode roundingMode;
+    private final int maxDigits;
+    private final boolean strict;
+
+    /**
+     * Creates fixed-point arithmetic.
+     *
+     * @param scale the number of decimal places of values, 0 to 16
+     * @param roundingMode how results are rounded to the scale
+     * @param maxDigits the maximum number of significant digits when formatting
+     * @param strict true to keep trailing zeros when formatting
+     */
+    FixedPoint(int scale, RoundingMode roundingMode, int maxDigits, boolean strict) {
+        this.scale = scale;
+        this.one = ResultFormatter.POWERS_OF_TEN[scale];
+        this.roundingMode = roundingMode;
+        this.maxDigits = maxDigits;
+        this.strict = strict;
+    }
+
+    /**
+     * Checks whether this arithmetic was built from the given settings.
+     *
+     * @param settings the configuration snapshot
+     * @return true if values have the same scale, rounding and formatting
+     */
+    boolean matches(CalculatorConfig.Snapshot settings) {
+        return settings.precision() == scale && settings.roundingMode() == roundingMode
+            && settings.maxDigits() == maxDigits && settings.strictModeEnabled() == strict;
+    }
+
+    /**
+     * Gets the number of decimal places of values.
+     *
+     * @return the scale
+     */
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Gets how results are rounded to the scale.
+     *
+     * @return the rounding mode
+     */
+    public RoundingMode roundingMode() {
+        return roundingMode;
+    }
+
+    /**
+     * Converts a whole number.
+     *
+     * @param integer the whole number
+     * @return the fixed-point value
+     */
+    public long valueOf(long integer) {
+        return Math.multiplyExact(integer, one);
+    }
+
+    /**
+     * Converts the shortest decimal form of a double, i.e. what was typed,
+     * rounding it to the scale.
+     *
+     * @param value a finite value
+     * @return the fixed-point value
+     */
+    public long valueOf(double value) {
+        if (!Double.isFinite(value)) {
+            throw new ArithmeticException("Not a finite number: " + value);
+        }
+        int digits = DecimalEngine.scaleOf(value);
+        if (digits < 0) {
+            // Too many digits for a long; rare enough to go through BigDecimal
+            return DecimalEngine.decimal(value).setScale(scale, roundingMode).longValueExact();
+        }
+        long unscaled = DecimalEngine.unscaled(value, digits);
+        if (digits <= scale) {
+            return Math.multiplyExact(unscaled, ResultFormatter.POWERS_OF_TEN[scale - digits]);
+        }
+        return DecimalEngine.divide(unscaled, ResultFormatter.POWERS_OF_TEN[digits - scale], roundingMode);
+    }
+
+    /**
+     * Converts a value to the nearest double.
+     *
+     * @param value the fixed-point value
+     * @return the double, correctly rounded
+     */
+    public double toDouble(long value) {
+        return DecimalEngine.toDouble(value, scale);
+    }
+
+    public long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public long multiply(long a, long b) {
+        return multiplyDivide(a, b, one);
+    }
+
+    public long divide(long dividend, long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        return multiplyDivide(dividend, one, divisor);
+    }
+
+    /**
+     * Computes {@code percent} percent of {@code number}.
+     *
+     * @param number the base amount
+     * @param percent the percentage, as a fixed-point value
+     * @return {@code number * percent / 100}, rounded once
+     */
+    public long percentage(long number, long percent) {
+        return multiplyDivide(number, percent, one * 100);
+    }
+
+    /**
+     * Rounds a value to fewer decimal places.
+     *
+     * @param value the fixed-point value
+     * @param places the number of decimal places to keep, not negative
+     * @return the rounded value, still at this scale
+     */
+    public long round(long value, int places) {
+        if (places < 0) {
+            throw new IllegalArgumentException("Decimal places cannot be negative: " + places);
+        }
+        if (places >= scale) {
+            return value;
+        }
+        long unit = ResultFormatter.POWERS_OF_TEN[scale - places];
+        return Math.multiplyExact(DecimalEngine.divide(value, unit, roundingMode), unit);
+    }
+
+    /**
+     * Formats a value like {@link Calculator#formatResult(double)} formats
+     * the same amount as a double.
+     *
+     * @param value the fixed-point value
+     * @return the formatted value
+     */
+    public String format(long value) {
+        return ResultFormatter.format(value, scale, maxDigits, strict);
+    }
+
+    /**
+     * Computes {@code a * b / divisor}, rounded once, from the exact 128-bit product.
+     */
+    private long multiplyDivide(long a, long b, long divisor) {
+        boolean negative = (a < 0) ^ (b < 0) ^ (divisor < 0);
+        // Magnitudes as unsigned longs, which also holds |Long.MIN_VALUE|
+        long x = Math.abs(a);
+        long y = Math.abs(b);
+        long d = Math.abs(divisor);
+        long high = Math.unsignedMultiplyHigh(x, y);
+        long low = x * y;
+        if (Long.compareUnsigned(high, d) >= 0) {
+            throw new ArithmeticException("long overflow");
+        }
+
+        long quotient = divideUnsigned(high, low, d);
+        if (quotient < 0 && (!negative || quotient != Long.MIN_VALUE)) {
+            throw new ArithmeticException("long overflow");
+        }
+        long remainder = low - quotient * d;
+        if (remainder != 0 && roundsAway(negative, quotient, Long.compareUnsigned(remainder, d - remainder))) {
+            quotient++;
+            if (quotient < 0 && (!negative || quotient != Long.MIN_VALUE)) {
+                throw new ArithmeticException("long overflow");
+            }
+        }
+        return negative ? -quotient : quotient;
+    }
+
+    /**
+     * Decides whether an inexact quotient magnitude is rounded away from zero.
+     *
+     * @param half the comparison of the remainder with half the divisor
+     */
+    private boolean roundsAway(boolean negative, long quotient, int half) {
+        return switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> !negative;
+            case FLOOR -> negative;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+    }
+
+    /**
+     * Divides the unsigned 128-bit value {@code high:low} by {@code divisor},
+     * which must be greater than {@code high}, with two 64-by-32-bit steps
+     * (Knuth's algorithm D as given in Hacker's Delight, divlu).
+     */
+    static long divideUnsigned(long high, long low, long divisor) {
+        int shift = Long.numberOfLeadingZeros(divisor);
+        long v = divisor << shift;
+        long v1 = v >>> 32;
+        long v0 = v & MASK_32;
+        long u32 = shift == 0 ? high : (high << shift) | (low >>> (64 - shift));
+        long u10 = low << shift;
+        long u1 = u10 >>> 32;
+        long u0 = u10 & MASK_32;
+
+        long q1 = Long.divideUnsigned(u32, v1);
+        long rhat = u32 - q1 * v1;
+        while (q1 > MASK_32 || Long.compareUnsigned(q1 * v0, (rhat << 32) | u1) > 0) {
+            q1--;
+            rhat += v1;
+            if (rhat > MASK_32) {
+                break;
+            }
+        }
+
+        long u21 = (u32 << 32) + u1 - q1 * v;
+        long q0 = Long.divideUnsigned(u21, v1);
+        rhat = u21 - q0 * v1;
+        while (q0 > MASK_32 || Long.compareUnsigned(q0 * v0, (rhat << 32) | u0) > 0) {
+            q0--;
+            rhat += v1;
+            if (rhat > MASK_32) {
+                break;
+            }
+        }
+        return (q1 << 32) | q0;
+    }
+}
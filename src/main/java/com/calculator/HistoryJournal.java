@@ -0,0 +1,454 @@
+package com.calculator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only file of calculation records, written in the background.
+ *
+ * File layout, little-endian:
+ * - header (16 bytes): magic {@code "CALH"}, format version, 8 reserved bytes
+ * - one 32-byte record per calculation: the operation ordinal as a long at
+ *   offset 0, then the raw bits of both operands and the result at offsets 8, 16, 24
+ *
+ * {@link #append} only copies the record into a bounded in-memory queue and
+ * never waits for I/O. A single writer thread per file drains everything
+ * queued since its last pass into one buffer and commits it with one
+ * {@code write} and one {@code force}, so a burst of calculations costs one
+ * disk flush. When the queue is full, because the disk cannot keep up,
+ * records are dropped and counted rather than slowing down the caller.
+ *
+ * Once the file grows beyond its size limit, the writer rewrites it with
+ * only the most recent records into a temporary file and atomically moves
+ * that over the journal. A torn record at the end of the file, e.g. after a
+ * crash during a write, is cut off when the journal is opened. A non-empty
+ * file without the journal header, such as a history saved as text by
+ * another version, is never overwritten: opening it fails instead.
+ *
+ * Journals are shared per file: all calculators in a process that log to the
+ * same path append through the same queue and writer, and the file holds a
+ * single history for all of them. Restoring reads every calculator's
+ * records, and {@link #clear()} discards them all.
+ */
+final class HistoryJournal {
+
+    private static final Logger LOGGER = Logger.getLogger(HistoryJournal.class.getName());
+
+    static final int MAGIC = 0x484C4143; // "CALH" in little-endian byte order
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 32;
+
+    /** Records that can wait for the writer before new ones are dropped */
+    static final int QUEUE_CAPACITY = 4096;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+
+    /** Queued operation marking a {@link #clear()} */
+    private static final byte CLEAR = -1;
+
+    /** How long {@link #close()} waits for the writer to drain the queue */
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+    private static final ConcurrentHashMap<Path, HistoryJournal> OPEN = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final long maxSize;
+    private final int keepRecords;
+    private final Thread writer;
+
+    // Queue, guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final byte[] operations = new byte[QUEUE_CAPACITY];
+    private final double[] firstOperands = new double[QUEUE_CAPACITY];
+    private final double[] secondOperands = new double[QUEUE_CAPACITY];
+    private final double[] results = new double[QUEUE_CAPACITY];
+    private int head;
+    private int size;
+    private boolean writing;
+    private boolean closed;
+    private long dropped;
+
+    /** Owned by the writer thread once it has started; closed while a failed compaction awaits reopening */
+    private FileChannel channel;
+
+    private HistoryJournal(Path path, long maxSize, int keepRecords) throws IOException {
+        this.path = path;
+        this.maxSize = maxSize;
+        this.keepRecords = keepRecords;
+        this.channel = openChannel(path);
+        this.writer = new Thread(this::drain, "history-journal-" + path.getFileName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Opens the journal for a file, creating the file if needed. Calls with
+     * the same path return the same journal; the limits of the first call
+     * apply, and a warning is logged for later calls with other limits.
+     *
+     * @param path the journal file
+     * @param maxSize the file size in bytes above which the journal is compacted
+     * @param keepRecords the number of most recent records kept by compaction
+     * @return the journal for the file
+     * @throws IOException if the file cannot be opened or has an unsupported format
+     */
+    static HistoryJournal open(Path path, long maxSize, int keepRecords) throws IOException {
+        if (maxSize < HEADER_SIZE + (long) keepRecords * RECORD_SIZE) {
+            throw new IllegalArgumentException("Journal size limit " + maxSize + " cannot hold " + keepRecords + " records");
+        }
+        Path key = path.toAbsolutePath().normalize();
+        HistoryJournal journal = OPEN.get(key);
+        if (journal == null) {
+            synchronized (OPEN) {
+                journal = OPEN.get(key);
+                if (journal == null) {
+                    journal = new HistoryJournal(key, maxSize, keepRecords);
+                    OPEN.put(key, journal);
+                    Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "history-journal-shutdown"));
+                    return journal;
+                }
+            }
+        }
+        if (journal.maxSize != maxSize || journal.keepRecords != keepRecords) {
+            LOGGER.warning("History journal " + key + " is already open with a size limit of " + journal.maxSize
+                           + " bytes and " + journal.keepRecords + " kept records; the requested " + maxSize
+                           + " bytes and " + keepRecords + " records do not apply");
+        }
+        return journal;
+    }
+
+    /**
+     * Queues a record for writing. Never blocks on I/O; drops the record if
+     * the queue is full or the journal is closed.
+     *
+     * @param operation the operation performed
+     * @param a the first operand
+     * @param b the second operand
+     * @param result the result of the operation
+     */
+    void append(Operation operation, double a, double b, double result) {
+        enqueue((byte) operation.ordinal(), a, b, result);
+    }
+
+    /**
+     * Discards every record, including those still queued, whichever
+     * calculator appended them.
+     */
+    void clear() {
+        enqueue(CLEAR, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Reads the most recent records of the file into a history, oldest first.
+     * Records still in the queue are not included.
+     *
+     * @param history the history to append to
+     * @param maxRecords the maximum number of records to read
+     * @return the number of records restored
+     * @throws IOException if the file cannot be read
+     */
+    int restore(CalculationHistory history, int maxRecords) throws IOException {
+        // A separate channel, so a concurrent compaction cannot swap the file away mid-read
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long records = recordCount(in.size());
+            long first = Math.max(0, records - maxRecords);
+            ByteBuffer buffer = ByteBuffer.allocate((int) (records - first) * RECORD_SIZE)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            long position = HEADER_SIZE + first * RECORD_SIZE;
+            while (buffer.hasRemaining()) {
+                int read = in.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+            buffer.flip();
+
+            int restored = 0;
+            int operationCount = Operation.values().length;
+            while (buffer.remaining() >= RECORD_SIZE) {
+                int base = buffer.position();
+                int operation = buffer.get(base);
+                if (operation >= 0 && operation < operationCount) {
+                    history.record(Operation.of(operation),
+                                   buffer.getDouble(base + 8),
+                                   buffer.getDouble(base + 16),
+                                   buffer.getDouble(base + 24));
+                    restored++;
+                }
+                buffer.position(base + RECORD_SIZE);
+            }
+            return restored;
+        }
+    }
+
+    /**
+     * Waits until everything queued so far has been written and forced to disk.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return true if the queue was drained in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (size > 0 || writing) {
+                if (nanos <= 0 || !writer.isAlive()) {
+                    return false;
+                }
+                nanos = drained.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes what is still queued and stops the writer. Records appended
+     * afterwards are dropped.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        OPEN.remove(path, this);
+    }
+
+    /**
+     * Gets the number of records dropped because the queue was full.
+     *
+     * @return the dropped record count
+     */
+    long dropped() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the journal file.
+     *
+     * @return the absolute path of the file
+     */
+    Path path() {
+        return path;
+    }
+
+    private void enqueue(byte operation, double a, double b, double result) {
+        lock.lock();
+        try {
+            if (closed || size == QUEUE_CAPACITY) {
+                dropped++;
+                return;
+            }
+            int index = head + size;
+            if (index >= QUEUE_CAPACITY) {
+                index -= QUEUE_CAPACITY;
+            }
+            operations[index] = operation;
+            firstOperands[index] = a;
+            secondOperands[index] = b;
+            results[index] = result;
+            if (size++ == 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writer loop: takes everything queued, commits it as one batch, repeats.
+     */
+    private void drain() {
+        ByteBuffer batch = ByteBuffer.allocateDirect(QUEUE_CAPACITY * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            while (true) {
+                boolean truncate = false;
+                lock.lock();
+                try {
+                    writing = false;
+                    drained.signalAll();
+                    while (size == 0 && !closed) {
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    if (size == 0) {
+                        return;
+                    }
+                    for (; size > 0; size--) {
+                        if (operations[head] == CLEAR) {
+                            // Earlier records of this batch would be truncated anyway
+                            batch.clear();
+                            truncate = true;
+                        } else {
+                            batch.putLong(operations[head])
+                                 .putDouble(firstOperands[head])
+                                 .putDouble(secondOperands[head])
+                                 .putDouble(results[head]);
+                        }
+                        head = head + 1 == QUEUE_CAPACITY ? 0 : head + 1;
+                    }
+                    writing = true;
+                } finally {
+                    lock.unlock();
+                }
+
+                batch.flip();
+                try {
+                    commit(batch, truncate);
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Cannot write history journal " + path
+                               + ", " + batch.limit() / RECORD_SIZE + " records lost", e);
+                }
+                batch.clear();
+            }
+        } finally {
+            lock.lock();
+            try {
+                closed = true;
+                writing = false;
+                drained.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Cannot close history journal " + path, e);
+            }
+        }
+    }
+
+    private void commit(ByteBuffer batch, boolean truncate) throws IOException {
+        if (!channel.isOpen()) {
+            // An earlier compaction could not reopen the file; retry before each batch
+            channel = openChannel(path);
+        }
+        if (truncate) {
+            channel.truncate(HEADER_SIZE);
+        }
+        channel.position(channel.size());
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        channel.force(false);
+
+        if (channel.size() > maxSize) {
+            compact();
+        }
+    }
+
+    private void compact() throws IOException {
+        long fileSize = channel.size();
+        long records = recordCount(fileSize);
+        long from = HEADER_SIZE + Math.max(0, records - keepRecords) * RECORD_SIZE;
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(out);
+            // The header is written at an absolute position; records follow it
+            out.position(HEADER_SIZE);
+            long position = from;
+            while (position < fileSize) {
+                position += channel.transferTo(position, fileSize - position, out);
+            }
+            out.force(true);
+        }
+
+        // Closed first, since some platforms cannot replace a file that is open;
+        // if reopening fails, the next commit tries again
+        channel.close();
+        try {
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            channel = openChannel(path);
+        }
+        LOGGER.fine("Compacted history journal " + path + " from " + fileSize + " to " + channel.size() + " bytes");
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                               StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long fileSize = channel.size();
+            if (fileSize == 0) {
+                writeHeader(channel);
+                channel.force(true);
+            } else if (fileSize < HEADER_SIZE || !hasHeader(channel, path)) {
+                throw new IOException("File " + path + " is not a history journal and was left unchanged");
+            } else if ((fileSize - HEADER_SIZE) % RECORD_SIZE != 0) {
+                LOGGER.warning("History journal " + path + " ends with a partial record, which was removed");
+                channel.truncate(HEADER_SIZE + recordCount(fileSize) * RECORD_SIZE);
+            }
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static boolean hasHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Keep reading until the header is complete
+        }
+        if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+            return false;
+        }
+        int version = header.getInt(VERSION_OFFSET);
+        if (version != VERSION) {
+            throw new IOException("Unsupported history journal version " + version + " in " + path);
+        }
+        return true;
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC_OFFSET, MAGIC).putInt(VERSION_OFFSET, VERSION);
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    private static long recordCount(long fileSize) {
+        return Math.max(0, (fileSize - HEADER_SIZE) / RECORD_SIZE);
+    }
+}
@@ -0,0 +1,247 @@
+package com.calculator;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+
+/**
+ * Memory slots kept in a memory-mapped file, so that they survive restarts
+ * and can be read by other local processes mapping the same file.
+ *
+ * File layout, little-endian:
+ * - header (64 bytes): magic {@code "CALM"}, format version, slot count
+ * - one 64-byte block per slot: the raw bits of the value at offset 0 and
+ *   a checksum of those bits at offset 8
+ *
+ * Updates go straight into the mapping with the same atomic operations as
+ * {@link MemoryStore}; nothing is serialized. After changing a value the
+ * writer republishes the checksum until it matches the current bits, so
+ * concurrent writers, including other processes, converge on a consistent
+ * slot. Opening an existing file only checks the header and the slot
+ * checksums; a slot whose checksum does not match, e.g. after a torn page
+ * on power loss, is cleared. A non-empty file without the header is never
+ * overwritten: opening it fails, unless it is the zero-filled file left by
+ * a crash during its first initialisation.
+ *
+ * Writes reach the operating system's page cache immediately and survive a
+ * process crash. They are not forced to disk on every update.
+ */
+final class MappedMemoryStore extends MemoryStore {
+
+    private static final Logger LOGGER = Logger.getLogger(MappedMemoryStore.class.getName());
+
+    static final int MAGIC = 0x4D4C4143; // "CALM" in little-endian byte order
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 64;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SLOTS_OFFSET = 8;
+    private static final int CHECKSUM_OFFSET = 8;
+
+    /** Reads a slot whose checksum is being republished at most this many times */
+    private static final int MAX_READ_ATTEMPTS = 1000;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final MappedByteBuffer buffer;
+    private final int slots;
+
+    private MappedMemoryStore(MappedByteBuffer buffer, int slots) {
+        this.buffer = buffer;
+        this.slots = slots;
+    }
+
+    /**
+     * Maps a memory file, creating or extending it as needed.
+     *
+     * Slots beyond {@code slots} that an earlier run stored are kept in the
+     * file but not exposed.
+     *
+     * @param path the memory file
+     * @param slots the number of slots to expose
+     * @return the store backed by the file
+     * @throws IOException if the file cannot be mapped, is not a memory file or
+     *         has an unsupported format
+     */
+    static MappedMemoryStore open(Path path, int slots) throws IOException {
+        if (slots < 1) {
+            throw new IllegalArgumentException("Memory slot count must be positive: " + slots);
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            int storedSlots = readStoredSlots(channel, path);
+            if (storedSlots > 0 && fileSize < sizeFor(storedSlots)) {
+                LOGGER.warning("Memory file " + path + " is truncated, missing slots are cleared");
+                storedSlots = (int) Math.max(0, (fileSize - HEADER_SIZE) / SLOT_SIZE);
+            }
+
+            int mappedSlots = Math.max(slots, storedSlots);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeFor(mappedSlots));
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            MappedMemoryStore store = new MappedMemoryStore(buffer, slots);
+            store.verify(storedSlots, path);
+            if (storedSlots != mappedSlots) {
+                store.zero(storedSlots, mappedSlots);
+                // Publish the slot count before the magic so a crash here leaves an unrecognised file
+                buffer.putInt(VERSION_OFFSET, VERSION);
+                buffer.putInt(SLOTS_OFFSET, mappedSlots);
+                buffer.putInt(MAGIC_OFFSET, MAGIC);
+            }
+            return store;
+        }
+    }
+
+    @Override
+    int slots() {
+        return slots;
+    }
+
+    @Override
+    double get(int slot) {
+        int offset = offset(slot);
+        long bits = 0;
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            bits = (long) LONGS.getVolatile(buffer, offset);
+            if ((long) LONGS.getVolatile(buffer, offset + CHECKSUM_OFFSET) == checksum(bits)) {
+                break;
+            }
+            Thread.onSpinWait();
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    @Override
+    void set(int slot, double value) {
+        int offset = offset(slot);
+        LONGS.setVolatile(buffer, offset, Double.doubleToRawLongBits(value));
+        publishChecksum(offset);
+    }
+
+    @Override
+    double add(int slot, double delta) {
+        int offset = offset(slot);
+        long current = (long) LONGS.getVolatile(buffer, offset);
+        double updated;
+        while (true) {
+            updated = Double.longBitsToDouble(current) + delta;
+            long witness = (long) LONGS.compareAndExchange(buffer, offset, current, Double.doubleToRawLongBits(updated));
+            if (witness == current) {
+                break;
+            }
+            current = witness;
+        }
+        publishChecksum(offset);
+        return updated;
+    }
+
+    /**
+     * Flushes the slots to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Checksum of a slot value. Zero maps to zero so that freshly extended,
+     * zero-filled slots are valid.
+     */
+    static long checksum(long bits) {
+        long h = bits;
+        h ^= h >>> 33;
+        h *= 0xff51_afd7_ed55_8ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ce_b9fe_1a85_ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private void publishChecksum(int offset) {
+        long bits;
+        do {
+            bits = (long) LONGS.getVolatile(buffer, offset);
+            LONGS.setVolatile(buffer, offset + CHECKSUM_OFFSET, checksum(bits));
+        } while ((long) LONGS.getVolatile(buffer, offset) != bits);
+    }
+
+    private void verify(int storedSlots, Path path) {
+        for (int slot = 0; slot < storedSlots; slot++) {
+            int offset = offset(slot);
+            long bits = (long) LONGS.getVolatile(buffer, offset);
+            if ((long) LONGS.getVolatile(buffer, offset + CHECKSUM_OFFSET) != checksum(bits)) {
+                LOGGER.warning("Memory slot " + slot + " in " + path + " failed its checksum and was cleared");
+                LONGS.setVolatile(buffer, offset, 0L);
+                LONGS.setVolatile(buffer, offset + CHECKSUM_OFFSET, 0L);
+            }
+        }
+    }
+
+    private void zero(int fromSlot, int toSlot) {
+        for (int slot = fromSlot; slot < toSlot; slot++) {
+            int offset = offset(slot);
+            LONGS.setVolatile(buffer, offset, 0L);
+            LONGS.setVolatile(buffer, offset + CHECKSUM_OFFSET, 0L);
+        }
+    }
+
+    private static int readStoredSlots(FileChannel channel, Path path) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize == 0) {
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Keep reading until the header is complete or the file ends
+        }
+        if (fileSize < HEADER_SIZE || header.getInt(MAGIC_OFFSET) != MAGIC) {
+            if (!isInterruptedInitialisation(header)) {
+                throw new IOException("File " + path + " is not a memory file and was left unchanged");
+            }
+            LOGGER.warning("Memory file " + path + " was not fully initialised and will be reinitialised");
+            return 0;
+        }
+        int version = header.getInt(VERSION_OFFSET);
+        if (version != VERSION) {
+            throw new IOException("Unsupported memory file version " + version + " in " + path);
+        }
+        return Math.max(0, header.getInt(SLOTS_OFFSET));
+    }
+
+    /**
+     * Checks for the header a crash during the first initialisation leaves:
+     * zero apart from the version and slot count, which precede the magic.
+     */
+    private static boolean isInterruptedInitialisation(ByteBuffer header) {
+        for (int i = 0; i < HEADER_SIZE; i++) {
+            if (header.get(i) != 0 && (i < VERSION_OFFSET || i >= SLOTS_OFFSET + Integer.BYTES)) {
+                return false;
+            }
+        }
+        int version = header.getInt(VERSION_OFFSET);
+        return version == 0 || version == VERSION;
+    }
+
+    private static long sizeFor(int slots) {
+        return HEADER_SIZE + (long) slots * SLOT_SIZE;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+}
@@ -0,0 +1,109 @@
+package com.calculator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed number of memory slots holding doubles, safe for concurrent use.
+ *
+ * Each slot is the raw bits of its value in a {@code long[]}, padded to a
+ * cache line of its own so that threads working on different slots never
+ * invalidate each other's caches. Stores are volatile writes; additions
+ * are compare-and-exchange loops, so concurrent updates are never lost.
+ *
+ * {@link MappedMemoryStore} keeps the slots in a file instead.
+ */
+class MemoryStore {
+
+    /** Longs per slot: one value plus padding up to 64 bytes */
+    private static final int STRIDE = 8;
+
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] cells;
+    private final int slots;
+
+    /**
+     * Creates a store with all slots set to zero.
+     *
+     * @param slots the number of slots
+     */
+    MemoryStore(int slots) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("Memory slot count must be positive: " + slots);
+        }
+        this.slots = slots;
+        // A leading stride keeps slot 0 off the array header's cache line
+        this.cells = new long[(slots + 1) * STRIDE];
+    }
+
+    /**
+     * Creates a store without heap storage, for subclasses that keep their own.
+     */
+    MemoryStore() {
+        this.slots = 0;
+        this.cells = null;
+    }
+
+    /**
+     * Gets the number of slots.
+     *
+     * @return the slot count
+     */
+    int slots() {
+        return slots;
+    }
+
+    /**
+     * Reads a slot.
+     *
+     * @param slot the slot index, already checked by the caller
+     * @return the value stored in the slot
+     */
+    double get(int slot) {
+        return Double.longBitsToDouble((long) CELLS.getVolatile(cells, offset(slot)));
+    }
+
+    /**
+     * Replaces the value of a slot.
+     *
+     * @param slot the slot index, already checked by the caller
+     * @param value the new value
+     */
+    void set(int slot, double value) {
+        CELLS.setVolatile(cells, offset(slot), Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Atomically adds to the value of a slot.
+     *
+     * @param slot the slot index, already checked by the caller
+     * @param delta the value to add
+     * @return the new value of the slot
+     */
+    double add(int slot, double delta) {
+        int offset = offset(slot);
+        long current = (long) CELLS.getVolatile(cells, offset);
+        while (true) {
+            double updated = Double.longBitsToDouble(current) + delta;
+            long witness = (long) CELLS.compareAndExchange(cells, offset, current, Double.doubleToRawLongBits(updated));
+            if (witness == current) {
+                return updated;
+            }
+            current = witness;
+        }
+    }
+
+    /**
+     * Sets every slot to zero.
+     */
+    void clearAll() {
+        for (int slot = 0; slot < slots(); slot++) {
+            set(slot, 0.0);
+        }
+    }
+
+    private static int offset(int slot) {
+        return (slot + 1) * STRIDE;
+    }
+}
@@ -0,0 +1,154 @@
+package com.calculator;
+
+/**
+ * Operations recorded in the calculation history.
+ *
+ * Each constant knows how to render its structured history record
+ * (operands and result) into the human-readable text shown to the user,
+ * so that the text is only built when the history is actually read.
+ *
+ * Memory operations record the memory slot as their second operand;
+ * clearing every slot records slot -1. Batch operations record the number
+ * of elements as their first operand and the total of the results.
+ * Expressions record only their result.
+ */
+enum Operation {
+    ADD,
+    SUBTRACT,
+    MULTIPLY,
+    DIVIDE,
+    POWER,
+    SQUARE_ROOT,
+    CUBE_ROOT,
+    NTH_ROOT,
+    PERCENTAGE,
+    ABSOLUTE,
+    FACTORIAL,
+    ROUND,
+    LOGARITHM,
+    NATURAL_LOGARITHM,
+    MEMORY_STORE,
+    MEMORY_ADD,
+    MEMORY_SUBTRACT,
+    MEMORY_CLEAR,
+    // Appended so that the ordinals saved in history files stay valid
+    SINE,
+    COSINE,
+    TANGENT,
+    ARCSINE,
+    ARCCOSINE,
+    ARCTANGENT,
+    BATCH_ADD,
+    BATCH_SUBTRACT,
+    BATCH_MULTIPLY,
+    BATCH_DIVIDE,
+    BATCH_PERCENTAGE,
+    BATCH_ABSOLUTE,
+    EXPRESSION;
+
+    private static final Operation[] VALUES = values();
+
+    /**
+     * Looks up an operation by its ordinal without allocating.
+     *
+     * @param ordinal the ordinal of the operation
+     * @return the operation constant
+     */
+    static Operation of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Appends the human-readable form of a history record.
+     *
+     * @param sb the builder to append to
+     * @param a the first operand
+     * @param b the second operand
+     * @param result the result of the operation
+     * @param settings the configuration used to format results
+     */
+    void render(StringBuilder sb, double a, double b, double result, CalculatorConfig.Snapshot settings) {
+        switch (this) {
+            case ADD -> binary(sb, a, " + ", b, result, settings);
+            case SUBTRACT -> binary(sb, a, " - ", b, result, settings);
+            case MULTIPLY -> binary(sb, a, " * ", b, result, settings);
+            case DIVIDE -> binary(sb, a, " / ", b, result, settings);
+            case POWER -> binary(sb, a, "^", b, result, settings);
+            case SQUARE_ROOT -> unary(sb, "√", a, "", result, settings);
+            case CUBE_ROOT -> unary(sb, "∛", a, "", result, settings);
+            case NTH_ROOT -> binary(sb, b, "√", a, result, settings);
+            case PERCENTAGE -> binary(sb, b, "% of ", a, result, settings);
+            case ABSOLUTE -> unary(sb, "|", a, "|", result, settings);
+            case FACTORIAL -> sb.append((int) a).append("! = ").append((long) result);
+            case ROUND -> {
+                sb.append("Round ").append(a).append(" to ").append((int) b).append(" places = ");
+                ResultFormatter.appendTo(sb, result, settings);
+            }
+            case LOGARITHM -> unary(sb, "log(", a, ")", result, settings);
+            case NATURAL_LOGARITHM -> unary(sb, "ln(", a, ")", result, settings);
+            case MEMORY_STORE -> {
+                memory(sb, b).append("store: ");
+                ResultFormatter.appendTo(sb, a, settings);
+            }
+            case MEMORY_ADD -> memoryUpdate(memory(sb, b).append("add: "), a, result, settings);
+            case MEMORY_SUBTRACT -> memoryUpdate(memory(sb, b).append("subtract: "), a, result, settings);
+            case SINE -> unary(sb, "sin(", a, ")", result, settings);
+            case COSINE -> unary(sb, "cos(", a, ")", result, settings);
+            case TANGENT -> unary(sb, "tan(", a, ")", result, settings);
+            case ARCSINE -> unary(sb, "asin(", a, ")", result, settings);
+            case ARCCOSINE -> unary(sb, "acos(", a, ")", result, settings);
+            case ARCTANGENT -> unary(sb, "atan(", a, ")", result, settings);
+            case BATCH_ADD -> batch(sb, "add", a, result, settings);
+            case BATCH_SUBTRACT -> batch(sb, "subtract", a, result, settings);
+            case BATCH_MULTIPLY -> batch(sb, "multiply", a, result, settings);
+            case BATCH_DIVIDE -> batch(sb, "divide", a, result, settings);
+            case BATCH_PERCENTAGE -> batch(sb, "percentage", a, result, settings);
+            case BATCH_ABSOLUTE -> batch(sb, "absolute", a, result, settings);
+            case EXPRESSION -> {
+                sb.append("Expression = ");
+                ResultFormatter.appendTo(sb, result, settings);
+            }
+            case MEMORY_CLEAR -> {
+                if (b < 0) {
+                    sb.append("All memory cleared");
+                } else {
+                    memory(sb, b).append("cleared");
+                }
+            }
+        }
+    }
+
+    private static void binary(StringBuilder sb, double left, String symbol, double right,
+                               double result, CalculatorConfig.Snapshot settings) {
+        sb.append(left).append(symbol).append(right).append(" = ");
+        ResultFormatter.appendTo(sb, result, settings);
+    }
+
+    private static void unary(StringBuilder sb, String prefix, double operand, String suffix,
+                              double result, CalculatorConfig.Snapshot settings) {
+        sb.append(prefix).append(operand).append(suffix).append(" = ");
+        ResultFormatter.appendTo(sb, result, settings);
+    }
+
+    private static void batch(StringBuilder sb, String name, double count, double total,
+                              CalculatorConfig.Snapshot settings) {
+        sb.append("Batch ").append(name).append(" of ").append((long) count).append(" values, Total: ");
+        ResultFormatter.appendTo(sb, total, settings);
+    }
+
+    private static StringBuilder memory(StringBuilder sb, double slot) {
+        sb.append("Memory ");
+        // Slot 0 keeps the single-memory wording
+        if (slot > 0) {
+            sb.append((int) slot).append(' ');
+        }
+        return sb;
+    }
+
+    private static void memoryUpdate(StringBuilder sb, double value, double total,
+                                     CalculatorConfig.Snapshot settings) {
+        ResultFormatter.appendTo(sb, value, settings);
+        sb.append(", Total: ");
+        ResultFormatter.appendTo(sb, total, settings);
+    }
+}
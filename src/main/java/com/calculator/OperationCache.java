@@ -0,0 +1,290 @@
+package com.calculator;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Bounded, concurrent memoization cache for pure operations.
+ *
+ * Entries are keyed on the operation and the raw bits of its two operands
+ * and hold the raw bits of the result, so neither lookups nor inserts box.
+ * A lookup that finds nothing returns {@link #MISS}.
+ *
+ * The table is set-associative: a key hashes to one set of {@link #WAYS}
+ * entries, and the sets are guarded by striped {@link StampedLock}s. Lookups
+ * use optimistic reads and only fall back to a read lock when they race with
+ * a writer.
+ *
+ * Eviction follows TinyLFU: a count-min sketch of 4-bit counters estimates
+ * how often each key has been requested, and a new entry only replaces the
+ * least frequently used entry of its set if it has been requested more
+ * often. Counters are halved periodically so that old popularity fades. The
+ * sketch is updated without synchronization; a lost update only makes an
+ * estimate slightly low.
+ */
+final class OperationCache {
+
+    /**
+     * Returned by {@link #get} when the key is not cached. This is a NaN
+     * payload that arithmetic never produces, so it cannot collide with a
+     * cached result.
+     */
+    static final long MISS = 0x7ff4_c0de_ca11_ab1eL;
+
+    /** Entries per set */
+    static final int WAYS = 4;
+
+    private static final int MAX_STRIPES = 64;
+    private static final long[] SEEDS = {
+        0x97cb_3127_5a9b_0c4dL, 0xd6e8_feb8_6659_fd93L, 0xa076_1d64_78bd_642fL, 0xe703_7ed1_a0b4_28dbL
+    };
+
+    private final int maxSize;
+    private final DecimalEngine arithmetic;
+    private final int sets;
+
+    /** Operation ordinal + 1 per entry, 0 for an empty entry */
+    private final byte[] operations;
+    private final long[] firstOperands;
+    private final long[] secondOperands;
+    private final long[] results;
+
+    private final StampedLock[] locks;
+    private final int stripeMask;
+
+    /** Count-min sketch, sixteen 4-bit counters per long */
+    private final long[] sketch;
+    private final int counterMask;
+    private final int sampleSize;
+    private int additions;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache holding at most {@code maxSize} results of double arithmetic.
+     *
+     * @param maxSize the maximum number of cached results
+     */
+    OperationCache(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * Creates a cache holding at most {@code maxSize} entries.
+     *
+     * @param maxSize the maximum number of cached results
+     * @param arithmetic the engine the results are computed with, null for double arithmetic
+     */
+    OperationCache(int maxSize, DecimalEngine arithmetic) {
+        this.maxSize = maxSize;
+        this.arithmetic = arithmetic;
+        this.sets = Math.max(1, maxSize / WAYS);
+
+        int capacity = sets * WAYS;
+        this.operations = new byte[capacity];
+        this.firstOperands = new long[capacity];
+        this.secondOperands = new long[capacity];
+        this.results = new long[capacity];
+
+        int stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(sets));
+        this.locks = new StampedLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new StampedLock();
+        }
+        this.stripeMask = stripes - 1;
+
+        int sketchLength = Math.max(1, Integer.highestOneBit(capacity - 1) << 1);
+        this.sketch = new long[sketchLength];
+        this.counterMask = sketchLength * 16 - 1;
+        this.sampleSize = 10 * capacity;
+    }
+
+    /**
+     * Looks up a cached result and records the request in the frequency sketch.
+     *
+     * @param operation the operation
+     * @param a the first operand
+     * @param b the second operand, 0 for unary operations
+     * @return the raw bits of the cached result, or {@link #MISS}
+     */
+    long get(Operation operation, double a, double b) {
+        long first = Double.doubleToRawLongBits(a);
+        long second = Double.doubleToRawLongBits(b);
+        byte tag = (byte) (operation.ordinal() + 1);
+        long hash = hash(tag, first, second);
+        int set = setIndex(hash);
+
+        increment(hash);
+
+        StampedLock lock = locks[set & stripeMask];
+        long stamp = lock.tryOptimisticRead();
+        long result = find(set, tag, first, second);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                result = find(set, tag, first, second);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        if (result == MISS) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Offers a result to the cache. It is only stored if its set has room or
+     * the key is requested more often than the entry it would replace.
+     *
+     * @param operation the operation
+     * @param a the first operand
+     * @param b the second operand, 0 for unary operations
+     * @param result the raw bits of the result
+     */
+    void put(Operation operation, double a, double b, long result) {
+        if (result == MISS) {
+            return;
+        }
+        long first = Double.doubleToRawLongBits(a);
+        long second = Double.doubleToRawLongBits(b);
+        byte tag = (byte) (operation.ordinal() + 1);
+        long hash = hash(tag, first, second);
+        int set = setIndex(hash);
+        int base = set * WAYS;
+
+        StampedLock lock = locks[set & stripeMask];
+        long stamp = lock.writeLock();
+        try {
+            int victim = -1;
+            int victimFrequency = Integer.MAX_VALUE;
+            for (int i = base; i < base + WAYS; i++) {
+                byte entryTag = operations[i];
+                if (entryTag == 0 || (entryTag == tag && firstOperands[i] == first && secondOperands[i] == second)) {
+                    store(i, tag, first, second, result);
+                    return;
+                }
+                int entryFrequency = frequency(hash(entryTag, firstOperands[i], secondOperands[i]));
+                if (entryFrequency < victimFrequency) {
+                    victim = i;
+                    victimFrequency = entryFrequency;
+                }
+            }
+            if (frequency(hash) > victimFrequency) {
+                store(victim, tag, first, second, result);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the configured maximum number of entries.
+     *
+     * @return the maximum size this cache was created with
+     */
+    int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the engine the cached results were computed with.
+     *
+     * @return the decimal engine, null for double arithmetic
+     */
+    DecimalEngine arithmetic() {
+        return arithmetic;
+    }
+
+    /**
+     * Gets the number of lookups that found a cached result.
+     *
+     * @return the hit count
+     */
+    long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that found nothing.
+     *
+     * @return the miss count
+     */
+    long misses() {
+        return misses.sum();
+    }
+
+    private long find(int set, byte tag, long first, long second) {
+        int base = set * WAYS;
+        for (int i = base; i < base + WAYS; i++) {
+            if (operations[i] == tag && firstOperands[i] == first && secondOperands[i] == second) {
+                return results[i];
+            }
+        }
+        return MISS;
+    }
+
+    private void store(int index, byte tag, long first, long second, long result) {
+        operations[index] = tag;
+        firstOperands[index] = first;
+        secondOperands[index] = second;
+        results[index] = result;
+    }
+
+    private int setIndex(long hash) {
+        // Multiply-high range reduction, works for any number of sets
+        return (int) (((hash >>> 32) * sets) >>> 32);
+    }
+
+    private void increment(long hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int counter = counterIndex(hash, i);
+            int slot = counter >>> 4;
+            int shift = (counter & 15) << 2;
+            long value = sketch[slot];
+            if (((value >>> shift) & 0xfL) != 0xfL) {
+                sketch[slot] = value + (1L << shift);
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private int frequency(long hash) {
+        int frequency = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int counter = counterIndex(hash, i);
+            int count = (int) ((sketch[counter >>> 4] >>> ((counter & 15) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    private void reset() {
+        for (int i = 0; i < sketch.length; i++) {
+            sketch[i] = (sketch[i] >>> 1) & 0x7777_7777_7777_7777L;
+        }
+        additions = sampleSize / 2;
+    }
+
+    private int counterIndex(long hash, int i) {
+        long h = hash * SEEDS[i];
+        h ^= h >>> 29;
+        return (int) h & counterMask;
+    }
+
+    private static long hash(byte tag, long first, long second) {
+        long h = first * 0x9e37_79b9_7f4a_7c15L + second;
+        h = (h ^ tag) * 0xbf58_476d_1ce4_e5b9L;
+        h ^= h >>> 31;
+        h *= 0x94d0_49bb_1331_11ebL;
+        return h ^ (h >>> 29);
+    }
+}
@@ -0,0 +1,418 @@
+package com.calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * An exact fraction in lowest terms with a positive denominator.
+ *
+ * Numerator and denominator are kept in longs and reduced with a binary
+ * GCD, which needs only shifts and subtractions. Intermediate products are
+ * computed with {@link Math#multiplyExact} and friends, and only a result
+ * that does not fit is computed and kept in {@link BigInteger}. A result
+ * that fits again goes back to longs, so most operations stay on
+ * primitives even after an occasional large intermediate.
+ *
+ * Immutable. Equal values have equal representations, so {@link #equals}
+ * and {@link #hashCode} compare values.
+ */
+public final class Rational extends Number implements Comparable<Rational> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Rational ZERO = new Rational(0, 1);
+    public static final Rational ONE = new Rational(1, 1);
+
+    private static final Rational HUNDRED = new Rational(100, 1);
+    private static final long MAX_EXACT = 1L << 53;
+
+    /** Valid when {@code bigNumerator} is null; never Long.MIN_VALUE */
+    private final long numerator;
+    private final long denominator;
+
+    /** Set only when the reduced value does not fit in longs */
+    private final BigInteger bigNumerator;
+    private final BigInteger bigDenominator;
+
+    private Rational(long numerator, long denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+    }
+
+    private Rational(BigInteger numerator, BigInteger denominator) {
+        this.numerator = 0;
+        this.denominator = 1;
+        this.bigNumerator = numerator;
+        this.bigDenominator = denominator;
+    }
+
+    /**
+     * Creates a whole number.
+     *
+     * @param value the value
+     * @return the rational
+     */
+    public static Rational of(long value) {
+        return of(value, 1);
+    }
+
+    /**
+     * Creates a fraction, reducing it to lowest terms.
+     *
+     * @param numerator the numerator
+     * @param denominator the denominator, not zero
+     * @return the rational
+     * @throws ArithmeticException if the denominator is zero
+     */
+    public static Rational of(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            return of(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        }
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        long g = gcd(Math.abs(numerator), denominator);
+        if (g != 1) {
+            numerator /= g;
+            denominator /= g;
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    /**
+     * Creates a fraction, reducing it to lowest terms.
+     *
+     * @param numerator the numerator
+     * @param denominator the denominator, not zero
+     * @return the rational
+     * @throws ArithmeticException if the denominator is zero
+     */
+    public static Rational of(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger g = numerator.gcd(denominator);
+        if (!g.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(g);
+            denominator = denominator.divide(g);
+        }
+        return reduced(numerator, denominator);
+    }
+
+    /**
+     * Converts the shortest decimal form of a double, i.e. what was typed,
+     * so {@code valueOf(0.1)} is exactly 1/10.
+     *
+     * @param value a finite value
+     * @return the rational
+     * @throws ArithmeticException if the value is NaN or infinite
+     */
+    public static Rational valueOf(double value) {
+        if (!Double.isFinite(value)) {
+            throw new ArithmeticException("Not a finite number: " + value);
+        }
+        int scale = DecimalEngine.scaleOf(value);
+        if (scale >= 0) {
+            return of(DecimalEngine.unscaled(value, scale), ResultFormatter.POWERS_OF_TEN[scale]);
+        }
+        BigDecimal decimal = DecimalEngine.decimal(value);
+        if (decimal.scale() <= 0) {
+            return of(decimal.toBigIntegerExact(), BigInteger.ONE);
+        }
+        return of(decimal.unscaledValue(), BigInteger.TEN.pow(decimal.scale()));
+    }
+
+    public Rational add(Rational other) {
+        if (isSmall() && other.isSmall()) {
+            try {
+                if (denominator == other.denominator) {
+                    return of(Math.addExact(numerator, other.numerator), denominator);
+                }
+                // Scale both fractions to the least common denominator
+                long g = gcd(denominator, other.denominator);
+                long scaleThis = other.denominator / g;
+                long scaleOther = denominator / g;
+                return of(Math.addExact(Math.multiplyExact(numerator, scaleThis),
+                                        Math.multiplyExact(other.numerator, scaleOther)),
+                          Math.multiplyExact(denominator, scaleThis));
+            } catch (ArithmeticException e) {
+                // Overflow, fall back to BigInteger
+            }
+        }
+        return of(bigNumerator().multiply(other.bigDenominator()).add(other.bigNumerator().multiply(bigDenominator())),
+                  bigDenominator().multiply(other.bigDenominator()));
+    }
+
+    public Rational subtract(Rational other) {
+        return add(other.negate());
+    }
+
+    public Rational multiply(Rational other) {
+        if (isSmall() && other.isSmall()) {
+            Rational product = product(numerator, denominator, other.numerator, other.denominator);
+            if (product != null) {
+                return product;
+            }
+        }
+        return of(bigNumerator().multiply(other.bigNumerator()), bigDenominator().multiply(other.bigDenominator()));
+    }
+
+    /**
+     * Divides by another rational.
+     *
+     * @param divisor the divisor
+     * @return the exact quotient
+     * @throws ArithmeticException if the divisor is zero
+     */
+    public Rational divide(Rational divisor) {
+        if (divisor.signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (isSmall() && divisor.isSmall()) {
+            Rational quotient = product(numerator, denominator, divisor.denominator, divisor.numerator);
+            if (quotient != null) {
+                return quotient;
+            }
+        }
+        return of(bigNumerator().multiply(divisor.bigDenominator()), bigDenominator().multiply(divisor.bigNumerator()));
+    }
+
+    /**
+     * Gets the reciprocal.
+     *
+     * @return {@code 1 / this}
+     * @throws ArithmeticException if this is zero
+     */
+    public Rational reciprocal() {
+        if (signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (isSmall()) {
+            return numerator < 0 ? new Rational(-denominator, -numerator) : new Rational(denominator, numerator);
+        }
+        return bigNumerator.signum() < 0
+            ? reduced(bigDenominator.negate(), bigNumerator.negate())
+            : reduced(bigDenominator, bigNumerator);
+    }
+
+    public Rational negate() {
+        return isSmall() ? new Rational(-numerator, denominator) : reduced(bigNumerator.negate(), bigDenominator);
+    }
+
+    /**
+     * Computes {@code percent} percent of this value.
+     *
+     * @param percent the percentage
+     * @return {@code this * percent / 100}
+     */
+    public Rational percentage(Rational percent) {
+        return multiply(percent).divide(HUNDRED);
+    }
+
+    /**
+     * Raises to an integer power by repeated squaring of the numerator and
+     * denominator, which stay in lowest terms.
+     *
+     * @param exponent the exponent
+     * @return {@code this^exponent}
+     * @throws ArithmeticException if this is zero and the exponent negative,
+     *         or the result would exceed {@link ExactArithmetic#MAX_RESULT_BITS}
+     */
+    public Rational pow(int exponent) {
+        if (exponent < 0) {
+            Rational inverse = reciprocal();
+            return exponent == Integer.MIN_VALUE
+                ? inverse.pow(Integer.MAX_VALUE).multiply(inverse)
+                : inverse.pow(-exponent);
+        }
+        Number n = ExactArithmetic.power(isSmall() ? (Number) numerator : bigNumerator, exponent);
+        Number d = ExactArithmetic.power(isSmall() ? (Number) denominator : bigDenominator, exponent);
+        if (n instanceof Long x && d instanceof Long y && x != Long.MIN_VALUE) {
+            return new Rational(x, y);
+        }
+        return reduced(toBig(n), toBig(d));
+    }
+
+    public int signum() {
+        return isSmall() ? Long.signum(numerator) : bigNumerator.signum();
+    }
+
+    /**
+     * Checks whether this is a whole number.
+     *
+     * @return true if the denominator is one
+     */
+    public boolean isInteger() {
+        return isSmall() ? denominator == 1 : bigDenominator.equals(BigInteger.ONE);
+    }
+
+    public BigInteger numerator() {
+        return bigNumerator();
+    }
+
+    public BigInteger denominator() {
+        return bigDenominator();
+    }
+
+    /**
+     * Converts to the nearest double. Fractions whose terms are exact
+     * doubles take one correctly rounded division.
+     */
+    @Override
+    public double doubleValue() {
+        if (isSmall() && Math.abs(numerator) <= MAX_EXACT && denominator <= MAX_EXACT) {
+            return (double) numerator / denominator;
+        }
+        return new BigDecimal(bigNumerator()).divide(new BigDecimal(bigDenominator()), MathContext.DECIMAL128)
+            .doubleValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    /**
+     * Truncates towards zero.
+     */
+    @Override
+    public long longValue() {
+        return isSmall() ? numerator / denominator : bigNumerator.divide(bigDenominator).longValue();
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public int compareTo(Rational other) {
+        if (isSmall() && other.isSmall()) {
+            // Compare the 128-bit cross products
+            long high = Math.multiplyHigh(numerator, other.denominator);
+            long otherHigh = Math.multiplyHigh(other.numerator, denominator);
+            if (high != otherHigh) {
+                return Long.compare(high, otherHigh);
+            }
+            return Long.compareUnsigned(numerator * other.denominator, other.numerator * denominator);
+        }
+        return bigNumerator().multiply(other.bigDenominator()).compareTo(other.bigNumerator().multiply(bigDenominator()));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Rational other) || isSmall() != other.isSmall()) {
+            return false;
+        }
+        return isSmall()
+            ? numerator == other.numerator && denominator == other.denominator
+            : bigNumerator.equals(other.bigNumerator) && bigDenominator.equals(other.bigDenominator);
+    }
+
+    @Override
+    public int hashCode() {
+        return isSmall()
+            ? 31 * Long.hashCode(numerator) + Long.hashCode(denominator)
+            : 31 * bigNumerator.hashCode() + bigDenominator.hashCode();
+    }
+
+    /**
+     * Formats as {@code numerator/denominator}, or just the numerator for
+     * whole numbers.
+     */
+    @Override
+    public String toString() {
+        if (isSmall()) {
+            return denominator == 1 ? Long.toString(numerator) : numerator + "/" + denominator;
+        }
+        return bigDenominator.equals(BigInteger.ONE) ? bigNumerator.toString() : bigNumerator + "/" + bigDenominator;
+    }
+
+    /**
+     * Greatest common divisor by Stein's binary algorithm.
+     *
+     * @param a a non-negative value
+     * @param b a non-negative value
+     * @return the greatest common divisor, {@code b} if {@code a} is zero
+     */
+    static long gcd(long a, long b) {
+        if (a == 0) {
+            return b;
+        }
+        if (b == 0) {
+            return a;
+        }
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long t = a;
+                a = b;
+                b = t;
+            }
+            b -= a;
+        } while (b != 0);
+        return a << shift;
+    }
+
+    /**
+     * Multiplies {@code n1/d1} by {@code n2/d2}, cancelling across first so
+     * the product is already in lowest terms.
+     *
+     * @return the product, or null if it does not fit in longs
+     */
+    private static Rational product(long n1, long d1, long n2, long d2) {
+        long g1 = gcd(Math.abs(n1), Math.abs(d2));
+        long g2 = gcd(Math.abs(n2), Math.abs(d1));
+        try {
+            return of(Math.multiplyExact(n1 / g1, n2 / g2), Math.multiplyExact(d1 / g2, d2 / g1));
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a rational from terms already in lowest terms with a positive
+     * denominator, in longs if they fit.
+     */
+    private static Rational reduced(BigInteger numerator, BigInteger denominator) {
+        if (numerator.bitLength() < Long.SIZE && denominator.bitLength() < Long.SIZE) {
+            long n = numerator.longValue();
+            if (n != Long.MIN_VALUE) {
+                return new Rational(n, denominator.longValue());
+            }
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    private boolean isSmall() {
+        return bigNumerator == null;
+    }
+
+    private BigInteger bigNumerator() {
+        return isSmall() ? BigInteger.valueOf(numerator) : bigNumerator;
+    }
+
+    private BigInteger bigDenominator() {
+        return isSmall() ? BigInteger.valueOf(denominator) : bigDenominator;
+    }
+
+    private static BigInteger toBig(Number value) {
+        return value instanceof BigInteger big ? big : BigInteger.valueOf(value.longValue());
+    }
+}
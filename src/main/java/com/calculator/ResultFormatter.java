@@ -0,0 +1,257 @@
+package com.calculator;
+
+/**
+ * Fixed-precision formatter for calculation results.
+ *
+ * Produces the same text as {@code String.format("%.Nf", value)} followed by
+ * trailing-zero trimming, without going through {@link java.util.Formatter}
+ * or regular expressions. The shortest round-trip decimal digits of the value
+ * are written into the destination builder, decoded into a {@code long}
+ * significand and rounded half-up to the requested number of decimals, which
+ * is exactly how {@code Formatter} rounds doubles.
+ *
+ * Features:
+ * - Configurable number of decimal places (calculation.precision)
+ * - Limit on significant digits (calculation.max.digits)
+ * - Trailing zeros kept in strict mode, trimmed otherwise
+ * - Writes directly into a caller-supplied or per-thread reusable builder
+ *
+ * @author Calculator Development Team
+ * @version 1.0
+ * @since 2.0
+ */
+final class ResultFormatter {
+
+    /** Powers of ten that fit in a long, indexed by exponent */
+    static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+        1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+        10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+        10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    private ResultFormatter() {
+        // Utility class
+    }
+
+    /**
+     * Formats a result using the given configuration snapshot.
+     *
+     * @param value the value to format
+     * @param settings the configuration snapshot providing precision, digits and strict mode
+     * @return the formatted value
+     */
+    static String format(double value, CalculatorConfig.Snapshot settings) {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        appendTo(sb, value, settings);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a formatted result using the given configuration snapshot.
+     *
+     * @param sb the builder to append to
+     * @param value the value to format
+     * @param settings the configuration snapshot providing precision, digits and strict mode
+     */
+    static void appendTo(StringBuilder sb, double value, CalculatorConfig.Snapshot settings) {
+        appendTo(sb, value, settings.precision(), settings.maxDigits(), settings.strictModeEnabled());
+    }
+
+    /**
+     * Appends a formatted result.
+     *
+     * @param sb the builder to append to
+     * @param value the value to format
+     * @param precision the maximum number of decimal places
+     * @param maxDigits the maximum number of significant digits
+     * @param strict true to keep trailing zeros, false to trim them
+     */
+    static void appendTo(StringBuilder sb, double value, int precision, int maxDigits, boolean strict) {
+        if (Double.isNaN(value)) {
+            sb.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            sb.append(value > 0 ? "∞" : "-∞");
+        } else if (value == Math.floor(value)) {
+            sb.append((long) value);
+        } else {
+            appendFraction(sb, value, precision, maxDigits, strict);
+        }
+    }
+
+    /**
+     * Formats a fixed-point value, {@code unscaled * 10^-scale}, exactly as
+     * {@link #format(double, CalculatorConfig.Snapshot)} formats the same
+     * amount as a double with precision {@code scale}.
+     *
+     * @param unscaled the value in units of {@code 10^-scale}
+     * @param scale the number of decimal places of the value
+     * @param maxDigits the maximum number of significant digits
+     * @param strict true to keep trailing zeros, false to trim them
+     * @return the formatted value
+     */
+    static String format(long unscaled, int scale, int maxDigits, boolean strict) {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        appendTo(sb, unscaled, scale, maxDigits, strict);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a fixed-point value; see {@link #format(long, int, int, boolean)}.
+     */
+    static void appendTo(StringBuilder sb, long unscaled, int scale, int maxDigits, boolean strict) {
+        // Unsigned division also handles the magnitude of Long.MIN_VALUE
+        long magnitude = Math.abs(unscaled);
+        long integerPart = Long.divideUnsigned(magnitude, POWERS_OF_TEN[scale]);
+        long fractionPart = Long.remainderUnsigned(magnitude, POWERS_OF_TEN[scale]);
+        if (fractionPart == 0 || integerPart < 0) {
+            // Whole numbers print without decimals, as integral doubles do
+            sb.append(unscaled / POWERS_OF_TEN[scale]);
+            return;
+        }
+
+        // Honour the significant digit limit for the integer part, rounding half-up
+        int integerDigits = integerPart == 0 ? 0 : digitCount(integerPart);
+        int decimals = Math.min(scale, Math.max(maxDigits - integerDigits, 0));
+        if (decimals < scale) {
+            long divisor = POWERS_OF_TEN[scale - decimals];
+            long remainder = fractionPart % divisor;
+            fractionPart /= divisor;
+            if (remainder * 2 >= divisor) {
+                fractionPart++;
+            }
+            if (fractionPart == POWERS_OF_TEN[decimals]) {
+                integerPart++;
+                fractionPart = 0;
+            }
+            scale = decimals;
+        }
+        if (!strict) {
+            while (scale > 0 && fractionPart % 10 == 0) {
+                fractionPart /= 10;
+                scale--;
+            }
+        }
+
+        if (unscaled < 0) {
+            sb.append('-');
+        }
+        sb.append(integerPart);
+        if (scale > 0) {
+            sb.append('.');
+            for (int d = scale - 1; d >= 0; d--) {
+                sb.append((char) ('0' + (fractionPart / POWERS_OF_TEN[d]) % 10));
+            }
+        }
+    }
+
+    /**
+     * Appends a finite, non-integral value with fixed precision.
+     */
+    private static void appendFraction(StringBuilder sb, double value, int precision, int maxDigits,
+                                       boolean strict) {
+        // Decode the shortest round-trip digits written by StringBuilder.append(double)
+        int start = sb.length();
+        sb.append(Math.abs(value));
+        int end = sb.length();
+
+        long significand = 0;
+        int exponent = 0;
+        int fractionDigits = 0;
+        boolean inFraction = false;
+        int i = start;
+        for (; i < end; i++) {
+            char c = sb.charAt(i);
+            if (c == '.') {
+                inFraction = true;
+            } else if (c == 'E') {
+                break;
+            } else {
+                significand = significand * 10 + (c - '0');
+                if (inFraction) {
+                    fractionDigits++;
+                }
+            }
+        }
+        if (i < end) {
+            boolean negativeExponent = sb.charAt(++i) == '-';
+            if (negativeExponent) {
+                i++;
+            }
+            int e = 0;
+            for (; i < end; i++) {
+                e = e * 10 + (sb.charAt(i) - '0');
+            }
+            exponent = negativeExponent ? -e : e;
+        }
+        exponent -= fractionDigits;
+        sb.setLength(start);
+
+        while (significand % 10 == 0) {
+            significand /= 10;
+            exponent++;
+        }
+
+        // Honour the significant digit limit for the integer part
+        int integerDigits = Math.max(digitCount(significand) + exponent, 0);
+        int decimals = Math.min(precision, Math.max(maxDigits - integerDigits, 0));
+
+        // Round half-up to the requested number of decimals
+        long scaled;
+        int scale;
+        int drop = -exponent - decimals;
+        if (drop <= 0) {
+            scaled = significand;
+            scale = -exponent;
+        } else if (drop < POWERS_OF_TEN.length) {
+            long divisor = POWERS_OF_TEN[drop];
+            scaled = significand / divisor;
+            if ((significand % divisor) * 2 >= divisor) {
+                scaled++;
+            }
+            scale = decimals;
+        } else {
+            scaled = 0;
+            scale = decimals;
+        }
+
+        long integerPart = scaled / POWERS_OF_TEN[scale];
+        long fractionPart = scaled % POWERS_OF_TEN[scale];
+        if (strict) {
+            fractionPart *= POWERS_OF_TEN[decimals - scale];
+            scale = decimals;
+        } else {
+            while (scale > 0 && fractionPart % 10 == 0) {
+                fractionPart /= 10;
+                scale--;
+            }
+        }
+
+        if (value < 0) {
+            sb.append('-');
+        }
+        sb.append(integerPart);
+        if (scale > 0) {
+            sb.append('.');
+            for (int d = scale - 1; d >= 0; d--) {
+                sb.append((char) ('0' + (fractionPart / POWERS_OF_TEN[d]) % 10));
+            }
+        }
+    }
+
+    /**
+     * Counts the decimal digits of a positive long.
+     */
+    static int digitCount(long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,203 @@
+package com.calculator;
+
+/**
+ * Trigonometric functions in radians or degrees.
+ *
+ * Radians use {@link Math}, whose argument reduction is exact for every
+ * double. Degrees are reduced modulo 360 and then to within 45 degrees of a
+ * multiple of 90 before converting, both exactly, so that for example
+ * {@code sin 30} is 0.5, {@code cos 90} is 0 and the reduction does not
+ * lose accuracy for large angles. The rational values at 30 and 45 degrees
+ * are returned exactly.
+ *
+ * The fast variants reduce the angle to {@code r} in [-π/4, π/4] with a
+ * three-part Cody-Waite reduction kept in double-double, split {@code r}
+ * into a tabulated point {@code t}, a multiple of about π/2048, and a remainder
+ * {@code d} below π/4096, and combine tabulated {@code sin t} and
+ * {@code cos t} with degree-5 polynomials for {@code sin d} and
+ * {@code cos d}. The polynomial truncation error is below 1e-23, so the
+ * absolute error of sin and cos is dominated by the table values and the
+ * final rounding and stays below 2.5e-16. tan is the quotient of the two,
+ * so its relative error is below about 3e-16 divided by the smaller of
+ * |sin| and |cos|. Radian arguments beyond about 820,000 fall back to the
+ * accurate functions.
+ */
+final class Trigonometry {
+
+    /** π/180 as a double-double */
+    private static final double DEGREES_HI = 0.017453292519943295;
+    private static final double DEGREES_LO = 2.9486522708701687e-19;
+
+    /** 180/π as a double-double */
+    private static final double RADIANS_HI = 57.29577951308232;
+    private static final double RADIANS_LO = -1.9878495670576283e-15;
+
+    /** π/2 in three parts, the first two with 33 significant bits */
+    private static final double PIO2_1 = 1.57079632673412561417e+00;
+    private static final double PIO2_2 = 6.07710050630396597660e-11;
+    private static final double PIO2_3 = 2.0222662487959506e-21;
+    private static final double TWO_OVER_PI = 0.6366197723675814;
+
+    /** Largest radian argument for which quadrant counts times PIO2_1 are exact */
+    private static final double FAST_LIMIT = 0x1p19 * PIO2_1;
+
+    /** About π/2048 with 40 significant bits, so multiples up to 2^13 are exact */
+    private static final double STEP = Double.longBitsToDouble(Double.doubleToRawLongBits(Math.PI / 2048) & ~0x1FFFL);
+    private static final double INVERSE_STEP = 1 / STEP;
+    private static final int TABLE_SIZE = 516;
+    private static final double[] SIN = new double[TABLE_SIZE];
+    private static final double[] COS = new double[TABLE_SIZE];
+
+    static {
+        for (int j = 0; j < TABLE_SIZE; j++) {
+            SIN[j] = StrictMath.sin(j * STEP);
+            COS[j] = StrictMath.cos(j * STEP);
+        }
+    }
+
+    private Trigonometry() {
+        // Utility class
+    }
+
+    static double sin(double angle, AngleUnit unit) {
+        return unit == AngleUnit.DEGREES ? degrees(angle, 0) : Math.sin(angle);
+    }
+
+    static double cos(double angle, AngleUnit unit) {
+        return unit == AngleUnit.DEGREES ? degrees(angle, 1) : Math.cos(angle);
+    }
+
+    /**
+     * Computes the tangent. In degrees, odd multiples of 90 give an infinity.
+     */
+    static double tan(double angle, AngleUnit unit) {
+        if (unit == AngleUnit.RADIANS) {
+            return Math.tan(angle);
+        }
+        double reduced = angle % 360;
+        double quadrant = Math.rint(reduced / 90);
+        double remainder = reduced - quadrant * 90;
+        double tangent = Math.abs(remainder) == 45 ? Math.signum(remainder) : Math.tan(toRadians(remainder));
+        return ((int) quadrant & 1) == 0 ? tangent : -1 / tangent;
+    }
+
+    /**
+     * Checks whether an angle is an odd multiple of a right angle, where
+     * the tangent is undefined. Only degrees can hit one exactly.
+     */
+    static boolean isTangentPole(double angle, AngleUnit unit) {
+        return unit == AngleUnit.DEGREES && Math.abs(angle % 180) == 90;
+    }
+
+    static double asin(double x, AngleUnit unit) {
+        return fromRadians(Math.asin(x), unit);
+    }
+
+    static double acos(double x, AngleUnit unit) {
+        return fromRadians(Math.acos(x), unit);
+    }
+
+    static double atan(double x, AngleUnit unit) {
+        return fromRadians(Math.atan(x), unit);
+    }
+
+    static double fastSin(double angle, AngleUnit unit) {
+        if (unit == AngleUnit.DEGREES) {
+            double reduced = angle % 360;
+            double quadrant = Math.rint(reduced / 90);
+            return fastSin(toRadians(reduced - quadrant * 90), 0, (int) quadrant);
+        }
+        if (!(Math.abs(angle) <= FAST_LIMIT)) {
+            return Math.sin(angle);
+        }
+        double n = Math.rint(angle * TWO_OVER_PI);
+        // angle - n * PIO2_1 is exact; carry the rounding error of the second step
+        double a = angle - n * PIO2_1;
+        double b = n * PIO2_2;
+        double r = a - b;
+        double low = twoDifferenceError(a, b, r) - n * PIO2_3;
+        return fastSin(r, low, (int) n);
+    }
+
+    static double fastCos(double angle, AngleUnit unit) {
+        if (unit == AngleUnit.DEGREES) {
+            double reduced = angle % 360;
+            double quadrant = Math.rint(reduced / 90);
+            return fastSin(toRadians(reduced - quadrant * 90), 0, (int) quadrant + 1);
+        }
+        if (!(Math.abs(angle) <= FAST_LIMIT)) {
+            return Math.cos(angle);
+        }
+        double n = Math.rint(angle * TWO_OVER_PI);
+        double a = angle - n * PIO2_1;
+        double b = n * PIO2_2;
+        double r = a - b;
+        double low = twoDifferenceError(a, b, r) - n * PIO2_3;
+        return fastSin(r, low, (int) n + 1);
+    }
+
+    static double fastTan(double angle, AngleUnit unit) {
+        if (unit == AngleUnit.RADIANS && !(Math.abs(angle) <= FAST_LIMIT)) {
+            return Math.tan(angle);
+        }
+        return fastSin(angle, unit) / fastCos(angle, unit);
+    }
+
+    /**
+     * Computes {@code sin(r + low + quadrant * π/2)} for {@code |r| <= π/4}.
+     */
+    private static double fastSin(double r, double low, int quadrant) {
+        int j = (int) Math.rint(r * INVERSE_STEP);
+        // r - j * STEP is exact: j * STEP is exact and close to r
+        double d = (r - j * STEP) + low;
+        double d2 = d * d;
+        double sinD = d + d * d2 * (-1.0 / 6 + d2 * (1.0 / 120));
+        double cosDMinusOne = d2 * (-0.5 + d2 * (1.0 / 24));
+
+        int index = Math.abs(j);
+        double sinT = j < 0 ? -SIN[index] : SIN[index];
+        double cosT = COS[index];
+        return switch (quadrant & 3) {
+            case 0 -> sinT + (sinT * cosDMinusOne + cosT * sinD);
+            case 1 -> cosT + (cosT * cosDMinusOne - sinT * sinD);
+            case 2 -> -(sinT + (sinT * cosDMinusOne + cosT * sinD));
+            default -> -(cosT + (cosT * cosDMinusOne - sinT * sinD));
+        };
+    }
+
+    /**
+     * Computes {@code sin(degrees + quadrantShift * 90)} with exact reduction.
+     */
+    private static double degrees(double angle, int quadrantShift) {
+        // Both steps are exact: the remainder and the difference fit in the operand's precision
+        double reduced = angle % 360;
+        double quadrant = Math.rint(reduced / 90);
+        double remainder = reduced - quadrant * 90;
+        double radians = toRadians(remainder);
+        // The sine of 30 degrees is the only rational value strictly inside a quadrant
+        double sine = Math.abs(remainder) == 30 ? Math.copySign(0.5, remainder) : Math.sin(radians);
+        return switch (((int) quadrant + quadrantShift) & 3) {
+            case 0 -> sine;
+            case 1 -> Math.cos(radians);
+            case 2 -> -sine;
+            default -> -Math.cos(radians);
+        };
+    }
+
+    private static double toRadians(double degrees) {
+        return degrees * DEGREES_HI + degrees * DEGREES_LO;
+    }
+
+    private static double fromRadians(double radians, AngleUnit unit) {
+        return unit == AngleUnit.DEGREES ? radians * RADIANS_HI + radians * RADIANS_LO : radians;
+    }
+
+    /**
+     * Gets the rounding error of {@code difference = a - b} (Knuth's TwoSum).
+     */
+    private static double twoDifferenceError(double a, double b, double difference) {
+        double bVirtual = a - difference;
+        double aVirtual = difference + bVirtual;
+        return (a - aVirtual) + (bVirtual - b);
+    }
+}
@@ -0,0 +1,161 @@
+package com.calculator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Batch arithmetic with the incubating Vector API.
+ *
+ * The only class outside validation that refers to
+ * {@code jdk.incubator.vector}; {@link BatchArithmetic} loads it only
+ * when that module is present. Every lane computes exactly the IEEE result
+ * of the scalar operation, so results match {@link BatchArithmetic}'s
+ * loops bit for bit. Totals are summed per lane and then across lanes, so
+ * they may differ from a sequential sum in the last bits.
+ */
+final class VectorArithmetic {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorArithmetic() {
+        // Utility class
+    }
+
+    /**
+     * Checks whether the hardware has vectors wider than one double.
+     *
+     * @return true if vector loops are faster than scalar ones
+     */
+    static boolean isAccelerated() {
+        return SPECIES.length() > 1;
+    }
+
+    static double add(double[] a, double[] b, double[] results) {
+        int bound = SPECIES.loopBound(results.length);
+        DoubleVector total = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector sum = DoubleVector.fromArray(SPECIES, a, i).add(DoubleVector.fromArray(SPECIES, b, i));
+            sum.intoArray(results, i);
+            total = total.add(sum);
+        }
+        double tail = 0;
+        for (; i < results.length; i++) {
+            results[i] = a[i] + b[i];
+            tail += results[i];
+        }
+        return total.reduceLanes(VectorOperators.ADD) + tail;
+    }
+
+    static double subtract(double[] a, double[] b, double[] results) {
+        int bound = SPECIES.loopBound(results.length);
+        DoubleVector total = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector difference = DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i));
+            difference.intoArray(results, i);
+            total = total.add(difference);
+        }
+        double tail = 0;
+        for (; i < results.length; i++) {
+            results[i] = a[i] - b[i];
+            tail += results[i];
+        }
+        return total.reduceLanes(VectorOperators.ADD) + tail;
+    }
+
+    static double multiply(double[] a, double[] b, double[] results) {
+        int bound = SPECIES.loopBound(results.length);
+        DoubleVector total = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector product = DoubleVector.fromArray(SPECIES, a, i).mul(DoubleVector.fromArray(SPECIES, b, i));
+            product.intoArray(results, i);
+            total = total.add(product);
+        }
+        double tail = 0;
+        for (; i < results.length; i++) {
+            results[i] = a[i] * b[i];
+            tail += results[i];
+        }
+        return total.reduceLanes(VectorOperators.ADD) + tail;
+    }
+
+    static double divide(double[] a, double[] b, double[] results) {
+        int bound = SPECIES.loopBound(results.length);
+        DoubleVector total = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector quotient = DoubleVector.fromArray(SPECIES, a, i).div(DoubleVector.fromArray(SPECIES, b, i));
+            quotient.intoArray(results, i);
+            total = total.add(quotient);
+        }
+        double tail = 0;
+        for (; i < results.length; i++) {
+            results[i] = a[i] / b[i];
+            tail += results[i];
+        }
+        return total.reduceLanes(VectorOperators.ADD) + tail;
+    }
+
+    static double percentage(double[] numbers, double[] percents, double[] results) {
+        int bound = SPECIES.loopBound(results.length);
+        DoubleVector total = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector percentage = DoubleVector.fromArray(SPECIES, numbers, i)
+                .mul(DoubleVector.fromArray(SPECIES, percents, i))
+                .div(100.0);
+            percentage.intoArray(results, i);
+            total = total.add(percentage);
+        }
+        double tail = 0;
+        for (; i < results.length; i++) {
+            results[i] = (numbers[i] * percents[i]) / 100.0;
+            tail += results[i];
+        }
+        return total.reduceLanes(VectorOperators.ADD) + tail;
+    }
+
+    static double absolute(double[] numbers, double[] results) {
+        int bound = SPECIES.loopBound(results.length);
+        DoubleVector total = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector magnitude = DoubleVector.fromArray(SPECIES, numbers, i).abs();
+            magnitude.intoArray(results, i);
+            total = total.add(magnitude);
+        }
+        double tail = 0;
+        for (; i < results.length; i++) {
+            results[i] = Math.abs(numbers[i]);
+            tail += results[i];
+        }
+        return total.reduceLanes(VectorOperators.ADD) + tail;
+    }
+
+    /**
+     * Finds the first division by zero or division whose quotient overflows.
+     */
+    static int findInvalidDivision(double[] dividends, double[] divisors) {
+        int bound = SPECIES.loopBound(divisors.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector dividend = DoubleVector.fromArray(SPECIES, dividends, i).abs();
+            DoubleVector divisor = DoubleVector.fromArray(SPECIES, divisors, i).abs();
+            VectorMask<Double> invalid = divisor.compare(VectorOperators.EQ, 0.0)
+                .or(dividend.compare(VectorOperators.GT, divisor.mul(Double.MAX_VALUE)));
+            if (invalid.anyTrue()) {
+                return i + invalid.firstTrue();
+            }
+        }
+        for (; i < divisors.length; i++) {
+            if (BatchArithmetic.isInvalidDivision(dividends[i], divisors[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
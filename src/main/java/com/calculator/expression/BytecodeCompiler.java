@@ -0,0 +1,296 @@
+package com.calculator.expression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Translates a {@link Program} into a hidden class implementing {@link Evaluator}.
+ *
+ * The generated {@code evaluate} method is straight-line code: operands are
+ * kept on the JVM operand stack, constants come from the constant pool and
+ * every operator is an {@code invokestatic} into {@link Operations}, which
+ * the JIT can inline. Since there are no branches, no stack map frames are
+ * needed.
+ *
+ * Hidden classes are not referenced from any class loader and are unloaded
+ * together with the expression that owns them.
+ */
+final class BytecodeCompiler {
+
+    /**
+     * Largest method the JIT compiles by default (-XX:-DontCompileHugeMethods).
+     * Bigger programs would only run in the bytecode interpreter, which is
+     * slower than {@link Program}, so they are not compiled.
+     */
+    static final int MAX_CODE_LENGTH = 8000;
+
+    private static final String CLASS_NAME = "com/calculator/expression/CompiledExpression";
+    private static final String ARITHMETIC = "Lcom/calculator/Arithmetic;";
+    private static final String UNARY_DESCRIPTOR = "(D" + ARITHMETIC + ")D";
+    private static final String BINARY_DESCRIPTOR = "(DD" + ARITHMETIC + ")D";
+
+    private static final int CLASS_VERSION = 52;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    // Opcodes
+    private static final int ICONST_0 = 0x03;
+    private static final int DCONST_0 = 0x0e;
+    private static final int DCONST_1 = 0x0f;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC2_W = 0x14;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int DALOAD = 0x31;
+    private static final int DRETURN = 0xaf;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+
+    private static final Operator[] OPERATORS = Operator.values();
+
+    private BytecodeCompiler() {
+        // Utility class
+    }
+
+    /**
+     * Compiles a program into a new hidden class and instantiates it.
+     *
+     * @param program the program to compile
+     * @return an evaluator running the generated code
+     * @throws IllegalArgumentException if the program is too large to compile
+     * @throws ReflectiveOperationException if the class cannot be defined
+     */
+    static Evaluator compile(Program program) throws ReflectiveOperationException {
+        byte[] bytes = generate(program);
+        MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+        try {
+            return (Evaluator) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                                     .invoke();
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new ReflectiveOperationException("Cannot instantiate compiled expression", t);
+        }
+    }
+
+    /**
+     * Generates the class file for a program.
+     *
+     * @param program the program to compile
+     * @return the class file bytes
+     * @throws IllegalArgumentException if the program is too large to compile
+     */
+    static byte[] generate(Program program) {
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(CLASS_NAME);
+        int superClass = pool.classRef("java/lang/Object");
+        int evaluatorInterface = pool.classRef("com/calculator/expression/Evaluator");
+        int objectInit = pool.methodRef(superClass, "<init>", "()V");
+        int codeAttribute = pool.utf8("Code");
+        int initName = pool.utf8("<init>");
+        int initDescriptor = pool.utf8("()V");
+        int evaluateName = pool.utf8("evaluate");
+        int evaluateDescriptor = pool.utf8("(" + ARITHMETIC + "[D)D");
+
+        byte[] evaluateCode = generateEvaluate(program, pool);
+        if (evaluateCode.length > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("Expression too large to compile: " + evaluateCode.length + " bytes");
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256 + evaluateCode.length);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+            pool.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(evaluatorInterface);
+            out.writeShort(0); // fields
+
+            out.writeShort(2); // methods
+            byte[] initCode = {
+                (byte) ALOAD_0,
+                (byte) INVOKESPECIAL, (byte) (objectInit >> 8), (byte) objectInit,
+                (byte) RETURN
+            };
+            writeMethod(out, initName, initDescriptor, codeAttribute, 1, 1, initCode);
+            // Two slots per double, plus the arithmetic reference pushed before each call
+            writeMethod(out, evaluateName, evaluateDescriptor, codeAttribute,
+                        program.maxStack() * 2 + 1, 3, evaluateCode);
+
+            out.writeShort(0); // attributes
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write class file", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] generateEvaluate(Program program, ConstantPool pool) {
+        int[] code = program.code();
+        double[] constants = program.constants();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(code.length * 2 + 1);
+
+        for (int pc = 0; pc < code.length; pc += 2) {
+            int operand = code[pc + 1];
+            switch (code[pc]) {
+                case Program.PUSH_CONSTANT -> {
+                    long bits = Double.doubleToRawLongBits(constants[operand]);
+                    if (bits == 0L) {
+                        out.write(DCONST_0);
+                    } else if (bits == Double.doubleToRawLongBits(1.0)) {
+                        out.write(DCONST_1);
+                    } else {
+                        writeIndexed(out, LDC2_W, pool.doubleConstant(constants[operand]));
+                    }
+                }
+                case Program.LOAD_VARIABLE -> {
+                    out.write(ALOAD_2);
+                    if (operand <= 5) {
+                        out.write(ICONST_0 + operand);
+                    } else if (operand <= Byte.MAX_VALUE) {
+                        out.write(BIPUSH);
+                        out.write(operand);
+                    } else if (operand <= Short.MAX_VALUE) {
+                        writeIndexed(out, SIPUSH, operand);
+                    } else {
+                        throw new IllegalArgumentException("Too many variables to compile: " + (operand + 1));
+                    }
+                    out.write(DALOAD);
+                }
+                default -> {
+                    Operator operator = OPERATORS[operand];
+                    out.write(ALOAD_1);
+                    writeIndexed(out, INVOKESTATIC, pool.operationRef(operator));
+                }
+            }
+        }
+
+        out.write(DRETURN);
+        return out.toByteArray();
+    }
+
+    private static void writeIndexed(ByteArrayOutputStream out, int opcode, int index) {
+        out.write(opcode);
+        out.write(index >> 8);
+        out.write(index);
+    }
+
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeAttribute,
+                                    int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeAttribute);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // attributes
+    }
+
+    /**
+     * Constant pool under construction, deduplicating entries.
+     */
+    private static final class ConstantPool {
+
+        private static final int UTF8 = 1;
+        private static final int DOUBLE = 6;
+        private static final int CLASS = 7;
+        private static final int METHOD_REF = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<Object, Integer> entries = new HashMap<>();
+        private final int[] operationRefs = new int[OPERATORS.length];
+        private int operationsClass;
+        private int count = 1;
+
+        int utf8(String value) {
+            return entries.computeIfAbsent(value, key -> add(UTF8, value, 1));
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return entries.computeIfAbsent(new Tag(CLASS, name, 0), key -> add(CLASS, name, 1));
+        }
+
+        int methodRef(int owner, String name, String descriptor) {
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = entries.computeIfAbsent(new Tag(NAME_AND_TYPE, nameIndex, descriptorIndex),
+                                                      key -> add(NAME_AND_TYPE, nameIndex, descriptorIndex));
+            return entries.computeIfAbsent(new Tag(METHOD_REF, owner, nameAndType),
+                                           key -> add(METHOD_REF, owner, nameAndType));
+        }
+
+        int operationRef(Operator operator) {
+            int index = operationRefs[operator.ordinal()];
+            if (index == 0) {
+                if (operationsClass == 0) {
+                    operationsClass = classRef("com/calculator/expression/Operations");
+                }
+                String descriptor = operator.arity() == 1 ? UNARY_DESCRIPTOR : BINARY_DESCRIPTOR;
+                index = methodRef(operationsClass, operator.methodName(), descriptor);
+                operationRefs[operator.ordinal()] = index;
+            }
+            return index;
+        }
+
+        int doubleConstant(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            return entries.computeIfAbsent(new Tag(DOUBLE, (int) (bits >>> 32), (int) bits), key -> {
+                int index = add(DOUBLE, bits, 0);
+                count++; // Doubles take two constant pool slots
+                return index;
+            });
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            if (count > 0xFFFF) {
+                throw new IllegalArgumentException("Expression too large to compile: " + count + " constants");
+            }
+            target.writeShort(count);
+            target.write(bytes.toByteArray());
+        }
+
+        private int add(int tag, Object first, int second) {
+            try {
+                out.writeByte(tag);
+                switch (tag) {
+                    case UTF8 -> out.writeUTF((String) first);
+                    case DOUBLE -> out.writeLong((Long) first);
+                    case CLASS -> out.writeShort((Integer) first);
+                    default -> {
+                        out.writeShort((Integer) first);
+                        out.writeShort(second);
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write constant pool", e);
+            }
+            return count++;
+        }
+
+        /**
+         * Key for non-UTF8 entries.
+         */
+        private record Tag(int tag, int first, int second) {
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.calculator.expression;
+
+import com.calculator.Arithmetic;
+import com.calculator.CalculatorException;
+
+/**
+ * Executable form of a compiled expression.
+ *
+ * Implemented by the interpreted {@link Program} and by the hidden classes
+ * generated by {@link BytecodeCompiler}.
+ */
+interface Evaluator {
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param arithmetic the arithmetic performing each operation
+     * @param values the variable values, indexed as declared
+     * @return the value of the expression
+     * @throws CalculatorException if any operation fails
+     */
+    double evaluate(Arithmetic arithmetic, double[] values) throws CalculatorException;
+}
@@ -0,0 +1,196 @@
+package com.calculator.expression;
+
+import com.calculator.Arithmetic;
+import com.calculator.Calculator;
+import com.calculator.CalculatorConfig;
+import com.calculator.CalculatorException;
+import com.calculator.InvalidInputException;
+import com.calculator.validation.ValidationException;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A parsed, reusable arithmetic expression.
+ *
+ * Expressions are compiled once and can then be evaluated any number of
+ * times against different variable values without being tokenized or parsed
+ * again. Operators are carried out by the calculator's {@link Arithmetic},
+ * so precision, caching and domain errors behave as for direct calls. The
+ * constants, variable values and result are validated once per evaluation,
+ * and the operators are not recorded in the history;
+ * {@link Calculator#evaluate(String)} records one entry per expression.
+ *
+ * Supported syntax:
+ * - numbers in the format accepted by {@code InputValidator.validateNumber}
+ * - {@code + - × ÷ * / ^} with the usual precedence, {@code ^} right associative
+ * - {@code √x}, {@code ∛x} and the infix root {@code n√x}
+ * - postfix {@code x!} and {@code x%} (x percent of one)
+ * - functions {@code sin cos tan asin acos atan log ln}, e.g. {@code sin(x)} or
+ *   {@code ln 2}; angles are in calculation.angle.unit
+ * - constants {@code pi}, {@code π} and {@code e}
+ * - variables declared at compile time
+ *
+ * Expressions start out interpreted. Once an expression has been evaluated
+ * {@code performance.expression.compile.threshold} times it is compiled to
+ * a hidden class by {@link BytecodeCompiler}; if that fails it keeps being
+ * interpreted.
+ *
+ * Instances are safe to share between threads.
+ *
+ * @author Calculator Development Team
+ * @version 1.0
+ * @since 2.1
+ */
+public final class Expression {
+
+    private static final Logger LOGGER = Logger.getLogger(Expression.class.getName());
+
+    private final String source;
+    private final List<String> variables;
+    private final Program program;
+    private final int compileThreshold;
+
+    private volatile Evaluator evaluator;
+    private volatile boolean tierUpDone;
+    // Racy by design: a lost update only delays compilation
+    private int invocations;
+
+    private Expression(String source, List<String> variables, Program program, int compileThreshold) {
+        this.source = source;
+        this.variables = variables;
+        this.program = program;
+        this.compileThreshold = compileThreshold;
+        this.evaluator = program;
+        this.tierUpDone = compileThreshold == 0;
+    }
+
+    /**
+     * Compiles an expression.
+     *
+     * @param source the expression text
+     * @param variables the names of the variables the expression may reference,
+     *                  in the order their values are passed to {@link #evaluate}
+     * @return the compiled expression
+     * @throws ValidationException if the expression or a variable name is invalid
+     */
+    public static Expression compile(String source, String... variables) throws ValidationException {
+        if (source == null) {
+            throw new ValidationException("Expression cannot be null", source, "NULL_EXPRESSION");
+        }
+        if (source.isBlank()) {
+            throw new ValidationException("Expression cannot be empty", source, "EMPTY_EXPRESSION");
+        }
+
+        for (int i = 0; i < variables.length; i++) {
+            String name = variables[i];
+            if (!isValidName(name) || Parser.isReserved(name) || isDeclaredBefore(variables, i)) {
+                throw new ValidationException("Invalid variable name: '" + name + "'", name, "INVALID_VARIABLE");
+            }
+        }
+        List<String> names = List.of(variables);
+
+        Node root = Parser.parse(source, names);
+        int compileThreshold = CalculatorConfig.getInstance().getExpressionCompileThreshold();
+        return new Expression(source, names, Program.of(root), compileThreshold);
+    }
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param calculator the calculator whose arithmetic and validation settings apply
+     * @param values the variable values, in declaration order
+     * @return the value of the expression
+     * @throws CalculatorException if the values or the result are invalid or an operation fails
+     */
+    public double evaluate(Calculator calculator, double... values) throws CalculatorException {
+        if (values.length != variables.size()) {
+            throw new InvalidInputException(
+                "Expected " + variables.size() + " variable values but got " + values.length
+            );
+        }
+        Arithmetic arithmetic = calculator.arithmetic();
+        for (double constant : program.constants()) {
+            arithmetic.validate(constant, "Constant");
+        }
+        for (int i = 0; i < values.length; i++) {
+            arithmetic.validate(values[i], variables.get(i));
+        }
+        if (!tierUpDone && ++invocations >= compileThreshold) {
+            tierUp();
+        }
+        double result = evaluator.evaluate(arithmetic, values);
+        arithmetic.validate(result, "Result");
+        return result;
+    }
+
+    /**
+     * Checks whether the expression has been compiled to bytecode.
+     *
+     * @return true if evaluation runs generated code
+     */
+    public boolean isCompiled() {
+        return evaluator != program;
+    }
+
+    private synchronized void tierUp() {
+        if (tierUpDone) {
+            return;
+        }
+        try {
+            evaluator = BytecodeCompiler.compile(program);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            LOGGER.log(Level.FINE, "Keeping expression interpreted: " + source, e);
+        }
+        tierUpDone = true;
+    }
+
+    /**
+     * Gets the expression text.
+     *
+     * @return the source the expression was compiled from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the declared variable names.
+     *
+     * @return an unmodifiable list of variable names
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    Program program() {
+        return program;
+    }
+
+    private static boolean isValidName(String name) {
+        if (name == null || name.isEmpty() || !Character.isLetter(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDeclaredBefore(String[] names, int index) {
+        for (int i = 0; i < index; i++) {
+            if (names[i].equals(names[index])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return variables.isEmpty() ? source : variables + " -> " + source;
+    }
+}
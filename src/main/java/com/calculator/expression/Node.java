@@ -0,0 +1,34 @@
+package com.calculator.expression;
+
+/**
+ * Node of a parsed expression tree.
+ *
+ * Trees are immutable. They are not evaluated directly but flattened into a
+ * {@link Program}, so arbitrarily long operator chains never recurse.
+ */
+sealed interface Node {
+
+    /**
+     * Numeric literal or named constant.
+     */
+    record Literal(double value) implements Node {
+    }
+
+    /**
+     * Reference to a variable bound at evaluation time.
+     */
+    record Variable(String name, int index) implements Node {
+    }
+
+    /**
+     * Unary operator or function application.
+     */
+    record Unary(Operator operator, Node operand) implements Node {
+    }
+
+    /**
+     * Binary operator application.
+     */
+    record Binary(Operator operator, Node left, Node right) implements Node {
+    }
+}
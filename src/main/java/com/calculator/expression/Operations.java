@@ -0,0 +1,101 @@
+package com.calculator.expression;
+
+import com.calculator.Arithmetic;
+import com.calculator.CalculatorException;
+
+/**
+ * Static entry points for every {@link Operator}.
+ *
+ * There is exactly one place mapping expression operators onto
+ * {@link Arithmetic} methods, which neither validate their operands nor
+ * record history. The arithmetic is passed last so that code evaluating in
+ * postfix order can supply it after the operands.
+ */
+final class Operations {
+
+    private Operations() {
+        // Utility class
+    }
+
+    static double add(double a, double b, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.add(a, b);
+    }
+
+    static double subtract(double a, double b, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.subtract(a, b);
+    }
+
+    static double multiply(double a, double b, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.multiply(a, b);
+    }
+
+    static double divide(double a, double b, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.divide(a, b);
+    }
+
+    static double power(double base, double exponent, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.power(base, exponent);
+    }
+
+    /**
+     * Infix root: {@code n √ x} is the n-th root of x.
+     */
+    static double nthRoot(double n, double number, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.nthRoot(number, n);
+    }
+
+    static double negate(double a, Arithmetic arithmetic) {
+        return -a;
+    }
+
+    static double squareRoot(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.squareRoot(a);
+    }
+
+    static double cubeRoot(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.cubeRoot(a);
+    }
+
+    static double factorial(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.factorial(a);
+    }
+
+    /**
+     * Postfix percent: {@code x %} is x percent of one.
+     */
+    static double percent(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.percentage(1.0, a);
+    }
+
+    static double sin(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.sin(a);
+    }
+
+    static double cos(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.cos(a);
+    }
+
+    static double tan(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.tan(a);
+    }
+
+    static double asin(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.asin(a);
+    }
+
+    static double acos(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.acos(a);
+    }
+
+    static double atan(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.atan(a);
+    }
+
+    static double log(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.logarithm(a);
+    }
+
+    static double ln(double a, Arithmetic arithmetic) throws CalculatorException {
+        return arithmetic.naturalLogarithm(a);
+    }
+}
@@ -0,0 +1,109 @@
+package com.calculator.expression;
+
+import com.calculator.Arithmetic;
+import com.calculator.CalculatorException;
+
+/**
+ * Operators and functions understood by the expression engine.
+ *
+ * Covers every symbol accepted by
+ * {@link com.calculator.validation.InputValidator#validateOperation(String)}.
+ * Each operator is applied by delegating to the matching static method in
+ * {@link Operations}, which in turn calls the {@link Arithmetic} of the
+ * evaluating calculator.
+ */
+enum Operator {
+    ADD(2, "add"),
+    SUBTRACT(2, "subtract"),
+    MULTIPLY(2, "multiply"),
+    DIVIDE(2, "divide"),
+    POWER(2, "power"),
+    ROOT(2, "nthRoot"),
+    NEGATE(1, "negate"),
+    SQUARE_ROOT(1, "squareRoot"),
+    CUBE_ROOT(1, "cubeRoot"),
+    FACTORIAL(1, "factorial"),
+    PERCENT(1, "percent"),
+    SIN(1, "sin"),
+    COS(1, "cos"),
+    TAN(1, "tan"),
+    ASIN(1, "asin"),
+    ACOS(1, "acos"),
+    ATAN(1, "atan"),
+    LOG(1, "log"),
+    LN(1, "ln");
+
+    private final int arity;
+    private final String methodName;
+
+    Operator(int arity, String methodName) {
+        this.arity = arity;
+        this.methodName = methodName;
+    }
+
+    /**
+     * Gets the number of operands this operator takes.
+     *
+     * @return 1 for unary operators and functions, 2 for binary operators
+     */
+    int arity() {
+        return arity;
+    }
+
+    /**
+     * Gets the name of the static method in {@link Operations} implementing this operator.
+     *
+     * @return the implementing method name
+     */
+    String methodName() {
+        return methodName;
+    }
+
+    /**
+     * Applies a unary operator.
+     *
+     * @param arithmetic the arithmetic performing the operation
+     * @param a the operand
+     * @return the result
+     * @throws CalculatorException if the arithmetic rejects the operand
+     */
+    double apply(Arithmetic arithmetic, double a) throws CalculatorException {
+        return switch (this) {
+            case NEGATE -> Operations.negate(a, arithmetic);
+            case SQUARE_ROOT -> Operations.squareRoot(a, arithmetic);
+            case CUBE_ROOT -> Operations.cubeRoot(a, arithmetic);
+            case FACTORIAL -> Operations.factorial(a, arithmetic);
+            case PERCENT -> Operations.percent(a, arithmetic);
+            case SIN -> Operations.sin(a, arithmetic);
+            case COS -> Operations.cos(a, arithmetic);
+            case TAN -> Operations.tan(a, arithmetic);
+            case ASIN -> Operations.asin(a, arithmetic);
+            case ACOS -> Operations.acos(a, arithmetic);
+            case ATAN -> Operations.atan(a, arithmetic);
+            case LOG -> Operations.log(a, arithmetic);
+            case LN -> Operations.ln(a, arithmetic);
+            default -> throw new IllegalStateException(this + " is not a unary operator");
+        };
+    }
+
+    /**
+     * Applies a binary operator.
+     *
+     * @param arithmetic the arithmetic performing the operation
+     * @param a the left operand
+     * @param b the right operand
+     * @return the result
+     * @throws CalculatorException if the arithmetic rejects the operands
+     */
+    double apply(Arithmetic arithmetic, double a, double b) throws CalculatorException {
+        return switch (this) {
+            case ADD -> Operations.add(a, b, arithmetic);
+            case SUBTRACT -> Operations.subtract(a, b, arithmetic);
+            case MULTIPLY -> Operations.multiply(a, b, arithmetic);
+            case DIVIDE -> Operations.divide(a, b, arithmetic);
+            case POWER -> Operations.power(a, b, arithmetic);
+            case ROOT -> Operations.nthRoot(a, b, arithmetic);
+            default -> throw new IllegalStateException(this + " is not a binary operator");
+        };
+    }
+}
@@ -0,0 +1,232 @@
+package com.calculator.expression;
+
+import com.calculator.validation.ValidationException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precedence-climbing parser producing an expression tree.
+ *
+ * Precedence, from loosest to tightest:
+ * - {@code + - −} (left associative)
+ * - {@code × ÷ * /} (left associative)
+ * - prefix {@code + -}
+ * - {@code ^} and infix root {@code n √ x} (right associative)
+ * - prefix functions {@code √ ∛ sin cos tan asin acos atan log ln}, applied to the following power term
+ * - postfix {@code !} and {@code %}
+ *
+ * Operator chains are parsed iteratively; recursion only happens for
+ * parentheses and prefix operators and is bounded by {@link #MAX_DEPTH}.
+ */
+final class Parser {
+
+    /** Maximum nesting of parentheses and prefix operators */
+    static final int MAX_DEPTH = 256;
+
+    private static final int ADDITIVE = 1;
+    private static final int MULTIPLICATIVE = 2;
+    private static final int PREFIX = 3;
+    private static final int EXPONENT = 4;
+
+    private static final Map<String, Operator> FUNCTIONS = Map.of(
+        "sin", Operator.SIN,
+        "cos", Operator.COS,
+        "tan", Operator.TAN,
+        "asin", Operator.ASIN,
+        "acos", Operator.ACOS,
+        "atan", Operator.ATAN,
+        "log", Operator.LOG,
+        "ln", Operator.LN
+    );
+
+    private static final Map<String, Double> CONSTANTS = Map.of(
+        "pi", Math.PI,
+        "π", Math.PI,
+        "e", Math.E
+    );
+
+    private final String source;
+    private final List<Tokenizer.Token> tokens;
+    private final List<String> variables;
+    private int position;
+    private int depth;
+
+    private Parser(String source, List<Tokenizer.Token> tokens, List<String> variables) {
+        this.source = source;
+        this.tokens = tokens;
+        this.variables = variables;
+    }
+
+    /**
+     * Parses an expression.
+     *
+     * @param source the expression text
+     * @param variables the names of the variables the expression may reference
+     * @return the root of the expression tree
+     * @throws ValidationException if the expression is syntactically invalid
+     */
+    static Node parse(String source, List<String> variables) throws ValidationException {
+        Parser parser = new Parser(source, Tokenizer.tokenize(source), variables);
+        Node root = parser.parseExpression(ADDITIVE);
+
+        Tokenizer.Token trailing = parser.peek();
+        if (trailing.type() == Tokenizer.Type.RIGHT_PAREN) {
+            throw parser.error("Unmatched ')'", trailing, "UNBALANCED_PARENTHESES");
+        }
+        if (trailing.type() != Tokenizer.Type.END) {
+            throw parser.error("Unexpected '" + trailing.text() + "'", trailing, "INVALID_EXPRESSION_SYNTAX");
+        }
+        return root;
+    }
+
+    /**
+     * Checks whether a name is reserved for a function or constant.
+     *
+     * @param name the name to check
+     * @return true if the name cannot be used as a variable
+     */
+    static boolean isReserved(String name) {
+        return FUNCTIONS.containsKey(name) || CONSTANTS.containsKey(name);
+    }
+
+    private Node parseExpression(int minPrecedence) throws ValidationException {
+        enter();
+        Node left = parsePrefix();
+
+        while (true) {
+            Tokenizer.Token token = peek();
+            if (token.type() != Tokenizer.Type.OPERATOR) {
+                break;
+            }
+
+            Operator operator;
+            int precedence;
+            boolean rightAssociative = false;
+            switch (token.text()) {
+                case "+" -> { operator = Operator.ADD; precedence = ADDITIVE; }
+                case "-", "−" -> { operator = Operator.SUBTRACT; precedence = ADDITIVE; }
+                case "*", "×" -> { operator = Operator.MULTIPLY; precedence = MULTIPLICATIVE; }
+                case "/", "÷" -> { operator = Operator.DIVIDE; precedence = MULTIPLICATIVE; }
+                case "^" -> { operator = Operator.POWER; precedence = EXPONENT; rightAssociative = true; }
+                case "√" -> { operator = Operator.ROOT; precedence = EXPONENT; rightAssociative = true; }
+                default -> throw error("Unexpected '" + token.text() + "'", token, "INVALID_EXPRESSION_SYNTAX");
+            }
+            if (precedence < minPrecedence) {
+                break;
+            }
+
+            position++;
+            Node right = parseExpression(rightAssociative ? precedence : precedence + 1);
+            left = new Node.Binary(operator, left, right);
+        }
+
+        depth--;
+        return left;
+    }
+
+    private Node parsePrefix() throws ValidationException {
+        Tokenizer.Token token = peek();
+
+        if (token.type() == Tokenizer.Type.OPERATOR) {
+            switch (token.text()) {
+                case "+" -> {
+                    position++;
+                    return parseExpression(PREFIX);
+                }
+                case "-", "−" -> {
+                    position++;
+                    return new Node.Unary(Operator.NEGATE, parseExpression(PREFIX));
+                }
+                case "√" -> {
+                    position++;
+                    return new Node.Unary(Operator.SQUARE_ROOT, parseExpression(EXPONENT));
+                }
+                case "∛" -> {
+                    position++;
+                    return new Node.Unary(Operator.CUBE_ROOT, parseExpression(EXPONENT));
+                }
+                default -> throw error("Expected a number before '" + token.text() + "'", token,
+                                       "INVALID_EXPRESSION_SYNTAX");
+            }
+        }
+
+        if (token.type() == Tokenizer.Type.IDENTIFIER && FUNCTIONS.containsKey(token.text())) {
+            position++;
+            return new Node.Unary(FUNCTIONS.get(token.text()), parseExpression(EXPONENT));
+        }
+
+        return parsePostfix(parsePrimary());
+    }
+
+    private Node parsePrimary() throws ValidationException {
+        Tokenizer.Token token = peek();
+        switch (token.type()) {
+            case NUMBER -> {
+                position++;
+                return new Node.Literal(token.value());
+            }
+            case IDENTIFIER -> {
+                position++;
+                Double constant = CONSTANTS.get(token.text());
+                if (constant != null) {
+                    return new Node.Literal(constant);
+                }
+                int index = variables.indexOf(token.text());
+                if (index < 0) {
+                    throw error("Unknown identifier '" + token.text() + "'", token, "UNKNOWN_IDENTIFIER");
+                }
+                return new Node.Variable(token.text(), index);
+            }
+            case LEFT_PAREN -> {
+                position++;
+                Node inner = parseExpression(ADDITIVE);
+                Tokenizer.Token closing = peek();
+                if (closing.type() != Tokenizer.Type.RIGHT_PAREN) {
+                    if (closing.type() == Tokenizer.Type.END) {
+                        throw error("Missing ')' for '('", token, "UNBALANCED_PARENTHESES");
+                    }
+                    throw error("Expected ')' but found '" + closing.text() + "'", closing,
+                                "INVALID_EXPRESSION_SYNTAX");
+                }
+                position++;
+                return inner;
+            }
+            case END -> throw error("Unexpected end of expression", token, "INVALID_EXPRESSION_SYNTAX");
+            default -> throw error("Unexpected '" + token.text() + "'", token, "INVALID_EXPRESSION_SYNTAX");
+        }
+    }
+
+    private Node parsePostfix(Node operand) {
+        Node result = operand;
+        while (peek().type() == Tokenizer.Type.OPERATOR) {
+            String symbol = peek().text();
+            if (symbol.equals("!")) {
+                result = new Node.Unary(Operator.FACTORIAL, result);
+            } else if (symbol.equals("%")) {
+                result = new Node.Unary(Operator.PERCENT, result);
+            } else {
+                break;
+            }
+            position++;
+        }
+        return result;
+    }
+
+    private void enter() throws ValidationException {
+        if (++depth > MAX_DEPTH) {
+            throw error("Expression is nested too deeply (maximum " + MAX_DEPTH + ")", peek(),
+                        "EXCESSIVE_NESTING");
+        }
+    }
+
+    private Tokenizer.Token peek() {
+        return tokens.get(position);
+    }
+
+    private ValidationException error(String message, Tokenizer.Token token, String rule) {
+        return new ValidationException(
+            message + " at position " + token.start() + " in expression: '" + source + "'",
+            source, rule, token.start()
+        );
+    }
+}
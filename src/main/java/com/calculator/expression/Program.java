@@ -0,0 +1,140 @@
+package com.calculator.expression;
+
+import com.calculator.Arithmetic;
+import com.calculator.CalculatorException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Expression tree flattened into postfix instructions.
+ *
+ * Each instruction is an opcode followed by one operand in {@link #code}:
+ * a constant index, a variable index or an operator ordinal. Evaluation is
+ * a single loop over a value stack whose size is computed at build time.
+ */
+final class Program implements Evaluator {
+
+    static final int PUSH_CONSTANT = 0;
+    static final int LOAD_VARIABLE = 1;
+    static final int APPLY = 2;
+
+    private static final Operator[] OPERATORS = Operator.values();
+
+    private final int[] code;
+    private final double[] constants;
+    private final int maxStack;
+
+    private Program(int[] code, double[] constants, int maxStack) {
+        this.code = code;
+        this.constants = constants;
+        this.maxStack = maxStack;
+    }
+
+    /**
+     * Flattens an expression tree without recursion.
+     *
+     * @param root the root of the tree
+     * @return the program evaluating the tree
+     */
+    static Program of(Node root) {
+        int[] code = new int[16];
+        double[] constants = new double[4];
+        int codeLength = 0;
+        int constantCount = 0;
+        int depth = 0;
+        int maxStack = 0;
+
+        // Post-order walk: a node is emitted once all of its children have been
+        Deque<Node> pending = new ArrayDeque<>();
+        Deque<Boolean> expanded = new ArrayDeque<>();
+        pending.push(root);
+        expanded.push(Boolean.FALSE);
+
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            boolean childrenDone = expanded.pop();
+
+            if (codeLength + 2 > code.length) {
+                code = Arrays.copyOf(code, code.length * 2);
+            }
+
+            if (node instanceof Node.Literal literal) {
+                if (constantCount == constants.length) {
+                    constants = Arrays.copyOf(constants, constants.length * 2);
+                }
+                constants[constantCount] = literal.value();
+                code[codeLength++] = PUSH_CONSTANT;
+                code[codeLength++] = constantCount++;
+                maxStack = Math.max(maxStack, ++depth);
+            } else if (node instanceof Node.Variable variable) {
+                code[codeLength++] = LOAD_VARIABLE;
+                code[codeLength++] = variable.index();
+                maxStack = Math.max(maxStack, ++depth);
+            } else if (childrenDone) {
+                Operator operator = node instanceof Node.Unary unary
+                    ? unary.operator()
+                    : ((Node.Binary) node).operator();
+                code[codeLength++] = APPLY;
+                code[codeLength++] = operator.ordinal();
+                depth -= operator.arity() - 1;
+            } else {
+                pending.push(node);
+                expanded.push(Boolean.TRUE);
+                if (node instanceof Node.Unary unary) {
+                    pending.push(unary.operand());
+                    expanded.push(Boolean.FALSE);
+                } else {
+                    Node.Binary binary = (Node.Binary) node;
+                    pending.push(binary.right());
+                    expanded.push(Boolean.FALSE);
+                    pending.push(binary.left());
+                    expanded.push(Boolean.FALSE);
+                }
+            }
+        }
+
+        return new Program(
+            Arrays.copyOf(code, codeLength),
+            Arrays.copyOf(constants, constantCount),
+            maxStack
+        );
+    }
+
+    @Override
+    public double evaluate(Arithmetic arithmetic, double[] values) throws CalculatorException {
+        double[] stack = new double[maxStack];
+        int top = 0;
+
+        for (int pc = 0; pc < code.length; pc += 2) {
+            int operand = code[pc + 1];
+            switch (code[pc]) {
+                case PUSH_CONSTANT -> stack[top++] = constants[operand];
+                case LOAD_VARIABLE -> stack[top++] = values[operand];
+                default -> {
+                    Operator operator = OPERATORS[operand];
+                    if (operator.arity() == 1) {
+                        stack[top - 1] = operator.apply(arithmetic, stack[top - 1]);
+                    } else {
+                        top--;
+                        stack[top - 1] = operator.apply(arithmetic, stack[top - 1], stack[top]);
+                    }
+                }
+            }
+        }
+
+        return stack[0];
+    }
+
+    int[] code() {
+        return code;
+    }
+
+    double[] constants() {
+        return constants;
+    }
+
+    int maxStack() {
+        return maxStack;
+    }
+}
@@ -0,0 +1,134 @@
+package com.calculator.expression;
+
+import com.calculator.validation.ValidationException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits expression text into tokens.
+ *
+ * Numbers use the same grammar as
+ * {@link com.calculator.validation.InputValidator#validateNumber(String)};
+ * identifiers are runs of letters, digits and underscores starting with a
+ * letter; every other non-whitespace character must be an operator symbol
+ * or a parenthesis.
+ */
+final class Tokenizer {
+
+    /**
+     * Kinds of tokens.
+     */
+    enum Type {
+        NUMBER,
+        IDENTIFIER,
+        OPERATOR,
+        LEFT_PAREN,
+        RIGHT_PAREN,
+        END
+    }
+
+    /**
+     * A token and its position in the source text.
+     *
+     * @param type the token kind
+     * @param start offset of the first character
+     * @param end offset after the last character
+     * @param text the token text
+     * @param value the numeric value for NUMBER tokens, 0 otherwise
+     */
+    record Token(Type type, int start, int end, String text, double value) {
+    }
+
+    private static final String OPERATOR_SYMBOLS = "+-−×÷*/^√∛%!";
+
+    private Tokenizer() {
+        // Utility class
+    }
+
+    /**
+     * Tokenizes an expression.
+     *
+     * @param source the expression text
+     * @return the tokens, always terminated by an END token
+     * @throws ValidationException if the text contains an invalid character or number
+     */
+    static List<Token> tokenize(String source) throws ValidationException {
+        List<Token> tokens = new ArrayList<>();
+        int length = source.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (isDigit(c) || (c == '.' && i + 1 < length && isDigit(source.charAt(i + 1)))) {
+                i = scanNumber(source, i, tokens);
+            } else if (Character.isLetter(c)) {
+                int start = i;
+                do {
+                    i++;
+                } while (i < length && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '_'));
+                tokens.add(new Token(Type.IDENTIFIER, start, i, source.substring(start, i), 0.0));
+            } else if (c == '(') {
+                tokens.add(new Token(Type.LEFT_PAREN, i, i + 1, "(", 0.0));
+                i++;
+            } else if (c == ')') {
+                tokens.add(new Token(Type.RIGHT_PAREN, i, i + 1, ")", 0.0));
+                i++;
+            } else if (OPERATOR_SYMBOLS.indexOf(c) >= 0) {
+                tokens.add(new Token(Type.OPERATOR, i, i + 1, String.valueOf(c), 0.0));
+                i++;
+            } else {
+                throw new ValidationException(
+                    "Invalid character '" + c + "' at position " + i + " in expression: '" + source + "'",
+                    source, "INVALID_EXPRESSION_SYNTAX", i
+                );
+            }
+        }
+
+        tokens.add(new Token(Type.END, length, length, "", 0.0));
+        return tokens;
+    }
+
+    private static int scanNumber(String source, int start, List<Token> tokens) throws ValidationException {
+        int length = source.length();
+        int i = start;
+        while (i < length && isDigit(source.charAt(i))) {
+            i++;
+        }
+        if (i < length && source.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(source.charAt(i))) {
+                i++;
+            }
+        }
+        // Only treat 'e' as an exponent marker when digits follow it
+        if (i < length && (source.charAt(i) == 'e' || source.charAt(i) == 'E')) {
+            int j = i + 1;
+            if (j < length && (source.charAt(j) == '+' || source.charAt(j) == '-')) {
+                j++;
+            }
+            if (j < length && isDigit(source.charAt(j))) {
+                i = j;
+                while (i < length && isDigit(source.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+
+        String text = source.substring(start, i);
+        double value = Double.parseDouble(text);
+        if (Double.isInfinite(value)) {
+            throw new ValidationException(
+                "Number '" + text + "' at position " + start + " is out of range",
+                source, "INFINITE_VALUE", start
+            );
+        }
+        tokens.add(new Token(Type.NUMBER, start, i, text, value));
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
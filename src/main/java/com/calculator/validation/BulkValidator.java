@@ -0,0 +1,126 @@
+package com.calculator.validation;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Validation of whole datasets, such as imported columns of numbers.
+ *
+ * Applies the same rules as {@link InputValidator#checkNumber(double, double, double)}
+ * and {@link InputValidator#checkNumber(CharSequence, double, double)} to
+ * every value, but reports the result for all of them at once: a bitmap of
+ * the invalid positions for numbers, and the number of failures per rule for
+ * text. No exception or per-value object is created. The range is usually
+ * that of validation.min.number.value and validation.max.number.value.
+ *
+ * Numbers are checked several per instruction when the
+ * {@code jdk.incubator.vector} module is present; text is checked in
+ * parallel chunks of the stream.
+ *
+ */
+public final class BulkValidator {
+
+    private static final ValidationRule[] RULES = ValidationRule.values();
+
+    // Loaded only when the incubating Vector API module is present
+    private static final boolean VECTORIZED =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && VectorRangeCheck.isAccelerated();
+
+    private BulkValidator() {
+        // Utility class
+    }
+
+    /**
+     * Finds every number that is not safe for calculations or not within
+     * [min, max].
+     *
+     * @param values the numbers to check
+     * @param min the minimum allowed value (inclusive)
+     * @param max the maximum allowed value (inclusive)
+     * @return the indexes of the invalid numbers
+     */
+    public static BitSet findInvalidNumbers(double[] values, double min, double max) {
+        long[] failures = new long[words(values.length)];
+        if (VECTORIZED) {
+            VectorRangeCheck.markInvalidNumbers(values, min, max, InputValidator.MAX_SAFE_INTEGER, failures);
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                if (!InputValidator.isValidNumber(values[i], min, max)) {
+                    failures[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return BitSet.valueOf(failures);
+    }
+
+    /**
+     * Finds every invalid number in a segment of doubles in native byte
+     * order, such as a memory-mapped column, without copying it to the heap.
+     *
+     * @param values the numbers to check
+     * @param min the minimum allowed value (inclusive)
+     * @param max the maximum allowed value (inclusive)
+     * @return the indexes of the invalid numbers
+     * @throws IllegalArgumentException if the segment does not hold whole doubles
+     *         or holds more than Integer.MAX_VALUE of them
+     */
+    public static BitSet findInvalidNumbers(MemorySegment values, double min, double max) {
+        long count = values.byteSize() / Double.BYTES;
+        if (values.byteSize() % Double.BYTES != 0 || count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment of " + values.byteSize() + " bytes does not hold up to "
+                + Integer.MAX_VALUE + " whole doubles");
+        }
+
+        long[] failures = new long[words((int) count)];
+        // Vectors load only from native segments and heap segments of bytes
+        if (VECTORIZED && values.isNative()) {
+            VectorRangeCheck.markInvalidNumbers(values, min, max, InputValidator.MAX_SAFE_INTEGER, failures);
+        } else {
+            for (int i = 0; i < count; i++) {
+                if (!InputValidator.isValidNumber(values.getAtIndex(ValueLayout.JAVA_DOUBLE_UNALIGNED, i), min, max)) {
+                    failures[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return BitSet.valueOf(failures);
+    }
+
+    /**
+     * Checks every string of a stream as a number within [min, max], in
+     * parallel, and counts the failures per rule.
+     *
+     * @param inputs the strings to check
+     * @param min the minimum allowed value (inclusive)
+     * @param max the maximum allowed value (inclusive)
+     * @return the number of inputs that failed each rule, for the rules that
+     *         failed at least once
+     */
+    public static Map<ValidationRule, Long> countFailures(Stream<? extends CharSequence> inputs,
+                                                          double min, double max) {
+        long[] counts = inputs.parallel().collect(
+            () -> new long[RULES.length],
+            (partial, input) -> partial[InputValidator.checkNumber(input, min, max).ordinal()]++,
+            (partial, other) -> {
+                for (int i = 0; i < partial.length; i++) {
+                    partial[i] += other[i];
+                }
+            });
+
+        Map<ValidationRule, Long> failures = new EnumMap<>(ValidationRule.class);
+        for (ValidationRule rule : RULES) {
+            if (!rule.isValid() && counts[rule.ordinal()] > 0) {
+                failures.put(rule, counts[rule.ordinal()]);
+            }
+        }
+        return Collections.unmodifiableMap(failures);
+    }
+
+    private static int words(int bits) {
+        return (int) ((bits + 63L) >>> 6);
+    }
+}
@@ -1,8 +1,6 @@
 package com.calculator.validation;
 
 import com.calculator.CalculatorConfig;
-import java.util.regex.Pattern;
-import java.util.regex.Matcher;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Arrays;
@@ -32,29 +30,27 @@ import java.math.MathContext;
  */
 public class InputValidator {
     
-    // Regular expression patterns for validation
-    private static final Pattern NUMBER_PATTERN = Pattern.compile(
-        "^[+-]?(?:\\d+(?:\\.\\d*)?|\\.\\d+)(?:[eE][+-]?\\d+)?$"
-    );
-    
-    private static final Pattern INTEGER_PATTERN = Pattern.compile("^[+-]?\\d+$");
-    
-    private static final Pattern SCIENTIFIC_NOTATION_PATTERN = Pattern.compile(
-        "^[+-]?(?:\\d+(?:\\.\\d*)?|\\.\\d+)[eE][+-]?\\d+$"
-    );
-    
-    private static final Pattern EXPRESSION_PATTERN = Pattern.compile(
-        "^[+-]?(?:\\d+(?:\\.\\d*)?|\\.\\d+)(?:[eE][+-]?\\d+)?(?:\\s*[+\\-×÷*/]\\s*[+-]?(?:\\d+(?:\\.\\d*)?|\\.\\d+)(?:[eE][+-]?\\d+)?)*$"
-    );
-    
     // Valid operation symbols
     private static final Set<String> VALID_OPERATIONS = new HashSet<>(Arrays.asList(
-        "+", "-", "×", "÷", "*", "/", "^", "√", "∛", "%", "!", "sin", "cos", "tan", "log", "ln"
+        "+", "-", "×", "÷", "*", "/", "^", "√", "∛", "%", "!", "sin", "cos", "tan", "asin", "acos", "atan", "log", "ln"
     ));
     
+    // The operations written as names, which expressions apply as prefix functions
+    private static final String[] FUNCTION_NAMES = VALID_OPERATIONS.stream()
+        .filter(operation -> Character.isLetter(operation.charAt(0)))
+        .toArray(String[]::new);
+    
+    // The named constants of the expression parser
+    private static final String[] CONSTANT_NAMES = {"pi", "π", "e"};
+    
     // Mathematical constants
-    private static final double MAX_SAFE_INTEGER = 9007199254740991.0; // 2^53 - 1
+    static final double MAX_SAFE_INTEGER = 9007199254740991.0; // 2^53 - 1
     private static final double MIN_SAFE_INTEGER = -9007199254740991.0; // -(2^53 - 1)
+    private static final int MAX_EXACT_FACTORIAL = 1_000_000; // Computed in a few seconds
+    
+    // Loaded only when the incubating Vector API module is present
+    private static final boolean VECTORIZED =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && VectorRangeCheck.isAccelerated();
     
     /**
      * Validation strategy interface for implementing different validation rules.
@@ -76,47 +72,80 @@ public class InputValidator {
             throw new ValidationException("Input cannot be null", input, "NULL_INPUT");
         }
         
-        String trimmedInput = input.trim();
-        if (trimmedInput.isEmpty()) {
+        int start = trimStart(input);
+        int end = trimEnd(input, start);
+        if (start == end) {
             throw new ValidationException("Input cannot be empty", input, "EMPTY_INPUT");
         }
         
-        // Check for invalid characters
-        if (!NUMBER_PATTERN.matcher(trimmedInput).matches()) {
+        // Checks the format and parses in the same pass
+        double value = NumberScanner.parseDouble(input, start, end, false);
+        ValidationRule rule = checkParsedNumber(value);
+        if (rule == ValidationRule.INVALID_NUMBER_FORMAT) {
             throw new ValidationException(
                 "Invalid number format: '" + input + "'. Expected format: [+-]?digits[.digits][e[+-]digits]",
                 input, "INVALID_NUMBER_FORMAT"
             );
         }
         
-        try {
-            double value = Double.parseDouble(trimmedInput);
-            
-            // Check for special values
-            if (Double.isNaN(value)) {
-                throw new ValidationException("Input results in NaN (Not a Number)", input, "NAN_VALUE");
-            }
-            
-            if (Double.isInfinite(value)) {
-                throw new ValidationException("Input results in infinite value", input, "INFINITE_VALUE");
-            }
-            
-            // Check for underflow (too close to zero)
-            if (value != 0.0 && Math.abs(value) < Double.MIN_NORMAL) {
-                throw new ValidationException(
-                    "Number is too small (underflow): " + value,
-                    input, "UNDERFLOW"
-                );
-            }
-            
-            return value;
-            
-        } catch (NumberFormatException e) {
+        if (rule == ValidationRule.INFINITE_VALUE) {
+            throw new ValidationException("Input results in infinite value", input, "INFINITE_VALUE");
+        }
+        
+        if (rule == ValidationRule.UNDERFLOW) {
             throw new ValidationException(
-                "Cannot parse '" + input + "' as a valid number",
-                input, "PARSE_ERROR", e
+                "Number is too small (underflow): " + value,
+                input, "UNDERFLOW"
             );
         }
+        
+        return value;
+    }
+    
+    /**
+     * Checks a string as {@link #validateNumber(String)} does and the number
+     * it holds as {@link #checkNumber(double, double, double)} does, without
+     * throwing.
+     * 
+     * @param input the text to check
+     * @param min the minimum allowed value (inclusive)
+     * @param max the maximum allowed value (inclusive)
+     * @return the first violated rule, or {@link ValidationRule#VALID}
+     */
+    public static ValidationRule checkNumber(CharSequence input, double min, double max) {
+        if (input == null) {
+            return ValidationRule.NULL_INPUT;
+        }
+        
+        int start = trimStart(input);
+        int end = trimEnd(input, start);
+        if (start == end) {
+            return ValidationRule.EMPTY_INPUT;
+        }
+        
+        double value = NumberScanner.parseDouble(input, start, end, false);
+        ValidationRule rule = checkParsedNumber(value);
+        return rule.isValid() ? checkNumber(value, min, max) : rule;
+    }
+    
+    /**
+     * Classifies the result of {@link NumberScanner#parseDouble}.
+     */
+    private static ValidationRule checkParsedNumber(double value) {
+        if (Double.isNaN(value)) {
+            return ValidationRule.INVALID_NUMBER_FORMAT;
+        }
+        
+        if (Double.isInfinite(value)) {
+            return ValidationRule.INFINITE_VALUE;
+        }
+        
+        // Check for underflow (too close to zero)
+        if (value != 0.0 && Math.abs(value) < Double.MIN_NORMAL) {
+            return ValidationRule.UNDERFLOW;
+        }
+        
+        return ValidationRule.VALID;
     }
     
     /**
@@ -127,38 +156,60 @@ public class InputValidator {
      * @throws ValidationException if the input is not a valid integer
      */
     public static int validateInteger(String input) throws ValidationException {
-        if (input == null || input.trim().isEmpty()) {
+        int start = input == null ? 0 : trimStart(input);
+        int end = input == null ? 0 : trimEnd(input, start);
+        if (start == end) {
             throw new ValidationException("Integer input cannot be null or empty", input, "NULL_OR_EMPTY");
         }
         
-        String trimmedInput = input.trim();
+        int i = start;
+        boolean negative = input.charAt(i) == '-';
+        if (negative || input.charAt(i) == '+') {
+            i++;
+        }
+        
+        // Accumulate negatively so that Long.MIN_VALUE fits; keep scanning
+        // past an overflow because a format error takes precedence
+        long negated = 0;
+        boolean overflow = false;
+        boolean anyDigit = i < end;
+        for (; i < end; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                anyDigit = false;
+                break;
+            }
+            if (negated < (Long.MIN_VALUE + digit) / 10) {
+                overflow = true;
+            } else {
+                negated = negated * 10 - digit;
+            }
+        }
         
-        if (!INTEGER_PATTERN.matcher(trimmedInput).matches()) {
+        if (!anyDigit) {
             throw new ValidationException(
                 "Invalid integer format: '" + input + "'. Expected format: [+-]?digits",
                 input, "INVALID_INTEGER_FORMAT"
             );
         }
         
-        try {
-            long longValue = Long.parseLong(trimmedInput);
-            
-            if (longValue > Integer.MAX_VALUE || longValue < Integer.MIN_VALUE) {
-                throw new ValidationException(
-                    "Integer value out of range: " + longValue + " (range: " + 
-                    Integer.MIN_VALUE + " to " + Integer.MAX_VALUE + ")",
-                    input, "INTEGER_OVERFLOW"
-                );
-            }
-            
-            return (int) longValue;
-            
-        } catch (NumberFormatException e) {
+        if (overflow || (!negative && negated == Long.MIN_VALUE)) {
             throw new ValidationException(
                 "Cannot parse '" + input + "' as a valid integer",
-                input, "INTEGER_PARSE_ERROR", e
+                input, "INTEGER_PARSE_ERROR"
+            );
+        }
+        
+        long longValue = negative ? negated : -negated;
+        if (longValue > Integer.MAX_VALUE || longValue < Integer.MIN_VALUE) {
+            throw new ValidationException(
+                "Integer value out of range: " + longValue + " (range: " + 
+                Integer.MIN_VALUE + " to " + Integer.MAX_VALUE + ")",
+                input, "INTEGER_OVERFLOW"
             );
         }
+        
+        return (int) longValue;
     }
     
     /**
@@ -188,41 +239,113 @@ public class InputValidator {
     /**
      * Validates a mathematical expression syntax.
      * 
+     * Numbers and the constants {@code pi}, {@code π} and {@code e} may be
+     * signed and combined with the binary operators {@code + - − * × / ÷ ^}
+     * and the root {@code √}, followed by {@code !} or {@code %}, preceded
+     * by {@code √}, {@code ∛} or a function name from the valid operations,
+     * and grouped with parentheses. The expression is checked in one pass
+     * with constant memory, so its length and nesting depth are limited
+     * only by the int range. Numbers beyond the double range are rejected.
+     * The exception reports the offset of the error.
+     * 
      * @param expression the expression to validate
      * @throws ValidationException if the expression syntax is invalid
      */
-    public static void validateExpression(String expression) throws ValidationException {
+    public static void validateExpression(CharSequence expression) throws ValidationException {
         if (expression == null) {
-            throw new ValidationException("Expression cannot be null", expression, "NULL_EXPRESSION");
+            throw new ValidationException("Expression cannot be null", null, "NULL_EXPRESSION");
         }
         
-        String trimmedExpression = expression.trim();
-        if (trimmedExpression.isEmpty()) {
-            throw new ValidationException("Expression cannot be empty", expression, "EMPTY_EXPRESSION");
+        int start = trimStart(expression);
+        int end = trimEnd(expression, start);
+        if (start == end) {
+            throw new ValidationException("Expression cannot be empty", expression.toString(), "EMPTY_EXPRESSION");
         }
         
-        // Check for balanced parentheses
-        if (!hasBalancedParentheses(trimmedExpression)) {
-            throw new ValidationException(
-                "Unbalanced parentheses in expression: '" + expression + "'",
-                expression, "UNBALANCED_PARENTHESES"
-            );
+        boolean expectOperand = true;
+        boolean signed = false;
+        int depth = 0;
+        int operatorEnd = -1; // Index after the last of + - * /, to find two in a row
+        int i = start;
+        while (i < end) {
+            char c = expression.charAt(i);
+            if (isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            
+            if (isArithmeticOperator(c) && i == operatorEnd) {
+                throw expressionError("Consecutive operators", expression, i, "CONSECUTIVE_OPERATORS");
+            }
+            
+            if (expectOperand) {
+                if (c == '+' || c == '-' || c == '−') {
+                    if (signed) {
+                        throw expressionError("Unexpected '" + c + "'", expression, i, "INVALID_EXPRESSION_SYNTAX");
+                    }
+                    signed = true;
+                    operatorEnd = c == '−' ? -1 : i + 1;
+                    i++;
+                } else if (c == '(' || c == '√' || c == '∛') {
+                    if (c == '(') {
+                        depth++;
+                    }
+                    signed = false;
+                    i++;
+                } else if (isLetter(c)) {
+                    int nameEnd = i + 1;
+                    while (nameEnd < end && isNamePart(expression.charAt(nameEnd))) {
+                        nameEnd++;
+                    }
+                    if (isName(CONSTANT_NAMES, expression, i, nameEnd)) {
+                        expectOperand = false;
+                    } else if (!isName(FUNCTION_NAMES, expression, i, nameEnd)) {
+                        throw expressionError("Unknown identifier '" + expression.subSequence(i, nameEnd) + "'",
+                                              expression, i, "UNKNOWN_IDENTIFIER");
+                    }
+                    signed = false;
+                    i = nameEnd;
+                } else if (c >= '0' && c <= '9' || c == '.') {
+                    int numberEnd = numberEnd(expression, i, end);
+                    double number = NumberScanner.parseDouble(expression, i, numberEnd, false);
+                    if (Double.isNaN(number)) {
+                        throw expressionError("Invalid number '" + expression.subSequence(i, numberEnd) + "'",
+                                              expression, i, "INVALID_NUMBER_FORMAT");
+                    }
+                    if (Double.isInfinite(number)) {
+                        throw expressionError("Number '" + expression.subSequence(i, numberEnd) + "' is out of range",
+                                              expression, i, "INFINITE_VALUE");
+                    }
+                    expectOperand = false;
+                    signed = false;
+                    i = numberEnd;
+                } else {
+                    throw expressionError("Expected a number but found '" + c + "'", expression, i,
+                                          "INVALID_EXPRESSION_SYNTAX");
+                }
+            } else {
+                if (c == '+' || c == '-' || c == '*' || c == '/' || c == '−' || c == '×' || c == '÷' || c == '^'
+                    || c == '√') {
+                    expectOperand = true;
+                    operatorEnd = isArithmeticOperator(c) ? i + 1 : -1;
+                } else if (c == ')') {
+                    if (depth == 0) {
+                        throw expressionError("Unmatched ')'", expression, i, "UNBALANCED_PARENTHESES");
+                    }
+                    depth--;
+                } else if (c != '!' && c != '%') {
+                    throw expressionError("Expected an operator but found '" + c + "'", expression, i,
+                                          "INVALID_EXPRESSION_SYNTAX");
+                }
+                i++;
+            }
         }
         
-        // Check for consecutive operators
-        if (hasConsecutiveOperators(trimmedExpression)) {
-            throw new ValidationException(
-                "Consecutive operators found in expression: '" + expression + "'",
-                expression, "CONSECUTIVE_OPERATORS"
-            );
+        if (depth > 0) {
+            throw expressionError(depth + " unclosed '('", expression, end, "UNBALANCED_PARENTHESES");
         }
-        
-        // Check for valid expression pattern
-        if (!EXPRESSION_PATTERN.matcher(trimmedExpression).matches()) {
-            throw new ValidationException(
-                "Invalid expression syntax: '" + expression + "'",
-                expression, "INVALID_EXPRESSION_SYNTAX"
-            );
+        if (expectOperand) {
+            throw expressionError("Expression ends without a number", expression, end, "INVALID_EXPRESSION_SYNTAX");
         }
     }
     
@@ -236,28 +359,10 @@ public class InputValidator {
      * @throws ValidationException if the number is outside the valid range
      */
     public static boolean isValidRange(double number, double min, double max) throws ValidationException {
-        if (Double.isNaN(number)) {
-            throw new ValidationException("Cannot validate range for NaN value", String.valueOf(number), "NAN_RANGE_CHECK");
+        ValidationRule rule = checkRange(number, min, max);
+        if (!rule.isValid()) {
+            throw exception(rule, number, min, max);
         }
-        
-        if (Double.isInfinite(number)) {
-            throw new ValidationException("Cannot validate range for infinite value", String.valueOf(number), "INFINITE_RANGE_CHECK");
-        }
-        
-        if (min > max) {
-            throw new ValidationException(
-                "Invalid range: minimum (" + min + ") is greater than maximum (" + max + ")",
-                String.format("min=%.2f, max=%.2f", min, max), "INVALID_RANGE"
-            );
-        }
-        
-        if (number < min || number > max) {
-            throw new ValidationException(
-                String.format("Number %.6f is outside valid range [%.6f, %.6f]", number, min, max),
-                String.valueOf(number), "OUT_OF_RANGE"
-            );
-        }
-        
         return true;
     }
     
@@ -268,29 +373,144 @@ public class InputValidator {
      * @throws ValidationException if the number is unsafe for calculations
      */
     public static void validateSafeNumber(double number) throws ValidationException {
+        ValidationRule rule = checkSafeNumber(number);
+        if (!rule.isValid()) {
+            throw exception(rule, number, 0, 0);
+        }
+    }
+    
+    /**
+     * Checks if a number is safe for mathematical operations, as
+     * {@link #validateSafeNumber(double)} does, without throwing.
+     * 
+     * @param number the number to check
+     * @return the violated rule, or {@link ValidationRule#VALID}
+     */
+    public static ValidationRule checkSafeNumber(double number) {
         if (Double.isNaN(number)) {
-            throw new ValidationException("Number is NaN (Not a Number)", String.valueOf(number), "NAN_UNSAFE");
+            return ValidationRule.NAN_UNSAFE;
         }
         
         if (Double.isInfinite(number)) {
-            throw new ValidationException("Number is infinite", String.valueOf(number), "INFINITE_UNSAFE");
+            return ValidationRule.INFINITE_UNSAFE;
         }
         
         // Check for numbers that might cause overflow in calculations
         if (Math.abs(number) > MAX_SAFE_INTEGER) {
-            throw new ValidationException(
-                "Number is too large for safe calculations: " + number + " (max safe: " + MAX_SAFE_INTEGER + ")",
-                String.valueOf(number), "UNSAFE_LARGE_NUMBER"
-            );
+            return ValidationRule.UNSAFE_LARGE_NUMBER;
         }
         
         // Check for subnormal numbers that might cause precision issues
         if (number != 0.0 && Math.abs(number) < Double.MIN_NORMAL) {
-            throw new ValidationException(
-                "Number is too small for reliable calculations: " + number,
-                String.valueOf(number), "UNSAFE_SMALL_NUMBER"
-            );
+            return ValidationRule.UNSAFE_SMALL_NUMBER;
+        }
+        
+        return ValidationRule.VALID;
+    }
+    
+    /**
+     * Checks if a number is within the specified range, as
+     * {@link #isValidRange(double, double, double)} does, without throwing.
+     * 
+     * @param number the number to check
+     * @param min the minimum allowed value (inclusive)
+     * @param max the maximum allowed value (inclusive)
+     * @return the violated rule, or {@link ValidationRule#VALID}
+     */
+    public static ValidationRule checkRange(double number, double min, double max) {
+        if (Double.isNaN(number)) {
+            return ValidationRule.NAN_RANGE_CHECK;
+        }
+        
+        if (Double.isInfinite(number)) {
+            return ValidationRule.INFINITE_RANGE_CHECK;
+        }
+        
+        if (min > max) {
+            return ValidationRule.INVALID_RANGE;
+        }
+        
+        if (number < min || number > max) {
+            return ValidationRule.OUT_OF_RANGE;
         }
+        
+        return ValidationRule.VALID;
+    }
+    
+    /**
+     * Checks a number for safety and then for range, the validation
+     * applied to every calculator operand.
+     * 
+     * @param number the number to check
+     * @param min the minimum allowed value (inclusive)
+     * @param max the maximum allowed value (inclusive)
+     * @return the first violated rule, or {@link ValidationRule#VALID}
+     */
+    public static ValidationRule checkNumber(double number, double min, double max) {
+        ValidationRule rule = checkSafeNumber(number);
+        return rule.isValid() ? checkRange(number, min, max) : rule;
+    }
+    
+    /**
+     * Builds the message the throwing methods give when a single number
+     * fails a check. Only the range rules use the range.
+     * 
+     * @param rule the violated rule
+     * @param number the number that was checked
+     * @param min the minimum of the checked range
+     * @param max the maximum of the checked range
+     * @return the message
+     * @throws IllegalArgumentException if the rule does not concern a single number
+     */
+    public static String describe(ValidationRule rule, double number, double min, double max) {
+        return switch (rule) {
+            case NAN_UNSAFE -> "Number is NaN (Not a Number)";
+            case INFINITE_UNSAFE -> "Number is infinite";
+            case UNSAFE_LARGE_NUMBER ->
+                "Number is too large for safe calculations: " + number + " (max safe: " + MAX_SAFE_INTEGER + ")";
+            case UNSAFE_SMALL_NUMBER -> "Number is too small for reliable calculations: " + number;
+            case NAN_RANGE_CHECK -> "Cannot validate range for NaN value";
+            case INFINITE_RANGE_CHECK -> "Cannot validate range for infinite value";
+            case INVALID_RANGE -> "Invalid range: minimum (" + min + ") is greater than maximum (" + max + ")";
+            case OUT_OF_RANGE -> String.format("Number %.6f is outside valid range [%.6f, %.6f]", number, min, max);
+            case NEGATIVE_SQUARE_ROOT -> "Square root is not defined for negative numbers in real domain: " + number;
+            case NON_POSITIVE_LOGARITHM -> "Logarithm is not defined for non-positive numbers: " + number;
+            case INVERSE_TRIGONOMETRIC_DOMAIN -> "Inverse sine and cosine are only defined between -1 and 1: " + number;
+            default -> throw new IllegalArgumentException("Not a rule for a single number: " + rule);
+        };
+    }
+    
+    /**
+     * Finds the first number in an array that {@link #validateSafeNumber(double)}
+     * or {@link #isValidRange(double, double, double)} would reject, without
+     * building exceptions for the valid ones. Checks several numbers per
+     * instruction when the jdk.incubator.vector module is present.
+     * 
+     * @param values the numbers to check
+     * @param min the minimum allowed value
+     * @param max the maximum allowed value
+     * @return the index of the first invalid number, or -1 if all are valid
+     */
+    public static int findInvalidNumber(double[] values, double min, double max) {
+        if (VECTORIZED) {
+            return VectorRangeCheck.findInvalidNumber(values, min, max, MAX_SAFE_INTEGER);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (!isValidNumber(values[i], min, max)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Checks a number as validateSafeNumber and isValidRange do. NaN fails
+     * the magnitude comparison.
+     */
+    static boolean isValidNumber(double number, double min, double max) {
+        double magnitude = Math.abs(number);
+        return magnitude <= MAX_SAFE_INTEGER && (magnitude >= Double.MIN_NORMAL || number == 0.0)
+            && number >= min && number <= max;
     }
     
     /**
@@ -301,30 +521,44 @@ public class InputValidator {
      * @throws ValidationException if the input is not valid scientific notation
      */
     public static double validateScientificNotation(String input) throws ValidationException {
-        if (input == null || input.trim().isEmpty()) {
+        int start = input == null ? 0 : trimStart(input);
+        int end = input == null ? 0 : trimEnd(input, start);
+        if (start == end) {
             throw new ValidationException("Scientific notation input cannot be null or empty", input, "NULL_OR_EMPTY_SCIENTIFIC");
         }
         
-        String trimmedInput = input.trim();
-        
-        if (!SCIENTIFIC_NOTATION_PATTERN.matcher(trimmedInput).matches()) {
+        double value = NumberScanner.parseDouble(input, start, end, true);
+        if (Double.isNaN(value)) {
             throw new ValidationException(
                 "Invalid scientific notation format: '" + input + "'. Expected format: [+-]?digits[.digits]e[+-]digits",
                 input, "INVALID_SCIENTIFIC_FORMAT"
             );
         }
         
-        try {
-            double value = Double.parseDouble(trimmedInput);
-            validateSafeNumber(value);
-            return value;
-            
-        } catch (NumberFormatException e) {
-            throw new ValidationException(
-                "Cannot parse scientific notation: '" + input + "'",
-                input, "SCIENTIFIC_PARSE_ERROR", e
-            );
+        validateSafeNumber(value);
+        return value;
+    }
+    
+    /**
+     * Finds the first character that {@link String#trim()} would keep.
+     */
+    private static int trimStart(CharSequence input) {
+        int start = 0;
+        while (start < input.length() && input.charAt(start) <= ' ') {
+            start++;
         }
+        return start;
+    }
+    
+    /**
+     * Finds the end of what {@link String#trim()} would keep.
+     */
+    private static int trimEnd(CharSequence input, int start) {
+        int end = input.length();
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
     }
     
     /**
@@ -338,21 +572,19 @@ public class InputValidator {
             return "";
         }
         
-        // Remove leading/trailing whitespace
-        String sanitized = input.trim();
-        
-        // Replace common alternative symbols
-        sanitized = sanitized.replace("×", "*")
-                            .replace("÷", "/")
-                            .replace("−", "-"); // Unicode minus to ASCII minus
-        
-        // Remove multiple consecutive spaces
-        sanitized = sanitized.replaceAll("\\s+", " ");
-        
-        // Remove invalid characters (keep only digits, operators, parentheses, decimal point, e/E)
-        sanitized = sanitized.replaceAll("[^0-9+\\-*/().eE\\s]", "");
-        
-        return sanitized;
+        return new SanitizedInput(input.length()).sanitize(input).toString();
+    }
+    
+    /**
+     * Sanitizes input as {@link #sanitizeInput(String)} does, into a buffer
+     * that batch callers can reuse.
+     * 
+     * @param input the input to sanitize
+     * @param buffer the buffer to overwrite
+     * @return the buffer
+     */
+    public static SanitizedInput sanitizeInput(CharSequence input, SanitizedInput buffer) {
+        return buffer.sanitize(input);
     }
     
     /**
@@ -363,19 +595,18 @@ public class InputValidator {
      * @throws ValidationException if validation fails
      */
     public static void validateWithConfig(String input, CalculatorConfig config) throws ValidationException {
-        if (!config.isValidationEnabled()) {
+        CalculatorConfig.Snapshot settings = config.getSnapshot();
+        if (!settings.validationEnabled()) {
             return; // Skip validation if disabled
         }
         
         double number = validateNumber(input);
         
         // Apply configuration-based range validation
-        double minValue = config.getMinNumberValue();
-        double maxValue = config.getMaxNumberValue();
-        isValidRange(number, minValue, maxValue);
+        isValidRange(number, settings.minNumberValue(), settings.maxNumberValue());
         
         // Apply strict mode validation if enabled
-        if (config.isStrictModeEnabled()) {
+        if (settings.strictModeEnabled()) {
             validateStrictMode(input, number);
         }
     }
@@ -422,23 +653,63 @@ public class InputValidator {
      * @throws ValidationException if division by zero is attempted
      */
     public static void validateDivision(double dividend, double divisor) throws ValidationException {
-        validateSafeNumber(dividend);
-        validateSafeNumber(divisor);
+        ValidationRule rule = checkDivision(dividend, divisor);
+        if (rule == ValidationRule.DIVISION_BY_ZERO) {
+            throw new ValidationException(describeDivision(rule, dividend, divisor), String.valueOf(divisor), rule.name());
+        }
+        if (rule == ValidationRule.DIVISION_OVERFLOW) {
+            throw new ValidationException(describeDivision(rule, dividend, divisor), dividend + "/" + divisor, rule.name());
+        }
+        if (!rule.isValid()) {
+            throw exception(rule, checkSafeNumber(dividend) == rule ? dividend : divisor, 0, 0);
+        }
+    }
+    
+    /**
+     * Checks a division as {@link #validateDivision(double, double)} does,
+     * without throwing.
+     * 
+     * @param dividend the dividend
+     * @param divisor the divisor
+     * @return the violated rule, or {@link ValidationRule#VALID}
+     */
+    public static ValidationRule checkDivision(double dividend, double divisor) {
+        ValidationRule rule = checkSafeNumber(dividend);
+        if (!rule.isValid()) {
+            return rule;
+        }
+        rule = checkSafeNumber(divisor);
+        if (!rule.isValid()) {
+            return rule;
+        }
         
         if (divisor == 0.0) {
-            throw new ValidationException(
-                "Division by zero: " + dividend + " ÷ 0",
-                String.valueOf(divisor), "DIVISION_BY_ZERO"
-            );
+            return ValidationRule.DIVISION_BY_ZERO;
         }
         
         // Check for potential overflow in division
         if (Math.abs(dividend) > Double.MAX_VALUE * Math.abs(divisor)) {
-            throw new ValidationException(
-                "Division would cause overflow: " + dividend + " ÷ " + divisor,
-                dividend + "/" + divisor, "DIVISION_OVERFLOW"
-            );
+            return ValidationRule.DIVISION_OVERFLOW;
         }
+        
+        return ValidationRule.VALID;
+    }
+    
+    /**
+     * Builds the message {@link #validateDivision(double, double)} gives
+     * for a failed check.
+     * 
+     * @param rule the violated rule
+     * @param dividend the dividend
+     * @param divisor the divisor
+     * @return the message
+     */
+    public static String describeDivision(ValidationRule rule, double dividend, double divisor) {
+        return switch (rule) {
+            case DIVISION_BY_ZERO -> "Division by zero: " + dividend + " ÷ 0";
+            case DIVISION_OVERFLOW -> "Division would cause overflow: " + dividend + " ÷ " + divisor;
+            default -> describe(rule, checkSafeNumber(dividend) == rule ? dividend : divisor, 0, 0);
+        };
     }
     
     /**
@@ -448,14 +719,15 @@ public class InputValidator {
      * @throws ValidationException if the input is invalid for factorial
      */
     public static void validateFactorial(int n) throws ValidationException {
-        if (n < 0) {
+        ValidationRule rule = checkFactorial(n);
+        if (rule == ValidationRule.NEGATIVE_FACTORIAL) {
             throw new ValidationException(
                 "Factorial is not defined for negative numbers: " + n,
                 String.valueOf(n), "NEGATIVE_FACTORIAL"
             );
         }
         
-        if (n > 170) {
+        if (rule == ValidationRule.FACTORIAL_OVERFLOW) {
             throw new ValidationException(
                 "Factorial would cause overflow for number: " + n + " (maximum: 170)",
                 String.valueOf(n), "FACTORIAL_OVERFLOW"
@@ -463,6 +735,53 @@ public class InputValidator {
         }
     }
     
+    /**
+     * Validates exact factorial operation input.
+     * 
+     * @param n the number for exact factorial calculation
+     * @throws ValidationException if the input is negative or too large to compute
+     */
+    public static void validateExactFactorial(int n) throws ValidationException {
+        ValidationRule rule = checkExactFactorial(n);
+        if (rule == ValidationRule.NEGATIVE_FACTORIAL) {
+            throw new ValidationException(
+                "Factorial is not defined for negative numbers: " + n,
+                String.valueOf(n), "NEGATIVE_FACTORIAL"
+            );
+        }
+        
+        if (rule == ValidationRule.FACTORIAL_OVERFLOW) {
+            throw new ValidationException(
+                "Factorial is too large to compute for number: " + n + " (maximum: " + MAX_EXACT_FACTORIAL + ")",
+                String.valueOf(n), "FACTORIAL_OVERFLOW"
+            );
+        }
+    }
+    
+    /**
+     * Checks factorial input without throwing.
+     * 
+     * @param n the number for factorial calculation
+     * @return the violated rule, or {@link ValidationRule#VALID}
+     */
+    public static ValidationRule checkFactorial(int n) {
+        return n < 0 ? ValidationRule.NEGATIVE_FACTORIAL
+            : n > 170 ? ValidationRule.FACTORIAL_OVERFLOW
+            : ValidationRule.VALID;
+    }
+    
+    /**
+     * Checks exact factorial input without throwing.
+     * 
+     * @param n the number for exact factorial calculation
+     * @return the violated rule, or {@link ValidationRule#VALID}
+     */
+    public static ValidationRule checkExactFactorial(int n) {
+        return n < 0 ? ValidationRule.NEGATIVE_FACTORIAL
+            : n > MAX_EXACT_FACTORIAL ? ValidationRule.FACTORIAL_OVERFLOW
+            : ValidationRule.VALID;
+    }
+    
     /**
      * Validates square root operation input.
      * 
@@ -470,14 +789,24 @@ public class InputValidator {
      * @throws ValidationException if the input is invalid for square root
      */
     public static void validateSquareRoot(double number) throws ValidationException {
-        validateSafeNumber(number);
-        
-        if (number < 0) {
-            throw new ValidationException(
-                "Square root is not defined for negative numbers in real domain: " + number,
-                String.valueOf(number), "NEGATIVE_SQUARE_ROOT"
-            );
+        ValidationRule rule = checkSquareRoot(number);
+        if (!rule.isValid()) {
+            throw exception(rule, number, 0, 0);
+        }
+    }
+    
+    /**
+     * Checks the argument of a square root without throwing.
+     * 
+     * @param number the number to check
+     * @return the violated rule, or {@link ValidationRule#VALID}
+     */
+    public static ValidationRule checkSquareRoot(double number) {
+        ValidationRule rule = checkSafeNumber(number);
+        if (!rule.isValid()) {
+            return rule;
         }
+        return number < 0 ? ValidationRule.NEGATIVE_SQUARE_ROOT : ValidationRule.VALID;
     }
     
     /**
@@ -487,47 +816,145 @@ public class InputValidator {
      * @throws ValidationException if the input is invalid for logarithm
      */
     public static void validateLogarithm(double number) throws ValidationException {
-        validateSafeNumber(number);
-        
-        if (number <= 0) {
-            throw new ValidationException(
-                "Logarithm is not defined for non-positive numbers: " + number,
-                String.valueOf(number), "NON_POSITIVE_LOGARITHM"
-            );
+        ValidationRule rule = checkLogarithm(number);
+        if (!rule.isValid()) {
+            throw exception(rule, number, 0, 0);
         }
     }
     
-    // Helper methods
+    /**
+     * Checks the argument of a logarithm without throwing.
+     * 
+     * @param number the number to check
+     * @return the violated rule, or {@link ValidationRule#VALID}
+     */
+    public static ValidationRule checkLogarithm(double number) {
+        ValidationRule rule = checkSafeNumber(number);
+        if (!rule.isValid()) {
+            return rule;
+        }
+        return number <= 0 ? ValidationRule.NON_POSITIVE_LOGARITHM : ValidationRule.VALID;
+    }
     
     /**
-     * Checks if an expression has balanced parentheses.
+     * Validates the argument of an inverse sine or cosine.
      * 
-     * @param expression the expression to check
-     * @return true if parentheses are balanced
-     */
-    private static boolean hasBalancedParentheses(String expression) {
-        int count = 0;
-        for (char c : expression.toCharArray()) {
-            if (c == '(') {
-                count++;
-            } else if (c == ')') {
-                count--;
-                if (count < 0) {
-                    return false;
-                }
-            }
+     * @param number the sine or cosine value
+     * @throws ValidationException if the value is outside [-1, 1]
+     */
+    public static void validateInverseTrigonometric(double number) throws ValidationException {
+        ValidationRule rule = checkInverseTrigonometric(number);
+        if (!rule.isValid()) {
+            throw exception(rule, number, 0, 0);
         }
-        return count == 0;
     }
     
     /**
-     * Checks if an expression has consecutive operators.
+     * Checks the argument of an inverse sine or cosine without throwing.
      * 
-     * @param expression the expression to check
-     * @return true if consecutive operators are found
+     * @param number the number to check
+     * @return the violated rule, or {@link ValidationRule#VALID}
+     */
+    public static ValidationRule checkInverseTrigonometric(double number) {
+        ValidationRule rule = checkSafeNumber(number);
+        if (!rule.isValid()) {
+            return rule;
+        }
+        return number < -1 || number > 1 ? ValidationRule.INVERSE_TRIGONOMETRIC_DOMAIN : ValidationRule.VALID;
+    }
+    
+    // Helper methods
+    
+    /**
+     * Creates the exception for a number that failed a single-number check.
+     */
+    private static ValidationException exception(ValidationRule rule, double number, double min, double max) {
+        String invalidInput = rule == ValidationRule.INVALID_RANGE
+            ? String.format("min=%.2f, max=%.2f", min, max) : String.valueOf(number);
+        return new ValidationException(describe(rule, number, min, max), invalidInput, rule.name());
+    }
+    
+    /**
+     * Creates the exception for an error at an offset in an expression.
+     */
+    private static ValidationException expressionError(String message, CharSequence expression, int offset,
+                                                       String rule) {
+        String source = expression.toString();
+        return new ValidationException(
+            message + " at position " + offset + " in expression: '" + source + "'",
+            source, rule, offset
+        );
+    }
+    
+    /**
+     * Finds the end of the number starting at an index: digits and points,
+     * then an optional exponent. NumberScanner checks what was found.
+     */
+    private static int numberEnd(CharSequence expression, int start, int end) {
+        int i = start;
+        while (i < end && (isDigit(expression.charAt(i)) || expression.charAt(i) == '.')) {
+            i++;
+        }
+        if (i < end && (expression.charAt(i) == 'e' || expression.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (expression.charAt(i) == '+' || expression.charAt(i) == '-')) {
+                i++;
+            }
+            while (i < end && isDigit(expression.charAt(i))) {
+                i++;
+            }
+        }
+        return i;
+    }
+    
+    /**
+     * Checks whether a range of an expression is one of the given names,
+     * without creating a string.
+     */
+    private static boolean isName(String[] names, CharSequence expression, int start, int end) {
+        for (String name : names) {
+            if (name.length() != end - start) {
+                continue;
+            }
+            int i = 0;
+            while (i < name.length() && name.charAt(i) == expression.charAt(start + i)) {
+                i++;
+            }
+            if (i == name.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    private static boolean isLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == 'π';
+    }
+    
+    /**
+     * Matches the characters that continue a name, as in the expression
+     * tokenizer, so that e.g. {@code sin2} is one unknown name.
+     */
+    private static boolean isNamePart(char c) {
+        return isLetter(c) || isDigit(c) || c == '_';
+    }
+    
+    /**
+     * Checks for the operators that may not follow each other directly.
+     */
+    private static boolean isArithmeticOperator(char c) {
+        return c == '+' || c == '-' || c == '*' || c == '/';
+    }
+    
+    /**
+     * Matches the whitespace class of regular expressions, which is
+     * narrower than what {@link String#trim()} removes.
      */
-    private static boolean hasConsecutiveOperators(String expression) {
-        Pattern consecutiveOps = Pattern.compile("[+\\-*/]{2,}");
-        return consecutiveOps.matcher(expression).find();
+    static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+package com.calculator.validation;
+
+import java.math.BigInteger;
+
+/**
+ * Single-pass validation and parsing of decimal numbers.
+ *
+ * Accepts exactly the grammar
+ * {@code [+-]?(digits[.digits?]|.digits)([eE][+-]?digits)?} and computes
+ * the nearest double while scanning, without a regular expression or an
+ * intermediate string. Up to 19 significant digits are collected into a
+ * long. Small exponents use exact double arithmetic (Clinger's fast path);
+ * the rest use the Eisel-Lemire algorithm, which multiplies by a 128-bit
+ * approximation of the power of ten and rounds correctly unless the
+ * product is too close to a halfway point. That case, longer significands,
+ * and results outside the normal range fall back to
+ * {@link Double#parseDouble(String)}, so the result is always the correctly
+ * rounded one.
+ */
+final class NumberScanner {
+
+    /** Returned for text that does not match the grammar; no valid text parses to NaN */
+    static final double INVALID = Double.NaN;
+
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+    private static final int MAX_EXPONENT_DIGITS_VALUE = 100_000;
+
+    private static final double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Range of the 128-bit power of ten table */
+    private static final int MIN_POWER = -348;
+    private static final int MAX_POWER = 347;
+
+    /** High and low halves of 10^q, normalized to 128 bits and rounded down, for q from MIN_POWER */
+    private static final long[] POWERS_HIGH = new long[MAX_POWER - MIN_POWER + 1];
+    private static final long[] POWERS_LOW = new long[MAX_POWER - MIN_POWER + 1];
+
+    static {
+        BigInteger five = BigInteger.valueOf(5);
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int q = MIN_POWER; q <= MAX_POWER; q++) {
+            // 10^q and 5^q have the same binary significand
+            BigInteger power = five.pow(Math.abs(q));
+            BigInteger significand;
+            if (q >= 0) {
+                int excess = power.bitLength() - 128;
+                significand = excess > 0 ? power.shiftRight(excess) : power.shiftLeft(-excess);
+            } else {
+                significand = BigInteger.ONE.shiftLeft(power.bitLength() + 127).divide(power);
+            }
+            POWERS_HIGH[q - MIN_POWER] = significand.shiftRight(64).longValue();
+            POWERS_LOW[q - MIN_POWER] = significand.and(mask).longValue();
+        }
+    }
+
+    private NumberScanner() {
+        // Utility class
+    }
+
+    /**
+     * Validates and parses a decimal number.
+     *
+     * @param text the text holding the number
+     * @param start the index of its first character
+     * @param end the index after its last character
+     * @param exponentRequired true to accept only scientific notation
+     * @return the nearest double, infinite if too large, or {@link #INVALID}
+     */
+    static double parseDouble(CharSequence text, int start, int end, boolean exponentRequired) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long significand = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean anyDigit = false;
+        for (; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            anyDigit = true;
+            if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                // Leading zeros are not significant
+                if (significand != 0 || digit != 0) {
+                    significand = significand * 10 + digit;
+                    significantDigits++;
+                }
+            } else {
+                exponent++;
+                truncated |= digit != 0;
+            }
+        }
+        if (i < end && text.charAt(i) == '.') {
+            for (i++; i < end; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                anyDigit = true;
+                if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                    if (significand != 0 || digit != 0) {
+                        significand = significand * 10 + digit;
+                        significantDigits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated |= digit != 0;
+                }
+            }
+        }
+        if (!anyDigit) {
+            return INVALID;
+        }
+
+        boolean hasExponent = i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E');
+        if (hasExponent) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+                negativeExponent = text.charAt(i) == '-';
+                i++;
+            }
+            int exponentStart = i;
+            int value = 0;
+            for (; i < end; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                // Anything this large overflows or underflows anyway
+                if (value < MAX_EXPONENT_DIGITS_VALUE) {
+                    value = value * 10 + digit;
+                }
+            }
+            if (i == exponentStart) {
+                return INVALID;
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (i != end || exponentRequired && !hasExponent) {
+            return INVALID;
+        }
+
+        if (significand == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        double value;
+        if (!truncated && significand >>> 53 == 0 && exponent >= -22 && exponent <= 22) {
+            // Both operands are exact, so the one rounding is correct
+            value = exponent < 0
+                ? significand / EXACT_POWERS_OF_TEN[-exponent]
+                : significand * EXACT_POWERS_OF_TEN[exponent];
+        } else {
+            value = truncated ? Double.NaN : eiselLemire(significand, exponent);
+            if (Double.isNaN(value)) {
+                // Rare enough to afford the string
+                return Double.parseDouble(text.subSequence(start, end).toString());
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Computes {@code significand * 10^exponent}, the significand read as
+     * unsigned, rounded to the nearest normal double, or NaN if that cannot
+     * be decided quickly.
+     */
+    static double eiselLemire(long significand, int exponent) {
+        if (exponent < MIN_POWER || exponent > MAX_POWER) {
+            return Double.NaN;
+        }
+        int index = exponent - MIN_POWER;
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long normalized = significand << leadingZeros;
+        // floor(exponent * log2(10)) via 217706 / 2^16
+        long binaryExponent = ((217706L * exponent) >> 16) + 64 + 1023 - leadingZeros;
+
+        long high = Math.unsignedMultiplyHigh(normalized, POWERS_HIGH[index]);
+        long low = normalized * POWERS_HIGH[index];
+        if ((high & 0x1FF) == 0x1FF && Long.compareUnsigned(low + normalized, normalized) < 0) {
+            // The truncated power may matter; include its low half
+            long lowHigh = Math.unsignedMultiplyHigh(normalized, POWERS_LOW[index]);
+            long lowLow = normalized * POWERS_LOW[index];
+            long mergedHigh = high;
+            long mergedLow = low + lowHigh;
+            if (Long.compareUnsigned(mergedLow, low) < 0) {
+                mergedHigh++;
+            }
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow + 1 == 0
+                    && Long.compareUnsigned(lowLow + normalized, normalized) < 0) {
+                return Double.NaN;
+            }
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        long upperBit = high >>> 63;
+        long mantissa = high >>> (upperBit + 9);
+        binaryExponent -= 1 ^ upperBit;
+        if (low == 0 && (high & 0x1FF) == 0 && (mantissa & 3) == 1) {
+            // Exactly halfway between two doubles as far as we can tell
+            return Double.NaN;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >>> 53 > 0) {
+            mantissa >>>= 1;
+            binaryExponent++;
+        }
+        if (binaryExponent <= 0 || binaryExponent >= 0x7FF) {
+            // Subnormal or infinite
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(binaryExponent << 52 | mantissa & 0x000F_FFFF_FFFF_FFFFL);
+    }
+}
@@ -0,0 +1,116 @@
+package com.calculator.validation;
+
+/**
+ * Reusable buffer holding sanitized input.
+ *
+ * {@link #sanitize(CharSequence)} makes one pass over the input, writing
+ * the text {@link InputValidator#sanitizeInput(String)} returns into the
+ * buffer. Reusing one instance for many inputs allocates only when an input
+ * is longer than any before it.
+ *
+ * Instances are not thread-safe.
+ */
+public final class SanitizedInput implements CharSequence {
+
+    private char[] chars;
+    private int length;
+
+    /**
+     * Creates an empty buffer.
+     */
+    public SanitizedInput() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty buffer with room for inputs of the given length.
+     *
+     * @param capacity the expected input length
+     */
+    public SanitizedInput(int capacity) {
+        chars = new char[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Replaces the contents with the sanitized form of the input: trimmed,
+     * with ×, ÷ and the Unicode minus replaced by *, / and -, each run of
+     * whitespace replaced by one space, and then every character other than
+     * digits, operators, parentheses, '.', 'e', 'E' and whitespace removed.
+     * A null input leaves the buffer empty.
+     *
+     * @param input the input to sanitize
+     * @return this buffer
+     */
+    public SanitizedInput sanitize(CharSequence input) {
+        length = 0;
+        if (input == null) {
+            return this;
+        }
+
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (chars.length < end - start) {
+            chars = new char[end - start];
+        }
+
+        boolean inWhitespace = false;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            switch (c) {
+                case '×' -> c = '*';
+                case '÷' -> c = '/';
+                case '−' -> c = '-';
+                default -> { }
+            }
+
+            if (InputValidator.isWhitespace(c)) {
+                // A run collapses to one space even if removed characters follow
+                if (!inWhitespace) {
+                    chars[length++] = ' ';
+                    inWhitespace = true;
+                }
+                continue;
+            }
+            inWhitespace = false;
+
+            if (isKept(c)) {
+                chars[length++] = c;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " outside sanitized input of length " + length);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    private static boolean isKept(char c) {
+        return c >= '0' && c <= '9' || c == '.' || c == 'e' || c == 'E'
+            || c == '+' || c == '-' || c == '*' || c == '/' || c == '(' || c == ')';
+    }
+}
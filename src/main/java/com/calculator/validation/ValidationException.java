@@ -22,6 +22,9 @@ public class ValidationException extends CalculatorException {
     /** The validation rule that was violated */
     private final String violatedRule;
     
+    /** The index in the input where the error was found, or -1 */
+    private final int errorOffset;
+    
     /**
      * Constructs a new ValidationException with the specified message.
      * 
@@ -31,6 +34,7 @@ public class ValidationException extends CalculatorException {
         super(message);
         this.invalidInput = null;
         this.violatedRule = null;
+        this.errorOffset = -1;
     }
     
     /**
@@ -43,6 +47,7 @@ public class ValidationException extends CalculatorException {
         super(message, cause);
         this.invalidInput = null;
         this.violatedRule = null;
+        this.errorOffset = -1;
     }
     
     /**
@@ -56,6 +61,23 @@ public class ValidationException extends CalculatorException {
         super(message);
         this.invalidInput = invalidInput;
         this.violatedRule = violatedRule;
+        this.errorOffset = -1;
+    }
+    
+    /**
+     * Constructs a new ValidationException for an error at a known position
+     * in the input.
+     * 
+     * @param message the detail message explaining the validation error
+     * @param invalidInput the input that caused the validation error
+     * @param violatedRule the validation rule that was violated
+     * @param errorOffset the index in the input where the error was found
+     */
+    public ValidationException(String message, String invalidInput, String violatedRule, int errorOffset) {
+        super(message);
+        this.invalidInput = invalidInput;
+        this.violatedRule = violatedRule;
+        this.errorOffset = errorOffset;
     }
     
     /**
@@ -70,6 +92,7 @@ public class ValidationException extends CalculatorException {
         super(message, cause);
         this.invalidInput = invalidInput;
         this.violatedRule = violatedRule;
+        this.errorOffset = -1;
     }
     
     /**
@@ -90,6 +113,15 @@ public class ValidationException extends CalculatorException {
         return violatedRule;
     }
     
+    /**
+     * Gets the index in the input where the error was found.
+     * 
+     * @return the error offset, or -1 if not specified
+     */
+    public int getErrorOffset() {
+        return errorOffset;
+    }
+    
     /**
      * Returns a detailed string representation of this exception.
      * 
@@ -107,6 +139,10 @@ public class ValidationException extends CalculatorException {
             sb.append(" [Violated Rule: ").append(violatedRule).append("]");
         }
         
+        if (errorOffset >= 0) {
+            sb.append(" [Offset: ").append(errorOffset).append("]");
+        }
+        
         return sb.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.calculator.validation;
+
+/**
+ * Outcome of the non-throwing checks in {@link InputValidator}.
+ *
+ * Each constant other than {@link #VALID} is a rule the checked value
+ * violates; its name is the code that the matching throwing method reports
+ * through {@link ValidationException#getViolatedRule()}.
+ */
+public enum ValidationRule {
+    VALID,
+    NULL_INPUT,
+    EMPTY_INPUT,
+    INVALID_NUMBER_FORMAT,
+    INFINITE_VALUE,
+    UNDERFLOW,
+    NAN_UNSAFE,
+    INFINITE_UNSAFE,
+    UNSAFE_LARGE_NUMBER,
+    UNSAFE_SMALL_NUMBER,
+    NAN_RANGE_CHECK,
+    INFINITE_RANGE_CHECK,
+    INVALID_RANGE,
+    OUT_OF_RANGE,
+    DIVISION_BY_ZERO,
+    DIVISION_OVERFLOW,
+    NEGATIVE_SQUARE_ROOT,
+    NON_POSITIVE_LOGARITHM,
+    INVERSE_TRIGONOMETRIC_DOMAIN,
+    NEGATIVE_FACTORIAL,
+    FACTORIAL_OVERFLOW;
+
+    /**
+     * Checks whether this outcome is a pass.
+     *
+     * @return true for {@link #VALID}
+     */
+    public boolean isValid() {
+        return this == VALID;
+    }
+}
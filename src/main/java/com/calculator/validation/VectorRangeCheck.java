@@ -0,0 +1,101 @@
+package com.calculator.validation;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vectorized forms of {@link InputValidator#findInvalidNumber(double[], double, double)}
+ * and the range checks of {@link BulkValidator}.
+ *
+ * Refers to the incubating {@code jdk.incubator.vector} module, so
+ * InputValidator loads it only when that module is present.
+ */
+final class VectorRangeCheck {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorRangeCheck() {
+        // Utility class
+    }
+
+    static boolean isAccelerated() {
+        return SPECIES.length() > 1;
+    }
+
+    /**
+     * Finds the first value that is not safe or not within [min, max].
+     */
+    static int findInvalidNumber(double[] values, double min, double max, double maxSafe) {
+        int bound = SPECIES.loopBound(values.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Double> valid = validLanes(DoubleVector.fromArray(SPECIES, values, i), min, max, maxSafe);
+            if (!valid.allTrue()) {
+                return i + valid.not().firstTrue();
+            }
+        }
+        for (; i < values.length; i++) {
+            if (!InputValidator.isValidNumber(values[i], min, max)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Sets the bit of every invalid value in a bitmap of 64-bit words.
+     * The lane count divides 64, so each vector's bits fall in one word.
+     */
+    static void markInvalidNumbers(double[] values, double min, double max, double maxSafe, long[] failures) {
+        int bound = SPECIES.loopBound(values.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            long lanes = validLanes(DoubleVector.fromArray(SPECIES, values, i), min, max, maxSafe).not().toLong();
+            failures[i >>> 6] |= lanes << i;
+        }
+        for (; i < values.length; i++) {
+            if (!InputValidator.isValidNumber(values[i], min, max)) {
+                failures[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+    
+    /**
+     * Sets the bit of every invalid value in a segment of native-order
+     * doubles, as {@link #markInvalidNumbers(double[], double, double, double, long[])} does.
+     */
+    static void markInvalidNumbers(MemorySegment values, double min, double max, double maxSafe, long[] failures) {
+        int count = (int) (values.byteSize() / Double.BYTES);
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector value = DoubleVector.fromMemorySegment(SPECIES, values, (long) i * Double.BYTES,
+                                                                ByteOrder.nativeOrder());
+            long lanes = validLanes(value, min, max, maxSafe).not().toLong();
+            failures[i >>> 6] |= lanes << i;
+        }
+        for (; i < count; i++) {
+            if (!InputValidator.isValidNumber(values.getAtIndex(ValueLayout.JAVA_DOUBLE_UNALIGNED, i), min, max)) {
+                failures[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+    
+    /**
+     * Finds the lanes that are safe and within [min, max]. Comparisons with
+     * NaN are false, so NaN fails the magnitude test.
+     */
+    private static VectorMask<Double> validLanes(DoubleVector value, double min, double max, double maxSafe) {
+        DoubleVector magnitude = value.abs();
+        return magnitude.compare(VectorOperators.LE, maxSafe)
+            .and(magnitude.compare(VectorOperators.GE, Double.MIN_NORMAL)
+                .or(value.compare(VectorOperators.EQ, 0.0)))
+            .and(value.compare(VectorOperators.GE, min))
+            .and(value.compare(VectorOperators.LE, max));
+    }
+}
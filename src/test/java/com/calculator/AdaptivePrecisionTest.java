@@ -0,0 +1,62 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.math.RoundingMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the AdaptivePrecision class.
+ */
+@DisplayName("Adaptive Precision Tests")
+class AdaptivePrecisionTest {
+
+    @Test
+    @DisplayName("Should keep double results that are accurate to the digits")
+    void testDoubleTier() {
+        AdaptivePrecision adaptive = new AdaptivePrecision(new DecimalEngine(15, RoundingMode.HALF_UP));
+        assertEquals(0.1 + 0.2, adaptive.add(0.1, 0.2), 0.0);
+        assertEquals(1.1 * 3.3, adaptive.multiply(1.1, 3.3), 0.0);
+        assertEquals(1.0 / 3, adaptive.divide(1, 3), 0.0);
+        assertEquals(12.5 * 8 / 100, adaptive.percentage(12.5, 8), 0.0);
+        assertEquals(0.0, adaptive.subtract(0.7, 0.7), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, adaptive.divide(1, 0), 0.0);
+        assertEquals(6, adaptive.doubleResults());
+        assertEquals(0, adaptive.longResults() + adaptive.decimalResults());
+    }
+
+    @Test
+    @DisplayName("Should escalate cancelling sums")
+    void testCancellation() {
+        AdaptivePrecision adaptive = new AdaptivePrecision(new DecimalEngine(15, RoundingMode.HALF_UP));
+        // The double difference is 0.0009999999892897904
+        assertEquals(0.001, adaptive.subtract(123456.789, 123456.788), 0.0);
+        assertEquals(1, adaptive.longResults());
+
+        // Seventeen decimals do not fit the long representation
+        assertEquals(1e-17, adaptive.add(0.1, -0.09999999999999999), 0.0);
+        assertEquals(1, adaptive.decimalResults());
+        assertEquals(0, adaptive.doubleResults());
+    }
+
+    @Test
+    @DisplayName("Should escalate every inexact product beyond double precision")
+    void testMoreDigitsThanDouble() {
+        AdaptivePrecision adaptive = new AdaptivePrecision(new DecimalEngine(17, RoundingMode.HALF_EVEN));
+        assertEquals(0.02, adaptive.multiply(0.1, 0.2), 0.0);
+        assertEquals(3.0, adaptive.divide(7.5, 2.5), 0.0);
+        assertEquals(2, adaptive.longResults());
+        assertEquals(1.0 / 3, adaptive.divide(1, 3), 0.0);
+        assertEquals(1, adaptive.decimalResults());
+        assertEquals(0.0, adaptive.multiply(0, 0.3), 0.0);
+        assertEquals(1, adaptive.doubleResults());
+    }
+
+    @Test
+    @DisplayName("Should escalate results that underflow")
+    void testUnderflow() {
+        AdaptivePrecision adaptive = new AdaptivePrecision(new DecimalEngine(15, RoundingMode.HALF_UP));
+        assertEquals(1e-310, adaptive.multiply(1e-155, 1e-155), 0.0);
+        assertEquals(1, adaptive.decimalResults());
+    }
+}
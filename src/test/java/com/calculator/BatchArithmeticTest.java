@@ -0,0 +1,75 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the BatchArithmetic and VectorArithmetic classes.
+ */
+@DisplayName("Batch Arithmetic Tests")
+class BatchArithmeticTest {
+
+    @Test
+    @DisplayName("Should match scalar arithmetic bit for bit at every length")
+    void testMatchesScalar() {
+        Random random = new Random(20);
+        for (int length = 0; length <= 67; length++) {
+            double[] a = new double[length];
+            double[] b = new double[length];
+            for (int i = 0; i < length; i++) {
+                a[i] = (random.nextDouble() - 0.5) * 1e6;
+                b[i] = (random.nextDouble() - 0.5) * 1e3;
+            }
+            double[] results = new double[length];
+            double total = BatchArithmetic.add(a, b, results);
+            double expectedTotal = 0;
+            for (int i = 0; i < length; i++) {
+                assertEquals(a[i] + b[i], results[i], 0.0);
+                expectedTotal += results[i];
+            }
+            assertEquals(expectedTotal, total, 1e-6);
+
+            BatchArithmetic.subtract(a, b, results);
+            for (int i = 0; i < length; i++) {
+                assertEquals(a[i] - b[i], results[i], 0.0);
+            }
+            BatchArithmetic.multiply(a, b, results);
+            for (int i = 0; i < length; i++) {
+                assertEquals(a[i] * b[i], results[i], 0.0);
+            }
+            BatchArithmetic.divide(a, b, results);
+            for (int i = 0; i < length; i++) {
+                assertEquals(a[i] / b[i], results[i], 0.0);
+            }
+            BatchArithmetic.percentage(a, b, results);
+            for (int i = 0; i < length; i++) {
+                assertEquals((a[i] * b[i]) / 100.0, results[i], 0.0);
+            }
+            BatchArithmetic.absolute(a, results);
+            for (int i = 0; i < length; i++) {
+                assertEquals(Math.abs(a[i]), results[i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should find zero divisors and overflowing quotients")
+    void testFindInvalidDivision() {
+        double[] dividends = new double[23];
+        double[] divisors = new double[23];
+        Arrays.fill(dividends, 1e15);
+        Arrays.fill(divisors, 3);
+        assertEquals(-1, BatchArithmetic.findInvalidDivision(dividends, divisors));
+        for (int position = 0; position < divisors.length; position++) {
+            double[] zero = divisors.clone();
+            zero[position] = -0.0;
+            assertEquals(position, BatchArithmetic.findInvalidDivision(dividends, zero));
+            double[] tiny = divisors.clone();
+            tiny[position] = 1e-300;
+            assertEquals(position, BatchArithmetic.findInvalidDivision(dividends, tiny));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the BigMath class.
+ */
+@DisplayName("Big Math Tests")
+class BigMathTest {
+
+    private static final MathContext DIGITS_100 = new MathContext(100, RoundingMode.HALF_EVEN);
+
+    private static final String LN2 = "0.6931471805599453094172321214581765680755001343602552541206800094933936219696947156058633269964186875420014810205706857336855202358";
+    private static final String LN10 = "2.302585092994045684017991454684364207601101488628772976033327900967572609677352480235997205089598298341967784042286248633409525465";
+    private static final String E = "2.718281828459045235360287471352662497757247093699959574966967627724076630353547594571382178525166427427466391932003059921817413597";
+    private static final String SQRT2 = "1.414213562373095048801688724209698078569671875376948073176679737990732478462107038850387534327641572735013846230912297024924836056";
+    private static final String CBRT2 = "1.259921049894873164767210607278228350570251464701507980081975112155299676513959483729396562436255094154310256035615665259399024041";
+
+    @Test
+    @DisplayName("Should compute the cached constants to the requested digits")
+    void testConstants() {
+        assertEquals(expected(LN2, 100), BigMath.ln2(100));
+        assertEquals(expected(LN10, 100), BigMath.ln10(100));
+        assertEquals(expected(LN2, 20), BigMath.ln2(20));
+        assertEquals(expected(LN10, 120), BigMath.ln10(120));
+    }
+
+    @Test
+    @DisplayName("Should compute roots with Newton's iteration")
+    void testRoots() {
+        assertEquals(expected(SQRT2, 100), BigMath.sqrt(BigDecimal.valueOf(2), DIGITS_100));
+        assertEquals(expected(CBRT2, 100), BigMath.root(BigDecimal.valueOf(2), 3, DIGITS_100));
+        assertEquals(expected(CBRT2, 100).negate(), BigMath.root(BigDecimal.valueOf(-2), 3, DIGITS_100));
+        assertEquals(0, new BigDecimal("3").compareTo(BigMath.root(new BigDecimal("243"), 5, DIGITS_100)));
+        assertEquals(expected("7.196856730011520199287864249634569392229852421017579176013363872826783592371189106121940395849126927014482E-8", 100),
+                     BigMath.root(new BigDecimal("1e-50"), 7, DIGITS_100));
+        assertThrows(ArithmeticException.class, () -> BigMath.root(BigDecimal.valueOf(-4), 2, DIGITS_100));
+    }
+
+    @Test
+    @DisplayName("Should compute exponentials and powers")
+    void testExpAndPow() {
+        assertEquals(expected(E, 100), BigMath.exp(BigDecimal.ONE, DIGITS_100));
+        assertEquals(expected("0.000003726653172078670992924851475950426180337481883969847014640452335981412727980088187161404864048338750871", 100),
+                     BigMath.exp(new BigDecimal("-12.5"), DIGITS_100));
+        assertEquals(expected("2.490034319325723582919778115240746209246315910692296319912845460518836592030929621424002428795563916167789", 100),
+                     BigMath.pow(new BigDecimal("1.5"), new BigDecimal("2.25"), DIGITS_100));
+        assertEquals(expected(SQRT2, 100), BigMath.pow(BigDecimal.valueOf(2), new BigDecimal("0.5"), DIGITS_100));
+        assertEquals(0, new BigDecimal("1267650600228229401496703205376").compareTo(
+                     BigMath.pow(BigDecimal.valueOf(2), 100, DIGITS_100)));
+        assertEquals(0, new BigDecimal("0.0009765625").compareTo(BigMath.pow(BigDecimal.valueOf(2), -10, DIGITS_100)));
+        assertThrows(ArithmeticException.class,
+                     () -> BigMath.pow(BigDecimal.valueOf(-2), new BigDecimal("0.5"), DIGITS_100));
+    }
+
+    @Test
+    @DisplayName("Should compute logarithms with argument reduction")
+    void testLogarithms() {
+        assertEquals(expected("11.72364648718588098113995898391011158691037737513408304708510624218949963822429433694812480492150780045257", 100),
+                     BigMath.ln(new BigDecimal("123456.789"), DIGITS_100));
+        assertEquals(expected("-0.0001000050003333583353335000142869643968353977345710755140898657627163447566114026170224959863374665287541788906722824717567", 100),
+                     BigMath.ln(new BigDecimal("0.9999"), DIGITS_100));
+        assertEquals(expected("-6.90775527898213705205397436405309262280330446588631892809998370290271782903205744070799161526879489502590", 100),
+                     BigMath.ln(new BigDecimal("0.001"), DIGITS_100));
+        assertEquals(0, BigDecimal.valueOf(3).compareTo(BigMath.log10(new BigDecimal("1000"), DIGITS_100)));
+        assertEquals(0, BigDecimal.ONE.compareTo(BigMath.ln(BigMath.exp(BigDecimal.ONE, DIGITS_100), new MathContext(90))));
+        assertThrows(ArithmeticException.class, () -> BigMath.ln(BigDecimal.ZERO, DIGITS_100));
+    }
+
+    @Test
+    @DisplayName("Should stay accurate at hundreds of digits")
+    void testHighPrecision() {
+        MathContext digits300 = new MathContext(300, RoundingMode.HALF_EVEN);
+        BigDecimal ln = BigMath.ln(new BigDecimal("7.25"), digits300);
+        BigDecimal roundTrip = BigMath.exp(ln, digits300);
+        assertEquals(0, new BigDecimal("7.25").compareTo(roundTrip.round(new MathContext(295))));
+
+        BigDecimal root = BigMath.root(new BigDecimal("10"), 3, digits300);
+        assertEquals(0, BigDecimal.TEN.compareTo(root.pow(3).round(new MathContext(295))));
+    }
+
+    private static BigDecimal expected(String digits, int precision) {
+        return new BigDecimal(digits).round(new MathContext(precision, RoundingMode.HALF_EVEN));
+    }
+}
@@ -0,0 +1,93 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the CalculationHistory ring buffer.
+ */
+@DisplayName("Calculation History Tests")
+class CalculationHistoryTest {
+
+    private CalculationHistory history;
+    private CalculatorConfig.Snapshot settings;
+
+    @BeforeEach
+    void setUp() {
+        history = new CalculationHistory(5);
+        settings = CalculatorConfig.getInstance().getSnapshot();
+    }
+
+    @Test
+    @DisplayName("Should render records oldest first before the buffer is full")
+    void testRecordBelowCapacity() {
+        assertNull(history.renderLast(settings));
+        assertTrue(history.render(settings).isEmpty());
+
+        history.record(Operation.ADD, 2, 3, 5);
+        history.record(Operation.SQUARE_ROOT, 16, 0, 4);
+        history.record(Operation.DIVIDE, 1, 4, 0.25);
+
+        assertEquals(3, history.size());
+        assertEquals(List.of("2.0 + 3.0 = 5", "√16.0 = 4", "1.0 / 4.0 = 0.25"), history.render(settings));
+        assertEquals("1.0 / 4.0 = 0.25", history.renderLast(settings));
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest records and keep order across wraps")
+    void testEvictionAndWrap() {
+        for (int i = 1; i <= 23; i++) {
+            history.record(Operation.ADD, i, 1, i + 1);
+
+            int expectedSize = Math.min(i, 5);
+            List<String> expected = new ArrayList<>();
+            for (int j = i - expectedSize + 1; j <= i; j++) {
+                expected.add(j + ".0 + 1.0 = " + (j + 1));
+            }
+            assertEquals(expectedSize, history.size());
+            assertEquals(expected, history.render(settings), "after " + i + " records");
+            assertEquals(expected.get(expected.size() - 1), history.renderLast(settings));
+        }
+        assertEquals(5, history.capacity());
+    }
+
+    @Test
+    @DisplayName("Should clear and resize a wrapped buffer")
+    void testClearAndResize() {
+        for (int i = 1; i <= 7; i++) {
+            history.record(Operation.MULTIPLY, i, 2, i * 2);
+        }
+        history.resize(8);
+        assertEquals(List.of("3.0 * 2.0 = 6", "4.0 * 2.0 = 8", "5.0 * 2.0 = 10", "6.0 * 2.0 = 12",
+                             "7.0 * 2.0 = 14"), history.render(settings));
+        history.record(Operation.MULTIPLY, 8, 2, 16);
+        assertEquals(6, history.size());
+
+        history.resize(2);
+        assertEquals(List.of("7.0 * 2.0 = 14", "8.0 * 2.0 = 16"), history.render(settings));
+
+        history.clear();
+        assertEquals(0, history.size());
+        assertNull(history.renderLast(settings));
+        assertTrue(history.render(settings).isEmpty());
+
+        history.record(Operation.SUBTRACT, 5, 3, 2);
+        history.record(Operation.SUBTRACT, 6, 3, 3);
+        history.record(Operation.SUBTRACT, 7, 3, 4);
+        assertEquals(List.of("6.0 - 3.0 = 3", "7.0 - 3.0 = 4"), history.render(settings));
+    }
+
+    @Test
+    @DisplayName("Should reject a capacity below one")
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new CalculationHistory(0));
+        assertThrows(IllegalArgumentException.class, () -> history.resize(-1));
+    }
+}
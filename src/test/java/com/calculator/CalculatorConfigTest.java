@@ -30,6 +30,9 @@ class CalculatorConfigTest {
         } catch (IOException e) {
             // Ignore cleanup errors
         }
+        
+        // Restore defaults so the singleton does not leak settings into other tests
+        config.reloadConfiguration();
     }
     
     @Test
@@ -48,7 +51,12 @@ class CalculatorConfigTest {
         assertEquals(4, config.getPrecision());
         assertEquals(15, config.getMaxDigits());
         assertFalse(config.isHighPrecisionEnabled());
+        assertFalse(config.isAdaptivePrecisionEnabled());
         assertEquals(RoundingMode.HALF_UP, config.getRoundingMode());
+        assertEquals(AngleUnit.RADIANS, config.getAngleUnit());
+        assertFalse(config.isFastTrigonometryEnabled());
+        assertFalse(config.isFastMathEnabled());
+        assertEquals(1E-12, config.getFastMathMaxError());
         
         assertFalse(config.isMemoryPersistent());
         assertEquals(1, config.getMaxMemorySlots());
@@ -56,7 +64,7 @@ class CalculatorConfigTest {
         
         assertEquals(100, config.getMaxHistoryEntries());
         assertTrue(config.isAutoSaveEnabled());
-        assertEquals(".calculator/history.txt", config.getHistoryFilePath());
+        assertEquals(".calculator/history.journal", config.getHistoryFilePath());
         assertFalse(config.isHistoryClearOnStartup());
         
         assertEquals("default", config.getTheme());
@@ -72,6 +80,7 @@ class CalculatorConfigTest {
         assertFalse(config.isStrictModeEnabled());
         assertEquals(1E15, config.getMaxNumberValue(), 0.001);
         assertEquals(-1E15, config.getMinNumberValue(), 0.001);
+        assertTrue(config.isExceptionStackTracesEnabled());
     }
     
     @Test
@@ -97,6 +106,25 @@ class CalculatorConfigTest {
         assertFalse(config.isValidationEnabled());
     }
     
+    @Test
+    @DisplayName("Should create exceptions without stack traces when configured")
+    void testStacklessExceptions() throws IOException {
+        assertTrue(new InvalidInputException("traced").getStackTrace().length > 0);
+        
+        try (FileWriter writer = new FileWriter(TEST_CONFIG_FILE)) {
+            writer.write("validation.exception.stack.traces=false\n");
+        }
+        config.reloadConfiguration();
+        
+        assertFalse(config.isExceptionStackTracesEnabled());
+        assertEquals(0, new InvalidInputException("untraced").getStackTrace().length);
+        Calculator calculator = new Calculator();
+        InvalidInputException exception = assertThrows(InvalidInputException.class,
+            () -> calculator.add(Double.NaN, 1));
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals("First parameter: Number is NaN (Not a Number)", exception.getMessage());
+    }
+    
     @Test
     @DisplayName("Should validate integer property ranges")
     void testIntegerPropertyValidation() throws IOException {
@@ -164,6 +192,28 @@ class CalculatorConfigTest {
         assertNotEquals(initialPrecision, config.getPrecision());
     }
     
+    @Test
+    @DisplayName("Should publish a new snapshot on reload")
+    void testSnapshotReload() throws IOException {
+        CalculatorConfig.Snapshot before = config.getSnapshot();
+        assertSame(before, config.getSnapshot(), "Snapshot should be reused between reloads");
+        
+        try (FileWriter writer = new FileWriter(TEST_CONFIG_FILE)) {
+            writer.write("calculation.precision=7\n");
+            writer.write("validation.strict.mode=true\n");
+            writer.write("calculation.rounding.mode=HALF_EVEN\n");
+        }
+        
+        config.reloadConfiguration();
+        CalculatorConfig.Snapshot after = config.getSnapshot();
+        
+        assertNotSame(before, after);
+        assertEquals(7, after.precision());
+        assertTrue(after.strictModeEnabled());
+        assertEquals(RoundingMode.HALF_EVEN, after.roundingMode());
+        assertEquals(after.precision(), config.getPrecision());
+    }
+    
     @Test
     @DisplayName("Should return immutable properties copy")
     void testPropertiesCopy() {
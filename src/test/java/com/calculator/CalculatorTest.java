@@ -4,8 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -175,6 +177,90 @@ class CalculatorTest {
         assertThrows(InvalidInputException.class, () -> calculator.factorial(25));
     }
     
+    @Test
+    void testFactorialExact() throws CalculatorException {
+        assertEquals(new BigInteger("15511210043330985984000000"), calculator.factorialExact(25));
+        assertEquals(2432902008176640000L, calculator.factorialExact(20).longValueExact());
+        assertThrows(InvalidInputException.class, () -> calculator.factorialExact(-1));
+        assertThrows(InvalidInputException.class, () -> calculator.factorialExact(1_000_001));
+    }
+    
+    @Test
+    @DisplayName("Should compute integer arithmetic exactly beyond 2^53")
+    void testExactArithmetic() throws CalculatorException {
+        assertEquals(9007199254740993L, calculator.addExact(9007199254740992L, 1));
+        assertEquals(-5L, calculator.subtractExact(10.0, 15));
+        assertEquals(new BigInteger("18446744073709551614"), calculator.addExact(Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals(new BigInteger("-9223372036854775809"), calculator.subtractExact(Long.MIN_VALUE, 1));
+        assertEquals(new BigInteger("18446744073709551616"), calculator.multiplyExact(4294967296L, 4294967296L));
+        assertEquals(999999999999999L * 9L, calculator.multiplyExact(999999999999999L, 9));
+        assertEquals(new BigInteger("999999999999998000000000000001"), calculator.multiplyExact(999999999999999L, 999999999999999L));
+        assertEquals(Long.MIN_VALUE, calculator.powerExact(-2, 63));
+        assertEquals(new BigInteger("9223372036854775808"), calculator.powerExact(2, 63));
+        assertEquals(new BigInteger("515377520732011331036461129765621272702107522001"), calculator.powerExact(3, 100));
+        assertEquals(1L, calculator.powerExact(0, 0));
+        // BigInteger results can be fed back in and shrink to Long when they fit
+        Number big = calculator.powerExact(10, 30);
+        assertEquals(1L, calculator.subtractExact(calculator.addExact(big, 1), big));
+        
+        assertThrows(InvalidInputException.class, () -> calculator.addExact(1.5, 1));
+        assertThrows(InvalidInputException.class, () -> calculator.powerExact(2, -1));
+        assertThrows(InvalidInputException.class, () -> calculator.powerExact(3, Integer.MAX_VALUE));
+    }
+    
+    @Test
+    @DisplayName("Should provide fixed-point arithmetic at the configured precision")
+    void testFixedPoint() {
+        FixedPoint fixed = calculator.fixedPoint();
+        CalculatorConfig config = calculator.getConfig();
+        assertEquals(config.getPrecision(), fixed.scale());
+        assertEquals(config.getRoundingMode(), fixed.roundingMode());
+        assertSame(fixed, calculator.fixedPoint());
+        long total = fixed.add(fixed.valueOf(0.1), fixed.valueOf(0.2));
+        assertEquals(calculator.formatResult(0.3), fixed.format(total));
+    }
+    
+    @Test
+    @DisplayName("Should compute chained divisions exactly with rationals")
+    void testRationalArithmetic() throws CalculatorException {
+        Rational third = calculator.divide(Rational.ONE, Rational.of(3));
+        Rational sum = calculator.add(calculator.add(third, third), third);
+        assertEquals(Rational.ONE, sum);
+        assertEquals(Rational.of(1, 6), calculator.subtract(Rational.of(1, 2), third));
+        assertEquals(Rational.of(3), calculator.reciprocal(third));
+        assertEquals(Rational.of(1, 30), calculator.percentage(third, Rational.of(10)));
+        assertEquals(Rational.of(1, 27), calculator.power(third, 3));
+        assertEquals(Rational.of(9), calculator.multiply(third, Rational.of(27)));
+        assertThrows(DivisionByZeroException.class, () -> calculator.divide(Rational.ONE, Rational.ZERO));
+        assertThrows(DivisionByZeroException.class, () -> calculator.power(Rational.ZERO, -2));
+        assertThrows(InvalidInputException.class, () -> calculator.add(Rational.ONE, (Rational) null));
+    }
+    
+    @Test
+    @DisplayName("Should compute trigonometric functions in radians")
+    void testTrigonometry() throws CalculatorException {
+        assertEquals(1.0, calculator.sin(Calculator.PI / 2), DELTA);
+        assertEquals(-1.0, calculator.cos(Calculator.PI), DELTA);
+        assertEquals(1.0, calculator.tan(Calculator.PI / 4), DELTA);
+        assertEquals(Calculator.PI / 6, calculator.asin(0.5), DELTA);
+        assertEquals(Calculator.PI, calculator.acos(-1), DELTA);
+        assertEquals(Calculator.PI / 4, calculator.atan(1), DELTA);
+        assertThrows(InvalidInputException.class, () -> calculator.asin(1.5));
+        assertThrows(InvalidInputException.class, () -> calculator.acos(-2));
+        assertThrows(InvalidInputException.class, () -> calculator.sin(Double.NaN));
+    }
+    
+    @Test
+    @DisplayName("Should provide fast math for the configured error budget")
+    void testFastMath() {
+        FastMath fast = calculator.fastMath();
+        assertSame(fast, calculator.fastMath());
+        assertEquals(1E-12, fast.maxError());
+        assertTrue(fast.isApproximate());
+        assertEquals(3.0, fast.cbrt(27), 3e-12);
+        assertEquals(Math.log(10), fast.log(10), 1e-12 * Math.log(10));
+    }
+    
     // Enhanced Memory Operations Tests
     
     @Test
@@ -244,6 +330,41 @@ class CalculatorTest {
         assertThrows(InvalidInputException.class, () -> calculator.memorySubtract(Double.NaN));
     }
     
+    @Test
+    @DisplayName("Memory slots are validated against the configured count")
+    void memorySlotsAreValidated() throws CalculatorException {
+        int slots = calculator.getMemorySlots();
+        calculator.memoryStore(slots - 1, 7.0);
+        assertEquals(7.0, calculator.memoryRecall(slots - 1), DELTA);
+        
+        assertThrows(InvalidInputException.class, () -> calculator.memoryStore(slots, 1.0));
+        assertThrows(InvalidInputException.class, () -> calculator.memoryRecall(-1));
+        assertThrows(InvalidInputException.class, () -> calculator.memoryAdd(slots, 1.0));
+    }
+    
+    @Test
+    @DisplayName("Memory accumulation does not lose concurrent updates")
+    void memoryAccumulatesAcrossThreads() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 10_000; i++) {
+                        calculator.memoryAdd(2.0);
+                        calculator.memorySubtract(1.0);
+                    }
+                } catch (InvalidInputException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000.0, calculator.memoryRecall(), 0.0);
+    }
+    
     // History Tests
     
     @Test
@@ -259,6 +380,55 @@ class CalculatorTest {
         assertEquals(history.get(1), calculator.getLastCalculation());
     }
     
+    @Test
+    @DisplayName("Should compute batches element-wise with one history entry")
+    void testBatchOperations() throws CalculatorException {
+        double[] a = new double[19];
+        double[] b = new double[19];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i * 1.5 - 7;
+            b[i] = i + 0.25;
+        }
+        double[] results = new double[19];
+        
+        calculator.add(a, b, results);
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(a[i] + b[i], results[i], 0.0);
+        }
+        calculator.divide(a, b, results);
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(a[i] / b[i], results[i], 0.0);
+        }
+        calculator.percentage(a, b, results);
+        assertEquals(a[7] * b[7] / 100.0, results[7], 0.0);
+        calculator.absolute(a, results);
+        assertEquals(7.0, results[0], 0.0);
+        
+        var history = calculator.getHistory();
+        assertEquals(4, history.size());
+        assertTrue(history.get(0).startsWith("Batch add of 19 values, Total: "));
+        assertEquals("Batch absolute of 19 values, Total: 163.5", history.get(3));
+    }
+    
+    @Test
+    @DisplayName("Should reject invalid batches naming the element")
+    void testBatchValidation() {
+        double[] a = {1, 2, 3, 4, 5};
+        double[] b = {1, 2, 0, 4, 5};
+        double[] results = new double[5];
+        
+        DivisionByZeroException division = assertThrows(DivisionByZeroException.class,
+            () -> calculator.divide(a, b, results));
+        assertTrue(division.getMessage().startsWith("Element 2: Division by zero"));
+        b[2] = Double.NaN;
+        InvalidInputException invalid = assertThrows(InvalidInputException.class,
+            () -> calculator.multiply(a, b, results));
+        assertTrue(invalid.getMessage().startsWith("Multiplier[2]: "));
+        assertThrows(InvalidInputException.class, () -> calculator.add(a, new double[4], results));
+        assertThrows(InvalidInputException.class, () -> calculator.subtract(a, null, results));
+        assertTrue(calculator.getHistory().isEmpty());
+    }
+    
     @Test
     void testClearHistory() throws CalculatorException {
         calculator.add(1.0, 2.0);
@@ -0,0 +1,88 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ConcurrentCalculationHistory class.
+ */
+@DisplayName("Concurrent Calculation History Tests")
+class ConcurrentCalculationHistoryTest {
+
+    private ConcurrentCalculationHistory history;
+    private CalculatorConfig.Snapshot settings;
+
+    @BeforeEach
+    void setUp() {
+        history = new ConcurrentCalculationHistory(10);
+        settings = CalculatorConfig.getInstance().getSnapshot();
+    }
+
+    @Test
+    @DisplayName("Should keep the most recent records in order")
+    void testRecordAndRender() {
+        assertNull(history.renderLast(settings));
+        for (int i = 1; i <= 15; i++) {
+            history.record(Operation.ADD, i, 1, i + 1);
+        }
+
+        List<String> rendered = history.render(settings);
+        assertEquals(10, rendered.size());
+        assertEquals(10, history.size());
+        assertEquals("6.0 + 1.0 = 7", rendered.get(0));
+        assertEquals("15.0 + 1.0 = 16", history.renderLast(settings));
+    }
+
+    @Test
+    @DisplayName("Should clear and resize like the single-threaded history")
+    void testClearAndResize() {
+        for (int i = 1; i <= 8; i++) {
+            history.record(Operation.MULTIPLY, i, 2, i * 2);
+        }
+        history.resize(20);
+        assertEquals(20, history.capacity());
+        assertEquals(8, history.render(settings).size());
+
+        history.resize(3);
+        assertEquals(List.of("6.0 * 2.0 = 12", "7.0 * 2.0 = 14", "8.0 * 2.0 = 16"), history.render(settings));
+
+        history.clear();
+        assertEquals(0, history.size());
+        assertTrue(history.render(settings).isEmpty());
+        history.record(Operation.ADD, 1, 1, 2);
+        assertEquals(List.of("1.0 + 1.0 = 2"), history.render(settings));
+    }
+
+    @Test
+    @DisplayName("Should only expose complete records while threads append")
+    void testConcurrentAppends() throws InterruptedException {
+        history.resize(1000);
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            int writer = t;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    history.record(Operation.ADD, writer, i, writer + i);
+                }
+            });
+            writers[t].start();
+        }
+
+        for (int check = 0; check < 100; check++) {
+            for (String record : history.render(settings)) {
+                String[] parts = record.split(" [+=] ");
+                assertEquals(Double.parseDouble(parts[0]) + Double.parseDouble(parts[1]),
+                             Double.parseDouble(parts[2]), 0.0, record);
+            }
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(1000, history.render(settings).size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.calculator;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures throughput of shared memory and history updates from 1 to N threads.
+ *
+ * Not a unit test; run manually with
+ * {@code java -cp target/classes:target/test-classes com.calculator.ContentionBenchmark [maxThreads]}
+ * from a directory whose calculator.properties sets
+ * {@code performance.multithreading.enabled=true}.
+ */
+public final class ContentionBenchmark {
+
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURE_MILLIS = 2_000;
+
+    private ContentionBenchmark() {
+    }
+
+    /**
+     * A unit of work repeated by every thread.
+     */
+    @FunctionalInterface
+    private interface Workload {
+        void run(int thread, long iteration) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = args.length > 0
+            ? Integer.parseInt(args[0])
+            : Runtime.getRuntime().availableProcessors();
+
+        Calculator calculator = new Calculator();
+        if (!calculator.getConfig().isMultithreadingEnabled()) {
+            System.err.println("Set performance.multithreading.enabled=true in ./calculator.properties");
+            return;
+        }
+        ConcurrentCalculationHistory history = new ConcurrentCalculationHistory(1000);
+
+        System.out.printf("%-8s %18s %18s%n", "threads", "memoryAdd ops/ms", "history ops/ms");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double memory = measure(threads, (thread, i) -> calculator.memoryAdd(1.0));
+            double appends = measure(threads, (thread, i) -> history.record(Operation.ADD, thread, i, thread + i));
+            System.out.printf("%-8d %18.0f %18.0f%n", threads, memory, appends);
+        }
+    }
+
+    private static double measure(int threads, Workload workload) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] window = new long[2];
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    long count = 0;
+                    while (System.nanoTime() < window[0]) {
+                        workload.run(thread, count++);
+                    }
+                    count = 0;
+                    while (System.nanoTime() < window[1]) {
+                        workload.run(thread, count++);
+                    }
+                    operations.add(count);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+            workers[t].start();
+        }
+
+        long now = System.nanoTime();
+        window[0] = now + TimeUnit.MILLISECONDS.toNanos(WARMUP_MILLIS);
+        window[1] = window[0] + TimeUnit.MILLISECONDS.toNanos(MEASURE_MILLIS);
+        start.countDown();
+        done.await();
+        return (double) operations.sum() / MEASURE_MILLIS;
+    }
+}
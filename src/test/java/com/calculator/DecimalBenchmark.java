@@ -0,0 +1,119 @@
+package com.calculator;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.function.Supplier;
+
+/**
+ * Compares double arithmetic, {@link DecimalEngine} and plain BigDecimal
+ * arithmetic that builds its operands and context on every call, then
+ * times the {@link BigMath} functions at increasing precision.
+ *
+ * Not a unit test; run manually with
+ * {@code java -cp target/classes:target/test-classes com.calculator.DecimalBenchmark}.
+ */
+public final class DecimalBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int OPERATIONS = 1_000_000;
+    private static final int OPERANDS = 1024;
+    private static final int[] PRECISIONS = {20, 100, 500};
+
+    private DecimalBenchmark() {
+    }
+
+    /**
+     * One way of computing {@code a + b}, {@code a * b} and {@code a / b}.
+     */
+    private interface Arithmetic {
+        double apply(double a, double b);
+    }
+
+    public static void main(String[] args) {
+        double[] operands = new double[OPERANDS];
+        for (int i = 0; i < OPERANDS; i++) {
+            // Values with up to two decimal places, as typed into a calculator
+            operands[i] = ((i * 7919) % 100_000 + 1) / 100.0;
+        }
+
+        DecimalEngine engine = new DecimalEngine(15, RoundingMode.HALF_UP);
+        Arithmetic primitive = (a, b) -> a + b + a * b + a / b;
+        Arithmetic decimal = (a, b) -> engine.add(a, b) + engine.multiply(a, b) + engine.divide(a, b);
+        Arithmetic naive = (a, b) -> {
+            MathContext context = new MathContext(15, RoundingMode.HALF_UP);
+            BigDecimal x = new BigDecimal(Double.toString(a));
+            BigDecimal y = new BigDecimal(Double.toString(b));
+            return x.add(y, context).doubleValue()
+                + x.multiply(y, context).doubleValue()
+                + x.divide(y, context).doubleValue();
+        };
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(primitive, operands);
+            run(decimal, operands);
+            run(naive, operands);
+        }
+
+        double primitiveTime = 0;
+        double decimalTime = 0;
+        double naiveTime = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            primitiveTime += run(primitive, operands);
+            decimalTime += run(decimal, operands);
+            naiveTime += run(naive, operands);
+        }
+
+        System.out.printf("double:       %8.1f ns/op%n", primitiveTime / MEASURED_ROUNDS);
+        System.out.printf("DecimalEngine:%8.1f ns/op%n", decimalTime / MEASURED_ROUNDS);
+        System.out.printf("BigDecimal:   %8.1f ns/op%n", naiveTime / MEASURED_ROUNDS);
+
+        BigDecimal x = new BigDecimal("7.25");
+        BigDecimal y = new BigDecimal("2.5");
+        for (int digits : PRECISIONS) {
+            MathContext context = new MathContext(digits, RoundingMode.HALF_EVEN);
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                time(() -> BigMath.pow(x, y, context));
+            }
+            System.out.printf("%4d digits: sqrt %8.1f us, cbrt %8.1f us, ln %8.1f us, exp %8.1f us, pow %8.1f us%n",
+                              digits,
+                              time(() -> BigMath.sqrt(x, context)),
+                              time(() -> BigMath.root(x, 3, context)),
+                              time(() -> BigMath.ln(x, context)),
+                              time(() -> BigMath.exp(y, context)),
+                              time(() -> BigMath.pow(x, y, context)));
+        }
+    }
+
+    /**
+     * Runs a function repeatedly and returns the mean time per call in microseconds.
+     */
+    private static double time(Supplier<BigDecimal> function) {
+        int calls = 50;
+        BigDecimal sink = BigDecimal.ZERO;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            sink = function.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink.signum() < 0) {
+            System.out.println(sink);
+        }
+        return elapsed / 1000.0 / calls;
+    }
+
+    private static double run(Arithmetic arithmetic, double[] operands) {
+        double sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink += arithmetic.apply(operands[i & (OPERANDS - 1)], operands[(i >> 10) & (OPERANDS - 1)]);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == Double.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        // Three operations per call
+        return (double) elapsed / OPERATIONS / 3;
+    }
+}
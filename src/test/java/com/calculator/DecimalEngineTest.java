@@ -0,0 +1,109 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the DecimalEngine class.
+ */
+@DisplayName("Decimal Engine Tests")
+class DecimalEngineTest {
+
+    private DecimalEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new DecimalEngine(15, RoundingMode.HALF_UP);
+    }
+
+    @Test
+    @DisplayName("Should compute with the decimals that were typed")
+    void testDecimalArithmetic() {
+        assertEquals(0.3, engine.add(0.1, 0.2), 0.0);
+        assertEquals(0.1, engine.subtract(0.3, 0.2), 0.0);
+        assertEquals(1.21, engine.multiply(1.1, 1.1), 0.0);
+        assertEquals(0.7, engine.divide(2.1, 3), 0.0);
+        assertEquals(15.0, engine.percentage(200, 7.5), 0.0);
+        assertEquals(0.035, engine.percentage(0.7, 5), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should round results to the configured significant digits")
+    void testSignificantDigits() {
+        assertEquals(0.333333333333333, engine.divide(1, 3), 0.0);
+        assertEquals(0.666666666666667, engine.divide(2, 3), 0.0);
+        assertEquals(1.0, new DecimalEngine(3, RoundingMode.HALF_UP).add(0.9995, 0.0001), 0.0);
+        assertEquals(123000.0, new DecimalEngine(3, RoundingMode.DOWN).multiply(123.456, 1000), 0.0);
+        assertThrows(ArithmeticException.class,
+                     () -> new DecimalEngine(3, RoundingMode.UNNECESSARY).add(1.234, 0));
+    }
+
+    @Test
+    @DisplayName("Should round with the configured rounding mode")
+    void testRound() {
+        assertEquals(2.68, engine.round(2.675, 2), 0.0);
+        assertEquals(-2.68, engine.round(-2.675, 2), 0.0);
+        assertEquals(2.66, new DecimalEngine(15, RoundingMode.HALF_EVEN).round(2.665, 2), 0.0);
+        assertEquals(2.68, new DecimalEngine(15, RoundingMode.HALF_EVEN).round(2.675, 2), 0.0);
+        assertEquals(-2.7, new DecimalEngine(15, RoundingMode.FLOOR).round(-2.61, 1), 0.0);
+        assertEquals(1.5, engine.round(1.5, 3), 0.0);
+        assertEquals(1.0E20, engine.round(1.0E20, 2), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should compute roots, powers and logarithms to the configured digits")
+    void testFunctions() {
+        assertEquals(1.41421356237310, engine.squareRoot(2), 0.0);
+        assertEquals(1.41421356237310, engine.power(2, 0.5), 0.0);
+        assertEquals(1.25992104989487, engine.cubeRoot(2), 0.0);
+        assertEquals(3.0, engine.nthRoot(243, 5), 0.0);
+        assertEquals(1024.0, engine.power(2, 10), 0.0);
+        assertEquals(3.0, engine.log10(1000), 0.0);
+        assertEquals(0.693147180559945, engine.ln(2), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, engine.power(10, 400), 0.0);
+        assertEquals(Double.NaN, engine.nthRoot(-8, 3), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, engine.ln(0), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should match BigDecimal arithmetic on the fast and slow paths")
+    void testAgainstBigDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            double a = operand(random);
+            double b = operand(random);
+            BigDecimal x = new BigDecimal(Double.toString(a));
+            BigDecimal y = new BigDecimal(Double.toString(b));
+
+            assertEquals(x.add(y, engine.context()).doubleValue(), engine.add(a, b), 0.0, a + " + " + b);
+            assertEquals(x.multiply(y, engine.context()).doubleValue(), engine.multiply(a, b), 0.0, a + " * " + b);
+            if (b != 0) {
+                assertEquals(x.divide(y, engine.context()).doubleValue(), engine.divide(a, b), 0.0, a + " / " + b);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse engines only for the same settings")
+    void testMatches() {
+        assertTrue(engine.matches(15, RoundingMode.HALF_UP));
+        assertEquals(false, engine.matches(16, RoundingMode.HALF_UP));
+        assertEquals(false, engine.matches(15, RoundingMode.HALF_EVEN));
+    }
+
+    private static double operand(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(2_000) - 1_000;
+            case 1 -> (random.nextInt(2_000_000) - 1_000_000) / 1000.0;
+            case 2 -> random.nextDouble() * 1e6;
+            default -> (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+        };
+    }
+}
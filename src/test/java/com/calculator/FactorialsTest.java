@@ -0,0 +1,40 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.math.BigInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the Factorials class.
+ */
+@DisplayName("Factorials Tests")
+class FactorialsTest {
+
+    @Test
+    @DisplayName("Should match the naive product for small arguments")
+    void testAgainstNaiveProduct() {
+        BigInteger expected = BigInteger.ONE;
+        for (int n = 0; n <= 2_000; n++) {
+            if (n > 0) {
+                expected = expected.multiply(BigInteger.valueOf(n));
+            }
+            assertEquals(expected, Factorials.exact(n), n + "!");
+            if (n <= Factorials.MAX_LONG_ARGUMENT) {
+                assertEquals(expected.longValueExact(), Factorials.factorial(n));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute large factorials across parallel ranges")
+    void testLargeFactorial() {
+        int n = 50_000;
+        BigInteger result = Factorials.exact(n);
+        // 50000! has 213237 digits and 12499 trailing zeros
+        assertEquals(213_237, result.toString().length());
+        assertEquals(n - Integer.bitCount(n), result.getLowestSetBit());
+        assertEquals(BigInteger.ZERO, result.mod(BigInteger.TEN.pow(12_499)));
+        assertEquals(Factorials.exact(n - 1).multiply(BigInteger.valueOf(n)), result);
+    }
+}
@@ -0,0 +1,175 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for the FastMath class, measuring its error against
+ * StrictMath and BigDecimal references.
+ */
+@DisplayName("Fast Math Tests")
+class FastMathTest {
+
+    private static final int SAMPLES = 200_000;
+    private static final MathContext REFERENCE = new MathContext(34);
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-3, 1e-6, 1e-9, 1e-12, 1e-14})
+    @DisplayName("Should keep logarithms within the error budget")
+    void testLogarithms(double budget) {
+        FastMath fast = new FastMath(budget);
+        assertTrue(fast.isApproximate());
+        Random random = new Random(19);
+        assertWithin(budget, random, fast::log, StrictMath::log);
+        assertWithin(budget, random, fast::log10, StrictMath::log10);
+        // Near one, where the relative error is hardest to keep
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = 1 + (random.nextDouble() - 0.5) * 1e-3;
+            assertRelative(StrictMath.log(x), fast.log(x), budget, x);
+        }
+        for (int i = -1074; i <= 1023; i++) {
+            double x = Math.scalb(1.0, i);
+            assertRelative(StrictMath.log(x), fast.log(x), budget, x);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-3, 1e-6, 1e-9, 1e-12, 1e-14})
+    @DisplayName("Should keep powers and roots within the error budget")
+    void testPowersAndRoots(double budget) {
+        FastMath fast = new FastMath(budget);
+        Random random = new Random(20);
+        assertWithin(budget, random, fast::cbrt, StrictMath::cbrt);
+        for (int i = 0; i < SAMPLES; i++) {
+            double base = Math.scalb(random.nextDouble(), random.nextInt(200) - 100);
+            double exponent = (random.nextDouble() - 0.5) * 20;
+            assertRelative(StrictMath.pow(base, exponent), fast.pow(base, exponent), budget, base);
+            double n = 1 + random.nextInt(9);
+            assertRelative(StrictMath.pow(base, 1.0 / n), fast.nthRoot(base, n), budget, base);
+            double integer = random.nextInt(41) - 20;
+            assertRelative(StrictMath.pow(-base, integer), fast.pow(-base, integer), budget, base);
+        }
+    }
+
+    @Test
+    @DisplayName("Should match BigDecimal references")
+    void testAgainstBigDecimal() {
+        FastMath fast = new FastMath(1e-12);
+        Random random = new Random(21);
+        for (int i = 0; i < 2_000; i++) {
+            double x = Math.scalb(0.5 + random.nextDouble(), random.nextInt(80) - 40);
+            BigDecimal exact = new BigDecimal(x);
+            assertRelative(BigMath.ln(exact, REFERENCE).doubleValue(), fast.log(x), 1e-12, x);
+            assertRelative(BigMath.log10(exact, REFERENCE).doubleValue(), fast.log10(x), 1e-12, x);
+            assertRelative(BigMath.root(exact, 3, REFERENCE).doubleValue(), fast.cbrt(x), 1e-12, x);
+            double y = Math.rint((random.nextDouble() - 0.5) * 8 * 4) / 4;
+            assertRelative(BigMath.pow(exact, new BigDecimal(y), REFERENCE).doubleValue(), fast.pow(x, y), 1e-12, x);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the exact results for special values")
+    void testSpecialValues() {
+        FastMath fast = new FastMath(1e-9);
+        double[] values = {0.0, -0.0, 1.0, -1.0, -8.0, 0.5, Double.NaN, Double.POSITIVE_INFINITY,
+                           Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE, 1e300, -1e-300};
+        for (double x : values) {
+            assertSpecial(Math.log(x), fast.log(x), "log " + x);
+            assertSpecial(Math.log10(x), fast.log10(x), "log10 " + x);
+            assertSpecial(Math.cbrt(x), fast.cbrt(x), "cbrt " + x);
+            for (double y : values) {
+                assertSpecial(Math.pow(x, y), fast.pow(x, y), x + " ^ " + y);
+            }
+        }
+        assertEquals(1.0, fast.pow(7.5, 0), 0.0);
+        assertEquals(-0.0, fast.cbrt(-0.0), 0.0);
+        assertTrue(Double.isNaN(fast.pow(-8, 1.0 / 3)));
+        assertEquals(Math.pow(10, 400), fast.pow(10, 400), 0.0);
+        assertEquals(Math.pow(10, -400), fast.pow(10, -400), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should fall back to Math when the budget cannot be met")
+    void testTightBudget() {
+        FastMath exact = new FastMath(1e-16);
+        assertFalse(exact.isApproximate());
+        Random random = new Random(22);
+        for (int i = 0; i < 1_000; i++) {
+            double x = Math.scalb(random.nextDouble(), random.nextInt(100) - 50);
+            assertEquals(Math.log(x), exact.log(x), 0.0);
+            assertEquals(Math.cbrt(x), exact.cbrt(x), 0.0);
+            assertEquals(Math.pow(x, 2.5), exact.pow(x, 2.5), 0.0);
+        }
+
+        // Large exponents amplify the logarithm's error beyond a tight budget
+        FastMath tight = new FastMath(1e-14);
+        assertEquals(Math.pow(1.5, 1000), tight.pow(1.5, 1000), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should apply the scalar functions element-wise to arrays")
+    void testArrays() {
+        FastMath fast = new FastMath(1e-9);
+        double[] numbers = {0.25, 2, 27, 1e10, -1};
+        double[] logs = fast.log(numbers);
+        double[] roots = fast.cbrt(numbers);
+        double[] powers = fast.pow(numbers, 1.5);
+        double[] nthRoots = fast.nthRoot(numbers, 4);
+        double[] log10s = fast.log10(numbers);
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(fast.log(numbers[i]), logs[i], 0.0);
+            assertEquals(fast.cbrt(numbers[i]), roots[i], 0.0);
+            assertEquals(fast.pow(numbers[i], 1.5), powers[i], 0.0);
+            assertEquals(fast.nthRoot(numbers[i], 4), nthRoots[i], 0.0);
+            assertEquals(fast.log10(numbers[i]), log10s[i], 0.0);
+        }
+        assertArrayEquals(new double[0], fast.log(new double[0]));
+    }
+
+    /**
+     * Compares a function with its reference at random arguments spread over
+     * the whole positive range.
+     */
+    private static void assertWithin(double budget, Random random, DoubleUnaryOperator function,
+                                     DoubleUnaryOperator reference) {
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = Math.scalb(0.5 + random.nextDouble(), random.nextInt(2000) - 1000);
+            assertRelative(reference.applyAsDouble(x), function.applyAsDouble(x), budget, x);
+        }
+    }
+
+    /**
+     * Expects NaN, infinities and zeros exactly and other results within a
+     * relative error of 1e-9.
+     */
+    private static void assertSpecial(double expected, double actual, String message) {
+        if (Double.isNaN(expected)) {
+            assertTrue(Double.isNaN(actual), message + ": expected NaN but was " + actual);
+        } else if (Double.isInfinite(expected) || expected == 0.0) {
+            assertEquals(expected, actual, 0.0, message);
+        } else {
+            assertEquals(expected, actual, Math.abs(expected) * 1e-9, message);
+        }
+    }
+
+    private static void assertRelative(double expected, double actual, double budget, double argument) {
+        if (expected == actual) {
+            return;
+        }
+        double error = Math.abs(actual - expected) / Math.abs(expected);
+        if (!(error <= budget)) {
+            throw new AssertionError("Relative error " + error + " above " + budget
+                + " at " + argument + ": expected " + expected + " but was " + actual);
+        }
+    }
+}
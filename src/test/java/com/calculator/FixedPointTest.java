@@ -0,0 +1,135 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the FixedPoint class.
+ */
+@DisplayName("Fixed Point Tests")
+class FixedPointTest {
+
+    private FixedPoint cents;
+
+    @BeforeEach
+    void setUp() {
+        cents = new FixedPoint(2, RoundingMode.HALF_EVEN, 15, false);
+    }
+
+    @Test
+    @DisplayName("Should convert from and to doubles by their decimal form")
+    void testConversions() {
+        assertEquals(1999, cents.valueOf(19.99));
+        assertEquals(-10, cents.valueOf(-0.1));
+        assertEquals(12, cents.valueOf(0.125));
+        assertEquals(14, cents.valueOf(0.135));
+        assertEquals(500, cents.valueOf(5L));
+        assertEquals(0.3, cents.toDouble(cents.add(cents.valueOf(0.1), cents.valueOf(0.2))), 0.0);
+        assertThrows(ArithmeticException.class, () -> cents.valueOf(Double.NaN));
+        assertThrows(ArithmeticException.class, () -> cents.valueOf(1e300));
+    }
+
+    @Test
+    @DisplayName("Should round products, quotients and percentages once")
+    void testArithmetic() {
+        assertEquals(1250, cents.multiply(500, 250));
+        assertEquals(333, cents.divide(1000, 300));
+        assertEquals(-667, cents.divide(-2000, 300));
+        assertEquals(1233, cents.percentage(12330, 1000));
+        // 2.5% of 1.00 is 0.025, which rounds half-even to 0.02 and half-up to 0.03
+        assertEquals(2, cents.percentage(100, 250));
+        assertEquals(3, new FixedPoint(2, RoundingMode.HALF_UP, 15, false).percentage(100, 250));
+        assertEquals(-1, new FixedPoint(2, RoundingMode.CEILING, 15, false).multiply(-150, 1));
+        assertEquals(-2, new FixedPoint(2, RoundingMode.FLOOR, 15, false).multiply(-150, 1));
+        assertEquals(1250, cents.round(1249, 1));
+        assertEquals(0, cents.round(50, 0));
+        assertEquals(200, cents.round(150, 0));
+        assertThrows(ArithmeticException.class, () -> cents.divide(1, 0));
+        assertThrows(ArithmeticException.class,
+                     () -> new FixedPoint(2, RoundingMode.UNNECESSARY, 15, false).divide(100, 300));
+    }
+
+    @Test
+    @DisplayName("Should detect overflow but allow large intermediate products")
+    void testOverflow() {
+        assertThrows(ArithmeticException.class, () -> cents.add(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> cents.multiply(Long.MAX_VALUE, 200));
+        assertEquals(Long.MAX_VALUE, cents.multiply(Long.MAX_VALUE, 100));
+        assertEquals(Long.MIN_VALUE, cents.multiply(Long.MIN_VALUE, 100));
+        assertEquals(Long.MAX_VALUE / 3, cents.divide(Long.MAX_VALUE, 300));
+        assertThrows(ArithmeticException.class, () -> cents.divide(Long.MAX_VALUE, 1));
+    }
+
+    @Test
+    @DisplayName("Should match BigDecimal for random operands")
+    void testAgainstBigDecimal() {
+        Random random = new Random(42);
+        for (RoundingMode mode : new RoundingMode[] {RoundingMode.HALF_UP, RoundingMode.HALF_EVEN,
+                                                     RoundingMode.FLOOR, RoundingMode.UP}) {
+            FixedPoint arithmetic = new FixedPoint(4, mode, 15, false);
+            for (int i = 0; i < 10_000; i++) {
+                long a = random.nextLong() >> random.nextInt(64);
+                long b = (random.nextLong() >> random.nextInt(64)) | 1;
+                BigDecimal x = BigDecimal.valueOf(a, 4);
+                BigDecimal y = BigDecimal.valueOf(b, 4);
+                assertResult(x.multiply(y).setScale(4, mode), () -> arithmetic.multiply(a, b));
+                assertResult(x.divide(y, 4, mode), () -> arithmetic.divide(a, b));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should divide 128-bit values")
+    void testDivideUnsigned() {
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            long divisor = random.nextLong() >>> random.nextInt(63);
+            if (divisor == 0) {
+                continue;
+            }
+            long high = Long.remainderUnsigned(random.nextLong(), divisor);
+            long low = random.nextLong();
+            BigInteger dividend = new BigInteger(Long.toUnsignedString(high)).shiftLeft(64)
+                .add(new BigInteger(Long.toUnsignedString(low)));
+            BigInteger expected = dividend.divide(new BigInteger(Long.toUnsignedString(divisor)));
+            assertEquals(expected.longValue(), FixedPoint.divideUnsigned(high, low, divisor));
+        }
+    }
+
+    @Test
+    @DisplayName("Should format like the same amount as a double")
+    void testFormat() {
+        assertEquals("19.99", cents.format(1999));
+        assertEquals("-0.5", cents.format(-50));
+        assertEquals("12", cents.format(1200));
+        assertEquals("-9223372036854775808", new FixedPoint(0, RoundingMode.HALF_UP, 15, false).format(Long.MIN_VALUE));
+        assertEquals("0.50", new FixedPoint(2, RoundingMode.HALF_UP, 15, true).format(50));
+
+        for (int scale = 0; scale <= 6; scale++) {
+            for (boolean strict : new boolean[] {false, true}) {
+                FixedPoint arithmetic = new FixedPoint(scale, RoundingMode.HALF_UP, 6, strict);
+                for (long value : new long[] {1, -7, 123456, 999999, 9999995, -1234567891, 40000005}) {
+                    StringBuilder expected = new StringBuilder();
+                    ResultFormatter.appendTo(expected, arithmetic.toDouble(value), scale, 6, strict);
+                    assertEquals(expected.toString(), arithmetic.format(value), "scale " + scale + ", value " + value);
+                }
+            }
+        }
+    }
+
+    private static void assertResult(BigDecimal expected, LongSupplier actual) {
+        if (expected.unscaledValue().bitLength() < Long.SIZE) {
+            assertEquals(expected.unscaledValue().longValueExact(), actual.getAsLong());
+        } else {
+            assertThrows(ArithmeticException.class, actual::getAsLong);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the HistoryJournal class.
+ */
+@DisplayName("History Journal Tests")
+class HistoryJournalTest {
+
+    private Path directory;
+    private Path file;
+    private HistoryJournal journal;
+    private CalculatorConfig.Snapshot settings;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("calculator-history");
+        file = directory.resolve("nested").resolve("history.journal");
+        settings = CalculatorConfig.getInstance().getSnapshot();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore appended records in order")
+    void testAppendAndRestore() throws Exception {
+        journal = HistoryJournal.open(file, 1 << 20, 100);
+        assertSame(journal, HistoryJournal.open(file, 1 << 20, 100));
+        for (int i = 1; i <= 5; i++) {
+            journal.append(Operation.ADD, i, 1, i + 1);
+        }
+        journal.append(Operation.SQUARE_ROOT, 16, 0, 4);
+        assertTrue(journal.flush(5, TimeUnit.SECONDS));
+        assertEquals(HistoryJournal.HEADER_SIZE + 6 * HistoryJournal.RECORD_SIZE, Files.size(file));
+
+        CalculationHistory history = new CalculationHistory(10);
+        assertEquals(3, journal.restore(history, 3));
+        List<String> rendered = history.render(settings);
+        assertEquals(3, rendered.size());
+        assertEquals("4.0 + 1.0 = 5", rendered.get(0));
+        assertEquals("√16.0 = 4", rendered.get(2));
+    }
+
+    @Test
+    @DisplayName("Should discard records queued before a clear")
+    void testClear() throws Exception {
+        journal = HistoryJournal.open(file, 1 << 20, 100);
+        journal.append(Operation.ADD, 1, 1, 2);
+        assertTrue(journal.flush(5, TimeUnit.SECONDS));
+        journal.append(Operation.ADD, 2, 2, 4);
+        journal.clear();
+        journal.append(Operation.MULTIPLY, 3, 3, 9);
+        assertTrue(journal.flush(5, TimeUnit.SECONDS));
+
+        CalculationHistory history = new CalculationHistory(10);
+        assertEquals(1, journal.restore(history, 10));
+        assertEquals("3.0 * 3.0 = 9", history.renderLast(settings));
+    }
+
+    @Test
+    @DisplayName("Should share one journal and one history per file across the process")
+    void testSharedJournal() throws Exception {
+        journal = HistoryJournal.open(file, 1 << 20, 100);
+        HistoryJournal other = HistoryJournal.open(directory.resolve("nested").resolve("..").resolve("nested")
+                                                            .resolve(file.getFileName()), 1 << 16, 10);
+        assertSame(journal, other);
+
+        journal.append(Operation.ADD, 1, 2, 3);
+        other.append(Operation.MULTIPLY, 2, 5, 10);
+        assertTrue(journal.flush(5, TimeUnit.SECONDS));
+        CalculationHistory history = new CalculationHistory(10);
+        assertEquals(2, other.restore(history, 10));
+        assertEquals(List.of("1.0 + 2.0 = 3", "2.0 * 5.0 = 10"), history.render(settings));
+
+        // Clearing through either owner discards the records of both
+        other.clear();
+        journal.append(Operation.SUBTRACT, 9, 4, 5);
+        assertTrue(journal.flush(5, TimeUnit.SECONDS));
+        history = new CalculationHistory(10);
+        assertEquals(1, journal.restore(history, 10));
+        assertEquals(List.of("9.0 - 4.0 = 5"), history.render(settings));
+    }
+
+    @Test
+    @DisplayName("Should compact to the most recent records once the size limit is exceeded")
+    void testCompaction() throws Exception {
+        int keep = 10;
+        long maxSize = HistoryJournal.HEADER_SIZE + 2L * keep * HistoryJournal.RECORD_SIZE;
+        journal = HistoryJournal.open(file, maxSize, keep);
+        for (int i = 1; i <= 100; i++) {
+            journal.append(Operation.ADD, i, 1, i + 1);
+            if (i % 7 == 0) {
+                assertTrue(journal.flush(5, TimeUnit.SECONDS));
+            }
+        }
+        assertTrue(journal.flush(5, TimeUnit.SECONDS));
+        assertTrue(Files.size(file) <= maxSize);
+
+        CalculationHistory history = new CalculationHistory(100);
+        int restored = journal.restore(history, 100);
+        assertTrue(restored >= keep);
+        assertEquals("100.0 + 1.0 = 101", history.renderLast(settings));
+    }
+
+    @Test
+    @DisplayName("Should cut off a partial record left by an interrupted write")
+    void testTornRecord() throws Exception {
+        journal = HistoryJournal.open(file, 1 << 20, 100);
+        journal.append(Operation.SUBTRACT, 5, 3, 2);
+        assertTrue(journal.flush(5, TimeUnit.SECONDS));
+        journal.close();
+
+        Files.write(file, new byte[HistoryJournal.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+        journal = HistoryJournal.open(file, 1 << 20, 100);
+        assertEquals(HistoryJournal.HEADER_SIZE + HistoryJournal.RECORD_SIZE, Files.size(file));
+
+        CalculationHistory history = new CalculationHistory(10);
+        assertEquals(1, journal.restore(history, 10));
+        assertEquals("5.0 - 3.0 = 2", history.renderLast(settings));
+    }
+
+    @Test
+    @DisplayName("Should refuse a file that is not a journal and leave it unchanged")
+    void testUnrecognisedFile() throws Exception {
+        Files.createDirectories(file.getParent());
+        String text = "2 + 2 = 4\n3 * 3 = 9\n";
+        Files.writeString(file, text);
+        assertThrows(IOException.class, () -> HistoryJournal.open(file, 1 << 20, 100));
+        assertEquals(text, Files.readString(file));
+
+        Files.writeString(file, "2+2");
+        assertThrows(IOException.class, () -> HistoryJournal.open(file, 1 << 20, 100));
+        assertEquals("2+2", Files.readString(file));
+    }
+}
@@ -0,0 +1,132 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the MappedMemoryStore class.
+ */
+@DisplayName("Mapped Memory Store Tests")
+class MappedMemoryStoreTest {
+
+    private Path directory;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("calculator-memory");
+        file = directory.resolve("nested").resolve("memory.dat");
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep values when the file is mapped again")
+    void testPersistence() throws IOException {
+        MappedMemoryStore store = MappedMemoryStore.open(file, 4);
+        store.set(0, 42.5);
+        store.add(3, -1.25);
+
+        MappedMemoryStore reopened = MappedMemoryStore.open(file, 4);
+        assertEquals(42.5, reopened.get(0), 0.0);
+        assertEquals(0.0, reopened.get(1), 0.0);
+        assertEquals(-1.25, reopened.get(3), 0.0);
+        assertEquals(MappedMemoryStore.HEADER_SIZE + 4 * MappedMemoryStore.SLOT_SIZE, Files.size(file));
+    }
+
+    @Test
+    @DisplayName("Should share updates between mappings of the same file")
+    void testSharedMapping() throws IOException {
+        MappedMemoryStore writer = MappedMemoryStore.open(file, 2);
+        MappedMemoryStore reader = MappedMemoryStore.open(file, 2);
+
+        writer.add(1, 5.0);
+        reader.add(1, 2.0);
+        assertEquals(7.0, writer.get(1), 0.0);
+        assertEquals(7.0, reader.get(1), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should keep slots beyond the configured count")
+    void testSlotCountChanges() throws IOException {
+        MappedMemoryStore.open(file, 8).set(7, 3.0);
+
+        MappedMemoryStore smaller = MappedMemoryStore.open(file, 2);
+        assertEquals(2, smaller.slots());
+
+        MappedMemoryStore larger = MappedMemoryStore.open(file, 16);
+        assertEquals(3.0, larger.get(7), 0.0);
+        assertEquals(0.0, larger.get(15), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should clear slots whose checksum does not match")
+    void testCorruptSlot() throws IOException {
+        MappedMemoryStore store = MappedMemoryStore.open(file, 2);
+        store.set(0, 1.0);
+        store.set(1, 2.0);
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(MappedMemoryStore.HEADER_SIZE + MappedMemoryStore.SLOT_SIZE + 3);
+            raw.write(0x5A);
+        }
+
+        MappedMemoryStore reopened = MappedMemoryStore.open(file, 2);
+        assertEquals(1.0, reopened.get(0), 0.0);
+        assertEquals(0.0, reopened.get(1), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should reinitialise interrupted files and reject newer versions")
+    void testHeaderValidation() throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[256]);
+        assertEquals(0.0, MappedMemoryStore.open(file, 2).get(1), 0.0);
+
+        // Version and slot count are written before the magic
+        byte[] interrupted = new byte[MappedMemoryStore.HEADER_SIZE + 2 * MappedMemoryStore.SLOT_SIZE];
+        interrupted[4] = MappedMemoryStore.VERSION;
+        interrupted[8] = 2;
+        Files.write(file, interrupted);
+        assertEquals(0.0, MappedMemoryStore.open(file, 2).get(0), 0.0);
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(4);
+            raw.write(99);
+        }
+        assertThrows(IOException.class, () -> MappedMemoryStore.open(file, 2));
+    }
+
+    @Test
+    @DisplayName("Should refuse files that are not memory files and leave them unchanged")
+    void testForeignFiles() throws IOException {
+        Files.createDirectories(file.getParent());
+        byte[] garbage = new byte[300];
+        new Random(9).nextBytes(garbage);
+        garbage[0] = 1;
+        for (byte[] contents : List.of(garbage, "M1=42".getBytes(StandardCharsets.UTF_8))) {
+            Files.write(file, contents);
+            assertThrows(IOException.class, () -> MappedMemoryStore.open(file, 2));
+            assertArrayEquals(contents, Files.readAllBytes(file));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the MemoryStore class.
+ */
+@DisplayName("Memory Store Tests")
+class MemoryStoreTest {
+
+    private MemoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new MemoryStore(1000);
+    }
+
+    @Test
+    @DisplayName("Should keep slots independent")
+    void testSlots() {
+        assertEquals(1000, store.slots());
+        store.set(0, 1.5);
+        store.set(999, -2.5);
+        assertEquals(4.0, store.add(0, 2.5), 0.0);
+
+        assertEquals(4.0, store.get(0), 0.0);
+        assertEquals(0.0, store.get(1), 0.0);
+        assertEquals(-2.5, store.get(999), 0.0);
+
+        store.clearAll();
+        assertEquals(0.0, store.get(0), 0.0);
+        assertEquals(0.0, store.get(999), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty store")
+    void testInvalidSlotCount() {
+        assertThrows(IllegalArgumentException.class, () -> new MemoryStore(0));
+    }
+
+    @Test
+    @DisplayName("Should not lose concurrent additions")
+    void testConcurrentAdd() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int own = t + 1;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    store.add(0, 1.0);
+                    store.add(own, 1.0);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(400_000.0, store.get(0), 0.0);
+        for (int slot = 1; slot <= threads.length; slot++) {
+            assertEquals(100_000.0, store.get(slot), 0.0);
+        }
+    }
+}
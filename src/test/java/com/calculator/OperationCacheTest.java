@@ -0,0 +1,128 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the OperationCache class.
+ */
+@DisplayName("Operation Cache Tests")
+class OperationCacheTest {
+
+    private OperationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new OperationCache(64);
+    }
+
+    @Test
+    @DisplayName("Should return cached results and count hits and misses")
+    void testGetAndPut() {
+        assertEquals(OperationCache.MISS, cache.get(Operation.POWER, 2, 10));
+        cache.put(Operation.POWER, 2, 10, Double.doubleToRawLongBits(1024.0));
+
+        assertEquals(1024.0, Double.longBitsToDouble(cache.get(Operation.POWER, 2, 10)));
+        assertEquals(OperationCache.MISS, cache.get(Operation.NTH_ROOT, 2, 10));
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    @DisplayName("Should key on exact operand bits")
+    void testSignedZero() {
+        cache.put(Operation.POWER, 0.0, -1, Double.doubleToRawLongBits(Double.POSITIVE_INFINITY));
+        assertEquals(OperationCache.MISS, cache.get(Operation.POWER, -0.0, -1));
+    }
+
+    @Test
+    @DisplayName("Should cache NaN and long results")
+    void testResultBits() {
+        cache.put(Operation.NTH_ROOT, -8, 2, Double.doubleToRawLongBits(Double.NaN));
+        cache.put(Operation.FACTORIAL, 20, 0, 2432902008176640000L);
+
+        assertTrue(Double.isNaN(Double.longBitsToDouble(cache.get(Operation.NTH_ROOT, -8, 2))));
+        assertEquals(2432902008176640000L, cache.get(Operation.FACTORIAL, 20, 0));
+    }
+
+    @Test
+    @DisplayName("Should never hold more than the maximum size")
+    void testBounded() {
+        for (int i = 0; i < 10_000; i++) {
+            cache.get(Operation.LOGARITHM, i, 0);
+            cache.put(Operation.LOGARITHM, i, 0, Double.doubleToRawLongBits(Math.log10(i)));
+            cache.get(Operation.LOGARITHM, i, 0);
+            cache.put(Operation.LOGARITHM, i, 0, Double.doubleToRawLongBits(Math.log10(i)));
+        }
+
+        int cached = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (cache.get(Operation.LOGARITHM, i, 0) != OperationCache.MISS) {
+                cached++;
+            }
+        }
+        assertTrue(cached > 0 && cached <= 64, "Cached entries: " + cached);
+    }
+
+    @Test
+    @DisplayName("Should keep frequently used results during a scan")
+    void testFrequencyAdmission() {
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 32; i++) {
+                if (cache.get(Operation.POWER, i, 2) == OperationCache.MISS) {
+                    cache.put(Operation.POWER, i, 2, Double.doubleToRawLongBits((double) i * i));
+                }
+            }
+        }
+
+        // One-off lookups must not flush the hot entries
+        for (int i = 1000; i < 1256; i++) {
+            if (cache.get(Operation.POWER, i, 3) == OperationCache.MISS) {
+                cache.put(Operation.POWER, i, 3, Double.doubleToRawLongBits(Math.pow(i, 3)));
+            }
+        }
+
+        int retained = 0;
+        for (int i = 0; i < 32; i++) {
+            if (cache.get(Operation.POWER, i, 2) != OperationCache.MISS) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 28, "Hot entries retained: " + retained);
+    }
+
+    @Test
+    @DisplayName("Should return consistent results under concurrent access")
+    void testConcurrentAccess() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    double base = i % 500;
+                    long cached = cache.get(Operation.POWER, base, 2);
+                    if (cached == OperationCache.MISS) {
+                        cache.put(Operation.POWER, base, 2, Double.doubleToRawLongBits(base * base));
+                    } else if (Double.longBitsToDouble(cached) != base * base) {
+                        synchronized (failures) {
+                            failures.add(new AssertionError("Wrong result for " + base));
+                        }
+                        return;
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(800_000, cache.hits() + cache.misses());
+    }
+}
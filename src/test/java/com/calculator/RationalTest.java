@@ -0,0 +1,90 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the Rational class.
+ */
+@DisplayName("Rational Tests")
+class RationalTest {
+
+    @Test
+    @DisplayName("Should keep fractions in lowest terms with a positive denominator")
+    void testNormalization() {
+        assertEquals("3/4", Rational.of(6, 8).toString());
+        assertEquals("-3/4", Rational.of(6, -8).toString());
+        assertEquals("0", Rational.of(0, -5).toString());
+        assertEquals(Rational.of(1, 3), Rational.of(-2, -6));
+        assertEquals(Rational.of(1, 3).hashCode(), Rational.of(-2, -6).hashCode());
+        assertEquals("1/10", Rational.valueOf(0.1).toString());
+        assertEquals("-1234567/1000", Rational.valueOf(-1234.567).toString());
+        assertEquals("-1/4611686018427387904", Rational.of(2, Long.MIN_VALUE).toString());
+        assertThrows(ArithmeticException.class, () -> Rational.of(1, 0));
+    }
+
+    @Test
+    @DisplayName("Should compute chained operations exactly")
+    void testArithmetic() {
+        Rational third = Rational.of(1, 3);
+        Rational sum = third.add(third).add(third);
+        assertEquals(Rational.ONE, sum);
+        assertTrue(sum.isInteger());
+        assertEquals(Rational.of(1, 12), Rational.of(1, 4).subtract(Rational.of(1, 6)));
+        assertEquals(Rational.of(-10, 21), Rational.of(-2, 3).multiply(Rational.of(5, 7)));
+        assertEquals(Rational.of(-14, 15), Rational.of(-2, 3).divide(Rational.of(5, 7)));
+        assertEquals(Rational.of(-3, 2), Rational.of(-2, 3).reciprocal());
+        assertEquals(Rational.of(3, 40), Rational.of(3, 2).percentage(Rational.of(5)));
+        assertEquals(Rational.of(27, 8), Rational.of(2, 3).pow(-3));
+        assertEquals(Rational.ONE, Rational.of(7, 5).pow(0));
+        assertEquals(0.1, Rational.valueOf(0.3).subtract(Rational.valueOf(0.2)).doubleValue(), 0.0);
+        assertThrows(ArithmeticException.class, () -> Rational.ONE.divide(Rational.ZERO));
+        assertThrows(ArithmeticException.class, () -> Rational.ZERO.pow(-1));
+    }
+
+    @Test
+    @DisplayName("Should promote to BigInteger on overflow and return to longs")
+    void testPromotion() {
+        Rational big = Rational.of(Long.MAX_VALUE, 3).multiply(Rational.of(Long.MAX_VALUE - 1, 5));
+        BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+        assertEquals(Rational.of(max.multiply(max.subtract(BigInteger.ONE)), BigInteger.valueOf(15)), big);
+        assertTrue(big.numerator().bitLength() > Long.SIZE);
+        Rational back = big.divide(Rational.of(Long.MAX_VALUE - 1, 5));
+        assertEquals(Rational.of(Long.MAX_VALUE, 3), back);
+        assertEquals("9223372036854775807/3", back.toString());
+
+        Rational power = Rational.of(3, 2).pow(50);
+        assertEquals(new BigInteger("717897987691852588770249"), power.numerator());
+        assertEquals(BigInteger.ONE.shiftLeft(50), power.denominator());
+        assertTrue(power.compareTo(Rational.of(Long.MAX_VALUE)) < 0);
+        assertEquals(Rational.of(1, 2).negate(), Rational.of(-1, 2));
+        assertEquals(Rational.of(Long.MIN_VALUE + 1, 1).subtract(Rational.ONE).negate().toString(), "9223372036854775808");
+    }
+
+    @Test
+    @DisplayName("Should compare by value")
+    void testCompare() {
+        assertTrue(Rational.of(1, 3).compareTo(Rational.of(1, 2)) < 0);
+        assertTrue(Rational.of(-1, 3).compareTo(Rational.of(-1, 2)) > 0);
+        assertEquals(0, Rational.of(2, 4).compareTo(Rational.of(1, 2)));
+        assertTrue(Rational.of(Long.MAX_VALUE, 2).compareTo(Rational.of(Long.MAX_VALUE - 1, 2)) > 0);
+    }
+
+    @Test
+    @DisplayName("Should compute the binary GCD")
+    void testGcd() {
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            long a = random.nextLong() >>> (1 + random.nextInt(63));
+            long b = random.nextLong() >>> (1 + random.nextInt(63));
+            assertEquals(BigInteger.valueOf(a).gcd(BigInteger.valueOf(b)).longValue(), Rational.gcd(a, b));
+        }
+        assertEquals(0, Rational.gcd(0, 0));
+        assertEquals(12, Rational.gcd(0, 12));
+    }
+}
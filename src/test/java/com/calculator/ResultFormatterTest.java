@@ -0,0 +1,66 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Unit tests for the ResultFormatter class.
+ * Verifies that formatted output matches String.format based formatting.
+ */
+@DisplayName("Result Formatter Tests")
+class ResultFormatterTest {
+
+    private static String format(double value, int precision, int maxDigits, boolean strict) {
+        StringBuilder sb = new StringBuilder();
+        ResultFormatter.appendTo(sb, value, precision, maxDigits, strict);
+        return sb.toString();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "3.14, 4, 3.14",
+        "0.15, 1, 0.2",
+        "2.675, 2, 2.68",
+        "0.99995, 4, 1",
+        "-0.00001, 4, -0",
+        "1.0E-5, 10, 0.00001",
+        "123456.78915, 4, 123456.7892",
+        "-2.5, 0, -3"
+    })
+    @DisplayName("Should round half-up on the shortest decimal digits")
+    void testRounding(double value, int precision, String expected) {
+        assertEquals(expected, format(value, precision, 15, false));
+        assertEquals(String.format("%." + precision + "f", value)
+                         .replaceAll("0*$", "").replaceAll("\\.$", ""),
+                     format(value, precision, 15, false));
+    }
+
+    @Test
+    @DisplayName("Should keep trailing zeros in strict mode")
+    void testStrictMode() {
+        assertEquals("3.1400", format(3.14, 4, 15, true));
+        assertEquals("1.0000", format(0.99995, 4, 15, true));
+        assertEquals("-0.0000", format(-0.00001, 4, 15, true));
+    }
+
+    @Test
+    @DisplayName("Should limit significant digits to max digits")
+    void testMaxDigits() {
+        assertEquals("123456789012.568", format(123456789012.5678, 4, 15, false));
+        assertEquals("12.3457", format(12.3456789, 4, 6, false));
+        assertEquals("1235", format(1234.5678, 4, 3, false));
+    }
+
+    @Test
+    @DisplayName("Should format special values and integers")
+    void testSpecialValues() {
+        assertEquals("NaN", format(Double.NaN, 4, 15, false));
+        assertEquals("∞", format(Double.POSITIVE_INFINITY, 4, 15, false));
+        assertEquals("-∞", format(Double.NEGATIVE_INFINITY, 4, 15, false));
+        assertEquals("42", format(42.0, 4, 15, true));
+        assertEquals("-7", format(-7.0, 4, 15, false));
+    }
+}
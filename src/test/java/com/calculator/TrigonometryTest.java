@@ -0,0 +1,100 @@
+package com.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the Trigonometry class.
+ */
+@DisplayName("Trigonometry Tests")
+class TrigonometryTest {
+
+    private static final double FAST_ERROR = 2.5e-16;
+
+    @Test
+    @DisplayName("Should give exact values at special angles in degrees")
+    void testSpecialDegrees() {
+        assertEquals(0.5, Trigonometry.sin(30, AngleUnit.DEGREES), 0.0);
+        assertEquals(0.0, Trigonometry.sin(180, AngleUnit.DEGREES), 0.0);
+        assertEquals(0.0, Trigonometry.cos(90, AngleUnit.DEGREES), 0.0);
+        assertEquals(-1.0, Trigonometry.cos(180, AngleUnit.DEGREES), 0.0);
+        assertEquals(-1.0, Trigonometry.sin(-90, AngleUnit.DEGREES), 0.0);
+        assertEquals(-0.5, Trigonometry.cos(120, AngleUnit.DEGREES), 0.0);
+        assertEquals(1.0, Trigonometry.tan(45, AngleUnit.DEGREES), 0.0);
+        assertEquals(-1.0, Trigonometry.tan(135, AngleUnit.DEGREES), 0.0);
+        assertEquals(0.5, Trigonometry.fastSin(30, AngleUnit.DEGREES), 1e-16);
+        assertEquals(0.0, Trigonometry.fastCos(90, AngleUnit.DEGREES), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should reduce large angles in degrees exactly")
+    void testLargeDegrees() {
+        assertEquals(0.5, Trigonometry.sin(30 + 0x1p40 * 360, AngleUnit.DEGREES), 0.0);
+        assertEquals(0.0, Trigonometry.sin(1e300, AngleUnit.DEGREES), 0.0);
+        assertEquals(1.0, Trigonometry.cos(0x1p60 * 45, AngleUnit.DEGREES), 0.0);
+        assertEquals(Math.sin(Math.toRadians(10)), Trigonometry.sin(360_000_010, AngleUnit.DEGREES), 1e-16);
+    }
+
+    @Test
+    @DisplayName("Should detect tangent poles in degrees only")
+    void testTangentPoles() {
+        assertTrue(Trigonometry.isTangentPole(90, AngleUnit.DEGREES));
+        assertTrue(Trigonometry.isTangentPole(-270, AngleUnit.DEGREES));
+        assertTrue(Trigonometry.isTangentPole(450, AngleUnit.DEGREES));
+        assertFalse(Trigonometry.isTangentPole(180, AngleUnit.DEGREES));
+        assertFalse(Trigonometry.isTangentPole(Math.PI / 2, AngleUnit.RADIANS));
+    }
+
+    @Test
+    @DisplayName("Should convert inverse functions to degrees")
+    void testInverseDegrees() {
+        assertEquals(30.0, Trigonometry.asin(0.5, AngleUnit.DEGREES), 1e-14);
+        assertEquals(180.0, Trigonometry.acos(-1, AngleUnit.DEGREES), 0.0);
+        assertEquals(45.0, Trigonometry.atan(1, AngleUnit.DEGREES), 0.0);
+        assertEquals(Math.atan(2), Trigonometry.atan(2, AngleUnit.RADIANS), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should keep fast sine and cosine within the documented error")
+    void testFastAccuracy() {
+        Random random = new Random(18);
+        for (int i = 0; i < 200_000; i++) {
+            double angle = (random.nextDouble() - 0.5) * Math.scalb(1.0, random.nextInt(21));
+            assertEquals(Math.sin(angle), Trigonometry.fastSin(angle, AngleUnit.RADIANS), FAST_ERROR);
+            assertEquals(Math.cos(angle), Trigonometry.fastCos(angle, AngleUnit.RADIANS), FAST_ERROR);
+            double degrees = angle * 57;
+            assertEquals(Trigonometry.sin(degrees, AngleUnit.DEGREES),
+                         Trigonometry.fastSin(degrees, AngleUnit.DEGREES), FAST_ERROR);
+            assertEquals(Trigonometry.cos(degrees, AngleUnit.DEGREES),
+                         Trigonometry.fastCos(degrees, AngleUnit.DEGREES), FAST_ERROR);
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle arguments near multiples of a right angle")
+    void testNearQuadrantBoundaries() {
+        for (int n = -1000; n <= 1000; n++) {
+            double angle = n * Math.PI / 2;
+            for (double x : new double[] {Math.nextDown(angle), angle, Math.nextUp(angle)}) {
+                assertEquals(Math.sin(x), Trigonometry.fastSin(x, AngleUnit.RADIANS), FAST_ERROR);
+                assertEquals(Math.cos(x), Trigonometry.fastCos(x, AngleUnit.RADIANS), FAST_ERROR);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to the accurate functions beyond the fast range")
+    void testFallback() {
+        for (double angle : new double[] {1e6, -3e9, 1e300, Double.MAX_VALUE}) {
+            assertEquals(Math.sin(angle), Trigonometry.fastSin(angle, AngleUnit.RADIANS), 0.0);
+            assertEquals(Math.cos(angle), Trigonometry.fastCos(angle, AngleUnit.RADIANS), 0.0);
+            assertEquals(Math.tan(angle), Trigonometry.fastTan(angle, AngleUnit.RADIANS), 0.0);
+        }
+        assertTrue(Double.isNaN(Trigonometry.fastSin(Double.POSITIVE_INFINITY, AngleUnit.RADIANS)));
+        assertTrue(Double.isNaN(Trigonometry.fastSin(Double.NaN, AngleUnit.RADIANS)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.calculator.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.calculator.Calculator;
+import com.calculator.CalculatorException;
+import com.calculator.DivisionByZeroException;
+import com.calculator.validation.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Unit tests for the BytecodeCompiler class.
+ * Verifies that generated code matches the interpreter.
+ */
+@DisplayName("Bytecode Compiler Tests")
+class BytecodeCompilerTest {
+
+    private Calculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new Calculator();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "3 + 4 × 2",
+        "2 ^ 3 ^ 2 - 0 + 1",
+        "-x ^ 2 + √16 + ∛27",
+        "3 √ (x + y) * 5! ÷ 4",
+        "log 1000 + ln e + 50% + sin pi + cos y + tan x",
+        "a + b + c + d + e1 + f + g + h"
+    })
+    @DisplayName("Should produce the same results as the interpreter")
+    void testMatchesInterpreter(String source) throws CalculatorException, ReflectiveOperationException {
+        Expression expression = Expression.compile(source, "x", "y", "a", "b", "c", "d", "e1", "f", "g", "h");
+        Evaluator compiled = BytecodeCompiler.compile(expression.program());
+        double[][] inputs = {
+            {1, 2, 3, 4, 5, 6, 7, 8, 9, 10},
+            {0.5, -0.25, 1e6, -1e6, 0, 0, 0, 0, 0, 1e-9}
+        };
+        for (double[] values : inputs) {
+            assertEquals(Double.doubleToLongBits(expression.program().evaluate(calculator.arithmetic(), values)),
+                         Double.doubleToLongBits(compiled.evaluate(calculator.arithmetic(), values)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should propagate calculator exceptions from generated code")
+    void testExceptions() throws ValidationException, ReflectiveOperationException {
+        Evaluator compiled = BytecodeCompiler.compile(Expression.compile("1 / x", "x").program());
+        assertThrows(DivisionByZeroException.class, () -> compiled.evaluate(calculator.arithmetic(), new double[] {0}));
+    }
+
+    @Test
+    @DisplayName("Should tier up after the configured number of evaluations")
+    void testTierUp() throws CalculatorException {
+        int threshold = calculator.getConfig().getExpressionCompileThreshold();
+        Expression expression = Expression.compile("x * 2 + 1", "x");
+        for (int i = 1; i < threshold; i++) {
+            expression.evaluate(calculator, i);
+        }
+        assertFalse(expression.isCompiled());
+        assertEquals(7.0, expression.evaluate(calculator, 3), 0.0);
+        assertTrue(expression.isCompiled());
+        assertEquals(9.0, expression.evaluate(calculator, 4), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should refuse programs too large for the JIT")
+    void testOversizedProgram() throws CalculatorException {
+        Expression expression = Expression.compile("x" + " + x".repeat(BytecodeCompiler.MAX_CODE_LENGTH), "x");
+        assertThrows(IllegalArgumentException.class, () -> BytecodeCompiler.generate(expression.program()));
+        assertEquals(BytecodeCompiler.MAX_CODE_LENGTH + 1.0, expression.evaluate(calculator, 1), 0.0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.calculator.expression;
+
+import com.calculator.Arithmetic;
+import com.calculator.Calculator;
+import com.calculator.CalculatorException;
+
+/**
+ * Compares interpreted and compiled expression evaluation.
+ *
+ * Not a unit test; run manually with
+ * {@code java -cp target/classes:target/test-classes com.calculator.expression.ExpressionBenchmark}.
+ */
+public final class ExpressionBenchmark {
+
+    private static final String SOURCE = "x ^ 2 + 3 * x * y - y ÷ 4 + √(x * x + y * y)";
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int EVALUATIONS = 1_000_000;
+
+    private ExpressionBenchmark() {
+    }
+
+    public static void main(String[] args) throws CalculatorException, ReflectiveOperationException {
+        Arithmetic arithmetic = new Calculator().arithmetic();
+        Program program = Expression.compile(SOURCE, "x", "y").program();
+        Evaluator compiled = BytecodeCompiler.compile(program);
+
+        System.out.println("Expression: " + SOURCE);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(program, arithmetic);
+            run(compiled, arithmetic);
+        }
+
+        double interpreted = 0;
+        double generated = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            interpreted += run(program, arithmetic);
+            generated += run(compiled, arithmetic);
+        }
+        interpreted /= MEASURED_ROUNDS;
+        generated /= MEASURED_ROUNDS;
+
+        System.out.printf("Interpreted: %8.1f ns/eval%n", interpreted);
+        System.out.printf("Compiled:    %8.1f ns/eval%n", generated);
+        System.out.printf("Speedup:     %8.2fx%n", interpreted / generated);
+    }
+
+    private static double run(Evaluator evaluator, Arithmetic arithmetic) throws CalculatorException {
+        double[] values = new double[2];
+        double sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < EVALUATIONS; i++) {
+            values[0] = i & 1023;
+            values[1] = (i >> 10) & 1023;
+            sink += evaluator.evaluate(arithmetic, values);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == Double.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return (double) elapsed / EVALUATIONS;
+    }
+}
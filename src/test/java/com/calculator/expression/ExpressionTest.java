@@ -0,0 +1,139 @@
+package com.calculator.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.calculator.Calculator;
+import com.calculator.CalculatorException;
+import com.calculator.DivisionByZeroException;
+import com.calculator.InvalidInputException;
+import com.calculator.validation.ValidationException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Unit tests for the expression engine.
+ */
+@DisplayName("Expression Tests")
+class ExpressionTest {
+
+    private static final double DELTA = 1e-9;
+
+    private Calculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new Calculator();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "3 + 4 × 2; 11",
+        "(3 + 4) * 2; 14",
+        "10 - 4 - 3; 3",
+        "2 ^ 3 ^ 2; 512",
+        "-2 ^ 2; -4",
+        "2 * -3; -6",
+        "√16 + ∛27; 7",
+        "3 √ 8; 2",
+        "5! ÷ 4; 30",
+        "50%; 0.5",
+        "log 1000 + ln e; 4",
+        "2 * pi; 6.283185307179586",
+        "1.5e2 / .5; 300"
+    })
+    @DisplayName("Should evaluate with operator precedence")
+    void testEvaluate(String source, double expected) throws CalculatorException {
+        assertEquals(expected, Expression.compile(source).evaluate(calculator), DELTA);
+    }
+
+    @Test
+    @DisplayName("Should reuse a compiled expression with new variable values")
+    void testVariables() throws CalculatorException {
+        Expression expression = Expression.compile("x ^ 2 + 2 * x * y + y ^ 2", "x", "y");
+        assertEquals(9.0, expression.evaluate(calculator, 1, 2), DELTA);
+        assertEquals(25.0, expression.evaluate(calculator, 3, 2), DELTA);
+        assertThrows(InvalidInputException.class, () -> expression.evaluate(calculator, 1));
+    }
+
+    @Test
+    @DisplayName("Should evaluate long chains without recursion")
+    void testLongChain() throws CalculatorException {
+        String source = "1" + " + 1".repeat(100_000);
+        assertEquals(100_001.0, Expression.compile(source).evaluate(calculator), DELTA);
+    }
+
+    @Test
+    @DisplayName("Should report calculator errors")
+    void testCalculatorErrors() throws ValidationException {
+        assertThrows(DivisionByZeroException.class, () -> calculator.evaluate("1 / (2 - 2)"));
+        assertThrows(InvalidInputException.class, () -> calculator.evaluate("√-4"));
+        assertThrows(InvalidInputException.class, () -> calculator.evaluate("2.5!"));
+    }
+
+    @Test
+    @DisplayName("Should record one history entry per evaluated expression")
+    void testHistory() throws CalculatorException {
+        calculator.clearHistory();
+        Expression expression = Expression.compile("x ^ 2 + √x - 3!", "x");
+        for (int i = 0; i < 5; i++) {
+            expression.evaluate(calculator, 16);
+        }
+        assertTrue(calculator.getHistory().isEmpty());
+
+        assertEquals(9.0, calculator.evaluate("1 + 2 * 4"), DELTA);
+        assertEquals(List.of("Expression = 9"), calculator.getHistory());
+    }
+
+    @Test
+    @DisplayName("Should validate variables, constants and the result once per evaluation")
+    void testValidation() throws ValidationException {
+        Expression expression = Expression.compile("x * 10", "x");
+        InvalidInputException e = assertThrows(InvalidInputException.class,
+                                               () -> expression.evaluate(calculator, 1e20));
+        assertTrue(e.getMessage().startsWith("x: "), e.getMessage());
+        e = assertThrows(InvalidInputException.class, () -> expression.evaluate(calculator, 1e15));
+        assertTrue(e.getMessage().startsWith("Result: "), e.getMessage());
+        e = assertThrows(InvalidInputException.class, () -> calculator.evaluate("1e20 - 1e20"));
+        assertTrue(e.getMessage().startsWith("Constant: "), e.getMessage());
+        assertTrue(calculator.getHistory().isEmpty());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "(1 + 2; UNBALANCED_PARENTHESES",
+        "1 + 2); UNBALANCED_PARENTHESES",
+        "1 + * 2; INVALID_EXPRESSION_SYNTAX",
+        "1 + 2 $; INVALID_EXPRESSION_SYNTAX",
+        "1 +; INVALID_EXPRESSION_SYNTAX",
+        "2 * z; UNKNOWN_IDENTIFIER",
+        "1e999; INFINITE_VALUE",
+        "'  '; EMPTY_EXPRESSION"
+    })
+    @DisplayName("Should reject invalid expressions with rule codes")
+    void testInvalidExpressions(String source, String rule) {
+        ValidationException e = assertThrows(ValidationException.class, () -> Expression.compile(source));
+        assertEquals(rule, e.getViolatedRule());
+        assertEquals(rule.equals("EMPTY_EXPRESSION"), e.getErrorOffset() < 0);
+    }
+
+    @Test
+    @DisplayName("Should reject deeply nested expressions")
+    void testNestingLimit() {
+        String source = "(".repeat(Parser.MAX_DEPTH + 1) + "1" + ")".repeat(Parser.MAX_DEPTH + 1);
+        ValidationException e = assertThrows(ValidationException.class, () -> Expression.compile(source));
+        assertEquals("EXCESSIVE_NESTING", e.getViolatedRule());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid variable names")
+    void testInvalidVariableNames() {
+        assertThrows(ValidationException.class, () -> Expression.compile("x", "1x"));
+        assertThrows(ValidationException.class, () -> Expression.compile("x", "pi"));
+        assertThrows(ValidationException.class, () -> Expression.compile("x", "x", "x"));
+    }
+}
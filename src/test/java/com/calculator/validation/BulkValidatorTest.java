@@ -0,0 +1,119 @@
+package com.calculator.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the BulkValidator class, comparing it with the
+ * single-value checks of InputValidator.
+ */
+@DisplayName("Bulk Validator Tests")
+class BulkValidatorTest {
+
+    private static final double MIN = -1e15;
+    private static final double MAX = 1e15;
+
+    private static final double[] SPECIAL = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY,
+                                             Double.NEGATIVE_INFINITY, Double.MIN_VALUE, -Double.MIN_NORMAL,
+                                             1e15, -1e15, 1.0000000000000002e15, 9.1e15, 42.5};
+
+    @Test
+    @DisplayName("Should mark exactly the numbers the single checks reject")
+    void testArrays() {
+        Random random = new Random(25);
+        for (int length = 0; length < 200; length++) {
+            double[] values = randomValues(random, length);
+            assertEquals(expected(values), BulkValidator.findInvalidNumbers(values, MIN, MAX), "length " + length);
+        }
+        assertTrue(BulkValidator.findInvalidNumbers(new double[] {1, 2, 3}, 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should check native and heap segments")
+    void testSegments() {
+        Random random = new Random(26);
+        double[] values = randomValues(random, 1_003);
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment segment = arena.allocate((long) values.length * Double.BYTES, Double.BYTES);
+            for (int i = 0; i < values.length; i++) {
+                segment.setAtIndex(ValueLayout.JAVA_DOUBLE, i, values[i]);
+            }
+            assertEquals(expected(values), BulkValidator.findInvalidNumbers(segment, MIN, MAX));
+        }
+        assertEquals(expected(values), BulkValidator.findInvalidNumbers(MemorySegment.ofArray(values), MIN, MAX));
+        assertThrows(IllegalArgumentException.class,
+            () -> BulkValidator.findInvalidNumbers(MemorySegment.ofArray(new byte[12]), MIN, MAX));
+    }
+
+    @Test
+    @DisplayName("Should count failures per rule across parallel chunks")
+    void testCountFailures() {
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            switch (i % 10) {
+                case 0 -> inputs.add("abc");
+                case 1 -> inputs.add("1e400");
+                case 2 -> inputs.add("2e15");
+                case 3 -> inputs.add("  ");
+                case 4 -> inputs.add("1e-320");
+                default -> inputs.add(" " + i + ".5");
+            }
+        }
+        inputs.add(null);
+
+        Map<ValidationRule, Long> failures = BulkValidator.countFailures(inputs.stream(), MIN, MAX);
+        assertEquals(Map.of(
+            ValidationRule.INVALID_NUMBER_FORMAT, 10_000L,
+            ValidationRule.INFINITE_VALUE, 10_000L,
+            ValidationRule.OUT_OF_RANGE, 10_000L,
+            ValidationRule.EMPTY_INPUT, 10_000L,
+            ValidationRule.UNDERFLOW, 10_000L,
+            ValidationRule.NULL_INPUT, 1L), failures);
+        assertTrue(BulkValidator.countFailures(List.of("1", "2.5e3").stream(), MIN, MAX).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should check text as validateNumber and the range check do")
+    void testCheckNumberText() {
+        String[] inputs = {"12.5", " -3e2 ", "", null, "1..2", "1e999", "4.9e-324", "9.1e15", "2e15", "-0"};
+        for (String input : inputs) {
+            ValidationRule rule = InputValidator.checkNumber(input, MIN, MAX);
+            try {
+                double value = InputValidator.validateNumber(input);
+                assertEquals(InputValidator.checkNumber(value, MIN, MAX), rule, input);
+            } catch (ValidationException e) {
+                assertEquals(e.getViolatedRule(), rule.name(), input);
+            }
+        }
+    }
+
+    private static double[] randomValues(Random random, int length) {
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextInt(4) == 0 ? SPECIAL[random.nextInt(SPECIAL.length)]
+                : (random.nextDouble() - 0.5) * 4e15;
+        }
+        return values;
+    }
+
+    private static BitSet expected(double[] values) {
+        BitSet invalid = new BitSet();
+        for (int i = 0; i < values.length; i++) {
+            if (!InputValidator.checkNumber(values[i], MIN, MAX).isValid()) {
+                invalid.set(i);
+            }
+        }
+        return invalid;
+    }
+}
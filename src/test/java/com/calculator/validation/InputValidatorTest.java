@@ -1,9 +1,11 @@
 package com.calculator.validation;
 
 import com.calculator.CalculatorConfig;
+import com.calculator.expression.Expression;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -183,6 +185,86 @@ class InputValidatorTest {
                 () -> InputValidator.validateExpression(null));
             assertEquals("NULL_EXPRESSION", exception.getViolatedRule());
         }
+        
+        @ParameterizedTest
+        @DisplayName("Should validate parentheses, functions and unary operators")
+        @ValueSource(strings = {"(1 + 2) * 3", "-(4 ÷ 2)", "2 ^ -1", "sin(30) + cos 60", "√16 + ∛27",
+                               "5! - 50%", "((((1))))", "1 - -2", "log(100) × ln(2.5e-3)", "atan(1e5)"})
+        void testStructuredExpressions(String expression) {
+            assertDoesNotThrow(() -> InputValidator.validateExpression(expression));
+        }
+        
+        @ParameterizedTest
+        @DisplayName("Should report the rule and offset of the first error")
+        @CsvSource({
+            "'1 + 2)', UNBALANCED_PARENTHESES, 5",
+            "'((1 + 2)', UNBALANCED_PARENTHESES, 8",
+            "'2 * (3 +)', INVALID_EXPRESSION_SYNTAX, 8",
+            "'1 2', INVALID_EXPRESSION_SYNTAX, 2",
+            "'1 +', INVALID_EXPRESSION_SYNTAX, 3",
+            "'()', INVALID_EXPRESSION_SYNTAX, 1",
+            "'- -2', INVALID_EXPRESSION_SYNTAX, 2",
+            "'  --2', CONSECUTIVE_OPERATORS, 3",
+            "'3 * sqrt(4)', UNKNOWN_IDENTIFIER, 4",
+            "'2 * pie', UNKNOWN_IDENTIFIER, 4",
+            "'2 √', INVALID_EXPRESSION_SYNTAX, 3",
+            "'1.2.3 + 4', INVALID_NUMBER_FORMAT, 0",
+            "'7 + 1e', INVALID_NUMBER_FORMAT, 4",
+            "'2 * 1e400', INFINITE_VALUE, 4",
+            "'-(1.8e308)', INFINITE_VALUE, 2",
+            "'8 # 2', INVALID_EXPRESSION_SYNTAX, 2"
+        })
+        void testErrorOffsets(String expression, String rule, int offset) {
+            ValidationException exception = assertThrows(ValidationException.class, 
+                () -> InputValidator.validateExpression(expression));
+            assertEquals(rule, exception.getViolatedRule());
+            assertEquals(offset, exception.getErrorOffset());
+            assertTrue(exception.getMessage().contains("at position " + offset));
+        }
+        
+        @ParameterizedTest
+        @DisplayName("Should accept exactly the expressions the expression engine compiles")
+        @ValueSource(strings = {"3√8", "3 √ 8 √ 2", "2√-e", "e", "-e", "pi", "π / 2", "2 × pi", "√π + ∛e",
+                               "sin(pi) + e!", "e ^ 2 - π", "(e)√(pi)", "pie", "ππ", "e10", "sin2", "e e",
+                               "2 pi", "√", "3√", "√√16", "1e400", "pi(2)", "2 ^ √ 16"})
+        void testMatchesExpressionEngine(String expression) {
+            boolean compiles;
+            try {
+                Expression.compile(expression);
+                compiles = true;
+            } catch (ValidationException e) {
+                compiles = false;
+            }
+            
+            boolean valid;
+            try {
+                InputValidator.validateExpression(expression);
+                valid = true;
+            } catch (ValidationException e) {
+                valid = false;
+            }
+            assertEquals(compiles, valid, expression);
+        }
+        
+        @Test
+        @DisplayName("Should validate very long and deeply nested expressions")
+        void testLargeExpressions() {
+            int depth = 500_000;
+            StringBuilder nested = new StringBuilder(depth * 2 + 1);
+            nested.append("(".repeat(depth)).append('1').append(")".repeat(depth));
+            assertDoesNotThrow(() -> InputValidator.validateExpression(nested));
+            
+            nested.setLength(nested.length() - 1);
+            ValidationException exception = assertThrows(ValidationException.class, 
+                () -> InputValidator.validateExpression(nested));
+            assertEquals("UNBALANCED_PARENTHESES", exception.getViolatedRule());
+            
+            StringBuilder chain = new StringBuilder("1");
+            for (int i = 0; i < 300_000; i++) {
+                chain.append(" + 2.5e-3 × -7");
+            }
+            assertDoesNotThrow(() -> InputValidator.validateExpression(chain));
+        }
     }
     
     @Nested
@@ -198,7 +280,7 @@ class InputValidatorTest {
             "-5.0, -10.0, 0.0",
             "123.456, 100.0, 200.0"
         })
-        void testValidRange(double number, double min, double max) {
+        void testValidRange(double number, double min, double max) throws ValidationException {
             assertDoesNotThrow(() -> InputValidator.isValidRange(number, min, max));
             assertTrue(InputValidator.isValidRange(number, min, max));
         }
@@ -240,6 +322,30 @@ class InputValidatorTest {
                 () -> InputValidator.isValidRange(Double.POSITIVE_INFINITY, 0.0, 10.0));
             assertEquals("INFINITE_RANGE_CHECK", exception.getViolatedRule());
         }
+        
+        @Test
+        @DisplayName("Should find the first unsafe or out-of-range number in an array")
+        void testFindInvalidNumber() {
+            double[] values = new double[37];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i - 18.5;
+            }
+            assertEquals(-1, InputValidator.findInvalidNumber(values, -1e15, 1e15));
+            assertEquals(0, InputValidator.findInvalidNumber(values, -10.0, 10.0));
+            assertEquals(29, InputValidator.findInvalidNumber(values, -20.0, 10.0));
+            assertEquals(0, InputValidator.findInvalidNumber(values, 5.0, -5.0));
+            assertEquals(-1, InputValidator.findInvalidNumber(new double[0], 0.0, 1.0));
+            
+            double[] special = {Double.NaN, Double.POSITIVE_INFINITY, 1e16, Double.MIN_VALUE, -0.0};
+            for (int position = 0; position < values.length; position++) {
+                for (double value : special) {
+                    double[] copy = values.clone();
+                    copy[position] = value;
+                    int expected = value == -0.0 ? -1 : position;
+                    assertEquals(expected, InputValidator.findInvalidNumber(copy, -1e300, 1e300), value + " at " + position);
+                }
+            }
+        }
     }
     
     @Nested
@@ -287,7 +393,7 @@ class InputValidatorTest {
         @DisplayName("Should reject unsafe small numbers")
         void testUnsafeSmallNumbers() {
             ValidationException exception = assertThrows(ValidationException.class, 
-                () -> InputValidator.validateSafeNumber(1e-324));
+                () -> InputValidator.validateSafeNumber(4.9e-324));
             assertEquals("UNSAFE_SMALL_NUMBER", exception.getViolatedRule());
         }
     }
@@ -411,6 +517,70 @@ class InputValidatorTest {
         }
     }
     
+    @Nested
+    @DisplayName("Non-Throwing Check Tests")
+    class CheckTests {
+        
+        @ParameterizedTest
+        @DisplayName("Should report the rule the throwing methods report")
+        @ValueSource(doubles = {0.0, 42.5, -1e-320, 1e20, -2e15, 9e15, Double.NaN, Double.NEGATIVE_INFINITY})
+        void testChecksMatchExceptions(double number) {
+            assertSameRule(InputValidator.checkSafeNumber(number), () -> InputValidator.validateSafeNumber(number));
+            assertSameRule(InputValidator.checkRange(number, -1e15, 1e15),
+                () -> InputValidator.isValidRange(number, -1e15, 1e15));
+            assertSameRule(InputValidator.checkRange(number, 1, -1), () -> InputValidator.isValidRange(number, 1, -1));
+            assertSameRule(InputValidator.checkSquareRoot(number), () -> InputValidator.validateSquareRoot(number));
+            assertSameRule(InputValidator.checkLogarithm(number), () -> InputValidator.validateLogarithm(number));
+            assertSameRule(InputValidator.checkInverseTrigonometric(number),
+                () -> InputValidator.validateInverseTrigonometric(number));
+            assertSameRule(InputValidator.checkDivision(number, 0), () -> InputValidator.validateDivision(number, 0));
+            assertSameRule(InputValidator.checkDivision(1, number), () -> InputValidator.validateDivision(1, number));
+        }
+        
+        @Test
+        @DisplayName("Should combine the safety and range checks")
+        void testCheckNumber() {
+            assertEquals(ValidationRule.VALID, InputValidator.checkNumber(42, -100, 100));
+            assertEquals(ValidationRule.OUT_OF_RANGE, InputValidator.checkNumber(420, -100, 100));
+            assertEquals(ValidationRule.NAN_UNSAFE, InputValidator.checkNumber(Double.NaN, -100, 100));
+            assertEquals(ValidationRule.UNSAFE_LARGE_NUMBER, InputValidator.checkNumber(1e300, -1e301, 1e301));
+        }
+        
+        @Test
+        @DisplayName("Should describe failures as the exceptions do")
+        void testDescribe() {
+            ValidationException exception = assertThrows(ValidationException.class,
+                () -> InputValidator.isValidRange(150, 0, 100));
+            assertEquals(exception.getMessage(), InputValidator.describe(ValidationRule.OUT_OF_RANGE, 150, 0, 100));
+            assertEquals("150.0", exception.getInvalidInput());
+            
+            exception = assertThrows(ValidationException.class, () -> InputValidator.validateDivision(1e15, 1e-300));
+            assertEquals(exception.getMessage(),
+                InputValidator.describeDivision(ValidationRule.DIVISION_OVERFLOW, 1e15, 1e-300));
+            
+            assertThrows(IllegalArgumentException.class,
+                () -> InputValidator.describe(ValidationRule.DIVISION_BY_ZERO, 1, 0, 0));
+        }
+        
+        @Test
+        @DisplayName("Should check factorial input")
+        void testFactorialChecks() {
+            assertEquals(ValidationRule.NEGATIVE_FACTORIAL, InputValidator.checkFactorial(-1));
+            assertEquals(ValidationRule.FACTORIAL_OVERFLOW, InputValidator.checkFactorial(171));
+            assertEquals(ValidationRule.VALID, InputValidator.checkExactFactorial(171));
+            assertTrue(InputValidator.checkFactorial(170).isValid());
+        }
+        
+        private void assertSameRule(ValidationRule rule, Executable validation) {
+            if (rule.isValid()) {
+                assertDoesNotThrow(validation);
+            } else {
+                ValidationException exception = assertThrows(ValidationException.class, validation);
+                assertEquals(rule.name(), exception.getViolatedRule());
+            }
+        }
+    }
+    
     @Nested
     @DisplayName("Exception Details Tests")
     class ExceptionDetailsTests {
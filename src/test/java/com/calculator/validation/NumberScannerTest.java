@@ -0,0 +1,96 @@
+package com.calculator.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for the NumberScanner class, comparing it with
+ * Double.parseDouble bit for bit.
+ */
+@DisplayName("Number Scanner Tests")
+class NumberScannerTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    @DisplayName("Should read back every double from its string form")
+    void testRoundTrip() {
+        Random random = new Random(21);
+        for (int i = 0; i < SAMPLES; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isFinite(value)) {
+                assertParses(Double.toString(value));
+            }
+            assertParses(Double.toString(random.nextDouble() * 1e6));
+        }
+    }
+
+    @Test
+    @DisplayName("Should round random digit strings like Double.parseDouble")
+    void testRandomDigits() {
+        Random random = new Random(22);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < SAMPLES; i++) {
+            text.setLength(0);
+            int digits = 1 + random.nextInt(25);
+            for (int d = 0; d < digits; d++) {
+                text.append((char) ('0' + random.nextInt(10)));
+            }
+            if (random.nextBoolean()) {
+                text.insert(random.nextInt(text.length() + 1), '.');
+            }
+            text.append('e').append(random.nextInt(700) - 350);
+            assertParses(text.toString());
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should round hard cases correctly")
+    @ValueSource(strings = {"9007199254740993", "9007199254740992.5", "2.2250738585072011e-308",
+                            "2.2250738585072014e-308", "4.9e-324", "1e23", "8.98846567431158e307",
+                            "1.7976931348623157e308", "1.7976931348623159e308", "9999999999999999999",
+                            "18446744073709551615", "0.1", "0.3", "123456789012345678901234567890",
+                            "000000000000000000000000000001.5", "0.000000000000000000000000000001",
+                            "1.00000000000000011102230246251565404236316680908203125",
+                            "1.00000000000000011102230246251565404236316680908203124",
+                            "1e-400", "1e400", "-0", "+0.0e99999999", "7.", ".7", "-1.5E+3"})
+    void testHardCases(String input) {
+        assertParses(input);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should reject text outside the grammar")
+    @ValueSource(strings = {"", ".", "+", "-", "1e", "1e+", "e5", ".e5", "1.2.3", "++1", "1 ", " 1",
+                            "0x10", "1d", "1f", "NaN", "Infinity", "1,5", "١"})
+    void testInvalid(String input) {
+        assertTrue(Double.isNaN(NumberScanner.parseDouble(input, 0, input.length(), false)), input);
+    }
+
+    @Test
+    @DisplayName("Should require an exponent in scientific mode")
+    void testExponentRequired() {
+        assertTrue(Double.isNaN(NumberScanner.parseDouble("1.5", 0, 3, true)));
+        assertEquals(1500.0, NumberScanner.parseDouble("1.5e3", 0, 5, true), 0.0);
+        assertEquals(1500.0, NumberScanner.parseDouble("1.5", 0, 3, false) * 1000, 0.0);
+    }
+
+    @Test
+    @DisplayName("Should parse only the given range")
+    void testRange() {
+        assertEquals(-12.5, NumberScanner.parseDouble("x -12.5 y", 2, 7, false), 0.0);
+        assertEquals(2.0, NumberScanner.parseDouble(new StringBuilder("12"), 1, 2, false), 0.0);
+    }
+
+    private static void assertParses(String text) {
+        double expected = Double.parseDouble(text);
+        double actual = NumberScanner.parseDouble(text, 0, text.length(), false);
+        if (Double.doubleToRawLongBits(expected) != Double.doubleToRawLongBits(actual)) {
+            throw new AssertionError(text + ": expected " + expected + " but was " + actual);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.calculator.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the SanitizedInput class.
+ */
+@DisplayName("Sanitized Input Tests")
+class SanitizedInputTest {
+
+    private static final String ALPHABET = "0123456789+-*/().eExa ×÷−\t\n\r\u000B\f\u0001é";
+
+    @Test
+    @DisplayName("Should sanitize exactly as the regular expressions did")
+    void testMatchesRegexSanitizer() {
+        Random random = new Random(23);
+        SanitizedInput buffer = new SanitizedInput(4);
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            input.setLength(0);
+            int length = random.nextInt(30);
+            for (int c = 0; c < length; c++) {
+                input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            String text = input.toString();
+            assertEquals(regexSanitize(text), InputValidator.sanitizeInput(text), text);
+            assertEquals(regexSanitize(text), buffer.sanitize(text).toString(), text);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the quirks of the regular expressions")
+    void testQuirks() {
+        // The whitespace runs collapse before letters are removed
+        assertEquals("1  2", InputValidator.sanitizeInput("1 a 2"));
+        assertEquals(" 1", InputValidator.sanitizeInput("x 1"));
+        assertEquals("12", InputValidator.sanitizeInput("1\u00012"));
+        assertEquals("", InputValidator.sanitizeInput(" \u0001 "));
+    }
+
+    @Test
+    @DisplayName("Should sanitize into the given buffer")
+    void testSanitizeIntoBuffer() {
+        SanitizedInput buffer = new SanitizedInput();
+        SanitizedInput input = InputValidator.sanitizeInput(" (1.5e-3 × 2)−x4 ", buffer);
+        assertSame(buffer, input);
+        assertEquals("(1.5e-3 * 2)-4", input.toString());
+        assertEquals(14, input.length());
+        assertEquals('*', input.charAt(8));
+        assertEquals("1.5e-3", input.subSequence(1, 7).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> input.charAt(14));
+    }
+
+    @Test
+    @DisplayName("Should reuse the buffer across inputs")
+    void testReuse() {
+        SanitizedInput buffer = new SanitizedInput(2);
+        StringBuilder longInput = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            longInput.append(i).append(" + ");
+        }
+        assertSame(buffer, buffer.sanitize(longInput));
+        assertEquals(InputValidator.sanitizeInput(longInput.toString()), buffer.toString());
+        assertEquals("1+1", buffer.sanitize("1+1").toString());
+        assertEquals(3, buffer.length());
+        assertEquals("", buffer.sanitize(null).toString());
+        assertEquals(0, buffer.length());
+    }
+
+    /**
+     * The original implementation of InputValidator.sanitizeInput.
+     */
+    private static String regexSanitize(String input) {
+        String sanitized = input.trim();
+        sanitized = sanitized.replace("×", "*").replace("÷", "/").replace("−", "-");
+        sanitized = sanitized.replaceAll("\\s+", " ");
+        return sanitized.replaceAll("[^0-9+\\-*/().eE\\s]", "");
+    }
+}